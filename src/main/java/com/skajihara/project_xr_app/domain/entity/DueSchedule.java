@@ -0,0 +1,13 @@
+package com.skajihara.project_xr_app.domain.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 送信対象となった予約ツイートの識別情報
+ *
+ * @param id                予約ツイートID
+ * @param accountId         アカウントID
+ * @param scheduledDatetime 予約日時
+ */
+public record DueSchedule(int id, String accountId, LocalDateTime scheduledDatetime) {
+}
@@ -0,0 +1,24 @@
+package com.skajihara.project_xr_app.domain.entity;
+
+import java.util.Locale;
+
+/**
+ * ツイートのエンゲージメント種別
+ */
+public enum EngagementType {
+
+    LIKES,
+    RETWEETS,
+    REPLIES,
+    VIEWS;
+
+    /**
+     * パス上の種別名（小文字）から変換する
+     *
+     * @param name 種別名
+     * @return エンゲージメント種別
+     */
+    public static EngagementType of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
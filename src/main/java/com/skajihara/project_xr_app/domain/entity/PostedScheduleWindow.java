@@ -0,0 +1,19 @@
+package com.skajihara.project_xr_app.domain.entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 1つの範囲（予約日時, ID）でまとめて送信した予約ツイートの集計
+ *
+ * @param posted                送信した件数
+ * @param lastScheduledDatetime 範囲の終端の予約日時
+ * @param lastId                範囲の終端の予約ツイートID
+ * @param hasMore               範囲が上限件数で区切られ、続きの予約ツイートが残っている可能性があるか
+ * @param accountIds            送信したアカウントID
+ * @param scheduledDatetimes    送信した予約ツイートの予約日時（1件ごと、昇順）
+ */
+public record PostedScheduleWindow(int posted, LocalDateTime lastScheduledDatetime, int lastId, boolean hasMore,
+                                   Set<String> accountIds, List<LocalDateTime> scheduledDatetimes) {
+}
@@ -0,0 +1,10 @@
+package com.skajihara.project_xr_app.domain.entity;
+
+/**
+ * 予約ツイートIDの範囲
+ *
+ * @param minId 最小ID（対象がない場合はnull）
+ * @param maxId 最大ID（対象がない場合はnull）
+ */
+public record ScheduledTweetIdRange(Integer minId, Integer maxId) {
+}
@@ -0,0 +1,15 @@
+package com.skajihara.project_xr_app.domain.entity;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+
+import java.time.LocalDateTime;
+
+/**
+ * 予約ツイート1件分の投稿内容
+ *
+ * @param scheduleId        投稿元の予約ツイートID
+ * @param scheduledDatetime 投稿元の予約日時
+ * @param tweet             投稿するツイート情報
+ */
+public record ScheduledTweetPosting(int scheduleId, LocalDateTime scheduledDatetime, TweetRecord tweet) {
+}
@@ -0,0 +1,57 @@
+package com.skajihara.project_xr_app.domain.entity;
+
+import com.skajihara.project_xr_app.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * ツイート一覧のページング位置（datetime, id）
+ * クライアントには不透明なトークンとして受け渡す
+ */
+@Data
+@AllArgsConstructor
+public class TweetCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private LocalDateTime datetime;
+
+    private int id;
+
+    /**
+     * カーソルをトークン文字列に変換する
+     *
+     * @return カーソルトークン
+     */
+    public String encode() {
+        String raw = datetime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * トークン文字列からカーソルを復元する
+     *
+     * @param token カーソルトークン（未指定の場合は先頭ページ）
+     * @return カーソル（先頭ページの場合はnull）
+     */
+    public static TweetCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            return new TweetCursor(LocalDateTime.parse(raw.substring(0, index)), Integer.parseInt(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
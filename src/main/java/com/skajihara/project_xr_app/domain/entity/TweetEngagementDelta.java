@@ -0,0 +1,32 @@
+package com.skajihara.project_xr_app.domain.entity;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+
+/**
+ * 1ツイート分のエンゲージメント件数の差分
+ *
+ * @param tweetId  ツイートID
+ * @param likes    いいね数の差分
+ * @param retweets リツイート数の差分
+ * @param replies  返信数の差分
+ * @param views    表示回数の差分
+ */
+public record TweetEngagementDelta(int tweetId, long likes, long retweets, long replies, long views) {
+
+    /**
+     * 差分を反映したツイート情報を生成する（0未満にはならない）
+     *
+     * @param tweet 反映元ツイート情報
+     * @return 反映後のツイート情報
+     */
+    public TweetRecord applyTo(TweetRecord tweet) {
+        return new TweetRecord(tweet.getId(), tweet.getAccountId(), tweet.getText(), tweet.getImage(),
+                add(tweet.getLikes(), likes), add(tweet.getRetweets(), retweets),
+                add(tweet.getReplies(), replies), add(tweet.getViews(), views),
+                tweet.getDatetime(), tweet.getLocation(), tweet.getDeleteFlag());
+    }
+
+    private static int add(int count, long delta) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, count + delta));
+    }
+}
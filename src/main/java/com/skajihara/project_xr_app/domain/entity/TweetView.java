@@ -0,0 +1,37 @@
+package com.skajihara.project_xr_app.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 参照専用のツイート情報（JPQLのコンストラクタ式で直接生成し、エンティティを管理対象にしない）
+ * APIのレスポンスモデルへの変換はコントローラで行う
+ */
+@Data
+@AllArgsConstructor
+public class TweetView {
+
+    private int id;
+
+    private String accountId;
+
+    private String text;
+
+    private String image;
+
+    private int likes;
+
+    private int retweets;
+
+    private int replies;
+
+    private int views;
+
+    private LocalDateTime datetime;
+
+    private String location;
+
+    private int deleteFlag;
+}
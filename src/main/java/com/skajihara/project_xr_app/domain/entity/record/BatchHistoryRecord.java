@@ -12,8 +12,14 @@ import java.time.LocalDateTime;
 @Table(name = "BATCH_HISTORY")
 public class BatchHistoryRecord {
 
+    /**
+     * 処理済みの予約日時の初期値（未処理の場合）
+     */
+    public static final LocalDateTime INITIAL_PROCESSED_DATETIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "batch_history_seq")
+    @SequenceGenerator(name = "batch_history_seq", sequenceName = "BATCH_HISTORY_SEQ", allocationSize = 50)
     private Integer id;
 
     @Column(name = "job_name", nullable = false)
@@ -34,6 +40,15 @@ public class BatchHistoryRecord {
     @Column(nullable = false)
     private int succeeded;
 
+    // 最後に処理した予約ツイートの予約日時（latestProcessedIdと組み合わせて処理済み位置とする）
+    @Column(name = "latest_processed_datetime", nullable = false)
+    private LocalDateTime latestProcessedDatetime;
+
     public BatchHistoryRecord() {
     }
+
+    public BatchHistoryRecord(Integer id, String jobName, int latestProcessedId, int processedNum,
+                              LocalDateTime executionStart, LocalDateTime executionEnd, int succeeded) {
+        this(id, jobName, latestProcessedId, processedNum, executionStart, executionEnd, succeeded, INITIAL_PROCESSED_DATETIME);
+    }
 }
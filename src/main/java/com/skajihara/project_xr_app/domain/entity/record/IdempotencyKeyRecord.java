@@ -0,0 +1,34 @@
+package com.skajihara.project_xr_app.domain.entity.record;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@Entity
+@Table(name = "IDEMPOTENCY_KEYS")
+public class IdempotencyKeyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 150, nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "resource_id", nullable = false)
+    private int resourceId;
+
+    // 初回リクエストのボディのハッシュ値（SHA-256の16進表記）
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    @Column(name = "created_datetime", nullable = false)
+    private LocalDateTime createdDatetime;
+
+    public IdempotencyKeyRecord() {
+    }
+}
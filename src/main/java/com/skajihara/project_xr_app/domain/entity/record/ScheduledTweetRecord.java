@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 @Table(name = "SCHEDULED_TWEETS")
 public class ScheduledTweetRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled_tweets_seq")
+    @SequenceGenerator(name = "scheduled_tweets_seq", sequenceName = "SCHEDULED_TWEETS_SEQ", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false, length = 20)
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 @Table(name = "TWEETS")
 public class TweetRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tweets_seq")
+    @SequenceGenerator(name = "tweets_seq", sequenceName = "TWEETS_SEQ", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false, length = 20)
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -27,4 +28,13 @@ public interface AccountRepository extends JpaRepository<AccountRecord, String>
      */
     @Query("SELECT a FROM AccountRecord a WHERE a.id = :id AND a.validFlag = 1 AND a.deleteFlag = 0")
     AccountRecord selectAccount(@Param("id") String id);
+
+    /**
+     * 指定のアカウントIDのうち、有効なアカウントのIDを取得する
+     *
+     * @param ids アカウントID
+     * @return 有効なアカウントのID
+     */
+    @Query("SELECT a.id FROM AccountRecord a WHERE a.id IN :ids AND a.validFlag = 1 AND a.deleteFlag = 0")
+    List<String> selectValidAccountIds(@Param("ids") Collection<String> ids);
 }
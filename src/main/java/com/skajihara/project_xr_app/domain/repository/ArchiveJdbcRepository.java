@@ -0,0 +1,75 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 論理削除済みのレコードをアーカイブテーブルへ移動するリポジトリ
+ * 対象行は行ロックしてから移動するため、移動中に他のトランザクションから更新されることはない
+ */
+@Repository
+@AllArgsConstructor
+public class ArchiveJdbcRepository {
+
+    private static final String SELECT_DELETED_TWEET_IDS_SQL =
+            "SELECT id FROM TWEETS WHERE delete_flag = 1 LIMIT :limit FOR UPDATE";
+
+    private static final String ARCHIVE_TWEETS_SQL = "INSERT INTO ARCHIVED_TWEETS " +
+            "(id, account_id, text, image, likes, retweets, replies, views, datetime, location, archived_datetime) " +
+            "SELECT id, account_id, text, image, likes, retweets, replies, views, datetime, location, :archivedDatetime " +
+            "FROM TWEETS WHERE id IN (:ids) AND delete_flag = 1";
+
+    private static final String DELETE_TWEETS_SQL = "DELETE FROM TWEETS WHERE id IN (:ids) AND delete_flag = 1";
+
+    private static final String SELECT_DELETED_SCHEDULE_IDS_SQL =
+            "SELECT id FROM SCHEDULED_TWEETS WHERE delete_flag = 1 LIMIT :limit FOR UPDATE";
+
+    private static final String ARCHIVE_SCHEDULES_SQL = "INSERT INTO ARCHIVED_SCHEDULED_TWEETS " +
+            "(id, account_id, text, image, location, scheduled_datetime, created_datetime, archived_datetime) " +
+            "SELECT id, account_id, text, image, location, scheduled_datetime, created_datetime, :archivedDatetime " +
+            "FROM SCHEDULED_TWEETS WHERE id IN (:ids) AND delete_flag = 1";
+
+    private static final String DELETE_SCHEDULES_SQL = "DELETE FROM SCHEDULED_TWEETS WHERE id IN (:ids) AND delete_flag = 1";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 論理削除済みのツイートを指定件数までアーカイブテーブルへ移動する
+     *
+     * @param limit 移動する最大件数
+     * @return 移動件数
+     */
+    @Transactional
+    public int archiveDeletedTweets(int limit) {
+        return archive(SELECT_DELETED_TWEET_IDS_SQL, ARCHIVE_TWEETS_SQL, DELETE_TWEETS_SQL, limit);
+    }
+
+    /**
+     * 論理削除済み（投稿済み・キャンセル済み）の予約ツイートを指定件数までアーカイブテーブルへ移動する
+     *
+     * @param limit 移動する最大件数
+     * @return 移動件数
+     */
+    @Transactional
+    public int archiveDeletedScheduledTweets(int limit) {
+        return archive(SELECT_DELETED_SCHEDULE_IDS_SQL, ARCHIVE_SCHEDULES_SQL, DELETE_SCHEDULES_SQL, limit);
+    }
+
+    private int archive(String selectSql, String archiveSql, String deleteSql, int limit) {
+        List<Integer> ids = jdbcTemplate.queryForList(selectSql, Map.of("limit", limit), Integer.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("archivedDatetime", LocalDateTime.now().withNano(0));
+        jdbcTemplate.update(archiveSql, params);
+        return jdbcTemplate.update(deleteSql, params);
+    }
+}
@@ -8,9 +8,18 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 @Repository
 public interface BatchHistoryRepository extends JpaRepository<BatchHistoryRecord, Integer> {
 
+    /**
+     * 指定の処理済み位置（予約日時, ID）が現在の処理済み位置より後か
+     * （MySQLはSET句を左から順に評価するため、addProgressではIDを先に更新する）
+     */
+    String ADVANCES_WATERMARK = "(bh.latestProcessedDatetime < :latestProcessedDatetime " +
+            "OR (bh.latestProcessedDatetime = :latestProcessedDatetime AND bh.latestProcessedId < :latestProcessedId))";
+
     /**
      * 指定のバッチ履歴を取得する
      *
@@ -25,20 +34,22 @@ public interface BatchHistoryRepository extends JpaRepository<BatchHistoryRecord
      *
      * @return 最新のバッチ履歴情報
      */
-    @Query("SELECT bh FROM BatchHistoryRecord bh WHERE bh.jobName = :jobName AND bh.executionEnd IS NOT NULL ORDER BY executionEnd DESC LIMIT 1")
+    @Query("SELECT bh FROM BatchHistoryRecord bh WHERE bh.jobName = :jobName AND bh.executionEnd IS NOT NULL ORDER BY bh.jobName, bh.executionEnd DESC LIMIT 1")
     BatchHistoryRecord selectLatestRecord(@Param("jobName") String jobName);
 
     /**
      * 1件のバッチ履歴を登録する
      *
      * @param history バッチ履歴
-     * @return 登録件数
+     * @return 採番された履歴ID
      */
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
-    @Query("INSERT INTO BatchHistoryRecord (latestProcessedId, processedNum, executionStart, executionEnd, succeeded, jobName) " +
-            "VALUES (:#{#history.latestProcessedId}, :#{#history.processedNum}, :#{#history.executionStart}, :#{#history.executionEnd}, :#{#history.succeeded}, :#{#history.jobName})")
-    int insert(@Param("history") BatchHistoryRecord history);
+    default int insert(BatchHistoryRecord history) {
+        BatchHistoryRecord record = new BatchHistoryRecord(null, history.getJobName(), history.getLatestProcessedId(),
+                history.getProcessedNum(), history.getExecutionStart(), history.getExecutionEnd(), history.getSucceeded(),
+                history.getLatestProcessedDatetime());
+        return save(record).getId();
+    }
 
     /**
      * 1件のバッチ履歴を更新する
@@ -50,6 +61,7 @@ public interface BatchHistoryRepository extends JpaRepository<BatchHistoryRecord
     @Transactional
     @Query("UPDATE BatchHistoryRecord bh SET " +
             "bh.latestProcessedId = :#{#history.latestProcessedId}, " +
+            "bh.latestProcessedDatetime = :#{#history.latestProcessedDatetime}, " +
             "bh.processedNum = :#{#history.processedNum}, " +
             "bh.executionStart = :#{#history.executionStart}, " +
             "bh.executionEnd = :#{#history.executionEnd}, " +
@@ -58,4 +70,36 @@ public interface BatchHistoryRepository extends JpaRepository<BatchHistoryRecord
             "WHERE bh.id = :id")
     int update(@Param("id") int id, @Param("history") BatchHistoryRecord history);
 
+    /**
+     * バッチ履歴の処理件数と処理済み位置（予約日時, ID）を加算更新する
+     * （処理済み位置は現在値より後の場合のみ更新する）
+     *
+     * @param id                      履歴ID
+     * @param processedNum            加算する処理件数
+     * @param latestProcessedDatetime 今回処理した最後の予約ツイートの予約日時
+     * @param latestProcessedId       今回処理した最後の予約ツイートのID
+     * @return 更新件数
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE BatchHistoryRecord bh SET " +
+            "bh.processedNum = bh.processedNum + :processedNum, " +
+            "bh.latestProcessedId = CASE WHEN " + ADVANCES_WATERMARK + " THEN :latestProcessedId ELSE bh.latestProcessedId END, " +
+            "bh.latestProcessedDatetime = CASE WHEN " + ADVANCES_WATERMARK + " THEN :latestProcessedDatetime ELSE bh.latestProcessedDatetime END " +
+            "WHERE bh.id = :id")
+    int addProgress(@Param("id") int id, @Param("processedNum") int processedNum,
+                    @Param("latestProcessedDatetime") LocalDateTime latestProcessedDatetime, @Param("latestProcessedId") int latestProcessedId);
+
+    /**
+     * バッチ履歴の処理件数だけを加算更新する（処理済み位置は更新しない）
+     *
+     * @param id           履歴ID
+     * @param processedNum 加算する処理件数
+     * @return 更新件数
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE BatchHistoryRecord bh SET bh.processedNum = bh.processedNum + :processedNum WHERE bh.id = :id")
+    int addProcessedNum(@Param("id") int id, @Param("processedNum") int processedNum);
+
 }
@@ -0,0 +1,186 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring Batchのメタデータとバッチ履歴、冪等キーの保持期間を過ぎたレコードを削除するリポジトリ
+ * メタデータは外部キーの子テーブルから順に削除し、バッチ履歴は日次の集計に畳み込んでから削除する
+ */
+@Repository
+@AllArgsConstructor
+public class BatchMetadataRetentionJdbcRepository {
+
+    // 実行中（END_TIMEが未設定）のジョブ実行は削除しない
+    private static final String SELECT_JOB_EXECUTIONS_SQL = "SELECT JOB_EXECUTION_ID, JOB_INSTANCE_ID FROM BATCH_JOB_EXECUTION " +
+            "WHERE CREATE_TIME < :before AND END_TIME IS NOT NULL ORDER BY JOB_EXECUTION_ID LIMIT :limit";
+
+    private static final String DELETE_STEP_EXECUTION_CONTEXTS_SQL = "DELETE FROM BATCH_STEP_EXECUTION_CONTEXT " +
+            "WHERE STEP_EXECUTION_ID IN (SELECT STEP_EXECUTION_ID FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids))";
+
+    private static final String DELETE_STEP_EXECUTIONS_SQL = "DELETE FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids)";
+
+    private static final String DELETE_JOB_EXECUTION_CONTEXTS_SQL = "DELETE FROM BATCH_JOB_EXECUTION_CONTEXT WHERE JOB_EXECUTION_ID IN (:ids)";
+
+    private static final String DELETE_JOB_EXECUTION_PARAMS_SQL = "DELETE FROM BATCH_JOB_EXECUTION_PARAMS WHERE JOB_EXECUTION_ID IN (:ids)";
+
+    private static final String DELETE_JOB_EXECUTIONS_SQL = "DELETE FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids)";
+
+    // 再実行などで他のジョブ実行が残っているジョブインスタンスは削除しない
+    private static final String DELETE_JOB_INSTANCES_SQL = "DELETE FROM BATCH_JOB_INSTANCE WHERE JOB_INSTANCE_ID IN (:instanceIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM BATCH_JOB_EXECUTION e WHERE e.JOB_INSTANCE_ID = BATCH_JOB_INSTANCE.JOB_INSTANCE_ID)";
+
+    // 各ジョブの最新の終了済み履歴（selectLatestRecordで処理済み位置を引き継ぐ行）は削除しない
+    private static final String SELECT_HISTORIES_SQL = "SELECT id, job_name, execution_start, execution_end, processed_num, succeeded " +
+            "FROM BATCH_HISTORY bh WHERE bh.execution_start < :before AND (bh.execution_end IS NULL OR EXISTS " +
+            "(SELECT 1 FROM BATCH_HISTORY newer WHERE newer.job_name = bh.job_name AND newer.execution_end > bh.execution_end)) " +
+            "ORDER BY bh.execution_start, bh.id LIMIT :limit";
+
+    private static final String DELETE_HISTORIES_SQL = "DELETE FROM BATCH_HISTORY WHERE id IN (:ids)";
+
+    private static final String SELECT_IDEMPOTENCY_KEYS_SQL = "SELECT idempotency_key FROM IDEMPOTENCY_KEYS " +
+            "WHERE created_datetime < :before ORDER BY created_datetime LIMIT :limit";
+
+    // 選択後に同じキーが再登録された場合は削除しない
+    private static final String DELETE_IDEMPOTENCY_KEYS_SQL = "DELETE FROM IDEMPOTENCY_KEYS " +
+            "WHERE idempotency_key IN (:keys) AND created_datetime < :before";
+
+    private static final String UPDATE_SUMMARY_SQL = "UPDATE BATCH_HISTORY_DAILY_SUMMARY SET " +
+            "executions = executions + :executions, succeeded = succeeded + :succeeded, processed_num = processed_num + :processedNum, " +
+            "total_duration_seconds = total_duration_seconds + :totalDurationSeconds, " +
+            "max_duration_seconds = GREATEST(max_duration_seconds, :maxDurationSeconds) " +
+            "WHERE job_name = :jobName AND summary_date = :summaryDate";
+
+    private static final String INSERT_SUMMARY_SQL = "INSERT INTO BATCH_HISTORY_DAILY_SUMMARY " +
+            "(job_name, summary_date, executions, succeeded, processed_num, total_duration_seconds, max_duration_seconds) " +
+            "VALUES (:jobName, :summaryDate, :executions, :succeeded, :processedNum, :totalDurationSeconds, :maxDurationSeconds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 指定日時より前に作成された終了済みのジョブ実行を、関連するメタデータと合わせて指定件数まで削除する
+     * （ジョブ実行がなくなったジョブインスタンスも削除する）
+     *
+     * @param before 削除対象とする作成日時の上限（この日時を含まない）
+     * @param limit  削除する最大ジョブ実行数
+     * @return 削除したジョブ実行数
+     */
+    @Transactional
+    public int pruneJobExecutions(LocalDateTime before, int limit) {
+        List<Map<String, Object>> executions = jdbcTemplate.queryForList(SELECT_JOB_EXECUTIONS_SQL,
+                new MapSqlParameterSource("before", before).addValue("limit", limit));
+        if (executions.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = executions.stream().map(row -> ((Number) row.get("JOB_EXECUTION_ID")).longValue()).toList();
+        List<Long> instanceIds = executions.stream().map(row -> ((Number) row.get("JOB_INSTANCE_ID")).longValue()).distinct().toList();
+
+        // 外部キーの子テーブルから順に削除する
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update(DELETE_STEP_EXECUTION_CONTEXTS_SQL, params);
+        jdbcTemplate.update(DELETE_STEP_EXECUTIONS_SQL, params);
+        jdbcTemplate.update(DELETE_JOB_EXECUTION_CONTEXTS_SQL, params);
+        jdbcTemplate.update(DELETE_JOB_EXECUTION_PARAMS_SQL, params);
+        int deleted = jdbcTemplate.update(DELETE_JOB_EXECUTIONS_SQL, params);
+        jdbcTemplate.update(DELETE_JOB_INSTANCES_SQL, Map.of("instanceIds", instanceIds));
+        return deleted;
+    }
+
+    /**
+     * 指定日時より前に開始したバッチ履歴を、ジョブ名・開始日ごとの集計に加算してから指定件数まで削除する
+     *
+     * @param before 削除対象とする開始日時の上限（この日時を含まない）
+     * @param limit  削除する最大件数
+     * @return 削除件数
+     */
+    @Transactional
+    public int pruneBatchHistory(LocalDateTime before, int limit) {
+        List<History> histories = jdbcTemplate.query(SELECT_HISTORIES_SQL,
+                new MapSqlParameterSource("before", before).addValue("limit", limit),
+                (rs, rowNum) -> new History(rs.getInt("id"), rs.getString("job_name"),
+                        rs.getObject("execution_start", LocalDateTime.class), rs.getObject("execution_end", LocalDateTime.class),
+                        rs.getInt("processed_num"), rs.getInt("succeeded")));
+        if (histories.isEmpty()) {
+            return 0;
+        }
+
+        Map<SummaryKey, Summary> summaries = new LinkedHashMap<>();
+        for (History history : histories) {
+            summaries.computeIfAbsent(new SummaryKey(history.jobName(), history.executionStart().toLocalDate()), key -> new Summary())
+                    .add(history);
+        }
+        summaries.forEach(this::addSummary);
+
+        return jdbcTemplate.update(DELETE_HISTORIES_SQL, Map.of("ids", histories.stream().map(History::id).toList()));
+    }
+
+    /**
+     * 指定日時より前に登録された（有効期間を過ぎた）冪等キーを指定件数まで削除する
+     *
+     * @param before 削除対象とする登録日時の上限（この日時を含まない）
+     * @param limit  削除する最大件数
+     * @return 削除件数
+     */
+    @Transactional
+    public int pruneIdempotencyKeys(LocalDateTime before, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("before", before).addValue("limit", limit);
+        List<String> keys = jdbcTemplate.queryForList(SELECT_IDEMPOTENCY_KEYS_SQL, params, String.class);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE_IDEMPOTENCY_KEYS_SQL, params.addValue("keys", keys));
+    }
+
+    private void addSummary(SummaryKey key, Summary summary) {
+        MapSqlParameterSource params = new MapSqlParameterSource("jobName", key.jobName())
+                .addValue("summaryDate", key.summaryDate())
+                .addValue("executions", summary.executions)
+                .addValue("succeeded", summary.succeeded)
+                .addValue("processedNum", summary.processedNum)
+                .addValue("totalDurationSeconds", summary.totalDurationSeconds)
+                .addValue("maxDurationSeconds", summary.maxDurationSeconds);
+        if (jdbcTemplate.update(UPDATE_SUMMARY_SQL, params) == 0) {
+            jdbcTemplate.update(INSERT_SUMMARY_SQL, params);
+        }
+    }
+
+    private record History(int id, String jobName, LocalDateTime executionStart, LocalDateTime executionEnd,
+                           int processedNum, int succeeded) {
+
+        /**
+         * 実行時間（秒）。終了日時がない（異常終了した）履歴は0とする
+         */
+        long durationSeconds() {
+            return executionEnd == null ? 0 : Math.max(Duration.between(executionStart, executionEnd).getSeconds(), 0);
+        }
+    }
+
+    private record SummaryKey(String jobName, LocalDate summaryDate) {
+    }
+
+    private static class Summary {
+        private int executions;
+        private int succeeded;
+        private long processedNum;
+        private long totalDurationSeconds;
+        private int maxDurationSeconds;
+
+        private void add(History history) {
+            executions++;
+            succeeded += history.succeeded();
+            processedNum += history.processedNum();
+            totalDurationSeconds += history.durationSeconds();
+            maxDurationSeconds = (int) Math.max(maxDurationSeconds, Math.min(history.durationSeconds(), Integer.MAX_VALUE));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import com.skajihara.project_xr_app.domain.entity.record.IdempotencyKeyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyRecord, String> {
+
+    /**
+     * 冪等キーの登録結果を取得する
+     *
+     * @param idempotencyKey 冪等キー（スコープ付き）
+     * @param since          有効期間の開始日時（これより前の登録は期限切れとして扱う）
+     * @return 冪等キーの登録結果（存在しない、または期限切れの場合はnull）
+     */
+    @Query("SELECT k FROM IdempotencyKeyRecord k WHERE k.idempotencyKey = :idempotencyKey AND k.createdDatetime >= :since")
+    IdempotencyKeyRecord selectValidKey(@Param("idempotencyKey") String idempotencyKey, @Param("since") LocalDateTime since);
+
+    /**
+     * 冪等キーを登録する（登録結果のリソースIDは0で仮登録）
+     * 即時にINSERTを発行するため、同じキーの同時登録は主キー制約違反となる
+     *
+     * @param idempotencyKey  冪等キー（スコープ付き）
+     * @param requestHash     リクエストボディのハッシュ値
+     * @param createdDatetime 登録日時
+     * @return 登録件数
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("INSERT INTO IdempotencyKeyRecord (idempotencyKey, resourceId, requestHash, createdDatetime) " +
+            "VALUES (:idempotencyKey, 0, :requestHash, :createdDatetime)")
+    int insertKey(@Param("idempotencyKey") String idempotencyKey, @Param("requestHash") String requestHash,
+                  @Param("createdDatetime") LocalDateTime createdDatetime);
+
+    /**
+     * 冪等キーに登録結果のリソースIDを記録する
+     *
+     * @param idempotencyKey 冪等キー（スコープ付き）
+     * @param resourceId     採番されたリソースID
+     * @return 更新件数
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE IdempotencyKeyRecord k SET k.resourceId = :resourceId WHERE k.idempotencyKey = :idempotencyKey")
+    int updateResourceId(@Param("idempotencyKey") String idempotencyKey, @Param("resourceId") int resourceId);
+
+    /**
+     * 期限切れの冪等キーを削除する
+     *
+     * @param idempotencyKey 冪等キー（スコープ付き）
+     * @param since          有効期間の開始日時
+     * @return 削除件数
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM IdempotencyKeyRecord k WHERE k.idempotencyKey = :idempotencyKey AND k.createdDatetime < :since")
+    int deleteExpiredKey(@Param("idempotencyKey") String idempotencyKey, @Param("since") LocalDateTime since);
+}
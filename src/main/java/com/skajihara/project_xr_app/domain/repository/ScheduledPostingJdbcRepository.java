@@ -0,0 +1,271 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import com.skajihara.project_xr_app.domain.entity.DueSchedule;
+import com.skajihara.project_xr_app.domain.entity.PostedScheduleWindow;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 予約ツイートの送信をDB内で集合的に行うリポジトリ
+ * 予約ツイートの本文もIDもJavaに読み込まず、（予約日時, ID）の範囲を条件に1回のUPDATEで削除してから
+ * 1回のINSERT ... SELECTでツイートへ移す
+ * <p>
+ * ツイートIDはTWEETS_SEQからID_BLOCK_SIZE件単位のブロックで、移す件数分をまとめて確保する。
+ * Hibernate（pooled-lo）と同じく取得値からID_BLOCK_SIZE件を使うため、通常の登録と採番が重複しない。
+ * <p>
+ * 複数ノードで送信する場合は、予約ツイートをリース付きで確保（claimed_by, lease_expires）してから送信する。
+ * claimed_byには確保ごとに一意な値を入れ、送信時はその値の行だけを移すため、
+ * リース切れで他ノードに確保し直された行を二重に送信することはない。
+ */
+@Repository
+@AllArgsConstructor
+public class ScheduledPostingJdbcRepository {
+
+    /**
+     * ツイートIDを確保するブロックの件数（TWEETS_SEQの増分、TweetRecordのallocationSizeと同じ値）
+     */
+    public static final int ID_BLOCK_SIZE = 50;
+
+    // 処理済み位置（予約日時, ID）より後で、予約日時を過ぎている送信待ちの予約ツイート
+    private static final String DUE_AFTER_WATERMARK = "delete_flag = 0 AND scheduled_datetime >= :lastProcessedDatetime " +
+            "AND scheduled_datetime < :now AND (scheduled_datetime > :lastProcessedDatetime OR id > :lastProcessedId)";
+
+    // 範囲の終端（先頭からlimit件目）。手前の行はインデックスを読み飛ばすだけで、返すのは終端の1行だけ
+    private static final String SELECT_WINDOW_END_SQL = "SELECT id, account_id, scheduled_datetime FROM SCHEDULED_TWEETS " +
+            "WHERE " + DUE_AFTER_WATERMARK + " ORDER BY scheduled_datetime, id LIMIT 1 OFFSET :offset";
+
+    private static final String SELECT_LAST_DUE_SQL = "SELECT id, account_id, scheduled_datetime FROM SCHEDULED_TWEETS " +
+            "WHERE " + DUE_AFTER_WATERMARK + " ORDER BY scheduled_datetime DESC, id DESC LIMIT 1";
+
+    // 処理済み位置より後で、範囲の終端まで
+    private static final String IN_WINDOW = "scheduled_datetime >= :lastProcessedDatetime " +
+            "AND (scheduled_datetime > :lastProcessedDatetime OR id > :lastProcessedId) " +
+            "AND scheduled_datetime <= :endDatetime AND (scheduled_datetime < :endDatetime OR id <= :endId)";
+
+    // 先に削除済みにして行ロックを取り、この送信の識別子で移す行を印す
+    // （範囲内で以前にキャンセルされた行と区別し、コミットまでキャンセル・更新を待たせる）
+    private static final String DELETE_WINDOW_SQL = "UPDATE SCHEDULED_TWEETS SET delete_flag = 1, claimed_by = :owner " +
+            "WHERE delete_flag = 0 AND " + IN_WINDOW;
+
+    private static final String POSTED_IN_WINDOW = "delete_flag = 1 AND " + IN_WINDOW + " AND claimed_by = :owner";
+
+    // 確保したIDが連続する行番号の区間ごとに移す
+    private static final String POST_WINDOW_SQL = "INSERT INTO TWEETS " +
+            "(id, account_id, text, image, likes, retweets, replies, views, datetime, location, delete_flag) " +
+            "SELECT :baseId + rn - :firstRow, account_id, text, image, 0, 0, 0, 0, :postedAt, location, 0 " +
+            "FROM (SELECT ROW_NUMBER() OVER (ORDER BY scheduled_datetime, id) AS rn, account_id, text, image, location " +
+            "FROM SCHEDULED_TWEETS WHERE " + POSTED_IN_WINDOW + ") posting WHERE rn BETWEEN :firstRow AND :lastRow";
+
+    // キャッシュとメトリクス用に、移した行をアカウントID, 予約日時ごとの件数にまとめて返す
+    private static final String SELECT_POSTED_WINDOW_SQL = "SELECT account_id, scheduled_datetime, COUNT(*) AS posted " +
+            "FROM SCHEDULED_TWEETS WHERE " + POSTED_IN_WINDOW + " GROUP BY account_id, scheduled_datetime ORDER BY scheduled_datetime";
+
+    private static final String SET_BASED_OWNER_PREFIX = "set-based/";
+
+    private static final String POST_SQL = "INSERT INTO TWEETS " +
+            "(id, account_id, text, image, likes, retweets, replies, views, datetime, location, delete_flag) " +
+            "SELECT :baseId + ROW_NUMBER() OVER (ORDER BY scheduled_datetime, id) - 1, account_id, text, image, 0, 0, 0, 0, :postedAt, location, 0 " +
+            "FROM SCHEDULED_TWEETS WHERE id IN (:ids)";
+
+    // 送信待ちで、リースがない（またはリース切れの）予約ツイート
+    private static final String CLAIMABLE = "delete_flag = 0 AND (lease_expires IS NULL OR lease_expires < :now)";
+
+    private static final String SELECT_CLAIMABLE_SQL = "SELECT id FROM SCHEDULED_TWEETS " +
+            "WHERE " + CLAIMABLE + " AND scheduled_datetime < :dueBefore ORDER BY scheduled_datetime, id LIMIT :limit";
+
+    // MySQLでは他ノードが確保中の行を待たずに読み飛ばし、ノードごとに別の行を選ぶ
+    private static final String MYSQL_SELECT_CLAIMABLE_SQL = SELECT_CLAIMABLE_SQL + " FOR UPDATE SKIP LOCKED";
+
+    // H2にはSKIP LOCKEDがないため、確保だけを1行のロックで直列化する
+    // （候補を選んだ後に他ノードが確保した行は、条件を満たさずに更新しなくてもコミットまで行ロックが残り、
+    // 送信中のトランザクションと待ち合ってデッドロックしうる）
+    private static final String H2_LOCK_CLAIM_SQL = "SELECT id FROM SCHEDULED_TWEETS_CLAIM_LOCK WHERE id = 1 FOR UPDATE";
+
+    // 選択後に他ノードが確保・送信した行、キャンセルされた行は条件を満たさなくなるため更新しない
+    private static final String CLAIM_SQL = "UPDATE SCHEDULED_TWEETS SET claimed_by = :owner, lease_expires = :leaseExpires " +
+            "WHERE id IN (:ids) AND " + CLAIMABLE;
+
+    // 送信済みの行はリースを外し、確保後にキャンセルされた行（リースが残る）と区別する
+    private static final String DELETE_CLAIMED_SQL = "UPDATE SCHEDULED_TWEETS SET delete_flag = 1, lease_expires = NULL " +
+            "WHERE claimed_by = :owner AND delete_flag = 0";
+
+    private static final String SELECT_POSTED_CLAIMED_SQL = "SELECT id, account_id, scheduled_datetime FROM SCHEDULED_TWEETS " +
+            "WHERE claimed_by = :owner AND delete_flag = 1 AND lease_expires IS NULL ORDER BY scheduled_datetime, id";
+
+    // H2のシーケンスは1回の取得で増分（1ブロック）しか進まないため、必要なブロック数だけ1文で取得する
+    // （通常の登録と同時に採番すると、ブロックが連続しない場合がある）
+    private static final String H2_RESERVE_ID_BLOCKS_SQL = "SELECT NEXT VALUE FOR TWEETS_SEQ FROM SYSTEM_RANGE(1, %d)";
+
+    // MySQLではシーケンスをテーブルで代用しているため、Hibernateと同じく現在値を取得してから必要なブロック数だけ進める
+    private static final String MYSQL_RESERVE_ID_BLOCKS_SQL = "UPDATE TWEETS_SEQ SET next_val = LAST_INSERT_ID(next_val + ?)";
+
+    private static final String MYSQL_FIRST_ID_BLOCK_SQL = "SELECT LAST_INSERT_ID() - ?";
+
+    private static final RowMapper<DueSchedule> DUE_SCHEDULE_MAPPER = (rs, rowNum) -> new DueSchedule(rs.getInt("id"),
+            rs.getString("account_id"), rs.getObject("scheduled_datetime", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 処理済み位置（予約日時, ID）より後で予約日時を過ぎている予約ツイートを、予約日時, IDの順に最大limit件までツイートへ移す
+     * 移す範囲は終端の（予約日時, ID）で区切り、範囲内の行をUPDATE、INSERT ... SELECTの各1文で処理する
+     * 範囲内の行は先に削除済みにして行ロックするため、移動中にキャンセル・更新されることはない
+     *
+     * @param lastProcessedDatetime 処理済み位置の予約日時
+     * @param lastProcessedId       処理済み位置の予約ツイートID
+     * @param now                   この日時より前の予約を対象とする
+     * @param limit                 移す最大件数
+     * @param postedAt              ツイートの投稿日時
+     * @return 移した範囲の集計（対象がない場合はnull）
+     */
+    @Transactional
+    public PostedScheduleWindow postDueWindow(LocalDateTime lastProcessedDatetime, int lastProcessedId, LocalDateTime now,
+                                              int limit, LocalDateTime postedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource("lastProcessedDatetime", lastProcessedDatetime)
+                .addValue("lastProcessedId", lastProcessedId)
+                .addValue("now", now)
+                .addValue("offset", limit - 1);
+        DueSchedule end = DataAccessUtils.singleResult(jdbcTemplate.query(SELECT_WINDOW_END_SQL, params, DUE_SCHEDULE_MAPPER));
+        boolean hasMore = end != null;
+        if (!hasMore) {
+            end = DataAccessUtils.singleResult(jdbcTemplate.query(SELECT_LAST_DUE_SQL, params, DUE_SCHEDULE_MAPPER));
+            if (end == null) {
+                return null;
+            }
+        }
+        params.addValue("endDatetime", end.scheduledDatetime())
+                .addValue("endId", end.id())
+                .addValue("owner", SET_BASED_OWNER_PREFIX + UUID.randomUUID())
+                .addValue("postedAt", postedAt);
+
+        // 終端を選んだ後にキャンセルされた行は移さないため、件数はUPDATEの結果で決まる
+        int posted = jdbcTemplate.update(DELETE_WINDOW_SQL, params);
+        if (posted == 0) {
+            return new PostedScheduleWindow(0, end.scheduledDatetime(), end.id(), hasMore, Set.of(), List.of());
+        }
+
+        // 連続したブロックは1文で移す（MySQLは常に1文になり、H2は通常の登録と採番が交互になった場合だけ分かれる）
+        List<Long> blocks = reserveTweetIdBlocks((posted + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE);
+        int runStart = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            if (i + 1 < blocks.size() && blocks.get(i + 1) == blocks.get(i) + ID_BLOCK_SIZE) {
+                continue;
+            }
+            jdbcTemplate.update(POST_WINDOW_SQL, params
+                    .addValue("baseId", blocks.get(runStart))
+                    .addValue("firstRow", runStart * ID_BLOCK_SIZE + 1)
+                    .addValue("lastRow", Math.min((i + 1) * ID_BLOCK_SIZE, posted)));
+            runStart = i + 1;
+        }
+
+        Set<String> accountIds = new HashSet<>();
+        List<LocalDateTime> scheduledDatetimes = new ArrayList<>(posted);
+        jdbcTemplate.query(SELECT_POSTED_WINDOW_SQL, params, rs -> {
+            accountIds.add(rs.getString("account_id"));
+            LocalDateTime scheduledDatetime = rs.getObject("scheduled_datetime", LocalDateTime.class);
+            for (int i = rs.getInt("posted"); i > 0; i--) {
+                scheduledDatetimes.add(scheduledDatetime);
+            }
+        });
+        return new PostedScheduleWindow(posted, end.scheduledDatetime(), end.id(), hasMore, accountIds, scheduledDatetimes);
+    }
+
+    /**
+     * 予約日時を過ぎた送信待ちの予約ツイートを、予約日時, IDの順に最大ID_BLOCK_SIZE件までリース付きで確保する
+     * MySQLでは他ノードが確保中の行を読み飛ばして並行に確保し、H2では確保を直列化する
+     * 選んだ候補をすべて他ノードに先に確保・キャンセルされた場合は、確保できる行がなくなるまで選び直す
+     * （確保を他ノードに見せるため、送信とは別のトランザクションでコミットすること）
+     *
+     * @param owner        確保ごとに一意な識別子
+     * @param dueBefore    この日時より前の予約を対象とする
+     * @param now          現在日時（これより前に切れたリースは確保し直す）
+     * @param leaseExpires リースの期限
+     * @param limit        確保する最大件数（ID_BLOCK_SIZEを超える場合はID_BLOCK_SIZE）
+     * @return 確保した件数（確保できる行がない場合は0）
+     */
+    @Transactional
+    public int claimDueSchedules(String owner, LocalDateTime dueBefore, LocalDateTime now, LocalDateTime leaseExpires, int limit) {
+        String selectSql = MYSQL_SELECT_CLAIMABLE_SQL;
+        if (!isMySql()) {
+            jdbcTemplate.getJdbcTemplate().queryForList(H2_LOCK_CLAIM_SQL, Integer.class);
+            selectSql = SELECT_CLAIMABLE_SQL;
+        }
+        Map<String, Object> selectParams = Map.of("dueBefore", dueBefore, "now", now, "limit", Math.min(limit, ID_BLOCK_SIZE));
+        while (true) {
+            List<Integer> ids = jdbcTemplate.queryForList(selectSql, selectParams, Integer.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            int claimed = jdbcTemplate.update(CLAIM_SQL, new MapSqlParameterSource("ids", ids)
+                    .addValue("owner", owner)
+                    .addValue("leaseExpires", leaseExpires)
+                    .addValue("now", now));
+            if (claimed > 0) {
+                return claimed;
+            }
+        }
+    }
+
+    /**
+     * 確保した予約ツイートをツイートへ移す
+     * 確保後にキャンセルされた行と、リース切れで他ノードに確保し直された行は移さない
+     *
+     * @param owner    確保時に指定した識別子
+     * @param postedAt ツイートの投稿日時
+     * @return 移した予約ツイート（予約日時, IDの昇順）
+     */
+    @Transactional
+    public List<DueSchedule> postClaimedSchedules(String owner, LocalDateTime postedAt) {
+        // 先に削除済みにして行ロックを取り、コミットまで他ノードの確保し直しとキャンセルを待たせる
+        Map<String, Object> ownerParam = Map.of("owner", owner);
+        if (jdbcTemplate.update(DELETE_CLAIMED_SQL, ownerParam) == 0) {
+            return List.of();
+        }
+        List<DueSchedule> posted = jdbcTemplate.query(SELECT_POSTED_CLAIMED_SQL, ownerParam, DUE_SCHEDULE_MAPPER);
+        jdbcTemplate.update(POST_SQL, new MapSqlParameterSource("ids", posted.stream().map(DueSchedule::id).toList())
+                .addValue("baseId", reserveTweetIdBlocks(1).get(0))
+                .addValue("postedAt", postedAt));
+        return posted;
+    }
+
+    /**
+     * ツイートIDを指定のブロック数だけ確保する
+     *
+     * @param blocks 確保するブロック数
+     * @return 各ブロックの先頭のID（昇順）
+     */
+    private List<Long> reserveTweetIdBlocks(int blocks) {
+        if (isMySql()) {
+            int size = blocks * ID_BLOCK_SIZE;
+            jdbcTemplate.getJdbcTemplate().update(MYSQL_RESERVE_ID_BLOCKS_SQL, size);
+            long firstId = jdbcTemplate.getJdbcTemplate().queryForObject(MYSQL_FIRST_ID_BLOCK_SQL, Long.class, size);
+            List<Long> starts = new ArrayList<>(blocks);
+            for (int i = 0; i < blocks; i++) {
+                starts.add(firstId + (long) i * ID_BLOCK_SIZE);
+            }
+            return starts;
+        }
+        return jdbcTemplate.getJdbcTemplate().queryForList(H2_RESERVE_ID_BLOCKS_SQL.formatted(blocks), Long.class)
+                .stream().sorted().toList();
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.getJdbcTemplate()
+                .execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+}
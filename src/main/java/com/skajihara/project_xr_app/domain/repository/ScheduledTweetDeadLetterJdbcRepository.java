@@ -0,0 +1,63 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 送信できなかった予約ツイートをデッドレターテーブルへ移すリポジトリ
+ * 予約ツイートは削除フラグをDEAD_LETTER_FLAGにして残すため、送信対象にもアーカイブ対象にもならない
+ */
+@Repository
+@AllArgsConstructor
+public class ScheduledTweetDeadLetterJdbcRepository {
+
+    /**
+     * デッドレターに移した予約ツイートの削除フラグ（0：送信待ち、1：送信済み・キャンセル済み）
+     */
+    public static final int DEAD_LETTER_FLAG = 2;
+
+    private static final int ERROR_CLASS_LENGTH = 200;
+
+    private static final int ERROR_MESSAGE_LENGTH = 1000;
+
+    private static final String MARK_SQL = "UPDATE SCHEDULED_TWEETS SET delete_flag = " + DEAD_LETTER_FLAG +
+            " WHERE id = :scheduleId AND delete_flag = 0";
+
+    private static final String INSERT_SQL = "INSERT INTO SCHEDULED_TWEETS_DEAD_LETTER " +
+            "(schedule_id, account_id, text, image, location, scheduled_datetime, error_class, error_message, failed_datetime) " +
+            "SELECT id, account_id, text, image, location, scheduled_datetime, :errorClass, :errorMessage, :failedDatetime " +
+            "FROM SCHEDULED_TWEETS WHERE id = :scheduleId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 送信待ちの予約ツイートを送信失敗の原因と合わせてデッドレターテーブルへ移す
+     *
+     * @param scheduleId     予約ツイートID
+     * @param error          送信失敗の原因
+     * @param failedDatetime 送信に失敗した日時
+     * @return 移した場合はtrue（送信待ちでない場合は移さずにfalse）
+     */
+    @Transactional
+    public boolean deadLetter(int scheduleId, Throwable error, LocalDateTime failedDatetime) {
+        // 先に削除フラグを更新し、同じ予約ツイートを二重に移さない
+        if (jdbcTemplate.update(MARK_SQL, Map.of("scheduleId", scheduleId)) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource("scheduleId", scheduleId)
+                .addValue("errorClass", truncate(error.getClass().getName(), ERROR_CLASS_LENGTH))
+                .addValue("errorMessage", truncate(error.getMessage(), ERROR_MESSAGE_LENGTH))
+                .addValue("failedDatetime", failedDatetime));
+        return true;
+    }
+
+    private static String truncate(String value, int length) {
+        return (value == null || value.length() <= length) ? value : value.substring(0, length);
+    }
+}
@@ -0,0 +1,56 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import com.skajihara.project_xr_app.domain.entity.TweetEngagementDelta;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * JPQLでは表現できないJDBCバッチ処理を行うツイートリポジトリ
+ */
+@Repository
+@AllArgsConstructor
+public class TweetJdbcRepository {
+
+    // 件数の列はINTのため、加算結果は0以上INTの最大値以下に丸める
+    private static final String ADD_ENGAGEMENT_SQL = "UPDATE TWEETS SET " +
+            "likes = LEAST(GREATEST(likes + ?, 0), 2147483647), retweets = LEAST(GREATEST(retweets + ?, 0), 2147483647), " +
+            "replies = LEAST(GREATEST(replies + ?, 0), 2147483647), views = LEAST(GREATEST(views + ?, 0), 2147483647) " +
+            "WHERE id = ? AND delete_flag = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 複数ツイートのエンゲージメント件数に差分を加算する（1回のJDBCバッチ）
+     * 現在値への加算のため、同時に実行された他の更新を上書きしない
+     * （1件でも失敗した場合はバッチ全体をロールバックし、一部だけが反映された状態を残さない）
+     *
+     * @param deltas ツイート毎の差分
+     * @return ツイート毎の更新件数（削除済み・存在しないツイートは0）
+     */
+    @Transactional
+    public int[] addEngagementBatch(List<TweetEngagementDelta> deltas) {
+        return jdbcTemplate.batchUpdate(ADD_ENGAGEMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TweetEngagementDelta delta = deltas.get(i);
+                ps.setLong(1, delta.likes());
+                ps.setLong(2, delta.retweets());
+                ps.setLong(3, delta.replies());
+                ps.setLong(4, delta.views());
+                ps.setInt(5, delta.tweetId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * TWEETSの月次パーティションを操作するリポジトリ（MySQLプロファイル専用）
+ * パーティションはschema-mysql.sqlで定義し、pYYYYMM（当月分）と上限なしのpmaxで構成する
+ */
+@Repository
+@AllArgsConstructor
+public class TweetPartitionJdbcRepository {
+
+    public static final String MAX_PARTITION = "pmax";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("p\\d{6}|pmax");
+
+    private static final String SELECT_PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'TWEETS' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    // 複写とDROP PARTITIONは同一トランザクションにできないため、削除に失敗した後の再実行でも主キーが重複しないよう複写済みの行は除く
+    private static final String ARCHIVE_PARTITION_SQL = "INSERT INTO ARCHIVED_TWEETS " +
+            "(id, account_id, text, image, likes, retweets, replies, views, datetime, location, archived_datetime) " +
+            "SELECT t.id, t.account_id, t.text, t.image, t.likes, t.retweets, t.replies, t.views, t.datetime, t.location, ? " +
+            "FROM TWEETS PARTITION (%s) t WHERE NOT EXISTS (SELECT 1 FROM ARCHIVED_TWEETS a WHERE a.id = t.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * TWEETSのパーティション名を定義順に取得する
+     *
+     * @return パーティション名（パーティション化されていない場合は空）
+     */
+    public List<String> selectPartitionNames() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS_SQL, String.class);
+    }
+
+    /**
+     * pmaxを分割して、指定日時より前のツイートを格納するパーティションを追加する
+     *
+     * @param partitionName 追加するパーティション名
+     * @param lessThan      パーティションの上限（この日時を含まない）
+     */
+    public void addPartition(String partitionName, LocalDate lessThan) {
+        jdbcTemplate.execute("ALTER TABLE TWEETS REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" +
+                "PARTITION " + validate(partitionName) + " VALUES LESS THAN ('" + lessThan + "'), " +
+                "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    /**
+     * パーティション内の全ツイートをアーカイブテーブルへ複写する（複写済みのツイートは除く）
+     *
+     * @param partitionName 対象パーティション名
+     * @return 複写件数
+     */
+    public int archivePartition(String partitionName) {
+        return jdbcTemplate.update(String.format(ARCHIVE_PARTITION_SQL, validate(partitionName)), LocalDateTime.now().withNano(0));
+    }
+
+    /**
+     * パーティションを削除する（行単位のDELETEと異なり、ファイル単位で即時に領域を解放する）
+     *
+     * @param partitionName 対象パーティション名
+     */
+    public void dropPartition(String partitionName) {
+        jdbcTemplate.execute("ALTER TABLE TWEETS DROP PARTITION " + validate(partitionName));
+    }
+
+    private static String validate(String partitionName) {
+        // DDLにはバインド変数を使えないため、生成したパーティション名以外は受け付けない
+        if (!PARTITION_NAME.matcher(partitionName).matches()) {
+            throw new IllegalArgumentException("invalid partition name: " + partitionName);
+        }
+        return partitionName;
+    }
+}
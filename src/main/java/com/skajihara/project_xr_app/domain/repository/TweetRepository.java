@@ -1,18 +1,36 @@
 package com.skajihara.project_xr_app.domain.repository;
 
+import com.skajihara.project_xr_app.domain.entity.TweetView;
 import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TweetRepository extends JpaRepository<TweetRecord, Integer> {
 
+    // ORDER BYには等価条件の列もインデックスと同じ順で先頭に並べ、並べ替えをせずインデックス順に読めるようにする
+    // （H2は等価条件で固定された先頭列を並べ替えの判定で読み飛ばさないため）
+
+    /**
+     * 参照専用のツイート情報を直接生成するコンストラクタ式（エンティティを管理対象にしない）
+     */
+    String TWEET_VIEW_PROJECTION = "SELECT new com.skajihara.project_xr_app.domain.entity.TweetView(" +
+            "t.id, t.accountId, t.text, t.image, t.likes, t.retweets, t.replies, t.views, t.datetime, t.location, t.deleteFlag) " +
+            "FROM TweetRecord t ";
+
     /**
      * 1件のツイート情報を取得する
      *
@@ -22,23 +40,137 @@ public interface TweetRepository extends JpaRepository<TweetRecord, Integer> {
     @Query("SELECT t FROM TweetRecord t WHERE t.id = :tweetId AND t.deleteFlag = 0")
     TweetRecord selectTweet(@Param("tweetId") int tweetId);
 
+    /**
+     * 1件のツイート情報を取得する（参照専用）
+     *
+     * @param tweetId ツイートID
+     * @return １件のツイート情報
+     */
+    @Query(TWEET_VIEW_PROJECTION + "WHERE t.id = :tweetId AND t.deleteFlag = 0")
+    TweetView selectTweetView(@Param("tweetId") int tweetId);
+
+    /**
+     * 複数件のツイート情報を取得する（参照専用）
+     * 並び順は保証しない
+     *
+     * @param tweetIds ツイートID
+     * @return 存在するツイート情報
+     */
+    @Query(TWEET_VIEW_PROJECTION + "WHERE t.id IN :tweetIds AND t.deleteFlag = 0")
+    List<TweetView> selectTweetViews(@Param("tweetIds") Collection<Integer> tweetIds);
+
     /**
      * 全てのツイート情報を取得する
      *
      * @return 全ツイート情報
      */
-    @Query("SELECT t FROM TweetRecord t WHERE t.deleteFlag = 0 ORDER BY t.datetime DESC")
+    @Query("SELECT t FROM TweetRecord t WHERE t.deleteFlag = 0 ORDER BY t.deleteFlag, t.datetime DESC")
     List<TweetRecord> selectAllTweets();
 
+    /**
+     * 全てのツイート情報をストリームで取得する
+     * 呼び出し側のトランザクション内でクローズすること
+     *
+     * @return 全ツイート情報のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TweetRecord t WHERE t.deleteFlag = 0 ORDER BY t.deleteFlag, t.datetime DESC, t.id DESC")
+    Stream<TweetRecord> streamAllTweets();
+
+    /**
+     * 特定アカウントの全てのツイート情報をストリームで取得する
+     * 呼び出し側のトランザクション内でクローズすること
+     *
+     * @param accountId アカウントID
+     * @return 特定アカウントの全ツイート情報のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TweetRecord t WHERE t.accountId = :accountId AND t.deleteFlag = 0 ORDER BY t.accountId, t.deleteFlag, t.datetime DESC")
+    Stream<TweetRecord> streamTweetsByAccountId(@Param("accountId") String accountId);
+
+    /**
+     * ツイート一覧の先頭ページを取得する（参照専用）
+     *
+     * @param limit 取得対象件数
+     * @return 先頭ページのツイート情報
+     */
+    @Query(TWEET_VIEW_PROJECTION + "WHERE t.deleteFlag = 0 ORDER BY t.deleteFlag, t.datetime DESC, t.id DESC LIMIT :limit")
+    List<TweetView> selectTweetsFirstPage(@Param("limit") int limit);
+
+    /**
+     * ツイート一覧の先頭ページをパーティションの刈り込み付きで取得する（参照専用、TWEETSが月次パーティションの場合に使う）
+     * 直近の期間で件数を満たす場合は、古いパーティションを読まずに応答する（満たさない場合は全期間を読み直す）
+     *
+     * @param limit 取得対象件数
+     * @return 先頭ページのツイート情報
+     */
+    default List<TweetView> selectTweetsFirstPageWithPartitionPruning(int limit) {
+        List<TweetView> recent = selectTweetsFirstPageSince(recentWindowStart(), limit);
+        return recent.size() == limit ? recent : selectTweetsFirstPage(limit);
+    }
+
+    /**
+     * 指定日時以降のツイート一覧の先頭ページを取得する（参照専用）
+     *
+     * @param since 投稿日時の下限（パーティションの刈り込み条件）
+     * @param limit 取得対象件数
+     * @return 先頭ページのツイート情報
+     */
+    @Query(TWEET_VIEW_PROJECTION + "WHERE t.deleteFlag = 0 AND t.datetime >= :since ORDER BY t.deleteFlag, t.datetime DESC, t.id DESC LIMIT :limit")
+    List<TweetView> selectTweetsFirstPageSince(@Param("since") LocalDateTime since, @Param("limit") int limit);
+
+    /**
+     * ツイート一覧のカーソル位置以降のページを取得する（参照専用）
+     *
+     * @param datetime 前ページ末尾ツイートの投稿日時
+     * @param id       前ページ末尾ツイートのID
+     * @param limit    取得対象件数
+     * @return カーソル位置以降のツイート情報
+     */
+    @Query(TWEET_VIEW_PROJECTION + "WHERE t.deleteFlag = 0 " +
+            "AND (t.datetime < :datetime OR (t.datetime = :datetime AND t.id < :id)) " +
+            "ORDER BY t.deleteFlag, t.datetime DESC, t.id DESC LIMIT :limit")
+    List<TweetView> selectTweetsAfterCursor(@Param("datetime") LocalDateTime datetime, @Param("id") int id, @Param("limit") int limit);
+
     /**
      * 最新指定件数のツイート情報を取得する
      *
      * @param limit 取得対象件数
      * @return 最新指定件数ツイート情報
      */
-    @Query("SELECT t FROM TweetRecord t WHERE t.deleteFlag = 0 ORDER BY t.datetime DESC LIMIT :limit")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM TweetRecord t WHERE t.deleteFlag = 0 ORDER BY t.deleteFlag, t.datetime DESC LIMIT :limit")
     List<TweetRecord> selectRecentTweets(@Param("limit") int limit);
 
+    /**
+     * 最新指定件数のツイート情報をパーティションの刈り込み付きで取得する（TWEETSが月次パーティションの場合に使う）
+     * 直近の期間で件数を満たす場合は、古いパーティションを読まずに応答する（満たさない場合は全期間を読み直す）
+     *
+     * @param limit 取得対象件数
+     * @return 最新指定件数ツイート情報
+     */
+    default List<TweetRecord> selectRecentTweetsWithPartitionPruning(int limit) {
+        List<TweetRecord> recent = selectRecentTweetsSince(recentWindowStart(), limit);
+        return recent.size() == limit ? recent : selectRecentTweets(limit);
+    }
+
+    /**
+     * 指定日時以降の最新指定件数のツイート情報を取得する
+     *
+     * @param since 投稿日時の下限（パーティションの刈り込み条件）
+     * @param limit 取得対象件数
+     * @return 最新指定件数ツイート情報
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM TweetRecord t WHERE t.deleteFlag = 0 AND t.datetime >= :since ORDER BY t.deleteFlag, t.datetime DESC LIMIT :limit")
+    List<TweetRecord> selectRecentTweetsSince(@Param("since") LocalDateTime since, @Param("limit") int limit);
+
     /**
      * 特定アカウントの最新指定件数のツイートを取得する
      *
@@ -46,28 +178,83 @@ public interface TweetRepository extends JpaRepository<TweetRecord, Integer> {
      * @param limit     取得対象件数
      * @return 特定アカウントの指定件数ツイート情報
      */
-    @Query("SELECT t FROM TweetRecord t WHERE t.accountId = :accountId AND t.deleteFlag = 0 ORDER BY t.datetime DESC LIMIT :limit")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM TweetRecord t WHERE t.accountId = :accountId AND t.deleteFlag = 0 ORDER BY t.accountId, t.deleteFlag, t.datetime DESC LIMIT :limit")
     List<TweetRecord> selectRecentTweetsByAccountId(@Param("accountId") String accountId, @Param("limit") int limit);
 
+    /**
+     * 特定アカウントの最新指定件数のツイートをパーティションの刈り込み付きで取得する（TWEETSが月次パーティションの場合に使う）
+     * 直近の期間で件数を満たす場合は、古いパーティションを読まずに応答する（満たさない場合は全期間を読み直す）
+     *
+     * @param accountId アカウントID
+     * @param limit     取得対象件数
+     * @return 特定アカウントの指定件数ツイート情報
+     */
+    default List<TweetRecord> selectRecentTweetsByAccountIdWithPartitionPruning(String accountId, int limit) {
+        List<TweetRecord> recent = selectRecentTweetsByAccountIdSince(accountId, recentWindowStart(), limit);
+        return recent.size() == limit ? recent : selectRecentTweetsByAccountId(accountId, limit);
+    }
+
+    /**
+     * 特定アカウントの指定日時以降の最新指定件数のツイートを取得する
+     *
+     * @param accountId アカウントID
+     * @param since     投稿日時の下限（パーティションの刈り込み条件）
+     * @param limit     取得対象件数
+     * @return 特定アカウントの指定件数ツイート情報
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM TweetRecord t WHERE t.accountId = :accountId AND t.deleteFlag = 0 AND t.datetime >= :since ORDER BY t.accountId, t.deleteFlag, t.datetime DESC LIMIT :limit")
+    List<TweetRecord> selectRecentTweetsByAccountIdSince(@Param("accountId") String accountId, @Param("since") LocalDateTime since, @Param("limit") int limit);
+
+    /**
+     * 最新ツイートの取得で最初に読む期間の開始日時
+     * MySQLプロファイルの月次パーティションの境界に合わせ、当月と前月のパーティションだけを対象とする
+     *
+     * @return 前月1日の0時
+     */
+    static LocalDateTime recentWindowStart() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(1).atStartOfDay();
+    }
+
     /**
      * 1件のツイート情報を登録する
+     * IDはシーケンスから事前採番されるため、INSERT自体はフラッシュ時にJDBCバッチとして発行される
      *
      * @param tweet 登録ツイート情報
-     * @return 登録件数
+     * @return 採番されたツイートID
      */
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
-    @Query("INSERT INTO TweetRecord (accountId, text, image, likes, retweets, replies, views, datetime, location, deleteFlag) " +
-            "VALUES (:#{#tweet.accountId}, :#{#tweet.text}, :#{#tweet.image}, :#{#tweet.likes}, " +
-            ":#{#tweet.retweets}, :#{#tweet.replies}, :#{#tweet.views}, :#{#tweet.datetime}, :#{#tweet.location}, 0)")
-    int insert(@Param("tweet") TweetRecord tweet);
+    default int insert(TweetRecord tweet) {
+        return save(newRecord(tweet)).getId();
+    }
+
+    /**
+     * 複数件のツイート情報を登録する
+     * INSERTはhibernate.jdbc.batch_size件ずつのJDBCバッチとしてフラッシュ時に発行される
+     *
+     * @param tweets 登録ツイート情報
+     * @return ツイート毎に採番されたID（登録順）
+     */
+    @Transactional
+    default int[] insertAll(List<TweetRecord> tweets) {
+        return saveAll(tweets.stream().map(TweetRepository::newRecord).toList()).stream()
+                .mapToInt(TweetRecord::getId)
+                .toArray();
+    }
+
+    private static TweetRecord newRecord(TweetRecord tweet) {
+        return new TweetRecord(null, tweet.getAccountId(), tweet.getText(), tweet.getImage(),
+                tweet.getLikes(), tweet.getRetweets(), tweet.getReplies(), tweet.getViews(),
+                tweet.getDatetime(), tweet.getLocation(), 0);
+    }
 
     /**
      * 1件のツイート情報を更新する
      *
      * @param tweetId 更新対象ツイートID
      * @param tweet   　更新ツイート情報
-     * @return 更新件数
+     * @return 更新件数（対象が存在しない、または削除済みの場合は0）
      */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
@@ -80,18 +267,18 @@ public interface TweetRepository extends JpaRepository<TweetRecord, Integer> {
             "t.views = :#{#tweet.views}, " +
             "t.location = :#{#tweet.location}, " +
             "t.deleteFlag = :#{#tweet.deleteFlag} " +
-            "WHERE t.id = :tweetId")
+            "WHERE t.id = :tweetId AND t.deleteFlag = 0")
     int update(@Param("tweetId") int tweetId, @Param("tweet") TweetRecord tweet);
 
     /**
      * 1件のツイート情報を削除する
      *
      * @param tweetId 削除対象ツイートID
-     * @return 削除件数
+     * @return 削除件数（対象が存在しない、または削除済みの場合は0）
      */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
-    @Query("UPDATE TweetRecord t SET t.deleteFlag = 1 WHERE t.id = :tweetId")
+    @Query("UPDATE TweetRecord t SET t.deleteFlag = 1 WHERE t.id = :tweetId AND t.deleteFlag = 0")
     int delete(@Param("tweetId") int tweetId);
 
 }
@@ -1,6 +1,8 @@
 package com.skajihara.project_xr_app.domain.repository;
 
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetIdRange;
 import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,11 +11,19 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TweetScheduleRepository extends JpaRepository<ScheduledTweetRecord, Integer> {
 
+    /**
+     * 処理済み位置（予約日時, ID）より後で、予約日時を過ぎている未送信の予約ツイートの条件
+     * （予約日時の下限を範囲条件として持たせ、インデックス(delete_flag, scheduled_datetime, id)の範囲だけを読む）
+     */
+    String DUE_AFTER_WATERMARK = "t.deleteFlag = 0 AND t.scheduledDatetime >= :lastProcessedDatetime AND t.scheduledDatetime < :now " +
+            "AND (t.scheduledDatetime > :lastProcessedDatetime OR t.id > :lastProcessedId)";
+
     /**
      * 1件の予約ツイート情報を取得する
      *
@@ -29,37 +39,99 @@ public interface TweetScheduleRepository extends JpaRepository<ScheduledTweetRec
      * @param accountId アカウントID
      * @return 特定アカウントの指定件数の予約ツイート情報
      */
-    @Query("SELECT t FROM ScheduledTweetRecord t WHERE t.accountId = :accountId AND t.deleteFlag = 0 ORDER BY t.scheduledDatetime ASC")
+    @Query("SELECT t FROM ScheduledTweetRecord t WHERE t.accountId = :accountId AND t.deleteFlag = 0 ORDER BY t.accountId, t.deleteFlag, t.scheduledDatetime ASC")
     List<ScheduledTweetRecord> selectScheduledTweetsByAccountId(@Param("accountId") String accountId);
 
     /**
-     * 予約日時を過ぎている予約ツイート情報を取得する
+     * 処理済み位置（予約日時, ID）より後で、予約日時を過ぎている予約ツイート情報を取得する
+     *
+     * @param lastProcessedDatetime 最後に処理した予約ツイートの予約日時
+     * @param lastProcessedId       最後に処理した予約ツイートID
+     * @param now                   現在日時
+     * @return 条件に合致する予約ツイートのリスト
+     */
+    @Query("SELECT t FROM ScheduledTweetRecord t WHERE " + DUE_AFTER_WATERMARK + " ORDER BY t.deleteFlag, t.scheduledDatetime ASC, t.id ASC")
+    List<ScheduledTweetRecord> selectScheduledTweetsForBatch(@Param("lastProcessedDatetime") LocalDateTime lastProcessedDatetime,
+                                                             @Param("lastProcessedId") int lastProcessedId,
+                                                             @Param("now") LocalDateTime now);
+
+    /**
+     * 処理済み位置（予約日時, ID）より後で、予約日時を過ぎている予約ツイートのうち最後のものを取得する
+     *
+     * @param lastProcessedDatetime 最後に処理した予約ツイートの予約日時
+     * @param lastProcessedId       最後に処理した予約ツイートID
+     * @param now                   現在日時
+     * @return 条件に合致する最後の予約ツイート（存在しない場合はnull）
+     */
+    @Query("SELECT t FROM ScheduledTweetRecord t WHERE " + DUE_AFTER_WATERMARK + " ORDER BY t.scheduledDatetime DESC, t.id DESC LIMIT 1")
+    ScheduledTweetRecord selectLastDueScheduledTweet(@Param("lastProcessedDatetime") LocalDateTime lastProcessedDatetime,
+                                                     @Param("lastProcessedId") int lastProcessedId,
+                                                     @Param("now") LocalDateTime now);
+
+    /**
+     * 処理済み位置の予約日時以前で未送信のまま残っている予約ツイートのうち、最も古い予約日時を取得する
+     * （処理済み位置を過ぎてから過去日時で登録・変更された予約や、後からコミットされた予約を拾い直すため）
+     *
+     * @param lastProcessedDatetime 最後に処理した予約ツイートの予約日時
+     * @return 最も古い予約日時（存在しない場合はnull）
+     */
+    @Query("SELECT MIN(t.scheduledDatetime) FROM ScheduledTweetRecord t WHERE t.deleteFlag = 0 AND t.scheduledDatetime <= :lastProcessedDatetime")
+    LocalDateTime selectOldestUnpostedScheduledDatetime(@Param("lastProcessedDatetime") LocalDateTime lastProcessedDatetime);
+
+    /**
+     * 指定期間に予約されている未送信の予約ツイート情報を予約日時の昇順で取得する
      *
-     * @param lastProcessedId 最後に処理した予約ツイートID
-     * @param now             現在日時
+     * @param from     予約日時の下限（この日時を含む）
+     * @param until    予約日時の上限（この日時を含まない）
+     * @param pageable 取得件数
      * @return 条件に合致する予約ツイートのリスト
      */
-    @Query("SELECT t FROM ScheduledTweetRecord t WHERE t.id > :lastProcessedId AND t.scheduledDatetime < :now AND t.deleteFlag = 0 ORDER BY t.scheduledDatetime ASC, t.id ASC")
-    List<ScheduledTweetRecord> selectScheduledTweetsForBatch(@Param("lastProcessedId") int lastProcessedId, @Param("now") LocalDateTime now);
+    @Query("SELECT t FROM ScheduledTweetRecord t WHERE t.scheduledDatetime >= :from AND t.scheduledDatetime < :until AND t.deleteFlag = 0 " +
+            "ORDER BY t.deleteFlag, t.scheduledDatetime ASC, t.id ASC")
+    List<ScheduledTweetRecord> selectUpcomingScheduledTweets(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until, Pageable pageable);
+
+    /**
+     * 処理済み位置（予約日時, ID）より後で、予約日時を過ぎている予約ツイートのIDの範囲を取得する
+     *
+     * @param lastProcessedDatetime 最後に処理した予約ツイートの予約日時
+     * @param lastProcessedId       最後に処理した予約ツイートID
+     * @param now                   現在日時
+     * @return 条件に合致する予約ツイートIDの最小値と最大値
+     */
+    @Query("SELECT new com.skajihara.project_xr_app.domain.entity.ScheduledTweetIdRange(MIN(t.id), MAX(t.id)) " +
+            "FROM ScheduledTweetRecord t WHERE " + DUE_AFTER_WATERMARK)
+    ScheduledTweetIdRange selectDueIdRange(@Param("lastProcessedDatetime") LocalDateTime lastProcessedDatetime,
+                                           @Param("lastProcessedId") int lastProcessedId,
+                                           @Param("now") LocalDateTime now);
+
+    /**
+     * 予約日時を過ぎている未送信の予約ツイートの件数を取得する（送信待ちの滞留件数）
+     *
+     * @param now 現在日時
+     * @return 予約日時を過ぎている未送信の予約ツイートの件数
+     */
+    @Query("SELECT COUNT(t) FROM ScheduledTweetRecord t WHERE t.deleteFlag = 0 AND t.scheduledDatetime < :now")
+    long countDueScheduledTweets(@Param("now") LocalDateTime now);
 
     /**
      * 1件の予約ツイートを登録する
      *
      * @param schedule 予約ツイート情報
-     * @return 登録件数
+     * @return 採番された予約ツイートID
      */
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
-    @Query("INSERT INTO ScheduledTweetRecord (accountId, text, image, location, scheduledDatetime, createdDatetime, deleteFlag) " +
-            "VALUES (:#{#schedule.accountId}, :#{#schedule.text}, :#{#schedule.image}, :#{#schedule.location}, :#{#schedule.scheduledDatetime}, :#{#schedule.createdDatetime}, 0)")
-    int insert(@Param("schedule") ScheduledTweetRecord schedule);
+    default int insert(ScheduledTweetRecord schedule) {
+        ScheduledTweetRecord record = new ScheduledTweetRecord(null, schedule.getAccountId(), schedule.getText(),
+                schedule.getImage(), schedule.getLocation(), schedule.getScheduledDatetime(), schedule.getCreatedDatetime(), 0);
+        return save(record).getId();
+    }
 
     /**
      * 1件の予約ツイートを更新する
      *
      * @param scheduleId      更新対象予約ツイートID
      * @param updatedSchedule 予約ツイート更新情報
-     * @return 更新件数
+     * @return 更新件数（対象が存在しない、またはキャンセル済みの場合は0）
      */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
@@ -69,18 +141,29 @@ public interface TweetScheduleRepository extends JpaRepository<ScheduledTweetRec
             "t.location = :#{#updatedSchedule.location}, " +
             "t.scheduledDatetime = :#{#updatedSchedule.scheduledDatetime}, " +
             "t.deleteFlag = :#{#updatedSchedule.deleteFlag} " +
-            "WHERE t.id = :scheduleId")
+            "WHERE t.id = :scheduleId AND t.deleteFlag = 0")
     int update(@Param("scheduleId") int scheduleId, @Param("updatedSchedule") ScheduledTweetRecord updatedSchedule);
 
     /**
      * 1件の予約ツイートを削除する
      *
      * @param scheduleId 削除対象予約ツイートID
-     * @return 削除件数
+     * @return 削除件数（対象が存在しない、またはキャンセル済みの場合は0）
      */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
-    @Query("UPDATE ScheduledTweetRecord t SET t.deleteFlag = 1 WHERE t.id = :scheduleId")
+    @Query("UPDATE ScheduledTweetRecord t SET t.deleteFlag = 1 WHERE t.id = :scheduleId AND t.deleteFlag = 0")
     int delete(@Param("scheduleId") int scheduleId);
 
+    /**
+     * 複数件の予約ツイートを1回のUPDATEで削除する
+     *
+     * @param scheduleIds 削除対象予約ツイートID
+     * @return 削除件数（存在しない、またはキャンセル済みの予約ツイートは含まない）
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE ScheduledTweetRecord t SET t.deleteFlag = 1 WHERE t.id IN :scheduleIds AND t.deleteFlag = 0")
+    int deleteByIds(@Param("scheduleIds") Collection<Integer> scheduleIds);
+
 }
@@ -0,0 +1,7 @@
+package com.skajihara.project_xr_app.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
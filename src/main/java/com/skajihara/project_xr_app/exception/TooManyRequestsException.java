@@ -0,0 +1,7 @@
+package com.skajihara.project_xr_app.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
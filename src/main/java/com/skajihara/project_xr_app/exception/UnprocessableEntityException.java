@@ -0,0 +1,7 @@
+package com.skajihara.project_xr_app.exception;
+
+public class UnprocessableEntityException extends RuntimeException {
+    public UnprocessableEntityException(String message) {
+        super(message);
+    }
+}
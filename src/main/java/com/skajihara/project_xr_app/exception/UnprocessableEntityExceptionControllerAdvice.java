@@ -0,0 +1,20 @@
+package com.skajihara.project_xr_app.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class UnprocessableEntityExceptionControllerAdvice {
+
+    private static final Logger log = LoggerFactory.getLogger(UnprocessableEntityExceptionControllerAdvice.class);
+
+    @ExceptionHandler(UnprocessableEntityException.class)
+    public ResponseEntity<String> handleUnprocessableEntityException(UnprocessableEntityException ex) {
+        log.warn(ex.getMessage());
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
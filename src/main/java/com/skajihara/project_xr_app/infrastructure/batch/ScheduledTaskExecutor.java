@@ -25,8 +25,21 @@ public class ScheduledTaskExecutor {
     @Qualifier("scheduledTweetsPostingJob")
     private final Job scheduledTweetsPostingJob;
 
-    @Scheduled(fixedDelay = 10000)
-    public void executeScheduledTweetsPostingJob() {
+    @Qualifier("archiveCompactionJob")
+    private final Job archiveCompactionJob;
+
+    @Qualifier("tweetPartitionMaintenanceJob")
+    private final Job tweetPartitionMaintenanceJob;
+
+    @Qualifier("batchMetadataRetentionJob")
+    private final Job batchMetadataRetentionJob;
+
+    /**
+     * 予約ツイート送信ジョブを起動する
+     * 固定間隔のポーリングはやめ、ScheduledTweetTimerが予約日時になった時点と定期スイープ時に呼び出す
+     * （同時に起動すると同じ予約を二重に送信しうるため、ジョブの実行は直列化する）
+     */
+    public synchronized void executeScheduledTweetsPostingJob() {
 
         LocalDateTime timeStamp = LocalDateTime.now();
         LocalDateTime startTime = timeStamp.withNano(0);
@@ -46,4 +59,70 @@ public class ScheduledTaskExecutor {
             log.info("duration : {}s, ( start : {}, end : {})", durationSec, startTime, endTime);
         }
     }
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void executeArchiveCompactionJob() {
+
+        LocalDateTime timeStamp = LocalDateTime.now();
+        LocalDateTime startTime = timeStamp.withNano(0);
+        log.info("【START】archive compaction job - {}", startTime);
+
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", timeStamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                    .toJobParameters();
+            JobExecution execution = jobLauncher.run(archiveCompactionJob, jobParameters);
+            log.info("【" + execution.getStatus() + "】archive compaction job.");
+        } catch (Exception e) {
+            log.error("【ERROR】archive compaction job.");
+        } finally {
+            LocalDateTime endTime = LocalDateTime.now().withNano(0);
+            long durationSec = Duration.between(startTime, endTime).getSeconds();
+            log.info("duration : {}s, ( start : {}, end : {})", durationSec, startTime, endTime);
+        }
+    }
+
+    @Scheduled(cron = "${app.tweet.partition.cron:0 30 3 * * *}")
+    public void executeTweetPartitionMaintenanceJob() {
+
+        LocalDateTime timeStamp = LocalDateTime.now();
+        LocalDateTime startTime = timeStamp.withNano(0);
+        log.info("【START】tweet partition maintenance job - {}", startTime);
+
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", timeStamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                    .toJobParameters();
+            JobExecution execution = jobLauncher.run(tweetPartitionMaintenanceJob, jobParameters);
+            log.info("【" + execution.getStatus() + "】tweet partition maintenance job.");
+        } catch (Exception e) {
+            log.error("【ERROR】tweet partition maintenance job.");
+        } finally {
+            LocalDateTime endTime = LocalDateTime.now().withNano(0);
+            long durationSec = Duration.between(startTime, endTime).getSeconds();
+            log.info("duration : {}s, ( start : {}, end : {})", durationSec, startTime, endTime);
+        }
+    }
+
+    @Scheduled(cron = "${app.retention.cron:0 15 4 * * *}")
+    public void executeBatchMetadataRetentionJob() {
+
+        LocalDateTime timeStamp = LocalDateTime.now();
+        LocalDateTime startTime = timeStamp.withNano(0);
+        log.info("【START】batch metadata retention job - {}", startTime);
+
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", timeStamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                    .toJobParameters();
+            JobExecution execution = jobLauncher.run(batchMetadataRetentionJob, jobParameters);
+            log.info("【" + execution.getStatus() + "】batch metadata retention job.");
+        } catch (Exception e) {
+            log.error("【ERROR】batch metadata retention job.");
+        } finally {
+            LocalDateTime endTime = LocalDateTime.now().withNano(0);
+            long durationSec = Duration.between(startTime, endTime).getSeconds();
+            log.info("duration : {}s, ( start : {}, end : {})", durationSec, startTime, endTime);
+        }
+    }
 }
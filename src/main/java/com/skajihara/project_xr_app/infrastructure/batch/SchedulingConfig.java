@@ -0,0 +1,15 @@
+package com.skajihara.project_xr_app.infrastructure.batch;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * ScheduledTaskExecutorの@Scheduled（cron）によるジョブ起動を有効にする
+ * テストなどでバッチを定期起動させたくない場合はapp.scheduling.enabled=falseで無効にする
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
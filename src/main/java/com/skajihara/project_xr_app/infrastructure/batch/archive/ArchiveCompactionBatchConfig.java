@@ -0,0 +1,72 @@
+package com.skajihara.project_xr_app.infrastructure.batch.archive;
+
+import com.skajihara.project_xr_app.domain.repository.ArchiveJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.archive.step.ArchiveCompactionTasklet;
+import lombok.AllArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@AllArgsConstructor
+public class ArchiveCompactionBatchConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager platformTransactionManager;
+    private final ArchiveCompactionJobListener jobListener;
+    private final ArchiveJdbcRepository archiveJdbcRepository;
+
+    /**
+     * 論理削除済みレコードのアーカイブジョブ
+     */
+    @Bean
+    public Job archiveCompactionJob(@Qualifier("tweetsArchiveStep") Step tweetsArchiveStep,
+                                    @Qualifier("scheduledTweetsArchiveStep") Step scheduledTweetsArchiveStep) {
+        return new JobBuilder("archiveCompactionJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(jobListener)
+                .start(tweetsArchiveStep)
+                .next(scheduledTweetsArchiveStep)
+                .build();
+    }
+
+    /**
+     * ツイートのアーカイブステップ
+     *
+     * @param chunkSize      1トランザクションで移動する件数
+     * @param throttleMillis チャンク間の待機時間
+     * @return ツイートのアーカイブステップ
+     */
+    @Bean
+    public Step tweetsArchiveStep(@Value("${app.archive.chunk-size:500}") int chunkSize,
+                                  @Value("${app.archive.throttle-ms:200}") long throttleMillis) {
+        return new StepBuilder("tweetsArchiveStep", jobRepository)
+                .tasklet(new ArchiveCompactionTasklet("TWEETS", archiveJdbcRepository::archiveDeletedTweets,
+                        chunkSize, throttleMillis), platformTransactionManager)
+                .build();
+    }
+
+    /**
+     * 予約ツイートのアーカイブステップ
+     *
+     * @param chunkSize      1トランザクションで移動する件数
+     * @param throttleMillis チャンク間の待機時間
+     * @return 予約ツイートのアーカイブステップ
+     */
+    @Bean
+    public Step scheduledTweetsArchiveStep(@Value("${app.archive.chunk-size:500}") int chunkSize,
+                                           @Value("${app.archive.throttle-ms:200}") long throttleMillis) {
+        return new StepBuilder("scheduledTweetsArchiveStep", jobRepository)
+                .tasklet(new ArchiveCompactionTasklet("SCHEDULED_TWEETS", archiveJdbcRepository::archiveDeletedScheduledTweets,
+                        chunkSize, throttleMillis), platformTransactionManager)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.skajihara.project_xr_app.infrastructure.batch.archive.step;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 論理削除済みレコードのアーカイブ処理
+ * 1回の呼び出し（＝1トランザクション）で最大チャンクサイズ件を移動し、対象がなくなるまで繰り返す
+ */
+@Slf4j
+@AllArgsConstructor
+public class ArchiveCompactionTasklet implements Tasklet {
+
+    private final String target;
+    private final IntUnaryOperator archiver;
+    private final int chunkSize;
+    private final long throttleMillis;
+
+    /**
+     * 1チャンク分のレコードをアーカイブする
+     */
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws InterruptedException {
+
+        // 2チャンク目以降は、行ロックを取得する前に待機してライブトラフィックへの影響を抑える
+        if (throttleMillis > 0 && chunkContext.getStepContext().getStepExecution().getCommitCount() > 0) {
+            Thread.sleep(throttleMillis);
+        }
+
+        int archived = archiver.applyAsInt(chunkSize);
+        contribution.incrementWriteCount(archived);
+        log.info("archived deleted rows of {}. count: {}", target, archived);
+
+        return archived < chunkSize ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+}
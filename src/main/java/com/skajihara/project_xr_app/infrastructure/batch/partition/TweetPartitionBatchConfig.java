@@ -0,0 +1,54 @@
+package com.skajihara.project_xr_app.infrastructure.batch.partition;
+
+import com.skajihara.project_xr_app.domain.repository.TweetPartitionJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.partition.step.TweetPartitionMaintenanceTasklet;
+import lombok.AllArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@AllArgsConstructor
+public class TweetPartitionBatchConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager platformTransactionManager;
+    private final TweetPartitionJdbcRepository tweetPartitionJdbcRepository;
+
+    /**
+     * ツイートのパーティション保守ジョブ
+     */
+    @Bean
+    public Job tweetPartitionMaintenanceJob(@Qualifier("tweetPartitionMaintenanceStep") Step tweetPartitionMaintenanceStep) {
+        return new JobBuilder("tweetPartitionMaintenanceJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .start(tweetPartitionMaintenanceStep)
+                .build();
+    }
+
+    /**
+     * ツイートのパーティション保守ステップ
+     *
+     * @param enabled         パーティション保守を行うか（MySQLプロファイルのみ有効）
+     * @param monthsAhead     事前に作成する月数
+     * @param retentionMonths TWEETSに残す月数
+     * @return ツイートのパーティション保守ステップ
+     */
+    @Bean
+    public Step tweetPartitionMaintenanceStep(@Value("${app.tweet.partition.enabled:false}") boolean enabled,
+                                              @Value("${app.tweet.partition.months-ahead:3}") int monthsAhead,
+                                              @Value("${app.tweet.partition.retention-months:24}") int retentionMonths) {
+        return new StepBuilder("tweetPartitionMaintenanceStep", jobRepository)
+                .tasklet(new TweetPartitionMaintenanceTasklet(tweetPartitionJdbcRepository, enabled, monthsAhead, retentionMonths),
+                        platformTransactionManager)
+                .build();
+    }
+}
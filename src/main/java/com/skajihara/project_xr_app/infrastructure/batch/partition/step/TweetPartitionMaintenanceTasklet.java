@@ -0,0 +1,85 @@
+package com.skajihara.project_xr_app.infrastructure.batch.partition.step;
+
+import com.skajihara.project_xr_app.domain.repository.TweetPartitionJdbcRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * TWEETSの月次パーティションの保守処理
+ * 当月から指定月数先までのパーティションを事前に作成し、保持期間を過ぎたパーティションはアーカイブしてから削除する
+ * （パーティション操作はDDLのため、MySQLではステップのトランザクションとは無関係に即時確定する）
+ */
+@Slf4j
+@AllArgsConstructor
+public class TweetPartitionMaintenanceTasklet implements Tasklet {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final TweetPartitionJdbcRepository tweetPartitionJdbcRepository;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    /**
+     * パーティションの追加と削除を行う
+     */
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+
+        if (!enabled) {
+            log.info("tweet partition maintenance is disabled.");
+            return RepeatStatus.FINISHED;
+        }
+
+        List<String> partitions = tweetPartitionJdbcRepository.selectPartitionNames();
+        if (partitions.isEmpty()) {
+            log.warn("TWEETS is not partitioned. skip maintenance.");
+            return RepeatStatus.FINISHED;
+        }
+
+        YearMonth current = YearMonth.now();
+
+        // 未来分のパーティションを作成（pmaxの分割は昇順でしか行えないため、既存の最終月より後だけを対象とする）
+        YearMonth latest = partitions.stream().map(TweetPartitionMaintenanceTasklet::toMonth)
+                .filter(Objects::nonNull).max(YearMonth::compareTo).orElse(current.minusMonths(1));
+        for (YearMonth month = latest.plusMonths(1); !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            String partitionName = month.format(PARTITION_MONTH);
+            tweetPartitionJdbcRepository.addPartition(partitionName, month.plusMonths(1).atDay(1));
+            log.info("created tweet partition: {}", partitionName);
+        }
+
+        // 保持期間を過ぎたパーティションをアーカイブしてから削除
+        YearMonth oldestRetained = current.minusMonths(retentionMonths);
+        for (String partitionName : partitions) {
+            YearMonth month = toMonth(partitionName);
+            if (month == null || !month.isBefore(oldestRetained)) {
+                continue;
+            }
+            int archived = tweetPartitionJdbcRepository.archivePartition(partitionName);
+            tweetPartitionJdbcRepository.dropPartition(partitionName);
+            contribution.incrementWriteCount(archived);
+            log.info("dropped tweet partition: {} (archived: {})", partitionName, archived);
+        }
+
+        return RepeatStatus.FINISHED;
+    }
+
+    private static YearMonth toMonth(String partitionName) {
+        try {
+            return YearMonth.parse(partitionName, PARTITION_MONTH);
+        } catch (DateTimeParseException e) {
+            // pmax
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.skajihara.project_xr_app.infrastructure.batch.retention;
+
+import com.skajihara.project_xr_app.domain.repository.BatchMetadataRetentionJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.retention.step.BatchMetadataRetentionTasklet;
+import lombok.AllArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@AllArgsConstructor
+public class BatchMetadataRetentionBatchConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager platformTransactionManager;
+    private final BatchMetadataRetentionJobListener jobListener;
+    private final BatchMetadataRetentionJdbcRepository batchMetadataRetentionJdbcRepository;
+
+    /**
+     * 保持期間を過ぎたバッチのメタデータ・履歴、冪等キーの削除ジョブ
+     */
+    @Bean
+    public Job batchMetadataRetentionJob(@Qualifier("batchHistoryRetentionStep") Step batchHistoryRetentionStep,
+                                         @Qualifier("batchMetadataRetentionStep") Step batchMetadataRetentionStep,
+                                         @Qualifier("idempotencyKeyRetentionStep") Step idempotencyKeyRetentionStep) {
+        return new JobBuilder("batchMetadataRetentionJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(jobListener)
+                .start(batchHistoryRetentionStep)
+                .next(batchMetadataRetentionStep)
+                .next(idempotencyKeyRetentionStep)
+                .build();
+    }
+
+    /**
+     * バッチ履歴の削除ステップ（削除する履歴は日次の集計に加算する）
+     *
+     * @param retentionDays  バッチ履歴の保持日数
+     * @param chunkSize      1トランザクションで削除する件数
+     * @param throttleMillis チャンク間の待機時間
+     * @return バッチ履歴の削除ステップ
+     */
+    @Bean
+    public Step batchHistoryRetentionStep(@Value("${app.retention.history-days:30}") int retentionDays,
+                                          @Value("${app.retention.chunk-size:500}") int chunkSize,
+                                          @Value("${app.retention.throttle-ms:200}") long throttleMillis) {
+        return new StepBuilder("batchHistoryRetentionStep", jobRepository)
+                .tasklet(new BatchMetadataRetentionTasklet("BATCH_HISTORY", batchMetadataRetentionJdbcRepository::pruneBatchHistory,
+                        retentionDays, chunkSize, throttleMillis), platformTransactionManager)
+                .build();
+    }
+
+    /**
+     * Spring Batchのメタデータの削除ステップ
+     *
+     * @param retentionDays  メタデータの保持日数
+     * @param chunkSize      1トランザクションで削除するジョブ実行数
+     * @param throttleMillis チャンク間の待機時間
+     * @return Spring Batchのメタデータの削除ステップ
+     */
+    @Bean
+    public Step batchMetadataRetentionStep(@Value("${app.retention.metadata-days:7}") int retentionDays,
+                                           @Value("${app.retention.chunk-size:500}") int chunkSize,
+                                           @Value("${app.retention.throttle-ms:200}") long throttleMillis) {
+        return new StepBuilder("batchMetadataRetentionStep", jobRepository)
+                .tasklet(new BatchMetadataRetentionTasklet("BATCH_JOB_EXECUTION", batchMetadataRetentionJdbcRepository::pruneJobExecutions,
+                        retentionDays, chunkSize, throttleMillis), platformTransactionManager)
+                .build();
+    }
+
+    /**
+     * 有効期間を過ぎた冪等キーの削除ステップ
+     * 有効期間内のキーを消さないよう、保持日数は有効期間を日単位に切り上げる
+     *
+     * @param ttlSeconds     冪等キーの有効期間（秒）
+     * @param chunkSize      1トランザクションで削除する件数
+     * @param throttleMillis チャンク間の待機時間
+     * @return 冪等キーの削除ステップ
+     */
+    @Bean
+    public Step idempotencyKeyRetentionStep(@Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                            @Value("${app.retention.chunk-size:500}") int chunkSize,
+                                            @Value("${app.retention.throttle-ms:200}") long throttleMillis) {
+        int retentionDays = Math.toIntExact(Math.ceilDiv(ttlSeconds, 86400L));
+        return new StepBuilder("idempotencyKeyRetentionStep", jobRepository)
+                .tasklet(new BatchMetadataRetentionTasklet("IDEMPOTENCY_KEYS", batchMetadataRetentionJdbcRepository::pruneIdempotencyKeys,
+                        retentionDays, chunkSize, throttleMillis), platformTransactionManager)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.skajihara.project_xr_app.infrastructure.batch.retention;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class BatchMetadataRetentionJobListener implements JobExecutionListener {
+
+    private final BatchHistoryRepository batchHistoryRepository;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+
+        log.info("start batch processing of batch metadata retention. jobId: {}", jobExecution.getJobId());
+
+        try {
+            // バッチ開始履歴登録（保持期間の管理は処理済みIDを持たないため0固定）
+            BatchHistoryRecord history = new BatchHistoryRecord(0, "batchMetadataRetentionJob", 0, 0, LocalDateTime.now().withNano(0), null, 0);
+            int batchHistoryId = batchHistoryRepository.insert(history);
+            jobExecution.getExecutionContext().putInt("batchHistoryId", batchHistoryId);
+
+        } catch (Exception e) {
+            log.error("failed batch history initialize.", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        int batchHistoryId = jobExecution.getExecutionContext().getInt("batchHistoryId", -1);
+        if (batchHistoryId == -1) {
+            log.error("skip update because the history id does not exist in ExecutionContext.");
+            return;
+        }
+
+        // 各ステップの削除件数の合計を処理件数として記録する
+        long pruned = 0;
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            log.info("pruned rows of {}: {}", stepExecution.getStepName(), stepExecution.getWriteCount());
+            pruned += stepExecution.getWriteCount();
+        }
+
+        try {
+            BatchHistoryRecord history = batchHistoryRepository.selectByPrimaryKey(batchHistoryId);
+            history.setProcessedNum(Math.toIntExact(pruned));
+            history.setExecutionEnd(LocalDateTime.now().withNano(0));
+            history.setSucceeded(jobExecution.getStatus() == BatchStatus.COMPLETED ? 1 : 0);
+            batchHistoryRepository.update(batchHistoryId, history);
+
+            if (jobExecution.getStatus() == BatchStatus.COMPLETED) {
+                log.info("succeeded batch processing of batch metadata retention. pruned: {}, jobId: {}", pruned, jobExecution.getJobId());
+            } else {
+                log.error("failed batch processing of batch metadata retention. pruned: {}, jobId: {}", pruned, jobExecution.getJobId());
+            }
+
+        } catch (Exception e) {
+            log.error("failed batch history update.", e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.skajihara.project_xr_app.infrastructure.batch.retention.step;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 保持期間を過ぎたバッチのメタデータ・履歴の削除処理
+ * 1回の呼び出し（＝1トランザクション）で最大チャンクサイズ件を削除し、対象がなくなるまで繰り返す
+ */
+@Slf4j
+@AllArgsConstructor
+public class BatchMetadataRetentionTasklet implements Tasklet {
+
+    /**
+     * 保持期間の基準日時より前のレコードを指定件数まで削除する処理
+     */
+    @FunctionalInterface
+    public interface Pruner {
+        int prune(LocalDateTime before, int limit);
+    }
+
+    private final String target;
+    private final Pruner pruner;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long throttleMillis;
+
+    /**
+     * 1チャンク分のレコードを削除する
+     */
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws InterruptedException {
+
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+
+        // 2チャンク目以降は、行ロックを取得する前に待機してライブトラフィックへの影響を抑える
+        if (throttleMillis > 0 && stepExecution.getCommitCount() > 0) {
+            Thread.sleep(throttleMillis);
+        }
+
+        // 基準日時はステップの開始日時から求め、チャンクごとにずれないようにする
+        LocalDateTime before = stepExecution.getStartTime().minusDays(retentionDays);
+        int pruned = pruner.prune(before, chunkSize);
+        contribution.incrementWriteCount(pruned);
+        log.info("pruned expired rows of {}. before: {}, count: {}", target, before, pruned);
+
+        return pruned < chunkSize ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+}
@@ -0,0 +1,154 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 予約ツイート送信ジョブのメトリクス（Actuatorの/actuator/metricsで参照する）
+ * <ul>
+ *     <li>scheduled.tweets.posting.lag：予約日時から投稿日時までの遅延（ヒストグラム）</li>
+ *     <li>scheduled.tweets.posted：投稿件数</li>
+ *     <li>scheduled.tweets.posting.db.time.per.item：1トランザクションのDB処理時間を件数で割った値
+ *     （チャンク指向の場合、読み込みのページングクエリは含まない）</li>
+ *     <li>scheduled.tweets.posting.step.duration：ステップの処理時間</li>
+ *     <li>scheduled.tweets.posting.throughput：ステップの1秒あたりの投稿件数</li>
+ *     <li>scheduled.tweets.backlog：予約日時を過ぎている未送信の予約ツイートの件数（参照時にDBから数える）</li>
+ *     <li>scheduled.tweets.dead.lettered：送信できずにデッドレターに移した件数</li>
+ * </ul>
+ * 投稿に関するメトリクスにはmode（送信方式）、ステップに関するメトリクスにはstep（ステップ名）とstatus、
+ * デッドレターにはexception（送信失敗の原因の例外クラス名）のタグを付ける。
+ */
+@Slf4j
+@Component
+public class ScheduledPostingMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final TweetScheduleRepository tweetScheduleRepository;
+
+    public ScheduledPostingMetrics(MeterRegistry meterRegistry, TweetScheduleRepository tweetScheduleRepository) {
+        this.meterRegistry = meterRegistry;
+        this.tweetScheduleRepository = tweetScheduleRepository;
+        Gauge.builder("scheduled.tweets.backlog", this, ScheduledPostingMetrics::countBacklog)
+                .description("number of due scheduled tweets that are not posted yet")
+                .baseUnit("tweets")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 投稿した予約ツイートの遅延と件数を記録する
+     * トランザクション内の場合はコミット後に記録する（ロールバックした投稿は数えないため）
+     *
+     * @param mode               送信方式
+     * @param postedAt           投稿日時
+     * @param scheduledDatetimes 投稿した予約ツイートの予約日時
+     */
+    public void recordPosted(String mode, LocalDateTime postedAt, Collection<LocalDateTime> scheduledDatetimes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(mode, postedAt, scheduledDatetimes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(mode, postedAt, scheduledDatetimes);
+            }
+        });
+    }
+
+    /**
+     * 1トランザクションのDB処理時間を1件あたりに換算して記録する
+     *
+     * @param mode    送信方式
+     * @param dbNanos DB処理時間（ナノ秒）
+     * @param items   処理件数（0件の場合は記録しない）
+     */
+    public void recordDbTime(String mode, long dbNanos, int items) {
+        if (items <= 0) {
+            return;
+        }
+        Timer.builder("scheduled.tweets.posting.db.time.per.item")
+                .description("database time per posted scheduled tweet")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(dbNanos / items, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * ステップの処理時間と1秒あたりの投稿件数を記録する
+     *
+     * @param step     ステップ名
+     * @param status   ステップの終了状態
+     * @param duration 処理時間
+     * @param items    投稿件数（0件の場合は処理時間だけを記録する）
+     */
+    public void recordStep(String step, String status, Duration duration, long items) {
+        Timer.builder("scheduled.tweets.posting.step.duration")
+                .description("duration of a scheduled tweets posting step")
+                .tags("step", step, "status", status)
+                .register(meterRegistry)
+                .record(duration);
+        if (items <= 0 || duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        DistributionSummary.builder("scheduled.tweets.posting.throughput")
+                .description("posted scheduled tweets per second in a step")
+                .baseUnit("tweets/s")
+                .tags("step", step, "status", status)
+                .register(meterRegistry)
+                .record(items * 1_000_000_000.0 / duration.toNanos());
+    }
+
+    /**
+     * 送信できずにデッドレターに移した予約ツイートを記録する
+     *
+     * @param error 送信失敗の原因
+     */
+    public void recordDeadLettered(Throwable error) {
+        Counter.builder("scheduled.tweets.dead.lettered")
+                .description("number of scheduled tweets moved to the dead letter table")
+                .tag("exception", error.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void record(String mode, LocalDateTime postedAt, Collection<LocalDateTime> scheduledDatetimes) {
+        Timer lag = Timer.builder("scheduled.tweets.posting.lag")
+                .description("delay from the scheduled datetime to the posted datetime")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (LocalDateTime scheduledDatetime : scheduledDatetimes) {
+            // 予約日時より前に投稿することはないが、日時の切り捨てで負になる場合は0とする
+            Duration delay = Duration.between(scheduledDatetime, postedAt);
+            lag.record(delay.isNegative() ? Duration.ZERO : delay);
+        }
+        Counter.builder("scheduled.tweets.posted")
+                .description("number of posted scheduled tweets")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment(scheduledDatetimes.size());
+    }
+
+    private double countBacklog() {
+        try {
+            return tweetScheduleRepository.countDueScheduledTweets(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("failed to count scheduled tweets backlog.", e);
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.ScheduledTaskExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 予約ツイートの送信タイマー
+ * 一定時間先（app.tweet.schedule.timer.horizon-seconds）までの予約をDelayQueueに保持し、
+ * 予約日時になった時点で予約ツイート送信ジョブを起動する（同時刻の予約は1回の起動にまとめる）
+ * <p>
+ * メモリ上にない予約（保持範囲より先の予約、上限超過、他インスタンスでの登録など）は、
+ * 低頻度の定期スイープ（app.tweet.schedule.sweep-interval-ms）でDBから読み直して送信する。
+ * 定期スイープはタイマーの有効・無効にかかわらず実行し、タイマー無効時はスイープだけで送信する。
+ * 予約の登録・更新・キャンセルはTweetScheduleServiceから反映する。
+ */
+@Slf4j
+@Component
+public class ScheduledTweetTimer {
+
+    private final TweetScheduleRepository tweetScheduleRepository;
+
+    private final ScheduledTaskExecutor scheduledTaskExecutor;
+
+    private final boolean enabled;
+
+    private final long horizonSeconds;
+
+    private final long sweepIntervalMs;
+
+    private final int maxEntries;
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+
+    // キャンセル・更新された予約はここから外し、キューに残った古いエントリは取り出し時に読み捨てる
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    private Thread dispatcher;
+
+    public ScheduledTweetTimer(TweetScheduleRepository tweetScheduleRepository,
+                               ScheduledTaskExecutor scheduledTaskExecutor,
+                               @Value("${app.tweet.schedule.timer.enabled:true}") boolean enabled,
+                               @Value("${app.tweet.schedule.timer.horizon-seconds:600}") long horizonSeconds,
+                               @Value("${app.tweet.schedule.sweep-interval-ms:60000}") long sweepIntervalMs,
+                               @Value("${app.tweet.schedule.timer.max-entries:100000}") int maxEntries) {
+        this.tweetScheduleRepository = tweetScheduleRepository;
+        this.scheduledTaskExecutor = scheduledTaskExecutor;
+        this.enabled = enabled;
+        this.horizonSeconds = horizonSeconds;
+        this.sweepIntervalMs = sweepIntervalMs;
+        this.maxEntries = maxEntries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            log.info("scheduled tweet timer is disabled.");
+            return;
+        }
+        running = true;
+        dispatcher = new Thread(this::runDispatcher, "scheduled-tweet-timer");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join();
+        }
+    }
+
+    /**
+     * 予約をタイマーに登録する（登録済みの場合は予約日時を差し替える）
+     * トランザクション内の場合はコミット後に登録する（コミット前にジョブが起動して予約を読み飛ばさないため）
+     *
+     * @param scheduleId        予約ツイートID
+     * @param scheduledDatetime 予約日時
+     */
+    public void schedule(int scheduleId, LocalDateTime scheduledDatetime) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(scheduleId, scheduledDatetime);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                register(scheduleId, scheduledDatetime);
+            }
+        });
+    }
+
+    /**
+     * 予約をタイマーから外す
+     *
+     * @param scheduleId 予約ツイートID
+     */
+    public void cancel(int scheduleId) {
+        entries.remove(scheduleId);
+    }
+
+    /**
+     * 保持範囲内の未送信の予約をDBから読み直して登録する
+     * （予約日時を過ぎている予約は直後のスイープで送信するため対象外）
+     *
+     * @return 登録件数
+     */
+    public int reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduledTweetRecord> schedules = tweetScheduleRepository
+                .selectUpcomingScheduledTweets(now, now.plusSeconds(horizonSeconds), PageRequest.of(0, maxEntries));
+        int registered = 0;
+        for (ScheduledTweetRecord schedule : schedules) {
+            if (register(schedule.getId(), schedule.getScheduledDatetime())) {
+                registered++;
+            }
+        }
+        log.debug("scheduled tweet timer reloaded. registered: {}, pending: {}", registered, entries.size());
+        return registered;
+    }
+
+    /**
+     * 定期スイープ：保持範囲を読み直し、メモリ上にない予約も含めて送信する
+     * （タイマー無効時は読み直さずに送信ジョブだけを起動する）
+     */
+    @Scheduled(fixedDelayString = "${app.tweet.schedule.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (enabled) {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                // 読み直しに失敗しても、DB上の予約の送信は続ける
+                log.warn("scheduled tweet timer reload failed.", e);
+            }
+        }
+        scheduledTaskExecutor.executeScheduledTweetsPostingJob();
+    }
+
+    /**
+     * タイマーに登録されている予約の件数
+     *
+     * @return 予約の件数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    boolean register(int scheduleId, LocalDateTime scheduledDatetime) {
+        // 保持範囲より先の予約はスイープで読み直すため登録しない
+        if (scheduledDatetime.isAfter(LocalDateTime.now().plusSeconds(horizonSeconds))) {
+            entries.remove(scheduleId);
+            return false;
+        }
+        if (!entries.containsKey(scheduleId) && entries.size() >= maxEntries) {
+            return false;
+        }
+        Entry entry = new Entry(scheduleId, scheduledDatetime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        // スイープで同じ予約を読み直した場合はキューに積み直さない
+        if (!entry.equals(entries.put(scheduleId, entry))) {
+            queue.put(entry);
+        }
+        return true;
+    }
+
+    /**
+     * 予約日時になった予約を取り出す
+     *
+     * @param timeoutMs 予約日時になった予約がない場合の最大待ち時間
+     * @return 取り出した予約の件数（キャンセル・更新済みのエントリは含まない）
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    int awaitDue(long timeoutMs) throws InterruptedException {
+        Entry first = queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<Entry> due = new ArrayList<>();
+        due.add(first);
+        queue.drainTo(due);
+        int fired = 0;
+        for (Entry entry : due) {
+            if (entries.remove(entry.scheduleId(), entry)) {
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    private void runDispatcher() {
+        while (running) {
+            try {
+                // 定期スイープはsweep()で行うため、ここでは予約日時になった予約だけを待つ
+                int fired = awaitDue(sweepIntervalMs);
+                if (fired > 0) {
+                    log.info("scheduled tweets are due: {}", fired);
+                    scheduledTaskExecutor.executeScheduledTweetsPostingJob();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("scheduled tweet timer failed.", e);
+            }
+        }
+    }
+
+    private record Entry(int scheduleId, long dueAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Entry) other).dueAtMillis);
+        }
+    }
+}
@@ -1,51 +1,434 @@
 package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
 
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetPosting;
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.repository.AccountRepository;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.ScheduledPostingJdbcRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.InvalidScheduledTweetException;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsClaimedPostingTasklet;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsPartitioner;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsPostingProcessor;
 import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsPostingTasklet;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsPostingWriter;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsSetBasedPostingTasklet;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Configuration
 @Slf4j
 @AllArgsConstructor
 public class ScheduledTweetsBatchConfig {
 
+    // TweetScheduleRepository.DUE_AFTER_WATERMARKと同じ条件（インデックス(delete_flag, scheduled_datetime, id)の範囲だけを読む）
+    private static final String DUE_AFTER_WATERMARK = "delete_flag = 0 " +
+            "AND scheduled_datetime >= :lastProcessedDatetime AND scheduled_datetime < :now " +
+            "AND (scheduled_datetime > :lastProcessedDatetime OR id > :lastProcessedId)";
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager platformTransactionManager;
     private final ScheduledTweetsBatchJobListener jobListener;
+    private final ScheduledTweetsPartitionStepListener partitionStepListener;
+    private final ScheduledTweetsPostingSkipListener postingSkipListener;
+    private final DataSource dataSource;
+    private final BatchHistoryRepository batchHistoryRepository;
+    private final TweetScheduleRepository tweetScheduleRepository;
+    private final TweetRepository tweetRepository;
+    private final AccountRepository accountRepository;
+    private final ScheduledPostingJdbcRepository scheduledPostingJdbcRepository;
+    private final RecentTweetsCache recentTweetsCache;
+    private final AccountTimelineCache accountTimelineCache;
+    private final ScheduledPostingMetrics scheduledPostingMetrics;
 
     /**
      * 予約ツイート送信ジョブ
+     *
+     * @param postingMode 送信方式（chunk：チャンク単位でコミット、partitioned：ID範囲で分割して並列送信、
+     *                    set-based：DB内でINSERT ... SELECTにより集合的に送信、
+     *                    claimed：リース付きで確保してから送信（複数ノードで同時に実行する場合）、tasklet：全件を1トランザクションで処理）
      */
     @Bean
-    public Job scheduledTweetsPostingJob(@Qualifier("scheduledTweetsPostingStep") Step scheduledTweetPostingStep) {
+    public Job scheduledTweetsPostingJob(@Qualifier("scheduledTweetsPostingStep") Step scheduledTweetPostingStep,
+                                         @Qualifier("scheduledTweetsPartitionedPostingStep") Step scheduledTweetsPartitionedPostingStep,
+                                         @Qualifier("scheduledTweetsSetBasedPostingStep") Step scheduledTweetsSetBasedPostingStep,
+                                         @Qualifier("scheduledTweetsClaimedPostingStep") Step scheduledTweetsClaimedPostingStep,
+                                         @Qualifier("scheduledTweetsPostingTaskletStep") Step scheduledTweetsPostingTaskletStep,
+                                         @Value("${app.tweet.schedule.posting-mode:chunk}") String postingMode) {
+        log.info("scheduled tweets posting mode: {}", postingMode);
+        Step step = switch (postingMode) {
+            case "partitioned" -> scheduledTweetsPartitionedPostingStep;
+            case "set-based" -> scheduledTweetsSetBasedPostingStep;
+            case "claimed" -> scheduledTweetsClaimedPostingStep;
+            case "tasklet" -> scheduledTweetsPostingTaskletStep;
+            default -> scheduledTweetPostingStep;
+        };
         return new JobBuilder("scheduledTweetsPostingJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .preventRestart()
                 .listener(jobListener)
-                .start(scheduledTweetPostingStep)
+                .start(step)
+                .build();
+    }
+
+    /**
+     * 予約ツイート送信ステップ（チャンク指向）
+     *
+     * @param scheduledTweetsReader    予約ツイートの読み込み
+     * @param scheduledTweetsProcessor 予約ツイートの検証と変換
+     * @param scheduledTweetsWriter    予約ツイートの投稿
+     * @param chunkSize             1トランザクションで投稿する件数
+     * @param retryLimit            一時的なDBエラー（ロック待ちのタイムアウト、デッドロックなど）で投稿を試みる最大回数
+     * @param retryIntervalMs       再試行までの待ち時間の初期値（再試行ごとに2倍にする）
+     * @param retryMaxIntervalMs    再試行までの待ち時間の上限
+     * @param skipLimit             1回の実行でデッドレターに移す予約ツイートの上限（超えた場合はステップを失敗させる）
+     * @return 予約ツイート送信ステップ
+     */
+    @Bean
+    public Step scheduledTweetsPostingStep(@Qualifier("scheduledTweetsReader") JdbcPagingItemReader<ScheduledTweetRecord> scheduledTweetsReader,
+                                           ScheduledTweetsPostingProcessor scheduledTweetsProcessor,
+                                           @Qualifier("scheduledTweetsWriter") ScheduledTweetsPostingWriter scheduledTweetsWriter,
+                                           @Value("${app.tweet.schedule.chunk-size:100}") int chunkSize,
+                                           @Value("${app.tweet.schedule.retry.limit:3}") int retryLimit,
+                                           @Value("${app.tweet.schedule.retry.interval-ms:100}") long retryIntervalMs,
+                                           @Value("${app.tweet.schedule.retry.max-interval-ms:2000}") long retryMaxIntervalMs,
+                                           @Value("${app.tweet.schedule.skip-limit:100}") int skipLimit) {
+        return postingChunkStep("scheduledTweetsPostingStep", scheduledTweetsReader, scheduledTweetsProcessor, scheduledTweetsWriter,
+                chunkSize, retryLimit, retryIntervalMs, retryMaxIntervalMs, skipLimit);
+    }
+
+    /**
+     * 予約ツイート送信ステップ（ID範囲で分割して並列送信）
+     *
+     * @param scheduledTweetsPartitioner         予約ツイートの分割
+     * @param scheduledTweetsPostingWorkerStep   分割した範囲ごとの送信ステップ
+     * @param scheduledTweetsPostingTaskExecutor 並列送信用のスレッドプール
+     * @param workers                            並列数（分割数）
+     * @return 予約ツイート送信ステップ
+     */
+    @Bean
+    public Step scheduledTweetsPartitionedPostingStep(ScheduledTweetsPartitioner scheduledTweetsPartitioner,
+                                                      @Qualifier("scheduledTweetsPostingWorkerStep") Step scheduledTweetsPostingWorkerStep,
+                                                      @Qualifier("scheduledTweetsPostingTaskExecutor") TaskExecutor scheduledTweetsPostingTaskExecutor,
+                                                      @Value("${app.tweet.schedule.partition.workers:4}") int workers) {
+        return new StepBuilder("scheduledTweetsPartitionedPostingStep", jobRepository)
+                .partitioner("scheduledTweetsPostingWorkerStep", scheduledTweetsPartitioner)
+                .step(scheduledTweetsPostingWorkerStep)
+                .gridSize(workers)
+                .taskExecutor(scheduledTweetsPostingTaskExecutor)
+                .listener(partitionStepListener)
+                .build();
+    }
+
+    /**
+     * 分割した範囲ごとの予約ツイート送信ステップ
+     *
+     * @param scheduledTweetsPartitionReader 範囲内の予約ツイートの読み込み
+     * @param scheduledTweetsProcessor       予約ツイートの検証と変換
+     * @param scheduledTweetsPartitionWriter 予約ツイートの投稿
+     * @param chunkSize                      1トランザクションで投稿する件数
+     * @param retryLimit                     一時的なDBエラーで投稿を試みる最大回数
+     * @param retryIntervalMs                再試行までの待ち時間の初期値（再試行ごとに2倍にする）
+     * @param retryMaxIntervalMs             再試行までの待ち時間の上限
+     * @param skipLimit                      1パーティションでデッドレターに移す予約ツイートの上限
+     * @return 分割した範囲ごとの予約ツイート送信ステップ
+     */
+    @Bean
+    public Step scheduledTweetsPostingWorkerStep(@Qualifier("scheduledTweetsPartitionReader") JdbcPagingItemReader<ScheduledTweetRecord> scheduledTweetsPartitionReader,
+                                                 ScheduledTweetsPostingProcessor scheduledTweetsProcessor,
+                                                 @Qualifier("scheduledTweetsPartitionWriter") ScheduledTweetsPostingWriter scheduledTweetsPartitionWriter,
+                                                 @Value("${app.tweet.schedule.chunk-size:100}") int chunkSize,
+                                                 @Value("${app.tweet.schedule.retry.limit:3}") int retryLimit,
+                                                 @Value("${app.tweet.schedule.retry.interval-ms:100}") long retryIntervalMs,
+                                                 @Value("${app.tweet.schedule.retry.max-interval-ms:2000}") long retryMaxIntervalMs,
+                                                 @Value("${app.tweet.schedule.skip-limit:100}") int skipLimit) {
+        return postingChunkStep("scheduledTweetsPostingWorkerStep", scheduledTweetsPartitionReader, scheduledTweetsProcessor,
+                scheduledTweetsPartitionWriter, chunkSize, retryLimit, retryIntervalMs, retryMaxIntervalMs, skipLimit);
+    }
+
+    /**
+     * 並列送信用のスレッドプール
+     *
+     * @param workers 並列数
+     * @return 並列送信用のスレッドプール
+     */
+    @Bean
+    public ThreadPoolTaskExecutor scheduledTweetsPostingTaskExecutor(@Value("${app.tweet.schedule.partition.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("scheduled-posting-");
+        return executor;
+    }
+
+    /**
+     * 予約ツイート送信ステップ（DB内で集合的に送信）
+     *
+     * @param scheduledTweetsSetBasedPostingTasklet 内部実装（commit-rows件ごとにコミットし、残りがなくなるまで繰り返す）
+     * @return 予約ツイート送信ステップ
+     */
+    @Bean
+    public Step scheduledTweetsSetBasedPostingStep(ScheduledTweetsSetBasedPostingTasklet scheduledTweetsSetBasedPostingTasklet) {
+        return new StepBuilder("scheduledTweetsSetBasedPostingStep", jobRepository)
+                .tasklet(scheduledTweetsSetBasedPostingTasklet, platformTransactionManager)
                 .build();
     }
 
     /**
-     * 予約ツイート送信ステップ
+     * 予約ツイート送信ステップ（複数ノードで分担して送信）
+     *
+     * @param scheduledTweetsClaimedPostingTasklet 内部実装（commit-rows件ごとにコミットし、確保できる予約がなくなるまで繰り返す）
+     * @return 予約ツイート送信ステップ
+     */
+    @Bean
+    public Step scheduledTweetsClaimedPostingStep(ScheduledTweetsClaimedPostingTasklet scheduledTweetsClaimedPostingTasklet) {
+        return new StepBuilder("scheduledTweetsClaimedPostingStep", jobRepository)
+                .tasklet(scheduledTweetsClaimedPostingTasklet, platformTransactionManager)
+                .build();
+    }
+
+    /**
+     * 予約ツイート送信ステップ（全件を1トランザクションで処理）
      *
      * @param scheduledTweetsPostingTasklet 内部実装
      * @return 予約ツイート送信ステップ
      */
     @Bean
-    public Step scheduledTweetsPostingStep(ScheduledTweetsPostingTasklet scheduledTweetsPostingTasklet) {
-        return new StepBuilder("scheduledTweetsPostingStep", jobRepository)
+    public Step scheduledTweetsPostingTaskletStep(ScheduledTweetsPostingTasklet scheduledTweetsPostingTasklet) {
+        return new StepBuilder("scheduledTweetsPostingTaskletStep", jobRepository)
                 .tasklet(scheduledTweetsPostingTasklet, platformTransactionManager)
                 .build();
     }
+
+    /**
+     * 予約日時を過ぎている予約ツイートの読み込み
+     * 前回の処理済み位置（予約日時, ID）より後の予約ツイートを（予約日時, ID）のキーセットでページングして読み込む
+     * （投稿済みの予約ツイートは削除フラグが立つため、OFFSETによるページングでは読み飛ばしが起きる）
+     *
+     * @param batchHistoryId 実行中のバッチ履歴ID
+     * @param chunkSize      1ページの取得件数
+     * @return 予約ツイートの読み込み
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<ScheduledTweetRecord> scheduledTweetsReader(@Value("#{jobExecutionContext['batchHistoryId']}") Integer batchHistoryId,
+                                                                            @Value("${app.tweet.schedule.chunk-size:100}") int chunkSize) {
+        BatchHistoryRecord batchHistory = selectBatchHistory(batchHistoryId);
+        return pagingReader("scheduledTweetsReader",
+                "WHERE " + DUE_AFTER_WATERMARK,
+                Map.of("lastProcessedDatetime", batchHistory.getLatestProcessedDatetime(),
+                        "lastProcessedId", batchHistory.getLatestProcessedId(),
+                        "now", LocalDateTime.now()),
+                chunkSize);
+    }
+
+    /**
+     * 分割した範囲内の予約ツイートの読み込み
+     *
+     * @param minId         範囲の最小ID
+     * @param maxId         範囲の最大ID
+     * @param now           分割時の現在日時（全パーティションで同じ日時を使う）
+     * @param afterDatetime 分割時の処理済み位置の予約日時
+     * @param afterId       分割時の処理済み位置のID
+     * @param chunkSize     1ページの取得件数
+     * @return 範囲内の予約ツイートの読み込み
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<ScheduledTweetRecord> scheduledTweetsPartitionReader(@Value("#{stepExecutionContext['minId']}") Integer minId,
+                                                                                     @Value("#{stepExecutionContext['maxId']}") Integer maxId,
+                                                                                     @Value("#{stepExecutionContext['now']}") LocalDateTime now,
+                                                                                     @Value("#{stepExecutionContext['afterDatetime']}") LocalDateTime afterDatetime,
+                                                                                     @Value("#{stepExecutionContext['afterId']}") Integer afterId,
+                                                                                     @Value("${app.tweet.schedule.chunk-size:100}") int chunkSize) {
+        return pagingReader("scheduledTweetsPartitionReader",
+                "WHERE id BETWEEN :minId AND :maxId AND " + DUE_AFTER_WATERMARK,
+                Map.of("minId", minId, "maxId", maxId, "now", now,
+                        "lastProcessedDatetime", afterDatetime, "lastProcessedId", afterId),
+                chunkSize);
+    }
+
+    /**
+     * 予約日時を過ぎている予約ツイートの分割
+     *
+     * @param batchHistoryId 実行中のバッチ履歴ID
+     * @return 予約ツイートの分割
+     */
+    @Bean
+    @StepScope
+    public ScheduledTweetsPartitioner scheduledTweetsPartitioner(@Value("#{jobExecutionContext['batchHistoryId']}") Integer batchHistoryId) {
+        BatchHistoryRecord batchHistory = selectBatchHistory(batchHistoryId);
+        return new ScheduledTweetsPartitioner(tweetScheduleRepository, batchHistory.getLatestProcessedDatetime(),
+                batchHistory.getLatestProcessedId(), LocalDateTime.now());
+    }
+
+    /**
+     * 予約ツイートの集合的な送信処理（ステップ開始時の日時を全トランザクションで使う）
+     *
+     * @param commitRows 1トランザクションで送信する最大件数
+     * @return 予約ツイートの集合的な送信処理
+     */
+    @Bean
+    @StepScope
+    public ScheduledTweetsSetBasedPostingTasklet scheduledTweetsSetBasedPostingTasklet(@Value("${app.tweet.schedule.set-based.commit-rows:5000}") int commitRows) {
+        return new ScheduledTweetsSetBasedPostingTasklet(scheduledPostingJdbcRepository, batchHistoryRepository,
+                recentTweetsCache, accountTimelineCache, scheduledPostingMetrics, commitRows, LocalDateTime.now());
+    }
+
+    /**
+     * 予約ツイートの複数ノードでの送信処理（ステップ開始時の日時より前の予約を対象とする）
+     *
+     * @param nodeId       ノードID（未指定の場合はJVMのプロセスID@ホスト名）
+     * @param leaseSeconds 確保した予約ツイートのリース期間（1トランザクションの処理時間より十分長くする。
+     *                     送信前に停止したノードの予約は期間経過後に確保し直す）
+     * @param commitRows   1トランザクションで送信する最大件数
+     * @return 予約ツイートの複数ノードでの送信処理
+     */
+    @Bean
+    @StepScope
+    public ScheduledTweetsClaimedPostingTasklet scheduledTweetsClaimedPostingTasklet(@Value("${app.tweet.schedule.claim.node-id:}") String nodeId,
+                                                                                     @Value("${app.tweet.schedule.claim.lease-seconds:300}") long leaseSeconds,
+                                                                                     @Value("${app.tweet.schedule.set-based.commit-rows:5000}") int commitRows) {
+        // 確保はステップのトランザクションとは別に即時コミットし、他ノードから見えるようにする
+        TransactionTemplate claimTransaction = new TransactionTemplate(platformTransactionManager);
+        claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        String node = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        // claimed_by（VARCHAR(100)）に確保ごとの識別子（UUID）と合わせて収まる長さにする
+        return new ScheduledTweetsClaimedPostingTasklet(scheduledPostingJdbcRepository, batchHistoryRepository,
+                recentTweetsCache, accountTimelineCache, scheduledPostingMetrics, claimTransaction,
+                node.substring(0, Math.min(node.length(), 60)), leaseSeconds, commitRows, LocalDateTime.now());
+    }
+
+    /**
+     * 予約ツイートの投稿
+     *
+     * @param batchHistoryId 実行中のバッチ履歴ID
+     * @return 予約ツイートの投稿
+     */
+    @Bean
+    @StepScope
+    public ScheduledTweetsPostingWriter scheduledTweetsWriter(@Value("#{jobExecutionContext['batchHistoryId']}") Integer batchHistoryId) {
+        return postingWriter(batchHistoryId, true);
+    }
+
+    /**
+     * 分割した範囲ごとの予約ツイートの投稿（処理済み位置はパーティション全体の成功後に更新する）
+     *
+     * @param batchHistoryId 実行中のバッチ履歴ID
+     * @return 予約ツイートの投稿
+     */
+    @Bean
+    @StepScope
+    public ScheduledTweetsPostingWriter scheduledTweetsPartitionWriter(@Value("#{jobExecutionContext['batchHistoryId']}") Integer batchHistoryId) {
+        return postingWriter(batchHistoryId, false);
+    }
+
+    /**
+     * 予約ツイートの検証と変換（チャンクごとの状態を持つため、ステップの実行（パーティション）ごとに生成する）
+     *
+     * @return 予約ツイートの検証と変換
+     */
+    @Bean
+    @StepScope
+    public ScheduledTweetsPostingProcessor scheduledTweetsProcessor() {
+        return new ScheduledTweetsPostingProcessor(accountRepository);
+    }
+
+    /**
+     * 1件の失敗でチャンク全体を失敗させない予約ツイート送信ステップ
+     * 一時的なDBエラーは待ち時間を延ばしながら再試行し、変換時の検証で投稿できないと分かった予約ツイートと、
+     * 整合性制約に違反した予約ツイート（1件ずつ投稿し直して特定する）はデッドレターに移し、残りの予約ツイートは投稿する
+     */
+    private Step postingChunkStep(String name, JdbcPagingItemReader<ScheduledTweetRecord> reader, ScheduledTweetsPostingProcessor processor,
+                                  ScheduledTweetsPostingWriter writer, int chunkSize, int retryLimit, long retryIntervalMs,
+                                  long retryMaxIntervalMs, int skipLimit) {
+        ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+        backOffPolicy.setInitialInterval(retryIntervalMs);
+        backOffPolicy.setMultiplier(2.0);
+        backOffPolicy.setMaxInterval(retryMaxIntervalMs);
+
+        return new StepBuilder(name, jobRepository)
+                .<ScheduledTweetRecord, ScheduledTweetPosting>chunk(chunkSize, platformTransactionManager)
+                .reader(reader)
+                .processor(processor)
+                .writer(writer)
+                .faultTolerant()
+                .retry(TransientDataAccessException.class)
+                .retryLimit(retryLimit)
+                .backOffPolicy(backOffPolicy)
+                .skip(InvalidScheduledTweetException.class)
+                .skip(DataIntegrityViolationException.class)
+                .skipLimit(skipLimit)
+                .listener(postingSkipListener)
+                .build();
+    }
+
+    private BatchHistoryRecord selectBatchHistory(Integer batchHistoryId) {
+        BatchHistoryRecord batchHistory = (batchHistoryId != null) ? batchHistoryRepository.selectByPrimaryKey(batchHistoryId) : null;
+        if (batchHistory == null) {
+            throw new IllegalStateException("batch history does not exist.");
+        }
+        return batchHistory;
+    }
+
+    private JdbcPagingItemReader<ScheduledTweetRecord> pagingReader(String name, String whereClause,
+                                                                    Map<String, Object> parameterValues, int chunkSize) {
+        Map<String, Order> sortKeys = new LinkedHashMap<>();
+        sortKeys.put("scheduled_datetime", Order.ASCENDING);
+        sortKeys.put("id", Order.ASCENDING);
+
+        return new JdbcPagingItemReaderBuilder<ScheduledTweetRecord>()
+                .name(name)
+                .dataSource(dataSource)
+                .selectClause("SELECT id, account_id, text, image, location, scheduled_datetime, created_datetime, delete_flag")
+                .fromClause("FROM SCHEDULED_TWEETS")
+                .whereClause(whereClause)
+                .parameterValues(parameterValues)
+                .sortKeys(sortKeys)
+                .pageSize(chunkSize)
+                .rowMapper(new BeanPropertyRowMapper<>(ScheduledTweetRecord.class))
+                .saveState(false)
+                .build();
+    }
+
+    private ScheduledTweetsPostingWriter postingWriter(Integer batchHistoryId, boolean advanceLatestProcessedId) {
+        if (batchHistoryId == null) {
+            throw new IllegalStateException("history id does not exist in ExecutionContext.");
+        }
+        return new ScheduledTweetsPostingWriter(batchHistoryRepository, tweetScheduleRepository, tweetRepository,
+                recentTweetsCache, accountTimelineCache, scheduledPostingMetrics, batchHistoryId, advanceLatestProcessedId);
+    }
 }
@@ -2,13 +2,16 @@ package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
 
 import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
 import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Slf4j
@@ -17,6 +20,8 @@ import java.time.LocalDateTime;
 public class ScheduledTweetsBatchJobListener implements JobExecutionListener {
 
     private final BatchHistoryRepository batchHistoryRepository;
+    private final TweetScheduleRepository tweetScheduleRepository;
+    private final ScheduledPostingMetrics scheduledPostingMetrics;
 
     @Override
     public void beforeJob(JobExecution jobExecution) {
@@ -24,21 +29,31 @@ public class ScheduledTweetsBatchJobListener implements JobExecutionListener {
         log.info("start batch processing of scheduled tweets posting. jobId: {}", jobExecution.getJobId());
 
         try {
-            // 最新の処理済みIDを取得
+            // 最新の処理済み位置（予約日時, ID）を取得
             BatchHistoryRecord latest = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
             int latestProcessedId = (latest != null) ? latest.getLatestProcessedId() : 0;
+            LocalDateTime latestProcessedDatetime = (latest != null) ? latest.getLatestProcessedDatetime() : BatchHistoryRecord.INITIAL_PROCESSED_DATETIME;
+
+            // 処理済み位置以前の予約日時で未送信のまま残っている予約ツイート（過去日時で登録・変更された予約や、
+            // 後からコミットされた予約）があれば、その予約日時まで処理済み位置を戻す（投稿済みの予約ツイートは削除フラグで除外される）
+            LocalDateTime oldestUnposted = tweetScheduleRepository.selectOldestUnpostedScheduledDatetime(latestProcessedDatetime);
+            if (oldestUnposted != null) {
+                latestProcessedDatetime = oldestUnposted;
+                latestProcessedId = 0;
+            }
 
             // 新規バッチ履歴レコードを作成（idはDBで採番）
-            BatchHistoryRecord history = new BatchHistoryRecord(0, "scheduledTweetsPostingJob", latestProcessedId, 0, LocalDateTime.now().withNano(0), null, 0);
+            BatchHistoryRecord history = new BatchHistoryRecord(0, "scheduledTweetsPostingJob", latestProcessedId, 0,
+                    LocalDateTime.now().withNano(0), null, 0, latestProcessedDatetime);
 
-            // バッチ開始履歴登録
-            batchHistoryRepository.insert(history);
+            // バッチ開始履歴登録（採番されたIDをそのまま使う）
+            int batchHistoryId = batchHistoryRepository.insert(history);
 
-            // 処理対象となる予約IDをExecutionContextに入れる（Taskletに渡すため）
-            BatchHistoryRecord inserted = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
-            jobExecution.getExecutionContext().putInt("batchHistoryId", inserted.getId());
+            // 処理対象となる予約IDをExecutionContextに入れる（ステップに渡すため）
+            jobExecution.getExecutionContext().putInt("batchHistoryId", batchHistoryId);
 
-            log.info("generated and registered batch history record. (latestProcessedId: {})", latestProcessedId);
+            log.info("generated and registered batch history record. (latestProcessedDatetime: {}, latestProcessedId: {})",
+                    latestProcessedDatetime, latestProcessedId);
 
         } catch (Exception e) {
             log.error("failed batch history initialize.", e);
@@ -48,6 +63,8 @@ public class ScheduledTweetsBatchJobListener implements JobExecutionListener {
 
     @Override
     public void afterJob(JobExecution jobExecution) {
+        recordStepMetrics(jobExecution);
+
         Integer batchHistoryId = jobExecution.getExecutionContext().getInt("batchHistoryId", -1);
         if (batchHistoryId == -1) {
             log.error("skip update because the history id does not exist in ExecutionContext.");
@@ -70,4 +87,19 @@ public class ScheduledTweetsBatchJobListener implements JobExecutionListener {
             log.error("failed batch history update.", e);
         }
     }
+
+    /**
+     * ステップごとの処理時間と1秒あたりの投稿件数を記録する
+     * 並列送信のパーティション（ワーカーステップ）は、件数を集計した親ステップの値で代表させる
+     */
+    private void recordStepMetrics(JobExecution jobExecution) {
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            if (stepExecution.getStepName().contains(":") || stepExecution.getStartTime() == null) {
+                continue;
+            }
+            LocalDateTime endTime = (stepExecution.getEndTime() != null) ? stepExecution.getEndTime() : LocalDateTime.now();
+            scheduledPostingMetrics.recordStep(stepExecution.getStepName(), stepExecution.getStatus().name(),
+                    Duration.between(stepExecution.getStartTime(), endTime), stepExecution.getWriteCount());
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsPartitioner;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 並列送信ステップの処理済み位置（予約日時, ID）を更新する
+ * 各パーティションは処理件数だけを加算し、処理済み位置は全パーティションが成功した場合のみ
+ * 分割した対象の最後の予約ツイートまで進める（一部が失敗した場合に未処理の予約ツイートを読み飛ばさないため）
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ScheduledTweetsPartitionStepListener implements StepExecutionListener {
+
+    private final BatchHistoryRepository batchHistoryRepository;
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            log.warn("skip advancing the processed position because the partitioned step is {}.", stepExecution.getStatus());
+            return stepExecution.getExitStatus();
+        }
+
+        int batchHistoryId = stepExecution.getJobExecution().getExecutionContext().getInt("batchHistoryId", -1);
+        if (batchHistoryId == -1) {
+            log.error("skip advancing the processed position because the history id does not exist in ExecutionContext.");
+            return stepExecution.getExitStatus();
+        }
+
+        // 各パーティションのステップ実行から分割時に決めた処理済み位置を取り出す（対象なしの場合は存在しない）
+        ExecutionContext partition = stepExecution.getJobExecution().getStepExecutions().stream()
+                .map(StepExecution::getExecutionContext)
+                .filter(context -> context.containsKey(ScheduledTweetsPartitioner.LAST_ID))
+                .findFirst().orElse(null);
+        if (partition == null) {
+            return stepExecution.getExitStatus();
+        }
+
+        LocalDateTime latestProcessedDatetime = (LocalDateTime) partition.get(ScheduledTweetsPartitioner.LAST_DATETIME);
+        int latestProcessedId = partition.getInt(ScheduledTweetsPartitioner.LAST_ID);
+        batchHistoryRepository.addProgress(batchHistoryId, 0, latestProcessedDatetime, latestProcessedId);
+        log.info("advanced the processed position of partitioned posting to ({}, {})", latestProcessedDatetime, latestProcessedId);
+        return stepExecution.getExitStatus();
+    }
+}
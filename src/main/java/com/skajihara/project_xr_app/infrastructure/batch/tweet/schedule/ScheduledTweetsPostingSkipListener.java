@@ -0,0 +1,44 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetPosting;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.repository.ScheduledTweetDeadLetterJdbcRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 送信できずに読み飛ばした予約ツイートをデッドレターテーブルへ移す
+ * 読み飛ばした予約ツイートは送信待ちでなくなるため、次回以降の実行で同じ予約ツイートを送信し直すことはない
+ * （スキップリスナーはチャンクのトランザクションのコミット直前に呼ばれるため、書き込みの失敗と一緒にロールバックされない）
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ScheduledTweetsPostingSkipListener implements SkipListener<ScheduledTweetRecord, ScheduledTweetPosting> {
+
+    private final ScheduledTweetDeadLetterJdbcRepository scheduledTweetDeadLetterJdbcRepository;
+    private final ScheduledPostingMetrics scheduledPostingMetrics;
+
+    @Override
+    public void onSkipInWrite(ScheduledTweetPosting posting, Throwable t) {
+        deadLetter(posting.scheduleId(), t);
+    }
+
+    @Override
+    public void onSkipInProcess(ScheduledTweetRecord scheduledTweet, Throwable t) {
+        deadLetter(scheduledTweet.getId(), t);
+    }
+
+    private void deadLetter(int scheduleId, Throwable t) {
+        if (scheduledTweetDeadLetterJdbcRepository.deadLetter(scheduleId, t, LocalDateTime.now().withNano(0))) {
+            scheduledPostingMetrics.recordDeadLettered(t);
+            log.warn("moved scheduled tweet to the dead letter table. scheduleId: {}, cause: {}", scheduleId, t.toString());
+        } else {
+            log.warn("skipped scheduled tweet is no longer pending. scheduleId: {}, cause: {}", scheduleId, t.toString());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+/**
+ * 投稿できない予約ツイート（投稿先のアカウントが存在しない、本文が長すぎるなど）
+ * 再試行しても投稿できないため、読み飛ばしてデッドレターに移す
+ */
+public class InvalidScheduledTweetException extends RuntimeException {
+    public InvalidScheduledTweetException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,91 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.DueSchedule;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.ScheduledPostingJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledPostingMetrics;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 予約ツイートの送信処理（複数ノードで分担する）
+ * ID_BLOCK_SIZE件ずつリース付きで確保してから送信するため、同時に実行した各ノードは別の予約ツイートを送信する
+ * <p>
+ * 確保は送信とは別のトランザクション（claimTransaction）で即時にコミットし、送信はステップのトランザクションで行う。
+ * 送信前にノードが停止した場合、確保した予約ツイートはリースが切れた後に他のノード（または次回の実行）が確保し直す。
+ * ノードごとに送信済みの位置が異なるため処理済み位置は使わず、送信件数だけをバッチ履歴に加算する。
+ */
+@Slf4j
+@AllArgsConstructor
+public class ScheduledTweetsClaimedPostingTasklet implements Tasklet {
+
+    private final ScheduledPostingJdbcRepository scheduledPostingJdbcRepository;
+    private final BatchHistoryRepository batchHistoryRepository;
+    private final RecentTweetsCache recentTweetsCache;
+    private final AccountTimelineCache accountTimelineCache;
+    private final ScheduledPostingMetrics scheduledPostingMetrics;
+    private final TransactionTemplate claimTransaction;
+    private final String nodeId;
+    private final long leaseSeconds;
+    private final int commitRows;
+    private final LocalDateTime now;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+
+        int batchHistoryId = chunkContext.getStepContext().getStepExecution().getJobExecution()
+                .getExecutionContext().getInt("batchHistoryId", -1);
+        if (batchHistoryId == -1) {
+            throw new IllegalStateException("history id does not exist in ExecutionContext.");
+        }
+
+        int posted = 0;
+        Set<String> postedAccountIds = new HashSet<>();
+        List<LocalDateTime> scheduledDatetimes = new ArrayList<>();
+        LocalDateTime postedAt = LocalDateTime.now().withNano(0);
+        long dbStart = System.nanoTime();
+        while (posted < commitRows) {
+            // 確保ごとに識別子を変え、1回の送信で移す件数をID_BLOCK_SIZE件以下に保つ
+            String owner = nodeId + "/" + UUID.randomUUID();
+            LocalDateTime claimedAt = LocalDateTime.now().withNano(0);
+            int limit = Math.min(commitRows - posted, ScheduledPostingJdbcRepository.ID_BLOCK_SIZE);
+            Integer claimed = claimTransaction.execute(status -> scheduledPostingJdbcRepository
+                    .claimDueSchedules(owner, now, claimedAt, claimedAt.plusSeconds(leaseSeconds), limit));
+            if (claimed == null || claimed == 0) {
+                break;
+            }
+            List<DueSchedule> moved = scheduledPostingJdbcRepository.postClaimedSchedules(owner, postedAt);
+            posted += moved.size();
+            moved.forEach(schedule -> {
+                postedAccountIds.add(schedule.accountId());
+                scheduledDatetimes.add(schedule.scheduledDatetime());
+            });
+        }
+
+        if (posted > 0) {
+            batchHistoryRepository.addProcessedNum(batchHistoryId, posted);
+            scheduledPostingMetrics.recordDbTime("claimed", System.nanoTime() - dbStart, posted);
+            scheduledPostingMetrics.recordPosted("claimed", LocalDateTime.now(), scheduledDatetimes);
+            recentTweetsCache.reloadAfterCommit();
+            accountTimelineCache.invalidateAfterCommit(postedAccountIds);
+        }
+        contribution.incrementWriteCount(posted);
+        log.info("posted scheduled tweets: {} (node: {})", posted, nodeId);
+
+        return posted < commitRows ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+}
@@ -0,0 +1,77 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetIdRange;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 処理済み位置（予約日時, ID）より後で、予約日時を過ぎている予約ツイートをIDの範囲で分割する
+ * 同じ時刻に大量に予約された場合もIDは連番で採番されるため、範囲を等分すれば件数もほぼ均等になる
+ * 各パーティションには、全パーティション成功後に進める処理済み位置（対象の最後の予約ツイート）も渡す
+ */
+@Slf4j
+@AllArgsConstructor
+public class ScheduledTweetsPartitioner implements Partitioner {
+
+    public static final String MIN_ID = "minId";
+    public static final String MAX_ID = "maxId";
+    public static final String NOW = "now";
+    public static final String AFTER_DATETIME = "afterDatetime";
+    public static final String AFTER_ID = "afterId";
+    public static final String LAST_DATETIME = "lastDatetime";
+    public static final String LAST_ID = "lastId";
+
+    private final TweetScheduleRepository tweetScheduleRepository;
+    private final LocalDateTime latestProcessedDatetime;
+    private final int latestProcessedId;
+    private final LocalDateTime now;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        ScheduledTweetIdRange range = tweetScheduleRepository.selectDueIdRange(latestProcessedDatetime, latestProcessedId, now);
+        if (range == null || range.minId() == null) {
+            // 対象なしの場合も空の範囲で1パーティション実行する
+            partitions.put("partition0", context(latestProcessedId + 1, latestProcessedId, null));
+            return partitions;
+        }
+        ScheduledTweetRecord last = tweetScheduleRepository.selectLastDueScheduledTweet(latestProcessedDatetime, latestProcessedId, now);
+
+        long span = (long) range.maxId() - range.minId() + 1;
+        long size = (span + Math.max(gridSize, 1) - 1) / Math.max(gridSize, 1);
+        for (int i = 0; ; i++) {
+            long from = range.minId() + i * size;
+            if (from > range.maxId()) {
+                break;
+            }
+            long to = Math.min(range.maxId(), from + size - 1);
+            partitions.put("partition" + i, context((int) from, (int) to, last));
+        }
+
+        log.info("partitioned scheduled tweets: {} - {} into {}", range.minId(), range.maxId(), partitions.size());
+        return partitions;
+    }
+
+    private ExecutionContext context(int minId, int maxId, ScheduledTweetRecord last) {
+        ExecutionContext context = new ExecutionContext();
+        context.putInt(MIN_ID, minId);
+        context.putInt(MAX_ID, maxId);
+        context.put(NOW, now);
+        context.put(AFTER_DATETIME, latestProcessedDatetime);
+        context.putInt(AFTER_ID, latestProcessedId);
+        if (last != null) {
+            context.put(LAST_DATETIME, last.getScheduledDatetime());
+            context.putInt(LAST_ID, last.getId());
+        }
+        return context;
+    }
+}
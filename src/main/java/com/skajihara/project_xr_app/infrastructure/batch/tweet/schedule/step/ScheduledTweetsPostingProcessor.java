@@ -0,0 +1,87 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetPosting;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ItemProcessor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 予約ツイートを投稿するツイートに変換する
+ * 投稿先のアカウントが有効でない予約ツイート、本文がツイートの長さを超える予約ツイートは
+ * InvalidScheduledTweetExceptionで失敗させる（ステップで読み飛ばし、デッドレターに移す）
+ * <p>
+ * アカウントはチャンクで読み込んだ分を最初の1件の変換時にまとめて確認する
+ * （読み込みとチャンクの開始を受け取るため、ステップにはリスナーとしても登録される）
+ */
+@RequiredArgsConstructor
+public class ScheduledTweetsPostingProcessor implements ItemProcessor<ScheduledTweetRecord, ScheduledTweetPosting>,
+        ItemReadListener<ScheduledTweetRecord>, ChunkListener {
+
+    /**
+     * ツイート本文の最大文字数（TWEETS.text）
+     */
+    public static final int MAX_TEXT_LENGTH = 200;
+
+    private final AccountRepository accountRepository;
+
+    // チャンク内で読み込み済みで、まだ確認していないアカウントID
+    private final Set<String> unverifiedAccountIds = new HashSet<>();
+    private final Set<String> verifiedAccountIds = new HashSet<>();
+    private final Set<String> validAccountIds = new HashSet<>();
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        unverifiedAccountIds.clear();
+        verifiedAccountIds.clear();
+        validAccountIds.clear();
+    }
+
+    @Override
+    public void afterRead(ScheduledTweetRecord scheduledTweet) {
+        if (!verifiedAccountIds.contains(scheduledTweet.getAccountId())) {
+            unverifiedAccountIds.add(scheduledTweet.getAccountId());
+        }
+    }
+
+    @Override
+    public ScheduledTweetPosting process(ScheduledTweetRecord scheduledTweet) {
+        validate(scheduledTweet);
+        TweetRecord tweet = new TweetRecord(
+                null, // idは自動採番
+                scheduledTweet.getAccountId(),
+                scheduledTweet.getText(),
+                scheduledTweet.getImage(),
+                0, 0, 0, 0,
+                LocalDateTime.now().withNano(0),
+                scheduledTweet.getLocation(),
+                0
+        );
+        return new ScheduledTweetPosting(scheduledTweet.getId(), scheduledTweet.getScheduledDatetime(), tweet);
+    }
+
+    private void validate(ScheduledTweetRecord scheduledTweet) {
+        String accountId = scheduledTweet.getAccountId();
+        if (!verifiedAccountIds.contains(accountId)) {
+            unverifiedAccountIds.add(accountId);
+            validAccountIds.addAll(accountRepository.selectValidAccountIds(Set.copyOf(unverifiedAccountIds)));
+            verifiedAccountIds.addAll(unverifiedAccountIds);
+            unverifiedAccountIds.clear();
+        }
+        if (!validAccountIds.contains(accountId)) {
+            throw new InvalidScheduledTweetException("Account is not found with id: " + accountId);
+        }
+        String text = scheduledTweet.getText();
+        if (text.codePointCount(0, text.length()) > MAX_TEXT_LENGTH) {
+            throw new InvalidScheduledTweetException("Text exceeds " + MAX_TEXT_LENGTH + " characters.");
+        }
+    }
+}
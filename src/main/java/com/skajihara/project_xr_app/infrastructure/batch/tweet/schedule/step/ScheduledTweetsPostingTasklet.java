@@ -6,6 +6,9 @@ import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
 import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
 import com.skajihara.project_xr_app.domain.repository.TweetRepository;
 import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledPostingMetrics;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.JobExecution;
@@ -17,7 +20,10 @@ import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @StepScope
 @Component
@@ -28,6 +34,9 @@ public class ScheduledTweetsPostingTasklet implements Tasklet {
     private final BatchHistoryRepository batchHistoryRepository;
     private final TweetScheduleRepository tweetScheduleRepository;
     private final TweetRepository tweetRepository;
+    private final RecentTweetsCache recentTweetsCache;
+    private final AccountTimelineCache accountTimelineCache;
+    private final ScheduledPostingMetrics scheduledPostingMetrics;
 
     /**
      * 予約ツイートの送信処理の内部実装
@@ -50,18 +59,24 @@ public class ScheduledTweetsPostingTasklet implements Tasklet {
         }
 
         int latestProcessedId = batchHistory.getLatestProcessedId();
+        LocalDateTime latestProcessedDatetime = batchHistory.getLatestProcessedDatetime();
         int processedCount = 0;
+        Set<String> postedAccountIds = new HashSet<>();
 
         try {
             // 処理対象の予約ツイートを取得
+            long dbStart = System.nanoTime();
             List<ScheduledTweetRecord> scheduledTweets = tweetScheduleRepository
-                    .selectScheduledTweetsForBatch(latestProcessedId, LocalDateTime.now().withNano(0));
+                    .selectScheduledTweetsForBatch(latestProcessedDatetime, latestProcessedId, LocalDateTime.now());
             log.info("the number of target is: {}", scheduledTweets.size());
 
             log.info("start tweets posting.");
+            List<TweetRecord> tweets = new ArrayList<>(scheduledTweets.size());
+            List<Integer> scheduleIds = new ArrayList<>(scheduledTweets.size());
+            List<LocalDateTime> scheduledDatetimes = new ArrayList<>(scheduledTweets.size());
             for (ScheduledTweetRecord scheduledTweet : scheduledTweets) {
-                // ツイートを生成して投稿
-                TweetRecord tweet = new TweetRecord(
+                // ツイートを生成
+                tweets.add(new TweetRecord(
                         null, // idは自動採番
                         scheduledTweet.getAccountId(),
                         scheduledTweet.getText(),
@@ -70,26 +85,39 @@ public class ScheduledTweetsPostingTasklet implements Tasklet {
                         LocalDateTime.now().withNano(0),
                         scheduledTweet.getLocation(),
                         0
-                );
-                tweetRepository.insert(tweet);
-
-                // 投稿した予約ツイートを削除
-                scheduledTweet.setDeleteFlag(1);
-                tweetScheduleRepository.update(scheduledTweet.getId(), scheduledTweet);
+                ));
+                scheduleIds.add(scheduledTweet.getId());
+                scheduledDatetimes.add(scheduledTweet.getScheduledDatetime());
+                postedAccountIds.add(scheduledTweet.getAccountId());
 
                 log.info("processed scheduleId : {} ", scheduledTweet.getId());
                 log.info("the number of process completed is : {} ", ++processedCount);
 
-                if (scheduledTweet.getId() > latestProcessedId) {
-                    latestProcessedId = scheduledTweet.getId();
-                }
+                // 予約日時, IDの順に取得しているため、最後に処理した予約ツイートが処理済み位置になる
+                latestProcessedDatetime = scheduledTweet.getScheduledDatetime();
+                latestProcessedId = scheduledTweet.getId();
+            }
+
+            if (!tweets.isEmpty()) {
+                // ツイートを投稿（JDBCバッチ）し、投稿した予約ツイートを1回のUPDATEで削除
+                tweetRepository.insertAll(tweets);
+                tweetScheduleRepository.deleteByIds(scheduleIds);
             }
 
-            // 処理件数と最新IDだけ更新（endやsucceededはリスナーがやる）
+            // 処理件数と処理済み位置だけ更新（endやsucceededはリスナーがやる）
             batchHistory.setProcessedNum(processedCount);
             batchHistory.setLatestProcessedId(latestProcessedId);
+            batchHistory.setLatestProcessedDatetime(latestProcessedDatetime);
             batchHistoryRepository.update(batchHistoryId, batchHistory);
 
+            // 投稿したツイートを最新ツイートキャッシュに反映（ロールバック時は反映しない）
+            if (processedCount > 0) {
+                scheduledPostingMetrics.recordDbTime("tasklet", System.nanoTime() - dbStart, processedCount);
+                scheduledPostingMetrics.recordPosted("tasklet", LocalDateTime.now(), scheduledDatetimes);
+                recentTweetsCache.reloadAfterCommit();
+                accountTimelineCache.invalidateAfterCommit(postedAccountIds);
+            }
+
             log.info("end tweets posting.");
 
         } catch (Exception e) {
@@ -0,0 +1,85 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetPosting;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledPostingMetrics;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 1チャンク分の予約ツイートを投稿する
+ * ツイート登録、予約ツイート削除、バッチ履歴の進捗更新をチャンクと同じトランザクションで行うため、
+ * 失敗時はそのチャンクだけがロールバックされ、前回までに確定したチャンクの進捗は残る
+ */
+@Slf4j
+@AllArgsConstructor
+public class ScheduledTweetsPostingWriter implements ItemWriter<ScheduledTweetPosting> {
+
+    private final BatchHistoryRepository batchHistoryRepository;
+    private final TweetScheduleRepository tweetScheduleRepository;
+    private final TweetRepository tweetRepository;
+    private final RecentTweetsCache recentTweetsCache;
+    private final AccountTimelineCache accountTimelineCache;
+    private final ScheduledPostingMetrics scheduledPostingMetrics;
+    private final int batchHistoryId;
+    private final boolean advanceLatestProcessedId;
+
+    @Override
+    public void write(Chunk<? extends ScheduledTweetPosting> chunk) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<TweetRecord> tweets = new ArrayList<>(chunk.size());
+        List<Integer> scheduleIds = new ArrayList<>(chunk.size());
+        List<LocalDateTime> scheduledDatetimes = new ArrayList<>(chunk.size());
+        Set<String> postedAccountIds = new HashSet<>();
+        for (ScheduledTweetPosting posting : chunk) {
+            tweets.add(posting.tweet());
+            scheduleIds.add(posting.scheduleId());
+            scheduledDatetimes.add(posting.scheduledDatetime());
+            postedAccountIds.add(posting.tweet().getAccountId());
+        }
+        // 予約日時, IDの順に読み込んでいるため、チャンク末尾の予約ツイートが処理済み位置になる
+        ScheduledTweetPosting last = chunk.getItems().get(chunk.size() - 1);
+        LocalDateTime latestProcessedDatetime = last.scheduledDatetime();
+        int latestProcessedId = last.scheduleId();
+
+        // ツイートを投稿（JDBCバッチ）し、投稿した予約ツイートを1回のUPDATEで削除
+        long dbStart = System.nanoTime();
+        tweetRepository.insertAll(tweets);
+        tweetScheduleRepository.deleteByIds(scheduleIds);
+
+        // 処理件数と処理済み位置を加算更新（endやsucceededはリスナーがやる）
+        // 並列送信時は処理済み位置を全パーティションの成功後にまとめて進めるため、処理件数だけを加算する
+        if (advanceLatestProcessedId) {
+            batchHistoryRepository.addProgress(batchHistoryId, tweets.size(), latestProcessedDatetime, latestProcessedId);
+        } else {
+            batchHistoryRepository.addProcessedNum(batchHistoryId, tweets.size());
+        }
+        String mode = advanceLatestProcessedId ? "chunk" : "partitioned";
+        scheduledPostingMetrics.recordDbTime(mode, System.nanoTime() - dbStart, tweets.size());
+        scheduledPostingMetrics.recordPosted(mode, LocalDateTime.now(), scheduledDatetimes);
+
+        // 投稿したツイートを最新ツイートキャッシュに反映（ロールバック時は反映しない）
+        recentTweetsCache.reloadAfterCommit();
+        accountTimelineCache.invalidateAfterCommit(postedAccountIds);
+
+        log.info("posted scheduled tweets: {} (latestProcessedDatetime: {}, latestProcessedId: {})",
+                tweets.size(), latestProcessedDatetime, latestProcessedId);
+    }
+}
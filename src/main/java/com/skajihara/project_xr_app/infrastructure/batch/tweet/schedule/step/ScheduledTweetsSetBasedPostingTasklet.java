@@ -0,0 +1,74 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.PostedScheduleWindow;
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.ScheduledPostingJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledPostingMetrics;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 予約ツイートの送信処理（DB内で集合的に移す）
+ * 1回の実行（1トランザクション）で最大commitRows件の範囲（予約日時, ID）を1回のINSERT ... SELECTで移し、
+ * 移した件数と範囲の終端の（予約日時, ID）をバッチ履歴に加算する
+ */
+@Slf4j
+@AllArgsConstructor
+public class ScheduledTweetsSetBasedPostingTasklet implements Tasklet {
+
+    private final ScheduledPostingJdbcRepository scheduledPostingJdbcRepository;
+    private final BatchHistoryRepository batchHistoryRepository;
+    private final RecentTweetsCache recentTweetsCache;
+    private final AccountTimelineCache accountTimelineCache;
+    private final ScheduledPostingMetrics scheduledPostingMetrics;
+    private final int commitRows;
+    private final LocalDateTime now;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+
+        int batchHistoryId = chunkContext.getStepContext().getStepExecution().getJobExecution()
+                .getExecutionContext().getInt("batchHistoryId", -1);
+        if (batchHistoryId == -1) {
+            throw new IllegalStateException("history id does not exist in ExecutionContext.");
+        }
+        BatchHistoryRecord batchHistory = batchHistoryRepository.selectByPrimaryKey(batchHistoryId);
+        if (batchHistory == null) {
+            throw new IllegalStateException("batch history does not exist.");
+        }
+
+        // 前回のトランザクションまでに確定した処理済み位置から再開する
+        LocalDateTime postedAt = LocalDateTime.now().withNano(0);
+        long dbStart = System.nanoTime();
+        PostedScheduleWindow window = scheduledPostingJdbcRepository.postDueWindow(batchHistory.getLatestProcessedDatetime(),
+                batchHistory.getLatestProcessedId(), now, commitRows, postedAt);
+        if (window == null) {
+            log.info("posted scheduled tweets: 0");
+            return RepeatStatus.FINISHED;
+        }
+
+        // 範囲内がすべてキャンセル済みだった場合も、処理済み位置は範囲の終端まで進める
+        int posted = window.posted();
+        batchHistoryRepository.addProgress(batchHistoryId, posted, window.lastScheduledDatetime(), window.lastId());
+        if (posted > 0) {
+            scheduledPostingMetrics.recordDbTime("set-based", System.nanoTime() - dbStart, posted);
+            scheduledPostingMetrics.recordPosted("set-based", LocalDateTime.now(), window.scheduledDatetimes());
+            recentTweetsCache.reloadAfterCommit();
+            accountTimelineCache.invalidateAfterCommit(window.accountIds());
+        }
+        contribution.incrementWriteCount(posted);
+        log.info("posted scheduled tweets: {} (latestProcessedDatetime: {}, latestProcessedId: {})",
+                posted, window.lastScheduledDatetime(), window.lastId());
+
+        return window.hasMore() ? RepeatStatus.CONTINUABLE : RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,302 @@
+package com.skajihara.project_xr_app.infrastructure.cache;
+
+import com.skajihara.project_xr_app.domain.entity.TweetEngagementDelta;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * アカウント別タイムライン（最新ツイート）のインメモリキャッシュ
+ * 全アカウント合計の保持ツイート件数を上限とし、超過時は最も長く参照されていないアカウントから破棄する（LRU）
+ * <p>
+ * 統計情報はActuatorの/actuator/metricsで参照する
+ * <ul>
+ *     <li>account.timeline.cache.hits：ヒット件数</li>
+ *     <li>account.timeline.cache.misses：ミス件数</li>
+ *     <li>account.timeline.cache.evictions：LRUによる破棄件数</li>
+ *     <li>account.timeline.cache.accounts：保持アカウント数</li>
+ *     <li>account.timeline.cache.entries：保持ツイート件数</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class AccountTimelineCache implements MeterBinder {
+
+    private final TweetRepository tweetRepository;
+
+    private final int perAccountSize;
+
+    private final int maxEntries;
+
+    private final boolean partitioned;
+
+    private final LinkedHashMap<String, Timeline> timelines = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int totalEntries = 0;
+
+    private long generation = 0;
+
+    // DBへ反映中のエンゲージメント件数の書き込み数
+    private int engagementWrites = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AccountTimelineCache(TweetRepository tweetRepository,
+                                @Value("${app.tweet.account-cache.per-account:50}") int perAccountSize,
+                                @Value("${app.tweet.account-cache.max-entries:10000}") int maxEntries,
+                                @Value("${app.tweet.partition.enabled:false}") boolean partitioned) {
+        this.tweetRepository = tweetRepository;
+        this.perAccountSize = perAccountSize;
+        this.maxEntries = maxEntries;
+        this.partitioned = partitioned;
+    }
+
+    /**
+     * 特定アカウントの最新指定件数のツイートを取得する
+     *
+     * @param accountId アカウントID
+     * @param limit     取得対象件数
+     * @return 特定アカウントの指定件数ツイート情報
+     */
+    public List<TweetRecord> get(String accountId, int limit) {
+        if (limit > perAccountSize) {
+            // アカウント毎の保持件数を超える場合はキャッシュを使わない
+            return select(accountId, limit);
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            Timeline timeline = timelines.get(accountId);
+            if (timeline != null && timeline.canServe(limit)) {
+                hits.incrementAndGet();
+                return timeline.head(limit);
+            }
+            misses.incrementAndGet();
+            loadGeneration = generation;
+        }
+
+        // DBアクセス中はロックを保持しない
+        List<TweetRecord> loaded = select(accountId, perAccountSize);
+        Timeline timeline = new Timeline(List.copyOf(loaded), loaded.size() < perAccountSize);
+
+        synchronized (this) {
+            // ロード中に無効化が発生した場合は古い可能性があるため保持しない
+            // エンゲージメント件数の反映中は、反映後の件数を読んだ可能性があり差分が二重に加算されるため保持しない
+            if (loadGeneration == generation && engagementWrites == 0) {
+                store(accountId, timeline);
+            }
+        }
+        return timeline.head(limit);
+    }
+
+    private List<TweetRecord> select(String accountId, int limit) {
+        // 月次パーティションの場合のみ直近の期間に絞って読む（非パーティションでは往復が増えるだけのため）
+        return partitioned
+                ? tweetRepository.selectRecentTweetsByAccountIdWithPartitionPruning(accountId, limit)
+                : tweetRepository.selectRecentTweetsByAccountId(accountId, limit);
+    }
+
+    /**
+     * 特定アカウントのキャッシュを破棄する
+     *
+     * @param accountId アカウントID
+     */
+    public synchronized void invalidate(String accountId) {
+        generation++;
+        Timeline removed = timelines.remove(accountId);
+        if (removed != null) {
+            totalEntries -= removed.tweets.size();
+        }
+    }
+
+    /**
+     * 現在のトランザクションのコミット後に対象アカウントのキャッシュを破棄する
+     * （トランザクション外の場合は即時に破棄する）
+     *
+     * @param accountIds アカウントID
+     */
+    public void invalidateAfterCommit(Collection<String> accountIds) {
+        Set<String> targets = Set.copyOf(accountIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            targets.forEach(this::invalidate);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                targets.forEach(AccountTimelineCache.this::invalidate);
+            }
+        });
+    }
+
+    /**
+     * キャッシュ中のツイートに更新内容を反映する
+     *
+     * @param tweetId 更新対象ツイートID
+     * @param tweet   更新ツイート情報
+     */
+    public synchronized void replace(int tweetId, TweetRecord tweet) {
+        generation++;
+        for (Map.Entry<String, Timeline> entry : timelines.entrySet()) {
+            List<TweetRecord> tweets = entry.getValue().tweets;
+            for (int i = 0; i < tweets.size(); i++) {
+                TweetRecord cached = tweets.get(i);
+                if (cached.getId() != tweetId) {
+                    continue;
+                }
+                List<TweetRecord> updated = new ArrayList<>(tweets);
+                if (tweet.getDeleteFlag() != 0) {
+                    updated.remove(i);
+                    totalEntries--;
+                } else {
+                    // UPDATEで変更されない項目（アカウントID・投稿日時）はキャッシュ側の値を維持する
+                    updated.set(i, new TweetRecord(tweetId, cached.getAccountId(), tweet.getText(), tweet.getImage(),
+                            tweet.getLikes(), tweet.getRetweets(), tweet.getReplies(), tweet.getViews(),
+                            cached.getDatetime(), tweet.getLocation(), 0));
+                }
+                entry.setValue(new Timeline(List.copyOf(updated), entry.getValue().complete));
+                return;
+            }
+        }
+    }
+
+    /**
+     * キャッシュからツイートを取り除く
+     *
+     * @param tweetId 削除対象ツイートID
+     */
+    public void remove(int tweetId) {
+        TweetRecord deleted = new TweetRecord();
+        deleted.setDeleteFlag(1);
+        replace(tweetId, deleted);
+    }
+
+    /**
+     * エンゲージメント件数のDBへの反映を開始する
+     * （{@link #endEngagementWrite}までの間にロードした内容はキャッシュに保持しない）
+     */
+    public synchronized void beginEngagementWrite() {
+        generation++;
+        engagementWrites++;
+    }
+
+    /**
+     * エンゲージメント件数のDBへの反映を終了し、キャッシュ中のツイートに差分を反映する
+     *
+     * @param deltas ツイート毎の差分（DBへ反映できたもの）
+     */
+    public synchronized void endEngagementWrite(Collection<TweetEngagementDelta> deltas) {
+        generation++;
+        engagementWrites--;
+        Map<Integer, TweetEngagementDelta> byId = new HashMap<>();
+        deltas.forEach(delta -> byId.put(delta.tweetId(), delta));
+        for (Map.Entry<String, Timeline> entry : timelines.entrySet()) {
+            List<TweetRecord> tweets = entry.getValue().tweets;
+            List<TweetRecord> updated = null;
+            for (int i = 0; i < tweets.size(); i++) {
+                TweetEngagementDelta delta = byId.get(tweets.get(i).getId());
+                if (delta == null) {
+                    continue;
+                }
+                if (updated == null) {
+                    updated = new ArrayList<>(tweets);
+                }
+                updated.set(i, delta.applyTo(tweets.get(i)));
+            }
+            if (updated != null) {
+                entry.setValue(new Timeline(List.copyOf(updated), entry.getValue().complete));
+            }
+        }
+    }
+
+    /**
+     * キャッシュの統計情報を取得する
+     *
+     * @return ヒット・ミス・破棄件数と現在の保持状況
+     */
+    public synchronized Stats stats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), timelines.size(), totalEntries);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("account.timeline.cache.hits", hits, AtomicLong::get)
+                .description("number of account timeline cache hits")
+                .register(registry);
+        FunctionCounter.builder("account.timeline.cache.misses", misses, AtomicLong::get)
+                .description("number of account timeline cache misses")
+                .register(registry);
+        FunctionCounter.builder("account.timeline.cache.evictions", evictions, AtomicLong::get)
+                .description("number of accounts evicted from the account timeline cache")
+                .register(registry);
+        Gauge.builder("account.timeline.cache.accounts", this, cache -> cache.stats().accounts())
+                .description("number of accounts held in the account timeline cache")
+                .register(registry);
+        Gauge.builder("account.timeline.cache.entries", this, cache -> cache.stats().entries())
+                .description("number of tweets held in the account timeline cache")
+                .baseUnit("tweets")
+                .register(registry);
+    }
+
+    private void store(String accountId, Timeline timeline) {
+        Timeline previous = timelines.put(accountId, timeline);
+        if (previous != null) {
+            totalEntries -= previous.tweets.size();
+        }
+        totalEntries += timeline.tweets.size();
+
+        Iterator<Map.Entry<String, Timeline>> eldest = timelines.entrySet().iterator();
+        while (totalEntries > maxEntries && eldest.hasNext()) {
+            Map.Entry<String, Timeline> entry = eldest.next();
+            if (entry.getKey().equals(accountId)) {
+                continue;
+            }
+            totalEntries -= entry.getValue().tweets.size();
+            eldest.remove();
+            evictions.incrementAndGet();
+            log.debug("account timeline cache evicted. accountId: {}", entry.getKey());
+        }
+    }
+
+    /**
+     * アカウント毎のキャッシュ内容
+     *
+     * @param tweets   新しい順のツイート
+     * @param complete DB上の全件を保持しているか
+     */
+    private record Timeline(List<TweetRecord> tweets, boolean complete) {
+
+        boolean canServe(int limit) {
+            return complete || limit <= tweets.size();
+        }
+
+        List<TweetRecord> head(int limit) {
+            return tweets.subList(0, Math.min(limit, tweets.size()));
+        }
+    }
+
+    /**
+     * キャッシュの統計情報
+     *
+     * @param hits       ヒット件数
+     * @param misses     ミス件数
+     * @param evictions  LRUによる破棄件数
+     * @param accounts   保持アカウント数
+     * @param entries    保持ツイート件数
+     */
+    public record Stats(long hits, long misses, long evictions, int accounts, int entries) {
+    }
+}
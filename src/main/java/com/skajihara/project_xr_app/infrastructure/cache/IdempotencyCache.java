@@ -0,0 +1,108 @@
+package com.skajihara.project_xr_app.infrastructure.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 冪等キーと登録結果（採番されたリソースIDとリクエストボディのハッシュ値）のインメモリキャッシュ
+ * 有効期間は全エントリ共通のため登録順＝期限切れ順となり、登録順のキューの先頭から期限切れ・上限超過分を破棄する
+ * キューはエントリ単位で保持し、再登録や期限切れで置き換わった古いエントリは先頭に来た時点で読み捨てる
+ */
+@Component
+public class IdempotencyCache {
+
+    private final int maxEntries;
+
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public IdempotencyCache(@Value("${app.idempotency.cache.max-entries:100000}") int maxEntries,
+                            @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * 冪等キーの登録結果を取得する
+     *
+     * @param key 冪等キー（スコープ付き）
+     * @return 登録結果（未登録、または期限切れの場合はnull）
+     */
+    public Stored get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return new Stored(entry.resourceId, entry.requestHash);
+    }
+
+    /**
+     * 冪等キーの登録結果を保持する
+     *
+     * @param key         冪等キー（スコープ付き）
+     * @param resourceId  採番されたリソースID
+     * @param requestHash リクエストボディのハッシュ値
+     */
+    public void put(String key, int resourceId, String requestHash) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(key, resourceId, requestHash, now + ttlMillis);
+        entries.put(key, entry);
+        insertionOrder.add(entry);
+        evict(now);
+    }
+
+    /**
+     * 保持件数を取得する
+     *
+     * @return 保持件数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        while (true) {
+            Entry eldest = insertionOrder.peek();
+            if (eldest == null) {
+                return;
+            }
+            // 置き換え済みのエントリはキューから外すだけにする（同じキーの新しいエントリを破棄しない）
+            boolean current = entries.get(eldest.key) == eldest;
+            boolean removable = !current || eldest.isExpired(now) || entries.size() > maxEntries;
+            if (!removable) {
+                return;
+            }
+            if (insertionOrder.remove(eldest) && current) {
+                entries.remove(eldest.key, eldest);
+            }
+        }
+    }
+
+    /**
+     * 冪等キーの登録結果
+     *
+     * @param resourceId  採番されたリソースID
+     * @param requestHash リクエストボディのハッシュ値（ハッシュ値の記録前に登録されたキーの場合はnull）
+     */
+    public record Stored(int resourceId, String requestHash) {
+    }
+
+    private record Entry(String key, int resourceId, String requestHash, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
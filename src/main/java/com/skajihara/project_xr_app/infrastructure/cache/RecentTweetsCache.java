@@ -0,0 +1,276 @@
+package com.skajihara.project_xr_app.infrastructure.cache;
+
+import com.skajihara.project_xr_app.domain.entity.TweetEngagementDelta;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * 最新ツイート（全体タイムライン）のインメモリキャッシュ
+ * 最新N件を不変配列として保持し、更新はCASで丸ごと差し替える（読み取りはロックなし）
+ * 更新の度に世代を進め、DBからの読み直し中に更新があった場合は読み直した内容を破棄する
+ * エンゲージメント件数のDBへの反映中は、読み直した内容に反映後の件数が含まれうるため保持しない
+ */
+@Slf4j
+@Component
+public class RecentTweetsCache {
+
+    private static final Comparator<TweetRecord> NEWEST_FIRST = Comparator
+            .comparing(TweetRecord::getDatetime, Comparator.reverseOrder())
+            .thenComparing(TweetRecord::getId, Comparator.reverseOrder());
+
+    private final TweetRepository tweetRepository;
+
+    private final int capacity;
+
+    private final boolean partitioned;
+
+    // 読み直し中の更新と競合し続けた場合の読み直し回数の上限
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    private final AtomicReference<State> state = new AtomicReference<>(new State(null, 0, 0));
+
+    public RecentTweetsCache(TweetRepository tweetRepository,
+                             @Value("${app.tweet.recent-cache.size:200}") int capacity,
+                             @Value("${app.tweet.partition.enabled:false}") boolean partitioned) {
+        this.tweetRepository = tweetRepository;
+        this.capacity = capacity;
+        this.partitioned = partitioned;
+    }
+
+    /**
+     * 最新指定件数のツイート情報をキャッシュから取得する
+     *
+     * @param limit 取得対象件数
+     * @return 最新指定件数ツイート情報（キャッシュで応答できない場合はnull）
+     */
+    public List<TweetRecord> get(int limit) {
+        if (limit > capacity) {
+            return null;
+        }
+        Snapshot current = state.get().snapshot();
+        if (current == null || !current.canServe(limit)) {
+            // 未ロード、または削除で件数が不足した場合は読み直す
+            current = reload();
+        }
+        return List.of(Arrays.copyOf(current.tweets, Math.min(limit, current.tweets.length)));
+    }
+
+    /**
+     * DBから最新N件を読み直す
+     *
+     * @return 読み直したスナップショット
+     */
+    public Snapshot reload() {
+        Snapshot loaded = null;
+        for (int attempt = 0; attempt < MAX_RELOAD_ATTEMPTS; attempt++) {
+            State before = state.get();
+            List<TweetRecord> tweets = partitioned
+                    ? tweetRepository.selectRecentTweetsWithPartitionPruning(capacity)
+                    : tweetRepository.selectRecentTweets(capacity);
+            TweetRecord[] sorted = tweets.stream().map(RecentTweetsCache::copy).sorted(NEWEST_FIRST).toArray(TweetRecord[]::new);
+            loaded = new Snapshot(sorted, sorted.length < capacity);
+            if (before.engagementWrites() > 0) {
+                // 反映後の件数を読んだ可能性があり、保持すると反映の終了時に差分が二重に加算される
+                break;
+            }
+            // DBアクセス中に追加・更新・削除が反映された場合は、それより前の内容を読んだ可能性があるため保持しない
+            if (state.compareAndSet(before, new State(loaded, before.generation(), 0))) {
+                log.debug("recent tweets cache reloaded. size: {}", sorted.length);
+                return loaded;
+            }
+        }
+        // 競合が続く、またはエンゲージメント件数の反映中の場合は今回の応答にだけ使い、次回の取得で読み直す
+        log.debug("recent tweets cache reload discarded due to concurrent updates or engagement writes.");
+        return loaded;
+    }
+
+    /**
+     * 現在のトランザクションのコミット後にDBから読み直す
+     * （トランザクション外の場合は即時に読み直す）
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * 投稿されたツイートをキャッシュに追加する（最新N件に入らない場合は何もしない）
+     *
+     * @param tweet 投稿ツイート情報（採番済みのID）
+     */
+    public void add(TweetRecord tweet) {
+        TweetRecord added = copy(tweet);
+        update(current -> {
+            int position = Arrays.binarySearch(current.tweets, added, NEWEST_FIRST);
+            if (position >= 0) {
+                return current;
+            }
+            int index = -(position + 1);
+            if (index >= capacity || (!current.complete && index == current.tweets.length)) {
+                // 最新N件に入らない、またはキャッシュ外のツイートとの前後関係が分からない
+                return current;
+            }
+            TweetRecord[] tweets = new TweetRecord[Math.min(current.tweets.length + 1, capacity)];
+            System.arraycopy(current.tweets, 0, tweets, 0, index);
+            tweets[index] = added;
+            System.arraycopy(current.tweets, index, tweets, index + 1, tweets.length - index - 1);
+            // 末尾を押し出した場合、DB上の全件を保持しているとは限らない
+            boolean complete = current.complete && current.tweets.length < capacity;
+            return new Snapshot(tweets, complete);
+        });
+    }
+
+    /**
+     * 現在のトランザクションのコミット後に投稿されたツイートをキャッシュに追加する
+     * （トランザクション外の場合は即時に追加する）
+     *
+     * @param tweet 投稿ツイート情報（採番済みのID）
+     */
+    public void addAfterCommit(TweetRecord tweet) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(tweet);
+            return;
+        }
+        TweetRecord added = copy(tweet);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(added);
+            }
+        });
+    }
+
+    /**
+     * キャッシュ中のツイートに更新内容を反映する
+     *
+     * @param tweetId 更新対象ツイートID
+     * @param tweet   更新ツイート情報
+     */
+    public void replace(int tweetId, TweetRecord tweet) {
+        if (tweet.getDeleteFlag() != 0) {
+            remove(tweetId);
+            return;
+        }
+        update(current -> {
+            TweetRecord[] tweets = current.tweets.clone();
+            for (int i = 0; i < tweets.length; i++) {
+                if (tweets[i].getId() == tweetId) {
+                    // UPDATEで変更されない項目（アカウントID・投稿日時）はキャッシュ側の値を維持する
+                    TweetRecord merged = copy(tweet);
+                    merged.setId(tweetId);
+                    merged.setAccountId(tweets[i].getAccountId());
+                    merged.setDatetime(tweets[i].getDatetime());
+                    tweets[i] = merged;
+                    return new Snapshot(tweets, current.complete);
+                }
+            }
+            return current;
+        });
+    }
+
+    /**
+     * キャッシュからツイートを取り除く
+     *
+     * @param tweetId 削除対象ツイートID
+     */
+    public void remove(int tweetId) {
+        update(current -> {
+            TweetRecord[] tweets = Arrays.stream(current.tweets)
+                    .filter(t -> t.getId() != tweetId)
+                    .toArray(TweetRecord[]::new);
+            return tweets.length == current.tweets.length ? current : new Snapshot(tweets, current.complete);
+        });
+    }
+
+    /**
+     * エンゲージメント件数のDBへの反映を開始する
+     * （{@link #endEngagementWrite}までの間に読み直した内容はキャッシュに保持しない）
+     */
+    public void beginEngagementWrite() {
+        state.updateAndGet(current -> new State(
+                current.snapshot(), current.generation() + 1, current.engagementWrites() + 1));
+    }
+
+    /**
+     * エンゲージメント件数のDBへの反映を終了し、キャッシュ中のツイートに差分を反映する
+     *
+     * @param deltas ツイート毎の差分（DBへ反映できたもの）
+     */
+    public void endEngagementWrite(Collection<TweetEngagementDelta> deltas) {
+        Map<Integer, TweetEngagementDelta> byId = new HashMap<>();
+        deltas.forEach(delta -> byId.put(delta.tweetId(), delta));
+        UnaryOperator<Snapshot> mutation = current -> {
+            TweetRecord[] tweets = current.tweets.clone();
+            boolean changed = false;
+            for (int i = 0; i < tweets.length; i++) {
+                TweetEngagementDelta delta = byId.get(tweets[i].getId());
+                if (delta != null) {
+                    tweets[i] = delta.applyTo(tweets[i]);
+                    changed = true;
+                }
+            }
+            return changed ? new Snapshot(tweets, current.complete) : current;
+        };
+        state.updateAndGet(current -> new State(
+                current.snapshot() == null ? null : mutation.apply(current.snapshot()),
+                current.generation() + 1, current.engagementWrites() - 1));
+    }
+
+    /**
+     * キャッシュの内容に更新を反映し、世代を進める
+     * （未ロードの場合も世代を進め、実行中の読み直しが古い内容を保持しないようにする）
+     *
+     * @param mutation ロード済みの内容に対する更新
+     */
+    private void update(UnaryOperator<Snapshot> mutation) {
+        state.updateAndGet(current -> new State(
+                current.snapshot() == null ? null : mutation.apply(current.snapshot()),
+                current.generation() + 1, current.engagementWrites()));
+    }
+
+    private static TweetRecord copy(TweetRecord tweet) {
+        return new TweetRecord(tweet.getId(), tweet.getAccountId(), tweet.getText(), tweet.getImage(),
+                tweet.getLikes(), tweet.getRetweets(), tweet.getReplies(), tweet.getViews(),
+                tweet.getDatetime(), tweet.getLocation(), tweet.getDeleteFlag());
+    }
+
+    /**
+     * キャッシュの内容
+     *
+     * @param tweets   新しい順のツイート
+     * @param complete DB上の全件を保持しているか（保持件数がキャパシティ未満でロードされた場合）
+     */
+    public record Snapshot(TweetRecord[] tweets, boolean complete) {
+
+        boolean canServe(int limit) {
+            return complete || limit <= tweets.length;
+        }
+    }
+
+    /**
+     * キャッシュの内容と更新の世代
+     *
+     * @param snapshot         キャッシュの内容（未ロードの場合はnull）
+     * @param generation       追加・更新・削除の度に進む世代
+     * @param engagementWrites DBへ反映中のエンゲージメント件数の書き込み数
+     */
+    private record State(Snapshot snapshot, long generation, int engagementWrites) {
+    }
+}
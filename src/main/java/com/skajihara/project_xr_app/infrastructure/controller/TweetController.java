@@ -1,19 +1,43 @@
 package com.skajihara.project_xr_app.infrastructure.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skajihara.project_xr_app.domain.entity.EngagementType;
+import com.skajihara.project_xr_app.domain.entity.TweetCursor;
+import com.skajihara.project_xr_app.domain.entity.TweetView;
 import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.exception.BadRequestException;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetBatchModel;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetBulkItemResultModel;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetBulkResultModel;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetIngestTicketModel;
 import com.skajihara.project_xr_app.infrastructure.controller.model.TweetModel;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetPageModel;
+import com.skajihara.project_xr_app.infrastructure.service.IdempotencyService;
+import com.skajihara.project_xr_app.infrastructure.service.TweetBulkService;
+import com.skajihara.project_xr_app.infrastructure.service.TweetEngagementService;
+import com.skajihara.project_xr_app.infrastructure.service.TweetIngestService;
 import com.skajihara.project_xr_app.infrastructure.service.TweetService;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "http://localhost:3000")
@@ -21,9 +45,43 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/tweet")
 public class TweetController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     @Autowired
     private TweetService tweetService;
 
+    @Autowired
+    private TweetBulkService tweetBulkService;
+
+    @Autowired
+    private TweetEngagementService tweetEngagementService;
+
+    @Autowired
+    private TweetIngestService tweetIngestService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.tweet.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${app.tweet.batch.max-ids:100}")
+    private int maxBatchIds;
+
+    @Value("${app.tweet.bulk.max-items:10000}")
+    private int maxBulkItems;
+
+    @Value("${app.tweet.engagement.max-delta:100}")
+    private int maxEngagementDelta;
+
     /**
      * 1件のツイート情報を取得する
      *
@@ -36,13 +94,60 @@ public class TweetController {
     }
 
     /**
-     * 全てのツイート情報を取得する
+     * ツイート一覧を1ページ分取得する
      *
-     * @return 全ツイート情報
+     * @param cursor 前ページのnext_cursor（先頭ページの場合は未指定）
+     * @param size   1ページの件数（上限はapp.tweet.page.max-size）
+     * @return 1ページ分のツイート情報と次ページのカーソル
      */
     @GetMapping
-    public List<TweetModel> getAllTweets() {
-        return convertToResponseModelList(tweetService.getAllTweets());
+    public TweetPageModel getAllTweets(@RequestParam(required = false) String cursor,
+                                       @Positive @RequestParam(defaultValue = "20") int size) {
+
+        int pageSize = Math.min(size, maxPageSize);
+
+        // 次ページの有無を判定するため1件多く取得する
+        List<TweetView> tweets = tweetService.getTweetsPage(TweetCursor.decode(cursor), pageSize + 1);
+        String nextCursor = null;
+        if (tweets.size() > pageSize) {
+            tweets = tweets.subList(0, pageSize);
+            TweetView last = tweets.get(pageSize - 1);
+            nextCursor = new TweetCursor(last.getDatetime(), last.getId()).encode();
+        }
+        return new TweetPageModel(convertViewsToResponseModelList(tweets), nextCursor);
+    }
+
+    /**
+     * 複数件のツイート情報をまとめて取得する
+     *
+     * @param ids ツイートID（カンマ区切り、上限はapp.tweet.batch.max-ids）
+     * @return 指定順のツイート情報と存在しなかったID
+     */
+    @GetMapping(params = "ids")
+    public TweetBatchModel getTweets(@RequestParam List<@Positive Integer> ids) {
+
+        if (ids.size() > maxBatchIds) {
+            throw new BadRequestException("Too many ids: " + ids.size() + " (max: " + maxBatchIds + ")");
+        }
+
+        List<TweetView> tweets = tweetService.getTweets(ids);
+        Set<Integer> foundIds = tweets.stream().map(TweetView::getId).collect(Collectors.toSet());
+        List<Integer> missingIds = ids.stream()
+                .distinct()
+                .filter(id -> !foundIds.contains(id))
+                .collect(Collectors.toList());
+        return new TweetBatchModel(convertViewsToResponseModelList(tweets), missingIds);
+    }
+
+    /**
+     * 全てのツイート情報をストリーミングで取得する
+     * DBから1件読む毎にレスポンスへ書き出すため、件数によらずメモリ使用量は一定となる
+     *
+     * @return 全ツイート情報（JSON配列）
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllTweets() {
+        return streamResponse(tweetService::streamAllTweets);
     }
 
     /**
@@ -69,28 +174,115 @@ public class TweetController {
         return convertToResponseModelList(tweetService.getTweetsByAccountId(accountId, limit));
     }
 
+    /**
+     * 特定アカウントの全てのツイートをストリーミングで取得する
+     *
+     * @param accountId アカウントID
+     * @return 特定アカウントの全ツイート情報（JSON配列）
+     */
+    @GetMapping(value = "/account/{accountId}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamTweetsByAccountId(@PathVariable String accountId) {
+        return streamResponse(consumer -> tweetService.streamTweetsByAccountId(accountId, consumer));
+    }
+
     /**
      * 1件のツイート情報を投稿する
      *
-     * @param postTweet 投稿ツイート情報
-     * @return 投稿結果
+     * Idempotency-Keyヘッダーがある場合、同じキーの再送は投稿せずに初回の投稿結果を返す（内容が初回と異なる場合は422）
+     *
+     * @param postTweet      投稿ツイート情報
+     * @param idempotencyKey 冪等キー（任意）
+     * @return 投稿結果と採番されたツイートID（再送の場合はIdempotent-Replayedヘッダーを付与）
      */
     @PostMapping
-    public ResponseEntity<Map<String, String>> postTweet(@Valid @NotNull @RequestBody TweetModel postTweet) {
+    public ResponseEntity<Map<String, Object>> postTweet(@Valid @NotNull @RequestBody TweetModel postTweet,
+                                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
         TweetRecord tweet = convertToTweetRecord(postTweet);
-        int result = tweetService.postTweet(tweet);
-        Map<String, String> response = new HashMap<>();
+        if (Objects.nonNull(idempotencyKey)) {
+            IdempotencyService.Result result = idempotencyService.execute("tweet", idempotencyKey, postTweet, () -> tweetService.postTweet(tweet));
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "ツイート投稿成功");
+            response.put("id", result.resourceId());
+            return ResponseEntity.status(HttpStatus.OK)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(response);
+        }
+        int tweetId = tweetService.postTweet(tweet);
+        Map<String, Object> response = new HashMap<>();
 
-        if (result == 0) {
+        if (tweetId == 0) {
             response.put("message", "ツイート投稿失敗");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         }
         response.put("message", "ツイート投稿成功");
+        response.put("id", tweetId);
 
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * 1件のツイート情報を非同期で投稿する
+     * 受付時点ではDBに登録されていないため、登録結果はチケットIDで確認する
+     *
+     * @param postTweet 投稿ツイート情報
+     * @return チケットID（キューが満杯の場合は429）
+     */
+    @PostMapping(params = "async=true")
+    public ResponseEntity<TweetIngestTicketModel> postTweetAsync(@Valid @NotNull @RequestBody TweetModel postTweet) {
+
+        String ticketId = tweetIngestService.submit(convertToTweetRecord(postTweet));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new TweetIngestTicketModel(ticketId, TweetIngestService.PENDING, null));
+    }
+
+    /**
+     * 非同期投稿の登録状況を取得する
+     *
+     * @param ticketId チケットID
+     * @return 登録状況（PENDING / COMMITTED / FAILED）と登録後のツイートID
+     */
+    @GetMapping("/ingest/{ticketId}")
+    public TweetIngestTicketModel getIngestStatus(@PathVariable String ticketId) {
+        TweetIngestService.Ticket ticket = tweetIngestService.getTicket(ticketId);
+        return new TweetIngestTicketModel(ticketId, ticket.status(), ticket.tweetId());
+    }
+
+    /**
+     * 複数件のツイート情報をまとめて投稿する（JSON配列）
+     *
+     * @param postTweets 投稿ツイート情報（上限はapp.tweet.bulk.max-items）
+     * @return ツイート毎の投稿結果
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public TweetBulkResultModel postTweetsBulk(@NotNull @RequestBody List<TweetModel> postTweets) {
+        return postTweetsInBulk(postTweets);
+    }
+
+    /**
+     * 複数件のツイート情報をまとめて投稿する（NDJSON）
+     *
+     * @param body 1行1件の投稿ツイート情報（上限はapp.tweet.bulk.max-items）
+     * @return ツイート毎の投稿結果
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public TweetBulkResultModel postTweetsBulkNdjson(InputStream body) {
+        List<TweetModel> postTweets = new ArrayList<>();
+        try (MappingIterator<TweetModel> lines = objectMapper.readerFor(TweetModel.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (postTweets.size() == maxBulkItems) {
+                    throw new BadRequestException("Too many tweets (max: " + maxBulkItems + ")");
+                }
+                postTweets.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid NDJSON at item " + postTweets.size() + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return postTweetsInBulk(postTweets);
+    }
+
     /**
      * 1件のツイート情報を更新する
      *
@@ -114,6 +306,33 @@ public class TweetController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * ツイートのいいね・リツイート・返信・表示回数を加算する
+     * 加算は非同期にまとめてDBへ反映されるため、受付のみ応答する
+     *
+     * @param tweetId 対象ツイートID
+     * @param type    エンゲージメント種別（likes / retweets / replies / views）
+     * @param delta   加算数（取り消しの場合は負数、0は不可、絶対値の上限はapp.tweet.engagement.max-delta）
+     * @return 受付結果
+     */
+    @PostMapping("/{tweetId}/{type:likes|retweets|replies|views}")
+    public ResponseEntity<Map<String, String>> addEngagement(@Positive @PathVariable int tweetId,
+                                                             @PathVariable String type,
+                                                             @RequestParam(defaultValue = "1") int delta) {
+
+        if (delta == 0) {
+            throw new BadRequestException("delta must not be 0");
+        }
+        if (delta > maxEngagementDelta || delta < -maxEngagementDelta) {
+            throw new BadRequestException("delta out of range: " + delta + " (max: " + maxEngagementDelta + ")");
+        }
+        tweetEngagementService.increment(tweetId, EngagementType.of(type), delta);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "エンゲージメント受付");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     /**
      * 1件のツイート情報を削除する
      *
@@ -134,6 +353,58 @@ public class TweetController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    private TweetBulkResultModel postTweetsInBulk(List<TweetModel> postTweets) {
+
+        if (postTweets.isEmpty()) {
+            throw new BadRequestException("No tweets to post");
+        }
+        if (postTweets.size() > maxBulkItems) {
+            throw new BadRequestException("Too many tweets: " + postTweets.size() + " (max: " + maxBulkItems + ")");
+        }
+
+        // 入力チェックを通過したツイートのみ登録し、結果は入力順に返す
+        TweetBulkItemResultModel[] results = new TweetBulkItemResultModel[postTweets.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<TweetRecord> validTweets = new ArrayList<>();
+        for (int i = 0; i < postTweets.size(); i++) {
+            TweetModel postTweet = postTweets.get(i);
+            String violations = validate(postTweet);
+            if (violations != null) {
+                results[i] = new TweetBulkItemResultModel(i, TweetBulkItemResultModel.INVALID, null, violations);
+                continue;
+            }
+            validIndexes.add(i);
+            validTweets.add(convertToTweetRecord(postTweet));
+        }
+
+        int[] tweetIds = validTweets.isEmpty() ? new int[0] : tweetBulkService.postTweets(validTweets);
+        int created = 0;
+        for (int i = 0; i < validIndexes.size(); i++) {
+            int index = validIndexes.get(i);
+            if (tweetIds[i] != 0) {
+                results[index] = new TweetBulkItemResultModel(index, TweetBulkItemResultModel.CREATED, tweetIds[i], null);
+                created++;
+            } else {
+                results[index] = new TweetBulkItemResultModel(index, TweetBulkItemResultModel.FAILED, null, "ツイート投稿失敗");
+            }
+        }
+        return new TweetBulkResultModel(results.length, created, results.length - created, Arrays.asList(results));
+    }
+
+    private String validate(TweetModel postTweet) {
+        if (postTweet == null) {
+            return "tweet must not be null";
+        }
+        Set<ConstraintViolation<TweetModel>> violations = validator.validate(postTweet);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
     private TweetModel convertToResponseModel(TweetRecord serviceResult) {
         if (serviceResult == null) {
             return new TweetModel();
@@ -153,6 +424,35 @@ public class TweetController {
         return responseResult;
     }
 
+    private TweetModel convertToResponseModel(TweetView view) {
+        return new TweetModel(view.getId(), view.getAccountId(), view.getText(), view.getImage(),
+                view.getLikes(), view.getRetweets(), view.getReplies(), view.getViews(),
+                view.getDatetime(), view.getLocation(), view.getDeleteFlag());
+    }
+
+    private List<TweetModel> convertViewsToResponseModelList(List<TweetView> views) {
+        return views.stream()
+                .map(this::convertToResponseModel)
+                .collect(Collectors.toList());
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamResponse(Consumer<Consumer<TweetRecord>> source) {
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.writeStartArray();
+            source.accept(tweet -> {
+                try {
+                    generator.writeObject(convertToResponseModel(tweet));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     private List<TweetModel> convertToResponseModelList(List<TweetRecord> serviceResults) {
         return serviceResults.stream()
                 .map(this::convertToResponseModel)
@@ -2,6 +2,7 @@ package com.skajihara.project_xr_app.infrastructure.controller;
 
 import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
 import com.skajihara.project_xr_app.infrastructure.controller.model.ScheduledTweetModel;
+import com.skajihara.project_xr_app.infrastructure.service.IdempotencyService;
 import com.skajihara.project_xr_app.infrastructure.service.TweetScheduleService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "http://localhost:3000")
@@ -24,6 +26,9 @@ public class TweetScheduleController {
     @Autowired
     private TweetScheduleService tweetScheduleService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     /**
      * 1件の予約ツイート情報を取得する
      *
@@ -49,21 +54,35 @@ public class TweetScheduleController {
     /**
      * 1件のツイートを予約する
      *
-     * @param schedule 予約ツイート情報
-     * @return 予約結果
+     * Idempotency-Keyヘッダーがある場合、同じキーの再送は予約せずに初回の予約結果を返す（内容が初回と異なる場合は422）
+     *
+     * @param schedule       予約ツイート情報
+     * @param idempotencyKey 冪等キー（任意）
+     * @return 予約結果と採番された予約ツイートID（再送の場合はIdempotent-Replayedヘッダーを付与）
      */
     @PostMapping
-    public ResponseEntity<Map<String, String>> scheduleTweet(@Valid @NotNull @RequestBody ScheduledTweetModel schedule) {
+    public ResponseEntity<Map<String, Object>> scheduleTweet(@Valid @NotNull @RequestBody ScheduledTweetModel schedule,
+                                                             @RequestHeader(value = TweetController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
         ScheduledTweetRecord tweetSchedule = convertToScheduledTweetRecord(schedule);
-        int result = tweetScheduleService.scheduleTweet(tweetSchedule);
-        Map<String, String> response = new HashMap<>();
+        if (Objects.nonNull(idempotencyKey)) {
+            IdempotencyService.Result result = idempotencyService.execute("schedule", idempotencyKey, schedule, () -> tweetScheduleService.scheduleTweet(tweetSchedule));
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "ツイート予約成功");
+            response.put("id", result.resourceId());
+            return ResponseEntity.status(HttpStatus.OK)
+                    .header(TweetController.IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(response);
+        }
+        int scheduleId = tweetScheduleService.scheduleTweet(tweetSchedule);
+        Map<String, Object> response = new HashMap<>();
 
-        if (result == 0) {
+        if (scheduleId == 0) {
             response.put("message", "ツイート予約失敗");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         }
         response.put("message", "ツイート予約成功");
+        response.put("id", scheduleId);
 
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
@@ -0,0 +1,24 @@
+package com.skajihara.project_xr_app.infrastructure.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TweetBulkItemResultModel {
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private int index;
+
+    private String status;
+
+    private Integer id;
+
+    private String message;
+
+    public TweetBulkItemResultModel() {
+    }
+}
@@ -0,0 +1,22 @@
+package com.skajihara.project_xr_app.infrastructure.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TweetBulkResultModel {
+
+    private int total;
+
+    private int created;
+
+    private int failed;
+
+    private List<TweetBulkItemResultModel> results;
+
+    public TweetBulkResultModel() {
+    }
+}
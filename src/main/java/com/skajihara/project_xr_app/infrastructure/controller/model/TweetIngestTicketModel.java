@@ -0,0 +1,18 @@
+package com.skajihara.project_xr_app.infrastructure.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TweetIngestTicketModel {
+
+    private String ticketId;
+
+    private String status;
+
+    private Integer tweetId;
+
+    public TweetIngestTicketModel() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.skajihara.project_xr_app.infrastructure.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TweetPageModel {
+
+    private List<TweetModel> tweets;
+
+    private String nextCursor;
+
+    public TweetPageModel() {
+    }
+}
@@ -0,0 +1,137 @@
+package com.skajihara.project_xr_app.infrastructure.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skajihara.project_xr_app.domain.entity.record.IdempotencyKeyRecord;
+import com.skajihara.project_xr_app.domain.repository.IdempotencyKeyRepository;
+import com.skajihara.project_xr_app.exception.BadRequestException;
+import com.skajihara.project_xr_app.exception.UnprocessableEntityException;
+import com.skajihara.project_xr_app.infrastructure.cache.IdempotencyCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.IntSupplier;
+
+/**
+ * Idempotency-Keyヘッダーによる登録APIの重複実行防止
+ * 同じキーの再送はインメモリキャッシュ（なければDB）の登録結果を返し、登録処理を再実行しない
+ * 冪等キーは登録処理と同じトランザクションでDBに記録するため、再起動後や複数インスタンス間でも重複登録されない
+ * 同じキーで内容の異なるリクエストが送られた場合は、初回の結果を返さずに422とする
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    /**
+     * 冪等キー単位で1回だけ登録処理を実行する
+     *
+     * @param scope  キーの適用範囲（API毎に別の名前空間とする）
+     * @param key     Idempotency-Keyヘッダーの値
+     * @param request リクエストボディ（再送の内容が初回と同じかの判定に使う）
+     * @param action  登録処理（採番されたリソースIDを返す）
+     * @return 採番されたリソースIDと再送かどうか
+     */
+    public Result execute(String scope, String key, Object request, IntSupplier action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+        }
+        String scopedKey = scope + ":" + key;
+        String requestHash = hash(request);
+
+        // 再送はDBにアクセスせずに応答する
+        IdempotencyCache.Stored cached = idempotencyCache.get(scopedKey);
+        if (cached != null) {
+            verifySameRequest(key, cached.requestHash(), requestHash);
+            return new Result(cached.resourceId(), true);
+        }
+
+        LocalDateTime since = LocalDateTime.now().minusSeconds(ttlSeconds);
+        IdempotencyKeyRecord stored = idempotencyKeyRepository.selectValidKey(scopedKey, since);
+        if (stored != null) {
+            idempotencyCache.put(scopedKey, stored.getResourceId(), stored.getRequestHash());
+            verifySameRequest(key, stored.getRequestHash(), requestHash);
+            return new Result(stored.getResourceId(), true);
+        }
+        idempotencyKeyRepository.deleteExpiredKey(scopedKey, since);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            int resourceId = transactionTemplate.execute(status -> {
+                // 先にキーを登録して同じキーの同時実行を主キー制約で直列化する（後続はコミットまで待たされる）
+                idempotencyKeyRepository.insertKey(scopedKey, requestHash, LocalDateTime.now().withNano(0));
+                int id = action.getAsInt();
+                idempotencyKeyRepository.updateResourceId(scopedKey, id);
+                return id;
+            });
+            idempotencyCache.put(scopedKey, resourceId, requestHash);
+            return new Result(resourceId, false);
+        } catch (DataIntegrityViolationException e) {
+            // 同じキーの同時実行に負けた場合は、先にコミットされた結果を返す
+            IdempotencyKeyRecord winner = idempotencyKeyRepository.selectValidKey(scopedKey, since);
+            if (Objects.isNull(winner)) {
+                throw e;
+            }
+            log.info("idempotency key conflict resolved to the committed result. key: {}", scopedKey);
+            idempotencyCache.put(scopedKey, winner.getResourceId(), winner.getRequestHash());
+            verifySameRequest(key, winner.getRequestHash(), requestHash);
+            return new Result(winner.getResourceId(), true);
+        }
+    }
+
+    /**
+     * 再送のリクエストボディが初回と同じかを検証する
+     * （ハッシュ値の記録前に登録されたキーは検証しない）
+     */
+    private void verifySameRequest(String key, String storedHash, String requestHash) {
+        if (Objects.nonNull(storedHash) && !storedHash.equals(requestHash)) {
+            throw new UnprocessableEntityException("Idempotency-Key was already used with a different request body: " + key);
+        }
+    }
+
+    /**
+     * リクエストボディのハッシュ値（JSONに変換した内容のSHA-256）を求める
+     */
+    private String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("failed to hash the request body.", e);
+        }
+    }
+
+    /**
+     * 冪等な登録処理の結果
+     *
+     * @param resourceId 採番されたリソースID
+     * @param replayed   再送に対して保存済みの結果を返したか
+     */
+    public record Result(int resourceId, boolean replayed) {
+    }
+}
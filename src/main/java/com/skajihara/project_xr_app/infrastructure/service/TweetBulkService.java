@@ -0,0 +1,71 @@
+package com.skajihara.project_xr_app.infrastructure.service;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Service
+public class TweetBulkService {
+
+    @Autowired
+    private TweetRepository tweetRepository;
+
+    @Autowired
+    private RecentTweetsCache recentTweetsCache;
+
+    @Autowired
+    private AccountTimelineCache accountTimelineCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.tweet.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * 複数件のツイート情報をチャンク単位で登録する（INSERTはhibernate.jdbc.batch_size件ずつのJDBCバッチ）
+     * チャンク毎にコミットするため、失敗したチャンク以外の登録結果は維持される
+     * キャッシュへの反映はチャンクのコミット後に、登録したツイートの追加とアカウント別キャッシュの破棄で行う
+     *
+     * @param tweets 登録ツイート情報
+     * @return ツイート毎に採番されたID（登録失敗は0）
+     */
+    public int[] postTweets(List<TweetRecord> tweets) {
+
+        int[] tweetIds = new int[tweets.size()];
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int from = 0; from < tweets.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, tweets.size());
+            List<TweetRecord> chunk = tweets.subList(from, to);
+            try {
+                int[] ids = transactionTemplate.execute(status -> {
+                    int[] inserted = tweetRepository.insertAll(chunk);
+                    for (int i = 0; i < inserted.length; i++) {
+                        TweetRecord tweet = chunk.get(i);
+                        recentTweetsCache.addAfterCommit(new TweetRecord(inserted[i], tweet.getAccountId(), tweet.getText(), tweet.getImage(),
+                                tweet.getLikes(), tweet.getRetweets(), tweet.getReplies(), tweet.getViews(),
+                                tweet.getDatetime(), tweet.getLocation(), 0));
+                    }
+                    accountTimelineCache.invalidateAfterCommit(chunk.stream().map(TweetRecord::getAccountId).toList());
+                    return inserted;
+                });
+                System.arraycopy(ids, 0, tweetIds, from, ids.length);
+            } catch (DataAccessException e) {
+                log.warn("Bulk insert chunk failed. from: {}, to: {}", from, to, e);
+            }
+        }
+        return tweetIds;
+    }
+}
@@ -0,0 +1,208 @@
+package com.skajihara.project_xr_app.infrastructure.service;
+
+import com.skajihara.project_xr_app.domain.entity.EngagementType;
+import com.skajihara.project_xr_app.domain.entity.TweetEngagementDelta;
+import com.skajihara.project_xr_app.domain.repository.TweetJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * いいね・リツイート・返信・表示回数の加算をメモリ上に溜め、一定間隔でまとめてDBへ反映する（ライトビハインド）
+ * 加算はツイートIDで分割したストライプ単位のロックで集計し、反映は現在値への加算UPDATEをJDBCバッチで発行する
+ */
+@Slf4j
+@Service
+public class TweetEngagementService {
+
+    private static final int STRIPES = 64;
+
+    @Autowired
+    private TweetJdbcRepository tweetJdbcRepository;
+
+    @Autowired
+    private RecentTweetsCache recentTweetsCache;
+
+    @Autowired
+    private AccountTimelineCache accountTimelineCache;
+
+    @Value("${app.tweet.engagement.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${app.tweet.engagement.max-pending:10000}")
+    private int maxPending;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final AtomicInteger pendingTweets = new AtomicInteger();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private ScheduledExecutorService flusher;
+
+    public TweetEngagementService() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "engagement-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(flushIntervalMs * 10, TimeUnit.MILLISECONDS);
+        // 停止前に未反映の差分を書き込む
+        int flushed = flush();
+        log.info("Engagement counters flushed on shutdown. tweets: {}", flushed);
+    }
+
+    /**
+     * エンゲージメント件数の加算を受け付ける
+     * DBへの反映は最大でapp.tweet.engagement.flush-interval-ms遅れる
+     *
+     * @param tweetId ツイートID
+     * @param type    エンゲージメント種別
+     * @param delta   加算数（取り消しの場合は負数）
+     */
+    public void increment(int tweetId, EngagementType type, int delta) {
+        long[] counts = new long[EngagementType.values().length];
+        counts[type.ordinal()] = delta;
+        // 未反映のツイート数が上限に達した場合は周期を待たずに反映する
+        if (add(tweetId, counts) && pendingTweets.get() >= maxPending
+                && !flusher.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 溜まっている差分をDBへ反映する
+     *
+     * @return 反映したツイート数
+     */
+    public synchronized int flush() {
+        flushRequested.set(false);
+        List<TweetEngagementDelta> deltas = drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        List<TweetEngagementDelta> applied = List.of();
+        // 反映中にDBから読み直したキャッシュは反映後の件数を含みうるため、反映が終わるまで保持させない
+        recentTweetsCache.beginEngagementWrite();
+        accountTimelineCache.beginEngagementWrite();
+        try {
+            tweetJdbcRepository.addEngagementBatch(deltas);
+            applied = deltas;
+        } catch (TransientDataAccessException | RecoverableDataAccessException e) {
+            // 一時的な失敗で書き込めなかった差分はバッファへ戻し、次回の反映で再送する
+            deltas.forEach(this::restore);
+            throw e;
+        } catch (DataAccessException e) {
+            // 再送しても成功しない失敗は、1件ずつ反映し直して原因の差分だけを破棄する
+            // （バッチはロールバック済みのため、二重に加算されることはない）
+            log.warn("Engagement counters batch flush failed. retrying one by one. tweets: {}", deltas.size(), e);
+            applied = flushEach(deltas);
+        } finally {
+            recentTweetsCache.endEngagementWrite(applied);
+            accountTimelineCache.endEngagementWrite(applied);
+        }
+        return applied.size();
+    }
+
+    private List<TweetEngagementDelta> flushEach(List<TweetEngagementDelta> deltas) {
+        List<TweetEngagementDelta> applied = new ArrayList<>();
+        for (TweetEngagementDelta delta : deltas) {
+            try {
+                tweetJdbcRepository.addEngagementBatch(List.of(delta));
+                applied.add(delta);
+            } catch (TransientDataAccessException | RecoverableDataAccessException e) {
+                restore(delta);
+            } catch (DataAccessException e) {
+                log.error("Dropped engagement counters that cannot be applied. delta: {}", delta, e);
+            }
+        }
+        return applied;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Engagement counters flush failed. pending tweets: {}", pendingTweets.get(), e);
+        }
+    }
+
+    private List<TweetEngagementDelta> drain() {
+        List<TweetEngagementDelta> deltas = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            Map<Integer, long[]> drained;
+            synchronized (stripe) {
+                if (stripe.deltas.isEmpty()) {
+                    continue;
+                }
+                drained = stripe.deltas;
+                stripe.deltas = new HashMap<>();
+            }
+            pendingTweets.addAndGet(-drained.size());
+            drained.forEach((tweetId, counts) -> deltas.add(new TweetEngagementDelta(tweetId,
+                    counts[EngagementType.LIKES.ordinal()], counts[EngagementType.RETWEETS.ordinal()],
+                    counts[EngagementType.REPLIES.ordinal()], counts[EngagementType.VIEWS.ordinal()])));
+        }
+        return deltas;
+    }
+
+    private boolean add(int tweetId, long[] counts) {
+        Stripe stripe = stripes[Math.floorMod(tweetId, STRIPES)];
+        synchronized (stripe) {
+            long[] pending = stripe.deltas.get(tweetId);
+            if (pending != null) {
+                for (int i = 0; i < counts.length; i++) {
+                    pending[i] += counts[i];
+                }
+                return false;
+            }
+            stripe.deltas.put(tweetId, counts);
+        }
+        pendingTweets.incrementAndGet();
+        return true;
+    }
+
+    private void restore(TweetEngagementDelta delta) {
+        long[] counts = new long[EngagementType.values().length];
+        counts[EngagementType.LIKES.ordinal()] = delta.likes();
+        counts[EngagementType.RETWEETS.ordinal()] = delta.retweets();
+        counts[EngagementType.REPLIES.ordinal()] = delta.replies();
+        counts[EngagementType.VIEWS.ordinal()] = delta.views();
+        add(delta.tweetId(), counts);
+    }
+
+    private static class Stripe {
+        private Map<Integer, long[]> deltas = new HashMap<>();
+    }
+}
@@ -0,0 +1,176 @@
+package com.skajihara.project_xr_app.infrastructure.service;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.exception.NotFoundException;
+import com.skajihara.project_xr_app.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ツイート投稿の非同期受付（グループコミット）
+ * 受け付けた投稿は上限付きキューに積み、書き込みスレッドがまとめてJDBCバッチで登録する
+ * <p>
+ * 永続化の保証：受付（202）の時点ではメモリ上のキューにあるだけで、DBには登録されていない。
+ * 正常終了時はキューに残った投稿を登録してから停止するが、プロセスが異常終了した場合は未登録の投稿は失われる。
+ * 登録結果はチケットIDで確認できる（COMMITTEDになった時点でコミット済み）。
+ */
+@Slf4j
+@Service
+public class TweetIngestService {
+
+    public static final String PENDING = "PENDING";
+    public static final String COMMITTED = "COMMITTED";
+    public static final String FAILED = "FAILED";
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final TweetBulkService tweetBulkService;
+
+    private final BlockingQueue<PendingTweet> queue;
+
+    private final int batchSize;
+
+    private final Map<String, Ticket> tickets;
+
+    private volatile boolean running = true;
+
+    private Thread writer;
+
+    public TweetIngestService(TweetBulkService tweetBulkService,
+                              @Value("${app.tweet.ingest.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.tweet.ingest.batch-size:500}") int batchSize,
+                              @Value("${app.tweet.ingest.ticket-retention:100000}") int ticketRetention) {
+        this.tweetBulkService = tweetBulkService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        // 結果の保持件数を超えた場合は古いチケットから破棄する
+        this.tickets = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Ticket> eldest) {
+                return size() > ticketRetention;
+            }
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        writer = new Thread(this::runWriter, "tweet-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join();
+        }
+        // 書き込みスレッド停止後に残った投稿も登録してから終了する
+        int drained = 0;
+        int written;
+        while ((written = writeBatch()) > 0) {
+            drained += written;
+        }
+        log.info("Tweet ingest queue drained on shutdown. tweets: {}", drained);
+    }
+
+    /**
+     * ツイート投稿を受け付ける
+     *
+     * @param tweet 投稿ツイート情報
+     * @return チケットID
+     */
+    public String submit(TweetRecord tweet) {
+        if (!running) {
+            throw new TooManyRequestsException("Tweet ingest is shutting down");
+        }
+        String ticketId = UUID.randomUUID().toString();
+        tickets.put(ticketId, new Ticket(PENDING, null));
+        if (!queue.offer(new PendingTweet(ticketId, tweet))) {
+            tickets.remove(ticketId);
+            throw new TooManyRequestsException("Tweet ingest queue is full");
+        }
+        return ticketId;
+    }
+
+    /**
+     * 受付済みツイートの登録状況を取得する
+     *
+     * @param ticketId チケットID
+     * @return 登録状況（PENDING / COMMITTED / FAILED）と登録後のツイートID
+     */
+    public Ticket getTicket(String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (Objects.isNull(ticket)) {
+            throw new NotFoundException("Ticket is not found with id: " + ticketId);
+        }
+        return ticket;
+    }
+
+    /**
+     * キューから最大バッチサイズ分を取り出して登録する
+     *
+     * @return 登録を試みた件数
+     */
+    int writeBatch() {
+        List<PendingTweet> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        write(batch);
+        return batch.size();
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                PendingTweet first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingTweet> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<PendingTweet> batch) {
+        int[] tweetIds;
+        try {
+            tweetIds = tweetBulkService.postTweets(batch.stream().map(PendingTweet::tweet).toList());
+        } catch (RuntimeException e) {
+            log.error("Tweet ingest batch failed. size: {}", batch.size(), e);
+            tweetIds = new int[batch.size()];
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Ticket ticket = tweetIds[i] != 0 ? new Ticket(COMMITTED, tweetIds[i]) : new Ticket(FAILED, null);
+            tickets.put(batch.get(i).ticketId(), ticket);
+        }
+    }
+
+    private record PendingTweet(String ticketId, TweetRecord tweet) {
+    }
+
+    /**
+     * 受付済みツイートの登録状況
+     *
+     * @param status  登録状況
+     * @param tweetId 採番されたツイートID（COMMITTED以外はnull）
+     */
+    public record Ticket(String status, Integer tweetId) {
+    }
+}
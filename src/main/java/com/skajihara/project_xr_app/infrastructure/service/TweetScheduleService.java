@@ -3,6 +3,7 @@ package com.skajihara.project_xr_app.infrastructure.service;
 import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
 import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
 import com.skajihara.project_xr_app.exception.TweetException;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledTweetTimer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +16,9 @@ public class TweetScheduleService {
     @Autowired
     private TweetScheduleRepository tweetScheduleRepository;
 
+    @Autowired
+    private ScheduledTweetTimer scheduledTweetTimer;
+
     /**
      * 1件の予約ツイート情報を取得する
      *
@@ -43,14 +47,15 @@ public class TweetScheduleService {
      * 1件のツイートを予約する
      *
      * @param schedule 予約ツイート情報
-     * @return 予約結果
+     * @return 採番された予約ツイートID
      */
     public int scheduleTweet(ScheduledTweetRecord schedule) {
-        int result = tweetScheduleRepository.insert(schedule);
-        if (result == 0) {
+        int scheduleId = tweetScheduleRepository.insert(schedule);
+        if (scheduleId == 0) {
             throw new TweetException("Tweet schedule register is failed.");
         }
-        return result;
+        scheduledTweetTimer.schedule(scheduleId, schedule.getScheduledDatetime());
+        return scheduleId;
     }
 
     /**
@@ -61,13 +66,15 @@ public class TweetScheduleService {
      * @return 更新結果
      */
     public int updateSchedule(int scheduleId, ScheduledTweetRecord updatedSchedule) {
-        ScheduledTweetRecord target = tweetScheduleRepository.selectScheduledTweet(scheduleId);
-        if (Objects.isNull(target)) {
+        // 存在確認を兼ねた1回の条件付きUPDATEとし、更新件数0を対象なしとみなす
+        int result = tweetScheduleRepository.update(scheduleId, updatedSchedule);
+        if (result == 0) {
             throw new TweetException("Scheduled Tweet is not found with id: " + scheduleId);
         }
-        int result = tweetScheduleRepository.update(target.getId(), updatedSchedule);
-        if (result == 0) {
-            throw new TweetException("Tweet schedule update is failed.");
+        if (updatedSchedule.getDeleteFlag() == 0) {
+            scheduledTweetTimer.schedule(scheduleId, updatedSchedule.getScheduledDatetime());
+        } else {
+            scheduledTweetTimer.cancel(scheduleId);
         }
         return result;
     }
@@ -79,14 +86,11 @@ public class TweetScheduleService {
      * @return キャンセル結果
      */
     public int cancelSchedule(int scheduleId) {
-        ScheduledTweetRecord target = tweetScheduleRepository.selectScheduledTweet(scheduleId);
-        if (Objects.isNull(target)) {
-            throw new TweetException("Tweet is not found with id: " + scheduleId);
-        }
         int result = tweetScheduleRepository.delete(scheduleId);
         if (result == 0) {
-            throw new TweetException("Tweet schedule cancel is failed.");
+            throw new TweetException("Scheduled Tweet is not found with id: " + scheduleId);
         }
+        scheduledTweetTimer.cancel(scheduleId);
         return result;
     }
 }
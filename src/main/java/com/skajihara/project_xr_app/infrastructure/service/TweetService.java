@@ -1,13 +1,24 @@
 package com.skajihara.project_xr_app.infrastructure.service;
 
+import com.skajihara.project_xr_app.domain.entity.TweetCursor;
+import com.skajihara.project_xr_app.domain.entity.TweetView;
 import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
 import com.skajihara.project_xr_app.domain.repository.TweetRepository;
 import com.skajihara.project_xr_app.exception.TweetException;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TweetService {
@@ -15,14 +26,27 @@ public class TweetService {
     @Autowired
     private TweetRepository tweetRepository;
 
+    @Autowired
+    private RecentTweetsCache recentTweetsCache;
+
+    @Autowired
+    private AccountTimelineCache accountTimelineCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.tweet.partition.enabled:false}")
+    private boolean partitioned;
+
     /**
      * 対象1件のツイート情報を取得する
      *
      * @param tweetId 取得対象件数
      * @return １件のツイート情報
      */
-    public TweetRecord getTweet(int tweetId) {
-        TweetRecord tweet = tweetRepository.selectTweet(tweetId);
+    @Transactional(readOnly = true)
+    public TweetView getTweet(int tweetId) {
+        TweetView tweet = tweetRepository.selectTweetView(tweetId);
         if (Objects.isNull(tweet)) {
             throw new TweetException("Tweet is not found with id: " + tweetId);
         }
@@ -30,12 +54,72 @@ public class TweetService {
     }
 
     /**
-     * 全てのツイート情報を取得する
+     * 複数件のツイート情報を1回のクエリで取得する
+     *
+     * @param tweetIds ツイートID（重複は除外する）
+     * @return 指定順に並べたツイート情報（存在しないIDは含まない）
+     */
+    @Transactional(readOnly = true)
+    public List<TweetView> getTweets(List<Integer> tweetIds) {
+        Set<Integer> distinctIds = new LinkedHashSet<>(tweetIds);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, TweetView> found = tweetRepository.selectTweetViews(distinctIds).stream()
+                .collect(Collectors.toMap(TweetView::getId, Function.identity()));
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 全てのツイート情報を1件ずつ処理する
+     * 処理済みのエンティティは都度切り離すため、件数によらずメモリ使用量は一定となる
      *
-     * @return 全ツイート情報
+     * @param consumer 1件毎の処理
      */
-    public List<TweetRecord> getAllTweets() {
-        return tweetRepository.selectAllTweets();
+    @Transactional(readOnly = true)
+    public void streamAllTweets(Consumer<TweetRecord> consumer) {
+        try (Stream<TweetRecord> tweets = tweetRepository.streamAllTweets()) {
+            tweets.forEach(tweet -> {
+                consumer.accept(tweet);
+                entityManager.detach(tweet);
+            });
+        }
+    }
+
+    /**
+     * 特定アカウントの全てのツイート情報を1件ずつ処理する
+     *
+     * @param accountId アカウントID
+     * @param consumer  1件毎の処理
+     */
+    @Transactional(readOnly = true)
+    public void streamTweetsByAccountId(String accountId, Consumer<TweetRecord> consumer) {
+        try (Stream<TweetRecord> tweets = tweetRepository.streamTweetsByAccountId(accountId)) {
+            tweets.forEach(tweet -> {
+                consumer.accept(tweet);
+                entityManager.detach(tweet);
+            });
+        }
+    }
+
+    /**
+     * ツイート一覧の1ページ分を取得する
+     *
+     * @param cursor 前ページ末尾の位置（先頭ページの場合はnull）
+     * @param limit  取得対象件数
+     * @return 1ページ分のツイート情報
+     */
+    @Transactional(readOnly = true)
+    public List<TweetView> getTweetsPage(TweetCursor cursor, int limit) {
+        if (Objects.isNull(cursor)) {
+            return partitioned
+                    ? tweetRepository.selectTweetsFirstPageWithPartitionPruning(limit)
+                    : tweetRepository.selectTweetsFirstPage(limit);
+        }
+        return tweetRepository.selectTweetsAfterCursor(cursor.getDatetime(), cursor.getId(), limit);
     }
 
     /**
@@ -44,8 +128,16 @@ public class TweetService {
      * @param limit 取得対象件数
      * @return 最新指定件数ツイート情報
      */
+    @Transactional(readOnly = true)
     public List<TweetRecord> getRecentTweets(int limit) {
-        return tweetRepository.selectRecentTweets(limit);
+        List<TweetRecord> cached = recentTweetsCache.get(limit);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        // キャッシュ保持件数を超える場合はDBから取得する
+        return partitioned
+                ? tweetRepository.selectRecentTweetsWithPartitionPruning(limit)
+                : tweetRepository.selectRecentTweets(limit);
     }
 
     /**
@@ -55,22 +147,28 @@ public class TweetService {
      * @param limit     取得対象件数
      * @return 特定アカウントの指定件数ツイート情報
      */
+    @Transactional(readOnly = true)
     public List<TweetRecord> getTweetsByAccountId(String accountId, int limit) {
-        return tweetRepository.selectRecentTweetsByAccountId(accountId, limit);
+        return accountTimelineCache.get(accountId, limit);
     }
 
     /**
      * 1件のツイート情報を投稿する
      *
      * @param tweet 投稿ツイート情報
-     * @return 投稿結果
+     * @return 採番されたツイートID
      */
     public int postTweet(TweetRecord tweet) {
-        int result = tweetRepository.insert(tweet);
-        if (result == 0) {
+        int tweetId = tweetRepository.insert(tweet);
+        if (tweetId == 0) {
             throw new TweetException("Tweet Register Failed.");
         }
-        return result;
+        // 冪等キーの登録と同じトランザクションで呼ばれる場合があるため、キャッシュへの反映はコミット後とする
+        recentTweetsCache.addAfterCommit(new TweetRecord(tweetId, tweet.getAccountId(), tweet.getText(), tweet.getImage(),
+                tweet.getLikes(), tweet.getRetweets(), tweet.getReplies(), tweet.getViews(),
+                tweet.getDatetime(), tweet.getLocation(), 0));
+        accountTimelineCache.invalidateAfterCommit(List.of(tweet.getAccountId()));
+        return tweetId;
     }
 
     /**
@@ -81,14 +179,13 @@ public class TweetService {
      * @return 更新結果
      */
     public int updateTweet(int tweetId, TweetRecord tweet) {
-        TweetRecord target = tweetRepository.selectTweet(tweetId);
-        if (Objects.isNull(target)) {
-            throw new TweetException("Tweet is not found with id: " + tweetId);
-        }
-        int result = tweetRepository.update(target.getId(), tweet);
+        // 存在確認を兼ねた1回の条件付きUPDATEとし、更新件数0を対象なしとみなす
+        int result = tweetRepository.update(tweetId, tweet);
         if (result == 0) {
-            throw new TweetException("Tweet Update Failed.");
+            throw new TweetException("Tweet is not found with id: " + tweetId);
         }
+        recentTweetsCache.replace(tweetId, tweet);
+        accountTimelineCache.replace(tweetId, tweet);
         return result;
     }
 
@@ -99,14 +196,12 @@ public class TweetService {
      * @return 削除結果
      */
     public int deleteTweet(int tweetId) {
-        TweetRecord target = tweetRepository.selectTweet(tweetId);
-        if (Objects.isNull(target)) {
-            throw new TweetException("Tweet is not found with id: " + tweetId);
-        }
         int result = tweetRepository.delete(tweetId);
         if (result == 0) {
-            throw new TweetException("Tweet Delete Failed.");
+            throw new TweetException("Tweet is not found with id: " + tweetId);
         }
+        recentTweetsCache.remove(tweetId);
+        accountTimelineCache.remove(tweetId);
         return result;
     }
 }
@@ -186,3 +186,8 @@ INSERT INTO SCHEDULED_TWEETS (account_id, text, image, location, scheduled_datet
 ('user_A', 'ツイート内容18', '/images/tweet/img03.jpg', '岐阜県', FORMATDATETIME(DATEADD(SECOND, 180, CURRENT_TIMESTAMP), 'yyyy-MM-dd HH:mm:ss'), FORMATDATETIME(CURRENT_TIMESTAMP, 'yyyy-MM-dd HH:mm:ss'), 0),
 ('user_B', 'ツイート内容19', '/images/tweet/img04.jpg', '三重県', FORMATDATETIME(DATEADD(SECOND, 190, CURRENT_TIMESTAMP), 'yyyy-MM-dd HH:mm:ss'), FORMATDATETIME(CURRENT_TIMESTAMP, 'yyyy-MM-dd HH:mm:ss'), 0),
 ('user_C', 'ツイート内容20', '/images/tweet/img05.jpg', '新潟県', FORMATDATETIME(DATEADD(SECOND, 200, CURRENT_TIMESTAMP), 'yyyy-MM-dd HH:mm:ss'), FORMATDATETIME(CURRENT_TIMESTAMP, 'yyyy-MM-dd HH:mm:ss'), 0);
+
+-- 初期データの後からアプリの採番を始める
+ALTER SEQUENCE TWEETS_SEQ RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM TWEETS);
+ALTER SEQUENCE SCHEDULED_TWEETS_SEQ RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM SCHEDULED_TWEETS);
+ALTER SEQUENCE BATCH_HISTORY_SEQ RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM BATCH_HISTORY);
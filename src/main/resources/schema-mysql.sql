@@ -0,0 +1,307 @@
+-- Schema for the mysql profile (apply manually; drops existing tables)
+-- TWEETS is range-partitioned by month on datetime. Partitions are named pYYYYMM and hold the tweets of that month
+-- (p202412 holds everything before 2025). tweetPartitionMaintenanceJob adds future partitions by splitting pmax
+-- and archives/drops partitions older than app.tweet.partition.retention-months.
+
+-- Drop tables if exist
+DROP TABLE IF EXISTS TWEETS;
+DROP TABLE IF EXISTS SCHEDULED_TWEETS;
+DROP TABLE IF EXISTS ACCOUNTS;
+DROP TABLE IF EXISTS BATCH_HISTORY;
+DROP TABLE IF EXISTS IDEMPOTENCY_KEYS;
+DROP TABLE IF EXISTS ARCHIVED_TWEETS;
+DROP TABLE IF EXISTS ARCHIVED_SCHEDULED_TWEETS;
+DROP TABLE IF EXISTS SCHEDULED_TWEETS_DEAD_LETTER;
+DROP TABLE IF EXISTS BATCH_HISTORY_DAILY_SUMMARY;
+
+-- Create ACCOUNTS table
+-- (MySQL does not allow CURRENT_DATE in CHECK constraints)
+CREATE TABLE ACCOUNTS (
+    id VARCHAR(20) PRIMARY KEY NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    bio VARCHAR(200) NOT NULL,
+    icon VARCHAR(100) DEFAULT '/src/assets/icons/user/default_icon.svg',
+    header_photo VARCHAR(100) DEFAULT '/src/assets/images/header/default_header.jpg',
+    location VARCHAR(50),
+    birthday DATE,
+    registered DATE NOT NULL DEFAULT (CURRENT_DATE),
+    following INT NOT NULL DEFAULT 0,
+    follower INT NOT NULL DEFAULT 0,
+    valid_flag INT NOT NULL DEFAULT 1,
+    delete_flag INT NOT NULL DEFAULT 0
+) ENGINE=InnoDB;
+CREATE INDEX idx_accounts_valid_flag ON ACCOUNTS (valid_flag);
+CREATE INDEX idx_accounts_delete_flag ON ACCOUNTS (delete_flag);
+
+-- Create TWEETS table
+-- (the partitioning column must be part of every unique key, so the primary key is (id, datetime);
+--  ids are still unique because they come from TWEETS_SEQ)
+CREATE TABLE TWEETS (
+    id INT NOT NULL,
+    account_id VARCHAR(20) NOT NULL,
+    text VARCHAR(200) NOT NULL,
+    image VARCHAR(100),
+    likes INT NOT NULL DEFAULT 0,
+    retweets INT NOT NULL DEFAULT 0,
+    replies INT NOT NULL DEFAULT 0,
+    views INT NOT NULL DEFAULT 0,
+    datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    location VARCHAR(50),
+    delete_flag INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, datetime),
+    -- selectAllTweets / selectTweetsFirstPage* / selectTweetsAfterCursor / selectRecentTweets*
+    INDEX idx_tweets_delete_flag_datetime (delete_flag, datetime DESC, id DESC),
+    -- selectRecentTweetsByAccountId*
+    INDEX idx_tweets_account_id_delete_flag_datetime (account_id, delete_flag, datetime DESC)
+) ENGINE=InnoDB
+PARTITION BY RANGE COLUMNS (datetime) (
+    PARTITION p202412 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p202701 VALUES LESS THAN ('2027-02-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- Create SCHEDULED_TWEETS table
+CREATE TABLE SCHEDULED_TWEETS (
+    id INT PRIMARY KEY NOT NULL,
+    account_id VARCHAR(20) NOT NULL,
+    text VARCHAR(200) NOT NULL,
+    image VARCHAR(100),
+    location VARCHAR(50),
+    scheduled_datetime DATETIME(0) NOT NULL,
+    created_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    delete_flag INT NOT NULL DEFAULT 0,
+    claimed_by VARCHAR(100),
+    lease_expires DATETIME(0)
+) ENGINE=InnoDB;
+-- selectScheduledTweetsByAccountId
+CREATE INDEX idx_scheduled_tweets_account_id_delete_flag ON SCHEDULED_TWEETS (account_id, delete_flag, scheduled_datetime);
+-- selectScheduledTweetsForBatch (range scan from the (scheduled_datetime, id) watermark in BATCH_HISTORY up to now)
+CREATE INDEX idx_scheduled_tweets_delete_flag_scheduled ON SCHEDULED_TWEETS (delete_flag, scheduled_datetime, id);
+-- postClaimedSchedules (rows claimed by one node under a lease in claimed posting mode)
+CREATE INDEX idx_scheduled_tweets_claimed_by ON SCHEDULED_TWEETS (claimed_by);
+
+-- Create BATCH_HISTORY table
+CREATE TABLE BATCH_HISTORY (
+    id INT PRIMARY KEY NOT NULL,
+    job_name VARCHAR(50) NOT NULL,
+    latest_processed_id INT NOT NULL,
+    processed_num INT NOT NULL,
+    execution_start DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    execution_end DATETIME(0),
+    succeeded INT NOT NULL DEFAULT 0,
+    latest_processed_datetime DATETIME(0) NOT NULL DEFAULT '1970-01-01 00:00:00'
+) ENGINE=InnoDB;
+CREATE INDEX idx_batch_history_latest_processed_id ON BATCH_HISTORY (latest_processed_id);
+CREATE INDEX idx_batch_history_execution_start ON BATCH_HISTORY (execution_start);
+-- selectLatestRecord
+CREATE INDEX idx_batch_history_job_name_execution_end ON BATCH_HISTORY (job_name, execution_end DESC);
+
+-- Create BATCH_HISTORY_DAILY_SUMMARY table (daily roll-up of BATCH_HISTORY rows pruned by batchMetadataRetentionJob)
+CREATE TABLE BATCH_HISTORY_DAILY_SUMMARY (
+    job_name VARCHAR(50) NOT NULL,
+    summary_date DATE NOT NULL,
+    executions INT NOT NULL DEFAULT 0,
+    succeeded INT NOT NULL DEFAULT 0,
+    processed_num BIGINT NOT NULL DEFAULT 0,
+    total_duration_seconds BIGINT NOT NULL DEFAULT 0,
+    max_duration_seconds INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (job_name, summary_date)
+) ENGINE=InnoDB;
+
+-- Create ARCHIVED_TWEETS table (rows moved out of TWEETS by archiveCompactionJob / tweetPartitionMaintenanceJob)
+CREATE TABLE ARCHIVED_TWEETS (
+    id INT PRIMARY KEY NOT NULL,
+    account_id VARCHAR(20) NOT NULL,
+    text VARCHAR(200) NOT NULL,
+    image VARCHAR(100),
+    likes INT NOT NULL DEFAULT 0,
+    retweets INT NOT NULL DEFAULT 0,
+    replies INT NOT NULL DEFAULT 0,
+    views INT NOT NULL DEFAULT 0,
+    datetime DATETIME(0) NOT NULL,
+    location VARCHAR(50),
+    archived_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+CREATE INDEX idx_archived_tweets_account_id_datetime ON ARCHIVED_TWEETS (account_id, datetime);
+
+-- Create ARCHIVED_SCHEDULED_TWEETS table (posted or cancelled rows moved out of SCHEDULED_TWEETS by archiveCompactionJob)
+CREATE TABLE ARCHIVED_SCHEDULED_TWEETS (
+    id INT PRIMARY KEY NOT NULL,
+    account_id VARCHAR(20) NOT NULL,
+    text VARCHAR(200) NOT NULL,
+    image VARCHAR(100),
+    location VARCHAR(50),
+    scheduled_datetime DATETIME(0) NOT NULL,
+    created_datetime DATETIME(0) NOT NULL,
+    archived_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+CREATE INDEX idx_archived_scheduled_tweets_account_id ON ARCHIVED_SCHEDULED_TWEETS (account_id, scheduled_datetime);
+
+-- Create SCHEDULED_TWEETS_DEAD_LETTER table (scheduled tweets skipped by scheduledTweetsPostingJob;
+-- the source row in SCHEDULED_TWEETS is set to delete_flag = 2 so that it is neither posted nor archived)
+CREATE TABLE SCHEDULED_TWEETS_DEAD_LETTER (
+    schedule_id INT PRIMARY KEY NOT NULL,
+    account_id VARCHAR(20) NOT NULL,
+    text VARCHAR(200) NOT NULL,
+    image VARCHAR(100),
+    location VARCHAR(50),
+    scheduled_datetime DATETIME(0) NOT NULL,
+    error_class VARCHAR(200) NOT NULL,
+    error_message VARCHAR(1000),
+    failed_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+CREATE INDEX idx_scheduled_tweets_dead_letter_failed_datetime ON SCHEDULED_TWEETS_DEAD_LETTER (failed_datetime);
+
+-- Create IDEMPOTENCY_KEYS table
+CREATE TABLE IDEMPOTENCY_KEYS (
+    idempotency_key VARCHAR(150) PRIMARY KEY NOT NULL,
+    resource_id INT NOT NULL,
+    request_hash CHAR(64),
+    created_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+-- deleteExpiredKey / pruneIdempotencyKeys (batchMetadataRetentionJob)
+CREATE INDEX idx_idempotency_keys_created_datetime ON IDEMPOTENCY_KEYS (created_datetime);
+
+-- Id sequences
+-- (MySQL has no sequences; Hibernate emulates them with a single-row table, next_val is advanced by allocationSize)
+DROP TABLE IF EXISTS TWEETS_SEQ;
+DROP TABLE IF EXISTS SCHEDULED_TWEETS_SEQ;
+DROP TABLE IF EXISTS BATCH_HISTORY_SEQ;
+
+CREATE TABLE TWEETS_SEQ (next_val BIGINT) ENGINE=InnoDB;
+CREATE TABLE SCHEDULED_TWEETS_SEQ (next_val BIGINT) ENGINE=InnoDB;
+CREATE TABLE BATCH_HISTORY_SEQ (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO TWEETS_SEQ VALUES (1);
+INSERT INTO SCHEDULED_TWEETS_SEQ VALUES (1);
+INSERT INTO BATCH_HISTORY_SEQ VALUES (1);
+
+-- Drop batch meta tables if exist
+DROP TABLE IF EXISTS BATCH_STEP_EXECUTION_CONTEXT;
+DROP TABLE IF EXISTS BATCH_JOB_EXECUTION_CONTEXT;
+DROP TABLE IF EXISTS BATCH_STEP_EXECUTION;
+DROP TABLE IF EXISTS BATCH_JOB_EXECUTION_PARAMS;
+DROP TABLE IF EXISTS BATCH_JOB_EXECUTION;
+DROP TABLE IF EXISTS BATCH_JOB_INSTANCE;
+
+CREATE TABLE BATCH_JOB_INSTANCE (
+    JOB_INSTANCE_ID BIGINT NOT NULL PRIMARY KEY,
+    VERSION BIGINT,
+    JOB_NAME VARCHAR(100) NOT NULL,
+    JOB_KEY VARCHAR(32) NOT NULL,
+    CONSTRAINT JOB_INST_UN UNIQUE (JOB_NAME, JOB_KEY)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_JOB_EXECUTION (
+    JOB_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY,
+    VERSION BIGINT,
+    JOB_INSTANCE_ID BIGINT NOT NULL,
+    CREATE_TIME DATETIME(6) NOT NULL,
+    START_TIME DATETIME(6) DEFAULT NULL,
+    END_TIME DATETIME(6) DEFAULT NULL,
+    STATUS VARCHAR(10),
+    EXIT_CODE VARCHAR(2500),
+    EXIT_MESSAGE VARCHAR(2500),
+    LAST_UPDATED DATETIME(6),
+    CONSTRAINT JOB_INST_EXEC_FK FOREIGN KEY (JOB_INSTANCE_ID)
+        REFERENCES BATCH_JOB_INSTANCE(JOB_INSTANCE_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_JOB_EXECUTION_PARAMS (
+    JOB_EXECUTION_ID BIGINT NOT NULL,
+    PARAMETER_NAME VARCHAR(100) NOT NULL,
+    PARAMETER_TYPE VARCHAR(100) NOT NULL,
+    PARAMETER_VALUE VARCHAR(2500),
+    IDENTIFYING CHAR(1) NOT NULL,
+    CONSTRAINT JOB_EXEC_PARAMS_FK FOREIGN KEY (JOB_EXECUTION_ID)
+        REFERENCES BATCH_JOB_EXECUTION(JOB_EXECUTION_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_STEP_EXECUTION (
+    STEP_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY,
+    VERSION BIGINT NOT NULL,
+    STEP_NAME VARCHAR(100) NOT NULL,
+    JOB_EXECUTION_ID BIGINT NOT NULL,
+    CREATE_TIME DATETIME(6) NOT NULL,
+    START_TIME DATETIME(6) DEFAULT NULL,
+    END_TIME DATETIME(6) DEFAULT NULL,
+    STATUS VARCHAR(10),
+    COMMIT_COUNT BIGINT,
+    READ_COUNT BIGINT,
+    FILTER_COUNT BIGINT,
+    WRITE_COUNT BIGINT,
+    READ_SKIP_COUNT BIGINT,
+    WRITE_SKIP_COUNT BIGINT,
+    PROCESS_SKIP_COUNT BIGINT,
+    ROLLBACK_COUNT BIGINT,
+    EXIT_CODE VARCHAR(2500),
+    EXIT_MESSAGE VARCHAR(2500),
+    LAST_UPDATED DATETIME(6),
+    CONSTRAINT JOB_EXEC_STEP_FK FOREIGN KEY (JOB_EXECUTION_ID)
+        REFERENCES BATCH_JOB_EXECUTION(JOB_EXECUTION_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_STEP_EXECUTION_CONTEXT (
+    STEP_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY,
+    SHORT_CONTEXT VARCHAR(2500) NOT NULL,
+    SERIALIZED_CONTEXT TEXT,
+    CONSTRAINT STEP_EXEC_CTX_FK FOREIGN KEY (STEP_EXECUTION_ID)
+        REFERENCES BATCH_STEP_EXECUTION(STEP_EXECUTION_ID)
+) ENGINE=InnoDB;
+
+CREATE TABLE BATCH_JOB_EXECUTION_CONTEXT (
+    JOB_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY,
+    SHORT_CONTEXT VARCHAR(2500) NOT NULL,
+    SERIALIZED_CONTEXT TEXT,
+    CONSTRAINT JOB_EXEC_CTX_FK FOREIGN KEY (JOB_EXECUTION_ID)
+        REFERENCES BATCH_JOB_EXECUTION(JOB_EXECUTION_ID)
+) ENGINE=InnoDB;
+
+-- Batch meta sequences (emulated with tables on MySQL)
+DROP TABLE IF EXISTS BATCH_STEP_EXECUTION_SEQ;
+DROP TABLE IF EXISTS BATCH_JOB_EXECUTION_SEQ;
+DROP TABLE IF EXISTS BATCH_JOB_SEQ;
+
+CREATE TABLE BATCH_STEP_EXECUTION_SEQ (
+    ID BIGINT NOT NULL,
+    UNIQUE_KEY CHAR(1) NOT NULL,
+    CONSTRAINT UNIQUE_KEY_UN UNIQUE (UNIQUE_KEY)
+) ENGINE=InnoDB;
+INSERT INTO BATCH_STEP_EXECUTION_SEQ (ID, UNIQUE_KEY) VALUES (0, '0');
+
+CREATE TABLE BATCH_JOB_EXECUTION_SEQ (
+    ID BIGINT NOT NULL,
+    UNIQUE_KEY CHAR(1) NOT NULL,
+    CONSTRAINT UNIQUE_KEY_UN UNIQUE (UNIQUE_KEY)
+) ENGINE=InnoDB;
+INSERT INTO BATCH_JOB_EXECUTION_SEQ (ID, UNIQUE_KEY) VALUES (0, '0');
+
+CREATE TABLE BATCH_JOB_SEQ (
+    ID BIGINT NOT NULL,
+    UNIQUE_KEY CHAR(1) NOT NULL,
+    CONSTRAINT UNIQUE_KEY_UN UNIQUE (UNIQUE_KEY)
+) ENGINE=InnoDB;
+INSERT INTO BATCH_JOB_SEQ (ID, UNIQUE_KEY) VALUES (0, '0');
@@ -0,0 +1,44 @@
+package com.skajihara.project_xr_app.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 計測用テストの共通処理
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 現在のスレッドがこれまでに確保したヒープのバイト数を取得する
+     *
+     * @return 確保済みバイト数
+     */
+    static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 計測結果を出力する
+     *
+     * @param name    計測名
+     * @param message 計測結果
+     */
+    static void report(String name, String message) {
+        System.out.printf("[benchmark] %-40s %s%n", name, message);
+    }
+
+    /**
+     * 計測用のアカウント（bench）を登録する（予約ツイートの送信では投稿先のアカウントを確認するため）
+     *
+     * @param jdbcTemplate JdbcTemplate
+     */
+    static void createBenchAccount(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("MERGE INTO ACCOUNTS (id, name, bio, icon, header_photo, registered, following, follower, valid_flag, delete_flag) " +
+                "KEY (id) VALUES ('bench', 'Benchmark', '', '', '', CURRENT_DATE, 0, 0, 1, 0)");
+    }
+}
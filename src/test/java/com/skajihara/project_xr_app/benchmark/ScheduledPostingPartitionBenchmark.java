@@ -0,0 +1,146 @@
+package com.skajihara.project_xr_app.benchmark;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledTweetsBatchJobListener;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledTweetsPartitionStepListener;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsPartitioner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+// 同じ時刻に大量の予約ツイートが集中した場合の投稿遅延（予約時刻から全件投稿完了まで）を並列数ごとに計測する
+@Tag("benchmark")
+@SpringBootTest
+class ScheduledPostingPartitionBenchmark {
+
+    private static final int SCHEDULED_ROWS = 10000;
+    private static final int[] WORKERS = {1, 2, 4, 8};
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    JobRepository jobRepository;
+
+    @Autowired
+    JobLauncher jobLauncher;
+
+    @Autowired
+    ScheduledTweetsPartitioner scheduledTweetsPartitioner;
+
+    @Autowired
+    @Qualifier("scheduledTweetsPostingWorkerStep")
+    Step scheduledTweetsPostingWorkerStep;
+
+    @Autowired
+    ScheduledTweetsBatchJobListener jobListener;
+
+    @Autowired
+    ScheduledTweetsPartitionStepListener partitionStepListener;
+
+    @BeforeEach
+    void setUp() {
+        BenchmarkSupport.createBenchAccount(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM TWEETS WHERE account_id = 'bench'");
+        jdbcTemplate.update("DELETE FROM SCHEDULED_TWEETS WHERE account_id = 'bench'");
+    }
+
+    @Test
+    void comparePostingLagByWorkers() throws Exception {
+
+        // ウォームアップ
+        runWithWorkers(2, 1000);
+        tearDown();
+
+        double baseRate = 0;
+        for (int workers : WORKERS) {
+            long lagNanos = runWithWorkers(workers, SCHEDULED_ROWS);
+            Integer posted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TWEETS WHERE account_id = 'bench'", Integer.class);
+            tearDown();
+
+            double rate = SCHEDULED_ROWS * 1e9 / lagNanos;
+            baseRate = (workers == 1) ? rate : baseRate;
+            BenchmarkSupport.report("scheduled post, workers=" + workers + " (lag ms)", String.format("%.0f", lagNanos / 1e6));
+            BenchmarkSupport.report("scheduled post, workers=" + workers + " (rows/s)", String.format("%.0f (%.1fx)", rate, rate / baseRate));
+
+            assertThat(posted, is(SCHEDULED_ROWS));
+        }
+    }
+
+    private long runWithWorkers(int workers, int rows) throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("bench-posting-");
+        executor.initialize();
+        try {
+            Step step = new StepBuilder("scheduledTweetsPartitionedPostingStep", jobRepository)
+                    .partitioner("scheduledTweetsPostingWorkerStep", scheduledTweetsPartitioner)
+                    .step(scheduledTweetsPostingWorkerStep)
+                    .gridSize(workers)
+                    .taskExecutor(executor)
+                    .listener(partitionStepListener)
+                    .build();
+            Job job = new JobBuilder("scheduledTweetsPostingJob", jobRepository)
+                    .listener(jobListener)
+                    .start(step)
+                    .build();
+
+            // 予約時刻を過ぎた予約ツイートを用意し、ジョブ起動から全件投稿されるまでを投稿遅延とする
+            jdbcTemplate.update("DELETE FROM BATCH_HISTORY WHERE job_name = 'scheduledTweetsPostingJob'");
+            LocalDateTime due = LocalDateTime.now().withNano(0);
+            tweetScheduleRepository.saveAll(IntStream.range(0, rows)
+                    .mapToObj(i -> new ScheduledTweetRecord(null, "bench", "scheduled tweet " + i, null, null, due, due, 0))
+                    .toList());
+            batchHistoryRepository.insert(new BatchHistoryRecord(null, "scheduledTweetsPostingJob", 0, 0,
+                    LocalDateTime.now().withNano(0), LocalDateTime.now().withNano(0), 1));
+            // 予約日時は現在日時より前である必要があるため、秒が変わるまで待つ
+            Thread.sleep(1000);
+
+            long start = System.nanoTime();
+            JobExecution execution = jobLauncher.run(job, new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .toJobParameters());
+            long elapsed = System.nanoTime() - start;
+
+            assertThat(execution.getStatus(), is(BatchStatus.COMPLETED));
+            return elapsed;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.skajihara.project_xr_app.benchmark;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledTweetsBatchJobListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+// 予約日時を過ぎた大量の予約ツイートの送信時間を、1件ずつ読み書きするチャンク方式とDB内で集合的に移す方式で比較する
+@Tag("benchmark")
+@SpringBootTest
+class ScheduledPostingSetBasedBenchmark {
+
+    private static final int SCHEDULED_ROWS = 100000;
+
+    // 既存データやアプリの採番と重ならないIDで予約ツイートを用意する
+    private static final int BENCH_ID_BASE = 10000000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    JobRepository jobRepository;
+
+    @Autowired
+    JobLauncher jobLauncher;
+
+    @Autowired
+    ScheduledTweetsBatchJobListener jobListener;
+
+    @Autowired
+    @Qualifier("scheduledTweetsPostingStep")
+    Step scheduledTweetsPostingStep;
+
+    @Autowired
+    @Qualifier("scheduledTweetsSetBasedPostingStep")
+    Step scheduledTweetsSetBasedPostingStep;
+
+    @BeforeEach
+    void setUp() {
+        BenchmarkSupport.createBenchAccount(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM TWEETS WHERE account_id = 'bench'");
+        jdbcTemplate.update("DELETE FROM SCHEDULED_TWEETS WHERE account_id = 'bench'");
+    }
+
+    @Test
+    void compareRowByRowAndSetBased() throws Exception {
+
+        // ウォームアップ
+        run(scheduledTweetsPostingStep, 1000);
+        tearDown();
+        run(scheduledTweetsSetBasedPostingStep, 1000);
+        tearDown();
+
+        long rowByRowNanos = run(scheduledTweetsPostingStep, SCHEDULED_ROWS);
+        assertThat(countPosted(), is(SCHEDULED_ROWS));
+        tearDown();
+
+        long setBasedNanos = run(scheduledTweetsSetBasedPostingStep, SCHEDULED_ROWS);
+        assertThat(countPosted(), is(SCHEDULED_ROWS));
+
+        BenchmarkSupport.report("scheduled post, row-by-row " + SCHEDULED_ROWS + " rows (ms)", String.format("%.0f", rowByRowNanos / 1e6));
+        BenchmarkSupport.report("scheduled post, set-based " + SCHEDULED_ROWS + " rows (ms)",
+                String.format("%.0f (%.1fx)", setBasedNanos / 1e6, (double) rowByRowNanos / setBasedNanos));
+    }
+
+    private long run(Step step, int rows) throws Exception {
+        Job job = new JobBuilder("scheduledTweetsPostingJob", jobRepository)
+                .listener(jobListener)
+                .start(step)
+                .build();
+
+        jdbcTemplate.update("DELETE FROM BATCH_HISTORY WHERE job_name = 'scheduledTweetsPostingJob'");
+        LocalDateTime due = LocalDateTime.now().withNano(0).minusMinutes(1);
+        jdbcTemplate.update("INSERT INTO SCHEDULED_TWEETS (id, account_id, text, image, location, scheduled_datetime, created_datetime, delete_flag) " +
+                "SELECT ? + X, 'bench', CONCAT('scheduled tweet ', X), NULL, NULL, ?, ?, 0 FROM SYSTEM_RANGE(1, ?)",
+                BENCH_ID_BASE, due, due, rows);
+        batchHistoryRepository.insert(new BatchHistoryRecord(null, "scheduledTweetsPostingJob", 0, 0,
+                LocalDateTime.now().withNano(0), LocalDateTime.now().withNano(0), 1));
+
+        long start = System.nanoTime();
+        JobExecution execution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters());
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(execution.getStatus(), is(BatchStatus.COMPLETED));
+        return elapsed;
+    }
+
+    private int countPosted() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TWEETS WHERE account_id = 'bench'", Integer.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.skajihara.project_xr_app.benchmark;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.infrastructure.service.TweetIngestService;
+import com.skajihara.project_xr_app.infrastructure.service.TweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+// 複数クライアントからの投稿を、1件1コミット（同期）とキュー経由のグループコミット（非同期）で比較する
+@Tag("benchmark")
+@SpringBootTest
+class TweetAsyncIngestBenchmark {
+
+    private static final int CLIENTS = 8;
+    private static final int POSTS_PER_CLIENT = 500;
+    private static final int TOTAL = CLIENTS * POSTS_PER_CLIENT;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TweetService tweetService;
+
+    @Autowired
+    TweetIngestService tweetIngestService;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM TWEETS WHERE account_id = 'bench'");
+    }
+
+    @Test
+    void compareThroughput() throws Exception {
+
+        long syncNanos = runClients(tweetService::postTweet);
+        tearDown();
+
+        Queue<String> tickets = new ConcurrentLinkedQueue<>();
+        long asyncStart = System.nanoTime();
+        runClients(tweet -> tickets.add(tweetIngestService.submit(tweet)));
+        // 受付だけでなく全件コミットされるまでを計測する
+        for (String ticket : tickets) {
+            while (TweetIngestService.PENDING.equals(tweetIngestService.getTicket(ticket).status())) {
+                Thread.sleep(1);
+            }
+        }
+        long asyncNanos = System.nanoTime() - asyncStart;
+        long committed = tickets.stream().filter(t -> TweetIngestService.COMMITTED.equals(tweetIngestService.getTicket(t).status())).count();
+
+        double syncRate = TOTAL * 1e9 / syncNanos;
+        double asyncRate = TOTAL * 1e9 / asyncNanos;
+        BenchmarkSupport.report("synchronous post (tweets/s)", String.format("%.0f", syncRate));
+        BenchmarkSupport.report("async group commit (tweets/s)", String.format("%.0f", asyncRate));
+        BenchmarkSupport.report("speedup", String.format("%.1fx", asyncRate / syncRate));
+
+        assertThat(committed, is((long) TOTAL));
+        assertThat(asyncRate, greaterThan(syncRate));
+    }
+
+    private long runClients(Consumer<TweetRecord> post) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            clients.execute(() -> createTweets(client).forEach(post));
+        }
+        clients.shutdown();
+        clients.awaitTermination(5, TimeUnit.MINUTES);
+        return System.nanoTime() - start;
+    }
+
+    private List<TweetRecord> createTweets(int client) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        return IntStream.range(0, POSTS_PER_CLIENT)
+                .mapToObj(i -> new TweetRecord(0, "bench", "client " + client + " tweet " + i, null, 0, 0, 0, 0,
+                        base.plusSeconds((long) client * POSTS_PER_CLIENT + i), null, 0))
+                .toList();
+    }
+}
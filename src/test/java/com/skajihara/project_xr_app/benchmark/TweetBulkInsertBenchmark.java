@@ -0,0 +1,87 @@
+package com.skajihara.project_xr_app.benchmark;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.infrastructure.service.TweetBulkService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+// 1件ずつの登録（変更前）とチャンク単位の一括登録（変更後）の登録スループットを比較する
+@Tag("benchmark")
+@SpringBootTest
+class TweetBulkInsertBenchmark {
+
+    private static final int ROWS = 10000;
+    private static final int WARMUP_ROWS = 1000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    TweetBulkService tweetBulkService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM TWEETS WHERE account_id = 'bench'");
+    }
+
+    @Test
+    void compareThroughput() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> createTweets(WARMUP_ROWS).forEach(tweetRepository::insert));
+        tweetBulkService.postTweets(createTweets(WARMUP_ROWS));
+        tearDown();
+
+        List<TweetRecord> singleTweets = createTweets(ROWS);
+        long singleNanos = measure(() -> transactionTemplate.executeWithoutResult(status -> singleTweets.forEach(tweetRepository::insert)));
+        tearDown();
+
+        List<TweetRecord> bulkTweets = createTweets(ROWS);
+        long bulkNanos = measure(() -> tweetBulkService.postTweets(bulkTweets));
+        Integer inserted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TWEETS WHERE account_id = 'bench'", Integer.class);
+
+        double singleRate = ROWS * 1e9 / singleNanos;
+        double bulkRate = ROWS * 1e9 / bulkNanos;
+        BenchmarkSupport.report("single insert (rows/s)", String.format("%.0f", singleRate));
+        BenchmarkSupport.report("bulk insert (rows/s)", String.format("%.0f", bulkRate));
+        BenchmarkSupport.report("speedup", String.format("%.1fx", bulkRate / singleRate));
+
+        assertThat(inserted, is(ROWS));
+        assertThat(bulkRate, greaterThan(singleRate));
+    }
+
+    private long measure(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private List<TweetRecord> createTweets(int count) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TweetRecord(0, "bench", "benchmark tweet " + i, null, 0, 0, 0, 0,
+                        base.plusSeconds(i), null, 0))
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.skajihara.project_xr_app.benchmark;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+// 存在確認SELECT＋UPDATE（変更前）と条件付きUPDATE 1回（変更後）の1リクエストあたりのレイテンシを比較する
+@Tag("benchmark")
+@SpringBootTest
+class TweetGuardedWriteBenchmark {
+
+    private static final int TWEET_ID = 1;
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 20000;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareLatency() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        TweetRecord tweet = new TweetRecord(TWEET_ID, "user_A", "benchmark", null, 0, 0, 0, 0, LocalDateTime.now(), null, 0);
+
+        Runnable selectThenUpdate = () -> transactionTemplate.executeWithoutResult(status -> {
+            TweetRecord target = tweetRepository.selectTweet(TWEET_ID);
+            tweetRepository.update(target.getId(), tweet);
+        });
+        Runnable guardedUpdate = () -> transactionTemplate.executeWithoutResult(status -> tweetRepository.update(TWEET_ID, tweet));
+
+        long selectThenUpdateNanos = measure(selectThenUpdate);
+        long guardedUpdateNanos = measure(guardedUpdate);
+
+        BenchmarkSupport.report("select + update (us/request)", String.format("%.1f", selectThenUpdateNanos / 1000.0));
+        BenchmarkSupport.report("guarded update (us/request)", String.format("%.1f", guardedUpdateNanos / 1000.0));
+        BenchmarkSupport.report("saved", String.format("%.1f%%", 100.0 * (selectThenUpdateNanos - guardedUpdateNanos) / selectThenUpdateNanos));
+
+        assertThat(guardedUpdateNanos, lessThan(selectThenUpdateNanos));
+    }
+
+    private long measure(Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+}
@@ -0,0 +1,177 @@
+package com.skajihara.project_xr_app.benchmark;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.service.TweetBulkService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+// シーケンス採番によりHibernateのJDBCバッチが効くようになった後の登録スループットを、
+// バッチ無効（IDENTITY採番時と同じ1件ずつのINSERT）と比較する
+@Tag("benchmark")
+@SpringBootTest
+class TweetInsertBatchingBenchmark {
+
+    private static final int ROWS = 10000;
+    private static final int SCHEDULED_ROWS = 5000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    TweetBulkService tweetBulkService;
+
+    @Autowired
+    JobLauncher jobLauncher;
+
+    @Autowired
+    @Qualifier("scheduledTweetsPostingJob")
+    Job scheduledTweetsPostingJob;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        BenchmarkSupport.createBenchAccount(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM TWEETS WHERE account_id = 'bench'");
+        jdbcTemplate.update("DELETE FROM SCHEDULED_TWEETS WHERE account_id = 'bench'");
+    }
+
+    @Test
+    void compareBulkPosting() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // ウォームアップ
+        tweetBulkService.postTweets(createTweets(1000));
+        tearDown();
+
+        List<TweetRecord> unbatchedTweets = createTweets(ROWS);
+        long unbatchedNanos = measure(() -> transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            tweetBulkService.postTweets(unbatchedTweets);
+        }));
+        tearDown();
+
+        List<TweetRecord> batchedTweets = createTweets(ROWS);
+        long batchedNanos = measure(() -> tweetBulkService.postTweets(batchedTweets));
+        Integer inserted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TWEETS WHERE account_id = 'bench'", Integer.class);
+
+        double unbatchedRate = ROWS * 1e9 / unbatchedNanos;
+        double batchedRate = ROWS * 1e9 / batchedNanos;
+        BenchmarkSupport.report("bulk post, no batching (rows/s)", String.format("%.0f", unbatchedRate));
+        BenchmarkSupport.report("bulk post, batch_size=50 (rows/s)", String.format("%.0f", batchedRate));
+        BenchmarkSupport.report("speedup", String.format("%.1fx", batchedRate / unbatchedRate));
+
+        assertThat(inserted, is(ROWS));
+        assertThat(batchedRate, greaterThan(unbatchedRate));
+    }
+
+    @Test
+    void compareScheduledPosting() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // 変更前：1件ずつINSERTと予約ツイートのUPDATEを発行する
+        List<ScheduledTweetRecord> before = createSchedules(SCHEDULED_ROWS);
+        long beforeNanos = measure(() -> transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            for (ScheduledTweetRecord schedule : before) {
+                tweetRepository.insert(new TweetRecord(null, schedule.getAccountId(), schedule.getText(), null,
+                        0, 0, 0, 0, LocalDateTime.now().withNano(0), null, 0));
+                schedule.setDeleteFlag(1);
+                tweetScheduleRepository.update(schedule.getId(), schedule);
+            }
+        }));
+        tearDown();
+
+        // 変更後：予約ツイート送信ジョブ（ツイートはJDBCバッチ、予約ツイートは1回のUPDATE）
+        createSchedules(SCHEDULED_ROWS);
+        batchHistoryRepository.insert(new BatchHistoryRecord(null, "scheduledTweetsPostingJob", 0, 0,
+                LocalDateTime.now().withNano(0), LocalDateTime.now().withNano(0), 1));
+        JobExecution[] execution = new JobExecution[1];
+        long afterNanos = measure(() -> {
+            try {
+                execution[0] = jobLauncher.run(scheduledTweetsPostingJob, new JobParametersBuilder()
+                        .addLong("timestamp", System.currentTimeMillis())
+                        .toJobParameters());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Integer posted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TWEETS WHERE account_id = 'bench'", Integer.class);
+
+        double beforeRate = SCHEDULED_ROWS * 1e9 / beforeNanos;
+        double afterRate = SCHEDULED_ROWS * 1e9 / afterNanos;
+        BenchmarkSupport.report("scheduled post, per row (rows/s)", String.format("%.0f", beforeRate));
+        BenchmarkSupport.report("scheduled post, batched job (rows/s)", String.format("%.0f", afterRate));
+        BenchmarkSupport.report("speedup", String.format("%.1fx", afterRate / beforeRate));
+
+        assertThat(execution[0].getStatus(), is(BatchStatus.COMPLETED));
+        assertThat(posted, is(SCHEDULED_ROWS));
+        assertThat(afterRate, greaterThan(beforeRate));
+    }
+
+    private long measure(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private List<TweetRecord> createTweets(int count) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TweetRecord(null, "bench", "benchmark tweet " + i, null, 0, 0, 0, 0,
+                        base.plusSeconds(i), null, 0))
+                .toList();
+    }
+
+    private List<ScheduledTweetRecord> createSchedules(int count) {
+        LocalDateTime due = LocalDateTime.now().withNano(0).minusMinutes(1);
+        return tweetScheduleRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> new ScheduledTweetRecord(null, "bench", "scheduled tweet " + i, null, null, due, due, 0))
+                .toList());
+    }
+}
@@ -0,0 +1,101 @@
+package com.skajihara.project_xr_app.benchmark;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetModel;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+// エンティティ取得＋詰め替え（変更前）とコンストラクタ式によるDTO取得（変更後）のヒープ確保量を比較する
+@Tag("benchmark")
+@SpringBootTest
+class TweetReadProjectionBenchmark {
+
+    private static final int ROWS = 5000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = IntStream.range(0, ROWS)
+                .mapToObj(i -> new Object[]{"bench", "benchmark tweet " + i, Timestamp.valueOf(base.plusSeconds(i))})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO TWEETS (account_id, text, datetime) VALUES (?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM TWEETS WHERE account_id = 'bench'");
+    }
+
+    @Test
+    void compareAllocation() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Runnable entityPath = () -> readWrite.executeWithoutResult(status -> {
+            List<TweetRecord> records = entityManager
+                    .createQuery("SELECT t FROM TweetRecord t WHERE t.deleteFlag = 0 ORDER BY t.datetime DESC, t.id DESC", TweetRecord.class)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            List<TweetModel> models = new ArrayList<>(records.size());
+            for (TweetRecord r : records) {
+                models.add(new TweetModel(r.getId(), r.getAccountId(), r.getText(), r.getImage(), r.getLikes(),
+                        r.getRetweets(), r.getReplies(), r.getViews(), r.getDatetime(), r.getLocation(), r.getDeleteFlag()));
+            }
+        });
+        Runnable projectionPath = () -> readOnly.executeWithoutResult(status -> tweetRepository.selectTweetsFirstPage(PAGE_SIZE));
+
+        long entityBytes = measure(entityPath);
+        long projectionBytes = measure(projectionPath);
+
+        BenchmarkSupport.report("entity + convert (bytes/request)", String.valueOf(entityBytes));
+        BenchmarkSupport.report("constructor projection (bytes/request)", String.valueOf(projectionBytes));
+        BenchmarkSupport.report("reduction", String.format("%.1f%%", 100.0 * (entityBytes - projectionBytes) / entityBytes));
+
+        assertThat(projectionBytes, lessThan(entityBytes));
+    }
+
+    private long measure(Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long before = BenchmarkSupport.allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        return (BenchmarkSupport.allocatedBytes() - before) / ITERATIONS;
+    }
+}
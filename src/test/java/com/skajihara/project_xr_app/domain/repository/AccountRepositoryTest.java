@@ -107,4 +107,19 @@ class AccountRepositoryTest {
         // テスト結果
         assertThat(account, is(nullValue()));
     }
+
+    /**
+     * 有効なアカウントID取得
+     * ケース：正常系
+     * コンディション：存在しないアカウントIDを含む
+     */
+    @Test
+    void selectValidAccountIds_Success001() {
+
+        // テスト実行
+        List<String> accountIds = accountRepository.selectValidAccountIds(List.of("q30387", "user_A", "000000"));
+
+        // テスト結果
+        assertThat(accountIds, containsInAnyOrder("q30387", "user_A"));
+    }
 }
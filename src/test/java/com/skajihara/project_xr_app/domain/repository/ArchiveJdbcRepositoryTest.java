@@ -0,0 +1,81 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@Transactional
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class ArchiveJdbcRepositoryTest {
+
+    @Autowired
+    ArchiveJdbcRepository archiveJdbcRepository;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * 削除済みツイートのアーカイブ
+     * ケース：正常系
+     * コンディション：指定件数ずつ移動し、未削除のツイートは移動しない
+     */
+    @Test
+    void archiveDeletedTweets_Success001() {
+
+        // テストデータ
+        tweetRepository.delete(1);
+        tweetRepository.delete(2);
+
+        // テスト実行
+        int first = archiveJdbcRepository.archiveDeletedTweets(1);
+        int second = archiveJdbcRepository.archiveDeletedTweets(10);
+        int third = archiveJdbcRepository.archiveDeletedTweets(10);
+
+        // テスト結果
+        assertThat(first, is(1));
+        assertThat(second, is(1));
+        assertThat(third, is(0));
+        assertThat(count("SELECT COUNT(*) FROM TWEETS WHERE id IN (1, 2)"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM TWEETS WHERE id = 3"), is(1));
+        assertThat(count("SELECT COUNT(*) FROM ARCHIVED_TWEETS WHERE id IN (1, 2) AND text IS NOT NULL"), is(2));
+    }
+
+    /**
+     * 削除済み予約ツイートのアーカイブ
+     * ケース：正常系
+     * コンディション：キャンセル済みの予約ツイートを移動
+     */
+    @Test
+    void archiveDeletedScheduledTweets_Success001() {
+
+        // テストデータ
+        tweetScheduleRepository.delete(1);
+
+        // テスト実行
+        int result = archiveJdbcRepository.archiveDeletedScheduledTweets(10);
+
+        // テスト結果
+        assertThat(result, is(1));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id = 1"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id = 2"), is(1));
+        assertThat(count("SELECT COUNT(*) FROM ARCHIVED_SCHEDULED_TWEETS WHERE id = 1 AND account_id = 'user_A'"), is(1));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
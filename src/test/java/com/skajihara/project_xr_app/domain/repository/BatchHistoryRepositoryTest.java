@@ -44,6 +44,7 @@ class BatchHistoryRepositoryTest {
         assertThat(result.getSucceeded(), is(1));
         assertThat(result.getExecutionStart(), is(LocalDateTime.of(2025, 4, 3, 12, 0, 0)));
         assertThat(result.getExecutionEnd(), is(LocalDateTime.of(2025, 4, 3, 12, 0, 12)));
+        assertThat(result.getLatestProcessedDatetime(), is(BatchHistoryRecord.INITIAL_PROCESSED_DATETIME));
     }
 
     /**
@@ -113,22 +114,23 @@ class BatchHistoryRepositoryTest {
 
         // テストデータ
         LocalDateTime now = LocalDateTime.now().withNano(0);
-        BatchHistoryRecord record = new BatchHistoryRecord(0, "scheduledTweetsPostingJob", 999, 10, now.minusSeconds(15), now, 1);
+        BatchHistoryRecord record = new BatchHistoryRecord(0, "scheduledTweetsPostingJob", 999, 10, now.minusSeconds(15), now, 1, now.minusMinutes(1));
 
         // テスト実行
         int result = batchHistoryRepository.insert(record);
 
         // テスト結果
-        assertThat(result, is(1));
+        assertThat(result, is(greaterThan(0)));
 
-        // 登録された最新データを取得して確認
-        BatchHistoryRecord inserted = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        // 採番されたIDで取得して確認
+        BatchHistoryRecord inserted = batchHistoryRepository.selectByPrimaryKey(result);
         assertThat(inserted.getLatestProcessedId(), is(999));
         assertThat(inserted.getJobName(), is("scheduledTweetsPostingJob"));
         assertThat(inserted.getProcessedNum(), is(10));
         assertThat(inserted.getSucceeded(), is(1));
         assertThat(inserted.getExecutionStart(), is(record.getExecutionStart()));
         assertThat(inserted.getExecutionEnd(), is(record.getExecutionEnd()));
+        assertThat(inserted.getLatestProcessedDatetime(), is(record.getLatestProcessedDatetime()));
     }
 
     /**
@@ -152,7 +154,8 @@ class BatchHistoryRepositoryTest {
                 original.getProcessedNum() + 1,
                 original.getExecutionStart(),
                 now,
-                original.getSucceeded()
+                original.getSucceeded(),
+                now.minusMinutes(1)
         );
 
         // テスト実行
@@ -165,9 +168,98 @@ class BatchHistoryRepositoryTest {
         assertThat(after.getId(), is(id));
         assertThat(after.getJobName(), is("scheduledTweetsPostingJob"));
         assertThat(after.getLatestProcessedId(), is(updated.getLatestProcessedId()));
+        assertThat(after.getLatestProcessedDatetime(), is(updated.getLatestProcessedDatetime()));
         assertThat(after.getProcessedNum(), is(updated.getProcessedNum()));
         assertThat(after.getExecutionEnd(), is(updated.getExecutionEnd()));
         assertThat(after.getSucceeded(), is(updated.getSucceeded()));
     }
 
+    /**
+     * バッチ履歴の進捗加算
+     * ケース：正常系
+     * コンディション：処理件数を加算し、処理済み位置（予約日時, ID）はより後の場合のみ更新する
+     */
+    @Test
+    void addProgress_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int id = batchHistoryRepository.insert(new BatchHistoryRecord(0, "scheduledTweetsPostingJob", 100, 0, now, null, 0, now.minusMinutes(10)));
+
+        // テスト実行
+        int result1 = batchHistoryRepository.addProgress(id, 3, now.minusMinutes(5), 120);
+        int result2 = batchHistoryRepository.addProgress(id, 2, now.minusMinutes(6), 130);
+        int result3 = batchHistoryRepository.addProgress(id, 1, now.minusMinutes(5), 110);
+
+        // テスト結果
+        assertThat(result1, is(1));
+        assertThat(result2, is(1));
+        assertThat(result3, is(1));
+        BatchHistoryRecord after = batchHistoryRepository.selectByPrimaryKey(id);
+        assertThat(after.getProcessedNum(), is(6));
+        assertThat(after.getLatestProcessedDatetime(), is(now.minusMinutes(5)));
+        assertThat(after.getLatestProcessedId(), is(120));
+    }
+
+    /**
+     * バッチ履歴の進捗加算
+     * ケース：正常系
+     * コンディション：予約日時が後であれば、IDが小さくても処理済み位置を更新する
+     */
+    @Test
+    void addProgress_Success002() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int id = batchHistoryRepository.insert(new BatchHistoryRecord(0, "scheduledTweetsPostingJob", 100, 0, now, null, 0, now.minusMinutes(10)));
+
+        // テスト実行
+        batchHistoryRepository.addProgress(id, 1, now.minusMinutes(10), 101);
+        batchHistoryRepository.addProgress(id, 1, now.minusMinutes(1), 50);
+
+        // テスト結果
+        BatchHistoryRecord after = batchHistoryRepository.selectByPrimaryKey(id);
+        assertThat(after.getProcessedNum(), is(2));
+        assertThat(after.getLatestProcessedDatetime(), is(now.minusMinutes(1)));
+        assertThat(after.getLatestProcessedId(), is(50));
+    }
+
+    /**
+     * バッチ履歴の処理件数加算
+     * ケース：正常系
+     * コンディション：処理件数だけを加算し、処理済み位置は更新しない
+     */
+    @Test
+    void addProcessedNum_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int id = batchHistoryRepository.insert(new BatchHistoryRecord(0, "scheduledTweetsPostingJob", 100, 0, now, null, 0, now.minusMinutes(10)));
+
+        // テスト実行
+        int result = batchHistoryRepository.addProcessedNum(id, 4);
+
+        // テスト結果
+        assertThat(result, is(1));
+        BatchHistoryRecord after = batchHistoryRepository.selectByPrimaryKey(id);
+        assertThat(after.getProcessedNum(), is(4));
+        assertThat(after.getLatestProcessedDatetime(), is(now.minusMinutes(10)));
+        assertThat(after.getLatestProcessedId(), is(100));
+    }
+
+    /**
+     * バッチ履歴の進捗加算
+     * ケース：異常系
+     * コンディション：対象の履歴が存在しない
+     */
+    @Test
+    void addProgress_Error001() {
+
+        // テスト実行
+        int result = batchHistoryRepository.addProgress(999999, 1, LocalDateTime.now().withNano(0), 1);
+
+        // テスト結果
+        assertThat(result, is(0));
+    }
+
 }
@@ -0,0 +1,235 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@Transactional
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class BatchMetadataRetentionJdbcRepositoryTest {
+
+    @Autowired
+    BatchMetadataRetentionJdbcRepository batchMetadataRetentionJdbcRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Spring Batchのメタデータの削除
+     * ケース：正常系
+     * コンディション：保持期間を過ぎた終了済みのジョブ実行だけを関連テーブルと合わせて削除し、
+     * ジョブ実行が残るジョブインスタンスは削除しない
+     */
+    @Test
+    void pruneJobExecutions_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        insertJobInstance(900001);
+        insertJobExecution(900001, 900001, now.minusDays(10), now.minusDays(10));
+        insertJobInstance(900002);
+        insertJobExecution(900002, 900002, now.minusDays(10), null);
+        insertJobInstance(900003);
+        insertJobExecution(900003, 900003, now.minusDays(1), now.minusDays(1));
+        insertJobInstance(900004);
+        insertJobExecution(900004, 900004, now.minusDays(10), now.minusDays(10));
+        insertJobExecution(900005, 900004, now.minusDays(1), now.minusDays(1));
+
+        // テスト実行
+        int result = batchMetadataRetentionJdbcRepository.pruneJobExecutions(now.minusDays(7), 10);
+
+        // テスト結果
+        assertThat(result, is(2));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (900001, 900004)"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_EXECUTION_PARAMS WHERE JOB_EXECUTION_ID IN (900001, 900004)"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_EXECUTION_CONTEXT WHERE JOB_EXECUTION_ID IN (900001, 900004)"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (900001, 900004)"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_STEP_EXECUTION_CONTEXT WHERE STEP_EXECUTION_ID IN (900001, 900004)"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_INSTANCE WHERE JOB_INSTANCE_ID = 900001"), is(0));
+        // 実行中・保持期間内のジョブ実行と、ジョブ実行が残るジョブインスタンスは削除しない
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (900002, 900003, 900005)"), is(3));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_STEP_EXECUTION_CONTEXT WHERE STEP_EXECUTION_ID IN (900002, 900003, 900005)"), is(3));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_INSTANCE WHERE JOB_INSTANCE_ID IN (900002, 900003, 900004)"), is(3));
+    }
+
+    /**
+     * Spring Batchのメタデータの削除
+     * ケース：正常系
+     * コンディション：古いジョブ実行から指定件数ずつ削除する
+     */
+    @Test
+    void pruneJobExecutions_Success002() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int id = 900001; id <= 900003; id++) {
+            insertJobInstance(id);
+            insertJobExecution(id, id, now.minusDays(10), now.minusDays(10));
+        }
+
+        // テスト実行
+        int first = batchMetadataRetentionJdbcRepository.pruneJobExecutions(now.minusDays(7), 2);
+        List<Long> remaining = jdbcTemplate.queryForList(
+                "SELECT JOB_EXECUTION_ID FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID BETWEEN 900001 AND 900003", Long.class);
+        int second = batchMetadataRetentionJdbcRepository.pruneJobExecutions(now.minusDays(7), 2);
+        int third = batchMetadataRetentionJdbcRepository.pruneJobExecutions(now.minusDays(7), 2);
+
+        // テスト結果
+        assertThat(first, is(2));
+        assertThat(remaining, is(List.of(900003L)));
+        assertThat(second, is(1));
+        assertThat(third, is(0));
+    }
+
+    /**
+     * バッチ履歴の削除
+     * ケース：正常系
+     * コンディション：保持期間を過ぎた履歴をジョブ名・開始日ごとに集計してから削除し、各ジョブの最新の終了済み履歴は削除しない
+     */
+    @Test
+    void pruneBatchHistory_Success001() {
+
+        // クリアデータ
+        jdbcTemplate.update("DELETE FROM BATCH_HISTORY");
+        jdbcTemplate.update("DELETE FROM BATCH_HISTORY_DAILY_SUMMARY");
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDateTime day1 = now.minusDays(40).toLocalDate().atTime(10, 0);
+        LocalDateTime day2 = day1.plusDays(1);
+        insertHistory(900001, "scheduledTweetsPostingJob", day1, day1.plusSeconds(10), 3, 1);
+        insertHistory(900002, "scheduledTweetsPostingJob", day1.plusHours(1), day1.plusHours(1).plusSeconds(30), 0, 0);
+        insertHistory(900003, "scheduledTweetsPostingJob", day2, null, 0, 0);
+        insertHistory(900004, "scheduledTweetsPostingJob", now.minusMinutes(1), now, 5, 1);
+        insertHistory(900005, "archiveCompactionJob", day1, day1.plusSeconds(20), 7, 1);
+        insertHistory(900006, "archiveCompactionJob", day2, day2.plusSeconds(5), 2, 1);
+
+        // テスト実行
+        int result = batchMetadataRetentionJdbcRepository.pruneBatchHistory(now.minusDays(30), 100);
+
+        // テスト結果
+        assertThat(result, is(4));
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM BATCH_HISTORY ORDER BY id", Integer.class), is(List.of(900004, 900006)));
+        assertThat(summary("scheduledTweetsPostingJob", day1.toLocalDate()), is(List.of(2L, 1L, 3L, 40L, 30L)));
+        // 終了日時がない履歴は実行時間0として集計する
+        assertThat(summary("scheduledTweetsPostingJob", day2.toLocalDate()), is(List.of(1L, 0L, 0L, 0L, 0L)));
+        assertThat(summary("archiveCompactionJob", day1.toLocalDate()), is(List.of(1L, 1L, 7L, 20L, 20L)));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_HISTORY_DAILY_SUMMARY"), is(3));
+    }
+
+    /**
+     * バッチ履歴の削除
+     * ケース：正常系
+     * コンディション：指定件数ずつ削除し、既存の集計に加算する
+     */
+    @Test
+    void pruneBatchHistory_Success002() {
+
+        // クリアデータ
+        jdbcTemplate.update("DELETE FROM BATCH_HISTORY");
+        jdbcTemplate.update("DELETE FROM BATCH_HISTORY_DAILY_SUMMARY");
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDateTime day = now.minusDays(40).toLocalDate().atTime(10, 0);
+        jdbcTemplate.update("INSERT INTO BATCH_HISTORY_DAILY_SUMMARY " +
+                "(job_name, summary_date, executions, succeeded, processed_num, total_duration_seconds, max_duration_seconds) " +
+                "VALUES (?, ?, 1, 1, 4, 50, 50)", "scheduledTweetsPostingJob", day.toLocalDate());
+        for (int i = 0; i < 3; i++) {
+            insertHistory(900001 + i, "scheduledTweetsPostingJob", day.plusMinutes(i), day.plusMinutes(i).plusSeconds(10), 1, 1);
+        }
+        insertHistory(900004, "scheduledTweetsPostingJob", now.minusMinutes(1), now, 5, 1);
+
+        // テスト実行
+        int first = batchMetadataRetentionJdbcRepository.pruneBatchHistory(now.minusDays(30), 2);
+        int second = batchMetadataRetentionJdbcRepository.pruneBatchHistory(now.minusDays(30), 2);
+        int third = batchMetadataRetentionJdbcRepository.pruneBatchHistory(now.minusDays(30), 2);
+
+        // テスト結果
+        assertThat(first, is(2));
+        assertThat(second, is(1));
+        assertThat(third, is(0));
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM BATCH_HISTORY", Integer.class), is(List.of(900004)));
+        assertThat(summary("scheduledTweetsPostingJob", day.toLocalDate()), is(List.of(4L, 4L, 7L, 80L, 50L)));
+    }
+
+    /**
+     * 冪等キーの削除
+     * ケース：正常系
+     * コンディション：有効期間を過ぎた冪等キーだけを古い順に指定件数ずつ削除する
+     */
+    @Test
+    void pruneIdempotencyKeys_Success001() {
+
+        // クリアデータ
+        jdbcTemplate.update("DELETE FROM IDEMPOTENCY_KEYS");
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        insertIdempotencyKey("tweets:expired1", now.minusDays(3));
+        insertIdempotencyKey("tweets:expired2", now.minusDays(2));
+        insertIdempotencyKey("tweets:expired3", now.minusDays(2).plusMinutes(1));
+        insertIdempotencyKey("tweets:valid", now.minusHours(1));
+
+        // テスト実行
+        int first = batchMetadataRetentionJdbcRepository.pruneIdempotencyKeys(now.minusDays(1), 2);
+        List<String> remaining = jdbcTemplate.queryForList("SELECT idempotency_key FROM IDEMPOTENCY_KEYS ORDER BY idempotency_key", String.class);
+        int second = batchMetadataRetentionJdbcRepository.pruneIdempotencyKeys(now.minusDays(1), 2);
+
+        // テスト結果
+        assertThat(first, is(2));
+        assertThat(remaining, is(List.of("tweets:expired3", "tweets:valid")));
+        assertThat(second, is(1));
+        assertThat(jdbcTemplate.queryForList("SELECT idempotency_key FROM IDEMPOTENCY_KEYS", String.class), is(List.of("tweets:valid")));
+    }
+
+    private void insertJobInstance(long instanceId) {
+        jdbcTemplate.update("INSERT INTO BATCH_JOB_INSTANCE (JOB_INSTANCE_ID, VERSION, JOB_NAME, JOB_KEY) VALUES (?, 0, 'retentionTestJob', ?)",
+                instanceId, "key" + instanceId);
+    }
+
+    // ステップ実行IDはジョブ実行IDと同じ値で登録する
+    private void insertJobExecution(long executionId, long instanceId, LocalDateTime createTime, LocalDateTime endTime) {
+        jdbcTemplate.update("INSERT INTO BATCH_JOB_EXECUTION (JOB_EXECUTION_ID, VERSION, JOB_INSTANCE_ID, CREATE_TIME, START_TIME, END_TIME, STATUS) " +
+                "VALUES (?, 1, ?, ?, ?, ?, ?)", executionId, instanceId, createTime, createTime, endTime, endTime == null ? "STARTED" : "COMPLETED");
+        jdbcTemplate.update("INSERT INTO BATCH_JOB_EXECUTION_PARAMS (JOB_EXECUTION_ID, PARAMETER_NAME, PARAMETER_TYPE, PARAMETER_VALUE, IDENTIFYING) " +
+                "VALUES (?, 'timestamp', 'java.lang.Long', '0', 'Y')", executionId);
+        jdbcTemplate.update("INSERT INTO BATCH_JOB_EXECUTION_CONTEXT (JOB_EXECUTION_ID, SHORT_CONTEXT) VALUES (?, '{}')", executionId);
+        jdbcTemplate.update("INSERT INTO BATCH_STEP_EXECUTION (STEP_EXECUTION_ID, VERSION, STEP_NAME, JOB_EXECUTION_ID, CREATE_TIME) " +
+                "VALUES (?, 1, 'retentionTestStep', ?, ?)", executionId, executionId, createTime);
+        jdbcTemplate.update("INSERT INTO BATCH_STEP_EXECUTION_CONTEXT (STEP_EXECUTION_ID, SHORT_CONTEXT) VALUES (?, '{}')", executionId);
+    }
+
+    private void insertHistory(int id, String jobName, LocalDateTime executionStart, LocalDateTime executionEnd, int processedNum, int succeeded) {
+        jdbcTemplate.update("INSERT INTO BATCH_HISTORY (id, job_name, latest_processed_id, processed_num, execution_start, execution_end, succeeded) " +
+                "VALUES (?, ?, 0, ?, ?, ?, ?)", id, jobName, processedNum, executionStart, executionEnd, succeeded);
+    }
+
+    private void insertIdempotencyKey(String key, LocalDateTime createdDatetime) {
+        jdbcTemplate.update("INSERT INTO IDEMPOTENCY_KEYS (idempotency_key, resource_id, created_datetime) VALUES (?, 1, ?)", key, createdDatetime);
+    }
+
+    // 実行回数, 成功回数, 処理件数, 合計実行時間, 最大実行時間
+    private List<Long> summary(String jobName, LocalDate summaryDate) {
+        return jdbcTemplate.queryForObject("SELECT executions, succeeded, processed_num, total_duration_seconds, max_duration_seconds " +
+                        "FROM BATCH_HISTORY_DAILY_SUMMARY WHERE job_name = ? AND summary_date = ?",
+                (rs, rowNum) -> List.of(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)),
+                jobName, summaryDate);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import com.skajihara.project_xr_app.domain.entity.record.IdempotencyKeyRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class IdempotencyKeyRepositoryTest {
+
+    @Autowired
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    /**
+     * 冪等キー登録
+     * ケース：正常系
+     * コンディション：登録後にリソースIDを記録
+     */
+    @Test
+    void insertKey_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        // テスト実行
+        int inserted = idempotencyKeyRepository.insertKey("tweet:key-1", "hash", now);
+        int updated = idempotencyKeyRepository.updateResourceId("tweet:key-1", 11);
+
+        // テスト結果
+        IdempotencyKeyRecord result = idempotencyKeyRepository.selectValidKey("tweet:key-1", now.minusDays(1));
+        assertThat(inserted, is(1));
+        assertThat(updated, is(1));
+        assertThat(result.getResourceId(), is(11));
+        assertThat(result.getRequestHash(), is("hash"));
+        assertThat(result.getCreatedDatetime(), is(now));
+    }
+
+    /**
+     * 冪等キー登録
+     * ケース：異常系
+     * コンディション：登録済みのキー
+     */
+    @Test
+    void insertKey_Error001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        idempotencyKeyRepository.insertKey("tweet:key-1", "hash", now);
+
+        // テスト実行・テスト結果
+        assertThrows(DataIntegrityViolationException.class, () -> idempotencyKeyRepository.insertKey("tweet:key-1", "hash", now));
+    }
+
+    /**
+     * 有効な冪等キー取得
+     * ケース：正常系
+     * コンディション：有効期間切れのキーは取得せず、削除できる
+     */
+    @Test
+    void selectValidKey_Success001() {
+
+        // テストデータ
+        LocalDateTime created = LocalDateTime.of(2025, 4, 1, 12, 0);
+        idempotencyKeyRepository.insertKey("tweet:key-1", "hash", created);
+
+        // テスト実行
+        IdempotencyKeyRecord result = idempotencyKeyRepository.selectValidKey("tweet:key-1", created.plusSeconds(1));
+        int deleted = idempotencyKeyRepository.deleteExpiredKey("tweet:key-1", created.plusSeconds(1));
+
+        // テスト結果
+        assertThat(result, is(nullValue()));
+        assertThat(deleted, is(1));
+        assertThat(idempotencyKeyRepository.selectValidKey("tweet:key-1", created.minusDays(1)), is(nullValue()));
+    }
+}
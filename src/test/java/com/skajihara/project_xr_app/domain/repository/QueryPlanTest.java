@@ -0,0 +1,228 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+// 各リポジトリのメソッドが実際に発行するSQL（Hibernateが生成したもの）をStatementInspectorで取得してEXPLAINし、
+// 対応する複合インデックスが使われ、並べ替えをせずインデックス順に読むことを検証する
+@Transactional
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class QueryPlanTest {
+
+    private static final LocalDateTime DATETIME = LocalDateTime.of(2024, 3, 1, 15, 30);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 4, 1, 12, 0);
+    private static final int LIMIT = 20;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    CapturingStatementInspector statementInspector;
+
+    /**
+     * TweetRepository.selectAllTweets
+     */
+    @Test
+    void selectAllTweets_UsesIndex() {
+        String plan = explain(() -> tweetRepository.selectAllTweets());
+        assertSortedByIndex(plan, "IDX_TWEETS_DELETE_FLAG_DATETIME");
+    }
+
+    /**
+     * TweetRepository.selectTweetsFirstPage
+     */
+    @Test
+    void selectTweetsFirstPage_UsesIndex() {
+        String plan = explain(() -> tweetRepository.selectTweetsFirstPage(LIMIT), LIMIT);
+        assertSortedByIndex(plan, "IDX_TWEETS_DELETE_FLAG_DATETIME");
+    }
+
+    /**
+     * TweetRepository.selectTweetsAfterCursor
+     */
+    @Test
+    void selectTweetsAfterCursor_UsesIndex() {
+        String plan = explain(() -> tweetRepository.selectTweetsAfterCursor(DATETIME, 5, LIMIT), DATETIME, DATETIME, 5, LIMIT);
+        assertSortedByIndex(plan, "IDX_TWEETS_DELETE_FLAG_DATETIME");
+    }
+
+    /**
+     * TweetRepository.selectRecentTweets
+     */
+    @Test
+    void selectRecentTweets_UsesIndex() {
+        String plan = explain(() -> tweetRepository.selectRecentTweets(LIMIT), LIMIT);
+        assertSortedByIndex(plan, "IDX_TWEETS_DELETE_FLAG_DATETIME");
+    }
+
+    /**
+     * TweetRepository.selectRecentTweetsByAccountId
+     */
+    @Test
+    void selectRecentTweetsByAccountId_UsesIndex() {
+        String plan = explain(() -> tweetRepository.selectRecentTweetsByAccountId("q30387", LIMIT), "q30387", LIMIT);
+        assertSortedByIndex(plan, "IDX_TWEETS_ACCOUNT_ID_DELETE_FLAG_DATETIME");
+    }
+
+    /**
+     * TweetRepository.selectTweetsFirstPageSince
+     * （投稿日時の下限がインデックスの範囲条件になり、MySQLでは月次パーティションの刈り込み条件になる）
+     */
+    @Test
+    void selectTweetsFirstPageSince_UsesIndex() {
+        String plan = explain(() -> tweetRepository.selectTweetsFirstPageSince(DATETIME, LIMIT), DATETIME, LIMIT);
+        assertSortedByIndex(plan, "IDX_TWEETS_DELETE_FLAG_DATETIME");
+        assertThat(plan, containsString("DATETIME >="));
+    }
+
+    /**
+     * TweetRepository.selectRecentTweetsSince
+     */
+    @Test
+    void selectRecentTweetsSince_UsesIndex() {
+        String plan = explain(() -> tweetRepository.selectRecentTweetsSince(DATETIME, LIMIT), DATETIME, LIMIT);
+        assertSortedByIndex(plan, "IDX_TWEETS_DELETE_FLAG_DATETIME");
+        assertThat(plan, containsString("DATETIME >="));
+    }
+
+    /**
+     * TweetRepository.selectRecentTweetsByAccountIdSince
+     */
+    @Test
+    void selectRecentTweetsByAccountIdSince_UsesIndex() {
+        String plan = explain(() -> tweetRepository.selectRecentTweetsByAccountIdSince("q30387", DATETIME, LIMIT), "q30387", DATETIME, LIMIT);
+        assertSortedByIndex(plan, "IDX_TWEETS_ACCOUNT_ID_DELETE_FLAG_DATETIME");
+        assertThat(plan, containsString("DATETIME >="));
+    }
+
+    /**
+     * TweetScheduleRepository.selectScheduledTweetsByAccountId
+     */
+    @Test
+    void selectScheduledTweetsByAccountId_UsesIndex() {
+        String plan = explain(() -> tweetScheduleRepository.selectScheduledTweetsByAccountId("q30387"), "q30387");
+        assertSortedByIndex(plan, "IDX_SCHEDULED_TWEETS_ACCOUNT_ID_DELETE_FLAG");
+    }
+
+    /**
+     * TweetScheduleRepository.selectScheduledTweetsForBatch
+     * （処理済み位置の予約日時が範囲条件になり、前回の実行以降に予約日時を過ぎた範囲だけを読む）
+     */
+    @Test
+    void selectScheduledTweetsForBatch_UsesIndex() {
+        String plan = explain(() -> tweetScheduleRepository.selectScheduledTweetsForBatch(DATETIME, 5, NOW), DATETIME, NOW, DATETIME, 5);
+        assertSortedByIndex(plan, "IDX_SCHEDULED_TWEETS_DELETE_FLAG_SCHEDULED");
+        assertThat(plan, containsString("DATETIME >="));
+    }
+
+    /**
+     * TweetScheduleRepository.countDueScheduledTweets
+     */
+    @Test
+    void countDueScheduledTweets_UsesIndex() {
+        String plan = explain(() -> tweetScheduleRepository.countDueScheduledTweets(NOW), NOW);
+        assertIndexUsed(plan, "IDX_SCHEDULED_TWEETS_DELETE_FLAG_SCHEDULED");
+    }
+
+    /**
+     * BatchHistoryRepository.selectLatestRecord
+     */
+    @Test
+    void selectLatestRecord_UsesIndex() {
+        String plan = explain(() -> batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob"), "scheduledTweetsPostingJob");
+        assertSortedByIndex(plan, "IDX_BATCH_HISTORY_JOB_NAME_EXECUTION_END");
+    }
+
+    /**
+     * リポジトリのメソッドを実行して発行されたSELECT文を取得し、指定の値をバインドしてEXPLAINする
+     *
+     * @param query  実行するリポジトリのメソッド
+     * @param params SQLのパラメータに出現順にバインドする値
+     * @return 実行計画
+     */
+    private String explain(Runnable query, Object... params) {
+        statementInspector.clear();
+        query.run();
+        String sql = statementInspector.lastSelect();
+        assertThat(sql, sql.chars().filter(c -> c == '?').count(), is((long) params.length));
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params);
+    }
+
+    private void assertSortedByIndex(String plan, String indexName) {
+        assertIndexUsed(plan, indexName);
+        assertThat(plan, containsString("/* index sorted */"));
+    }
+
+    private void assertIndexUsed(String plan, String indexName) {
+        assertThat(plan, containsString(indexName));
+        assertThat(plan, not(containsString("tableScan")));
+    }
+
+    /**
+     * Hibernateが発行するSQLを記録する
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        String lastSelect() {
+            return statements.reversed().stream()
+                    .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("no select statement was issued."));
+        }
+    }
+
+    @TestConfiguration
+    static class StatementInspectorConfig {
+
+        @Bean
+        public CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector capturingStatementInspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturingStatementInspector);
+        }
+    }
+}
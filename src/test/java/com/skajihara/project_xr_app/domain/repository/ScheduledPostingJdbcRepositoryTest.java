@@ -0,0 +1,216 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import com.skajihara.project_xr_app.domain.entity.DueSchedule;
+import com.skajihara.project_xr_app.domain.entity.PostedScheduleWindow;
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@Transactional
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class ScheduledPostingJdbcRepositoryTest {
+
+    @Autowired
+    ScheduledPostingJdbcRepository scheduledPostingJdbcRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * 予約日時を過ぎている予約ツイートの送信
+     * ケース：正常系
+     * コンディション：予約日時を過ぎた予約だけを処理済み位置から指定件数の範囲ずつ移し、予約ツイートは削除済みにする
+     */
+    @Test
+    void postDueWindow_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ?", now.plusDays(1));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ? WHERE id IN (1, 2, 4)", now.minusMinutes(1));
+        LocalDateTime postedAt = now.plusSeconds(1);
+        int tweets = count("SELECT COUNT(*) FROM TWEETS");
+
+        // テスト実行
+        PostedScheduleWindow first = scheduledPostingJdbcRepository.postDueWindow(BatchHistoryRecord.INITIAL_PROCESSED_DATETIME, 0, now, 2, postedAt);
+        PostedScheduleWindow second = scheduledPostingJdbcRepository.postDueWindow(first.lastScheduledDatetime(), first.lastId(), now, 2, postedAt);
+        PostedScheduleWindow third = scheduledPostingJdbcRepository.postDueWindow(second.lastScheduledDatetime(), second.lastId(), now, 2, postedAt);
+
+        // テスト結果
+        assertThat(first.posted(), is(2));
+        assertThat(first.lastId(), is(2));
+        assertThat(first.hasMore(), is(true));
+        assertThat(first.accountIds().contains("user_A"), is(true));
+        assertThat(first.scheduledDatetimes(), contains(now.minusMinutes(1), now.minusMinutes(1)));
+        assertThat(second.posted(), is(1));
+        assertThat(second.lastId(), is(4));
+        assertThat(second.hasMore(), is(false));
+        assertThat(third, is(nullValue()));
+        assertThat(count("SELECT COUNT(*) FROM TWEETS"), is(tweets + 3));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id IN (1, 2, 4) AND delete_flag = 1"), is(3));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id IN (3, 5, 6) AND delete_flag = 0"), is(3));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TWEETS WHERE account_id = 'q30387' AND text = 'ツイート内容1' " +
+                "AND location = '福岡市' AND likes = 0 AND views = 0 AND delete_flag = 0 AND datetime = ?", Integer.class, postedAt), is(1));
+    }
+
+    /**
+     * 予約日時を過ぎている予約ツイートの送信
+     * ケース：正常系
+     * コンディション：ID_BLOCK_SIZE件を超える範囲も1回で移し、ツイートのIDは確保したブロック内で連番になり、以降の通常の採番と重複しない
+     */
+    @Test
+    void postDueWindow_Success002() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ?", now.plusDays(1));
+        jdbcTemplate.update("INSERT INTO SCHEDULED_TWEETS (account_id, text, scheduled_datetime, created_datetime, delete_flag) " +
+                "SELECT 'q30387', CONCAT('集合投稿', X), ?, ?, 0 FROM SYSTEM_RANGE(1, 120)",
+                now.minusMinutes(1), now);
+        long maxIdBefore = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM TWEETS", Long.class);
+
+        // テスト実行
+        PostedScheduleWindow result = scheduledPostingJdbcRepository.postDueWindow(BatchHistoryRecord.INITIAL_PROCESSED_DATETIME, 0, now, 200, now);
+
+        // テスト結果
+        assertThat(result.posted(), is(120));
+        assertThat(result.hasMore(), is(false));
+        assertThat(result.accountIds(), contains("q30387"));
+        assertThat(result.scheduledDatetimes().size(), is(120));
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM TWEETS WHERE id > ? ORDER BY id", Long.class, maxIdBefore);
+        assertThat(ids.size(), is(120));
+        assertThat(ids.get(119) - ids.get(0), is(119L));
+        long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR TWEETS_SEQ", Long.class);
+        assertThat(next >= ids.get(0) + 3 * ScheduledPostingJdbcRepository.ID_BLOCK_SIZE, is(true));
+    }
+
+    /**
+     * 予約日時を過ぎている予約ツイートの送信
+     * ケース：正常系
+     * コンディション：IDの大小と予約日時の順序が一致しない場合も、予約日時, IDの順に処理済み位置より後だけを移し、
+     * 範囲内でキャンセル済みの予約は移さない
+     */
+    @Test
+    void postDueWindow_Success003() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ?", now.plusDays(1));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ? WHERE id IN (1, 2, 5)", now.minusMinutes(1));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ? WHERE id IN (3, 4)", now.minusMinutes(2));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET delete_flag = 1 WHERE id = 1");
+        int tweets = count("SELECT COUNT(*) FROM TWEETS");
+
+        // テスト実行（処理済み位置は(2分前, 3)）
+        PostedScheduleWindow result = scheduledPostingJdbcRepository.postDueWindow(now.minusMinutes(2), 3, now, 10, now);
+
+        // テスト結果
+        assertThat(result.posted(), is(3));
+        assertThat(result.lastScheduledDatetime(), is(now.minusMinutes(1)));
+        assertThat(result.lastId(), is(5));
+        assertThat(result.scheduledDatetimes(), contains(now.minusMinutes(2), now.minusMinutes(1), now.minusMinutes(1)));
+        assertThat(count("SELECT COUNT(*) FROM TWEETS"), is(tweets + 3));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id IN (2, 4, 5) AND delete_flag = 1"), is(3));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id = 1 AND claimed_by IS NULL"), is(1));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id = 3 AND delete_flag = 0"), is(1));
+    }
+
+    /**
+     * 予約ツイートの確保
+     * ケース：正常系
+     * コンディション：予約日時を過ぎた送信待ちの予約のうち、リースがないかリース切れの予約だけを確保する
+     */
+    @Test
+    void claimDueSchedules_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ?", now.plusDays(1));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ? WHERE id IN (1, 2, 3, 4)", now.minusMinutes(1));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET claimed_by = 'node-b/1', lease_expires = ? WHERE id = 3", now.plusMinutes(5));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET claimed_by = 'node-c/1', lease_expires = ? WHERE id = 4", now.minusMinutes(1));
+
+        // テスト実行
+        int first = scheduledPostingJdbcRepository.claimDueSchedules("node-a/1", now, now, now.plusMinutes(5), 10);
+        int second = scheduledPostingJdbcRepository.claimDueSchedules("node-a/2", now, now, now.plusMinutes(5), 10);
+
+        // テスト結果
+        assertThat(first, is(3));
+        assertThat(second, is(0));
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM SCHEDULED_TWEETS WHERE claimed_by = 'node-a/1' ORDER BY id", Integer.class),
+                contains(1, 2, 4));
+        assertThat(jdbcTemplate.queryForObject("SELECT claimed_by FROM SCHEDULED_TWEETS WHERE id = 3", String.class), is("node-b/1"));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE claimed_by = 'node-a/1' AND delete_flag = 0"), is(3));
+    }
+
+    /**
+     * 予約ツイートの確保
+     * ケース：正常系
+     * コンディション：指定件数を超える場合は予約日時, IDの順に指定件数だけ確保する
+     */
+    @Test
+    void claimDueSchedules_Success002() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ?", now.plusDays(1));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ? WHERE id IN (1, 2)", now.minusMinutes(1));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ? WHERE id = 5", now.minusMinutes(2));
+
+        // テスト実行
+        int claimed = scheduledPostingJdbcRepository.claimDueSchedules("node-a/1", now, now, now.plusMinutes(5), 2);
+
+        // テスト結果
+        assertThat(claimed, is(2));
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM SCHEDULED_TWEETS WHERE claimed_by = 'node-a/1' ORDER BY id", Integer.class),
+                contains(1, 5));
+    }
+
+    /**
+     * 確保した予約ツイートの送信
+     * ケース：正常系
+     * コンディション：確保後にキャンセルされた予約と、他ノードに確保し直された予約は送信しない
+     */
+    @Test
+    void postClaimedSchedules_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ?", now.plusDays(1));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET scheduled_datetime = ? WHERE id IN (1, 2, 4)", now.minusMinutes(1));
+        scheduledPostingJdbcRepository.claimDueSchedules("node-a/1", now, now, now.plusMinutes(5), 10);
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET delete_flag = 1 WHERE id = 2");
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET claimed_by = 'node-b/1' WHERE id = 4");
+        int tweets = count("SELECT COUNT(*) FROM TWEETS");
+
+        // テスト実行
+        List<DueSchedule> first = scheduledPostingJdbcRepository.postClaimedSchedules("node-a/1", now);
+        List<DueSchedule> second = scheduledPostingJdbcRepository.postClaimedSchedules("node-a/1", now);
+
+        // テスト結果
+        assertThat(first.stream().map(DueSchedule::id).toList(), contains(1));
+        assertThat(second, is(empty()));
+        assertThat(count("SELECT COUNT(*) FROM TWEETS"), is(tweets + 1));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id = 1 AND delete_flag = 1 AND lease_expires IS NULL"), is(1));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id = 4 AND delete_flag = 0"), is(1));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
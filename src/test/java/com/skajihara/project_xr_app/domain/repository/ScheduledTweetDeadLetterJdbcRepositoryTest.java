@@ -0,0 +1,98 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@Transactional
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class ScheduledTweetDeadLetterJdbcRepositoryTest {
+
+    @Autowired
+    ScheduledTweetDeadLetterJdbcRepository scheduledTweetDeadLetterJdbcRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * 予約ツイートのデッドレターへの移動
+     * ケース：正常系
+     * コンディション：送信待ちの予約ツイートを失敗の原因と合わせて移し、予約ツイートは送信対象から外す
+     */
+    @Test
+    void deadLetter_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int scheduleId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "送信できない予約", "/img/a.jpg", "福岡市",
+                now.minusMinutes(1), now.minusDays(1), 0));
+        Exception error = new DataIntegrityViolationException("x".repeat(1500));
+
+        // テスト実行
+        boolean result = scheduledTweetDeadLetterJdbcRepository.deadLetter(scheduleId, error, now);
+
+        // テスト結果
+        assertThat(result, is(true));
+        assertThat(jdbcTemplate.queryForObject("SELECT delete_flag FROM SCHEDULED_TWEETS WHERE id = ?", Integer.class, scheduleId),
+                is(ScheduledTweetDeadLetterJdbcRepository.DEAD_LETTER_FLAG));
+        Map<String, Object> deadLetter = jdbcTemplate.queryForMap("SELECT * FROM SCHEDULED_TWEETS_DEAD_LETTER WHERE schedule_id = ?", scheduleId);
+        assertThat(deadLetter.get("ACCOUNT_ID"), is("q30387"));
+        assertThat(deadLetter.get("TEXT"), is("送信できない予約"));
+        assertThat(deadLetter.get("IMAGE"), is("/img/a.jpg"));
+        assertThat(deadLetter.get("LOCATION"), is("福岡市"));
+        assertThat(jdbcTemplate.queryForObject("SELECT scheduled_datetime FROM SCHEDULED_TWEETS_DEAD_LETTER WHERE schedule_id = ?",
+                LocalDateTime.class, scheduleId), is(now.minusMinutes(1)));
+        assertThat(deadLetter.get("ERROR_CLASS"), is(DataIntegrityViolationException.class.getName()));
+        // エラーメッセージは列の長さに切り詰める
+        assertThat(((String) deadLetter.get("ERROR_MESSAGE")).length(), is(1000));
+        assertThat(jdbcTemplate.queryForObject("SELECT failed_datetime FROM SCHEDULED_TWEETS_DEAD_LETTER WHERE schedule_id = ?",
+                LocalDateTime.class, scheduleId), is(now));
+    }
+
+    /**
+     * 予約ツイートのデッドレターへの移動
+     * ケース：正常系
+     * コンディション：送信済み・キャンセル済み、または移動済みの予約ツイートは移さない
+     */
+    @Test
+    void deadLetter_Success002() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int cancelledId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "キャンセル済み", null, null,
+                now.minusMinutes(1), now.minusDays(1), 0));
+        tweetScheduleRepository.delete(cancelledId);
+        int pendingId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "2回失敗", null, null,
+                now.minusMinutes(1), now.minusDays(1), 0));
+        Exception error = new DataIntegrityViolationException("error");
+
+        // テスト実行
+        boolean cancelled = scheduledTweetDeadLetterJdbcRepository.deadLetter(cancelledId, error, now);
+        boolean first = scheduledTweetDeadLetterJdbcRepository.deadLetter(pendingId, error, now);
+        boolean second = scheduledTweetDeadLetterJdbcRepository.deadLetter(pendingId, error, now.plusSeconds(10));
+
+        // テスト結果
+        assertThat(cancelled, is(false));
+        assertThat(first, is(true));
+        assertThat(second, is(false));
+        assertThat(jdbcTemplate.queryForObject("SELECT delete_flag FROM SCHEDULED_TWEETS WHERE id = ?", Integer.class, cancelledId), is(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SCHEDULED_TWEETS_DEAD_LETTER WHERE schedule_id IN (?, ?)",
+                Integer.class, cancelledId, pendingId), is(1));
+    }
+}
@@ -0,0 +1,82 @@
+package com.skajihara.project_xr_app.domain.repository;
+
+import com.skajihara.project_xr_app.domain.entity.TweetEngagementDelta;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@Transactional
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class TweetJdbcRepositoryTest {
+
+    @Autowired
+    TweetJdbcRepository tweetJdbcRepository;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * エンゲージメント件数加算
+     * ケース：正常系
+     * コンディション：現在値に加算され、0未満にはならない。存在しないツイートは更新件数0
+     */
+    @Test
+    void addEngagementBatch_Success001() {
+
+        // テストデータ
+        List<TweetEngagementDelta> deltas = List.of(
+                new TweetEngagementDelta(1, 3, 0, 0, 10),
+                new TweetEngagementDelta(2, -1000, 1, 0, 0),
+                new TweetEngagementDelta(999, 1, 1, 1, 1));
+
+        // テスト実行
+        int[] result = tweetJdbcRepository.addEngagementBatch(deltas);
+
+        // テスト結果
+        assertThat(result[0], is(1));
+        assertThat(result[1], is(1));
+        assertThat(result[2], is(0));
+
+        TweetRecord tweet1 = tweetRepository.selectTweet(1);
+        assertThat(tweet1.getLikes(), is(12));
+        assertThat(tweet1.getRetweets(), is(23));
+        assertThat(tweet1.getViews(), is(24));
+        TweetRecord tweet2 = tweetRepository.selectTweet(2);
+        assertThat(tweet2.getLikes(), is(0));
+        assertThat(tweet2.getRetweets(), is(3));
+    }
+
+    /**
+     * エンゲージメント件数加算
+     * ケース：正常系
+     * コンディション：加算結果がINTの最大値を超える場合は最大値に丸める
+     */
+    @Test
+    void addEngagementBatch_Success002() {
+
+        // テストデータ
+        jdbcTemplate.update("UPDATE TWEETS SET views = ? WHERE id = 1", Integer.MAX_VALUE - 1);
+        List<TweetEngagementDelta> deltas = List.of(new TweetEngagementDelta(1, 0, 0, 0, Integer.MAX_VALUE));
+
+        // テスト実行
+        int[] result = tweetJdbcRepository.addEngagementBatch(deltas);
+
+        // テスト結果
+        assertThat(result[0], is(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT views FROM TWEETS WHERE id = 1", Integer.class), is(Integer.MAX_VALUE));
+    }
+}
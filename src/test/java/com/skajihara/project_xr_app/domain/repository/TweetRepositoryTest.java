@@ -1,5 +1,6 @@
 package com.skajihara.project_xr_app.domain.repository;
 
+import com.skajihara.project_xr_app.domain.entity.TweetView;
 import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +10,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -69,6 +71,63 @@ class TweetRepositoryTest {
         assertThat(tweet, is(nullValue()));
     }
 
+    /**
+     * ツイート1件取得（参照用）
+     * ケース：正常系
+     * コンディション：対象データあり
+     */
+    @Test
+    void selectTweetView_Success001() {
+
+        // テスト実行
+        TweetView tweet = tweetRepository.selectTweetView(1);
+
+        // テスト結果
+        assertThat(tweet, is(notNullValue()));
+        assertThat(tweet.getId(), is(1));
+        assertThat(tweet.getAccountId(), is("user_A"));
+        assertThat(tweet.getText(), is("富山のホタルイカ、最高🍻"));
+        assertThat(tweet.getImage(), is("/src/assets/images/img02.jpg"));
+        assertThat(tweet.getLikes(), is(9));
+        assertThat(tweet.getRetweets(), is(23));
+        assertThat(tweet.getReplies(), is(7));
+        assertThat(tweet.getViews(), is(14));
+        assertThat(tweet.getDatetime(), is(LocalDateTime.of(2024, 3, 1, 15, 30, 0)));
+        assertThat(tweet.getLocation(), is("富山県滑川市"));
+        assertThat(tweet.getDeleteFlag(), is(0));
+    }
+
+    /**
+     * ツイート1件取得（参照用）
+     * ケース：異常系
+     * コンディション：対象データなし
+     */
+    @Test
+    void selectTweetView_Error001() {
+
+        // テスト実行
+        TweetView tweet = tweetRepository.selectTweetView(99999);
+
+        // テスト結果
+        assertThat(tweet, is(nullValue()));
+    }
+
+    /**
+     * ツイート複数件取得（参照用）
+     * ケース：正常系
+     * コンディション：存在するIDのみ取得される
+     */
+    @Test
+    void selectTweetViews_Success001() {
+
+        // テスト実行
+        List<TweetView> tweets = tweetRepository.selectTweetViews(List.of(3, 1, 99999));
+
+        // テスト結果
+        assertThat(tweets.size(), is(2));
+        assertThat(tweets.stream().map(TweetView::getId).toList(), containsInAnyOrder(1, 3));
+    }
+
     /**
      * ツイート全件取得
      * ケース：正常系
@@ -104,6 +163,51 @@ class TweetRepositoryTest {
         assertThat(tweets.size(), is(0));
     }
 
+    /**
+     * ツイート一覧先頭ページ取得
+     * ケース：正常系
+     * コンディション：データあり 4件指定 4件取得
+     */
+    @Test
+    void selectTweetsFirstPage_Success001() {
+
+        // テスト実行
+        List<TweetView> tweets = tweetRepository.selectTweetsFirstPage(4);
+
+        // テスト結果
+        assertThat(tweets.size(), is(4));
+        tweets.forEach(tweet -> assertThat(tweet.getDeleteFlag(), is(0)));
+        assertThat(tweets.get(0).getDatetime(), is(LocalDateTime.of(2024, 3, 29, 15, 30, 11)));
+    }
+
+    /**
+     * ツイート一覧カーソル以降ページ取得
+     * ケース：正常系
+     * コンディション：全ページを辿ると全件が重複・欠落なく取得できる
+     */
+    @Test
+    void selectTweetsAfterCursor_Success001() {
+
+        // テストデータ（同一日時のツイートを追加してidで順序が決まることを確認）
+        LocalDateTime sameTime = LocalDateTime.of(2024, 3, 1, 15, 30, 0);
+        tweetRepository.insert(new TweetRecord(null, "user_C", "同時刻1", null, 0, 0, 0, 0, sameTime, null, 0));
+        tweetRepository.insert(new TweetRecord(null, "user_C", "同時刻2", null, 0, 0, 0, 0, sameTime, null, 0));
+        List<TweetView> expected = tweetRepository.selectTweetsFirstPage(100);
+
+        // テスト実行（3件ずつ辿る）
+        List<TweetView> page = tweetRepository.selectTweetsFirstPage(3);
+        List<Integer> actualIds = new ArrayList<>();
+        while (!page.isEmpty()) {
+            page.forEach(tweet -> actualIds.add(tweet.getId()));
+            TweetView last = page.get(page.size() - 1);
+            page = tweetRepository.selectTweetsAfterCursor(last.getDatetime(), last.getId(), 3);
+        }
+
+        // テスト結果
+        assertThat(actualIds.size(), is(12));
+        assertThat(actualIds, is(expected.stream().map(TweetView::getId).toList()));
+    }
+
     /**
      * 最新ツイート指定件数取得
      * ケース：正常系
@@ -174,6 +278,31 @@ class TweetRepositoryTest {
         assertThat(tweets.size(), is(0));
     }
 
+    /**
+     * 最新ツイート指定件数取得
+     * ケース：正常系
+     * コンディション：パーティションの刈り込み付きでは、直近の期間で件数を満たす場合は直近のツイートのみ、満たさない場合は全期間から取得
+     */
+    @Test
+    void selectRecentTweets_Success004() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        tweetRepository.insert(new TweetRecord(null, "user_A", "recent1", null, 0, 0, 0, 0, now.minusMinutes(1), null, 0));
+        tweetRepository.insert(new TweetRecord(null, "user_A", "recent2", null, 0, 0, 0, 0, now, null, 0));
+
+        // テスト実行
+        List<TweetRecord> windowed = tweetRepository.selectRecentTweetsSince(TweetRepository.recentWindowStart(), 100);
+        List<TweetRecord> satisfied = tweetRepository.selectRecentTweetsWithPartitionPruning(2);
+        List<TweetRecord> fallback = tweetRepository.selectRecentTweetsWithPartitionPruning(3);
+
+        // テスト結果
+        assertThat(windowed.stream().map(TweetRecord::getText).toList(), is(List.of("recent2", "recent1")));
+        assertThat(satisfied.stream().map(TweetRecord::getText).toList(), is(List.of("recent2", "recent1")));
+        assertThat(fallback.size(), is(3));
+        assertThat(fallback.get(2).getText(), is("コカ・コーラ 500ml×24本がクーポンと定期お得便で1691円に #広告"));
+    }
+
     /**
      * 特定アカウントの最新ツイート指定件数取得
      * ケース：正常系
@@ -265,11 +394,11 @@ class TweetRepositoryTest {
         // テスト実行
         int result = tweetRepository.insert(tweetRecord);
 
-        // テスト結果
-        assertThat(result, is(1));
+        // テスト結果（渡したIDは使われず、採番されたIDが返る）
+        assertThat(result, is(not(11)));
+        assertThat(result, is(greaterThan(0)));
 
-        List<TweetRecord> tweets = tweetRepository.selectRecentTweetsByAccountId("user_C", 1);
-        TweetRecord tweet = tweets.get(0);
+        TweetRecord tweet = tweetRepository.selectTweet(result);
         assertThat(tweet.getAccountId(), is("user_C"));
         assertThat(tweet.getText(), is("新規投稿テスト"));
         assertThat(tweet.getImage(), is("/img/new.jpg"));
@@ -282,6 +411,41 @@ class TweetRepositoryTest {
         assertThat(tweet.getDeleteFlag(), is(0));
     }
 
+    /**
+     * ツイート一括登録
+     * ケース：正常系
+     * コンディション：登録成功、削除フラグは常に0で登録される
+     */
+    @Test
+    void insertAll_Success001() {
+
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<TweetRecord> tweets = List.of(
+                new TweetRecord(0, "user_C", "一括投稿1", "/img/bulk.jpg", 1, 2, 3, 4, now.minusMinutes(1), "渋谷区", 0),
+                new TweetRecord(0, "user_C", "一括投稿2", null, 0, 0, 0, 0, now, null, 1));
+
+        // テスト実行
+        int[] result = tweetRepository.insertAll(tweets);
+
+        // テスト結果
+        assertThat(result.length, is(2));
+        assertThat(result[0], is(greaterThan(0)));
+        assertThat(result[1], is(greaterThan(result[0])));
+
+        List<TweetRecord> actual = tweetRepository.selectRecentTweetsByAccountId("user_C", 2);
+        assertThat(actual.get(0).getId(), is(result[1]));
+        assertThat(actual.get(0).getText(), is("一括投稿2"));
+        assertThat(actual.get(0).getDeleteFlag(), is(0));
+        assertThat(actual.get(0).getDatetime(), is(now));
+        assertThat(actual.get(1).getId(), is(result[0]));
+        assertThat(actual.get(1).getText(), is("一括投稿1"));
+        assertThat(actual.get(1).getImage(), is("/img/bulk.jpg"));
+        assertThat(actual.get(1).getLikes(), is(1));
+        assertThat(actual.get(1).getViews(), is(4));
+        assertThat(actual.get(1).getLocation(), is("渋谷区"));
+    }
+
     /**
      * ツイート更新
      * ケース：正常系
@@ -331,4 +495,43 @@ class TweetRepositoryTest {
         TweetRecord tweet = tweetRepository.selectTweet(tweetId);
         assertThat(tweet, is(nullValue()));
     }
+
+    /**
+     * ツイート更新・削除
+     * ケース：異常系
+     * コンディション：削除済みのツイートは更新・削除されない
+     */
+    @Test
+    void updateDelete_Error001() {
+
+        // テストデータ
+        int tweetId = 1;
+        tweetRepository.delete(tweetId);
+        TweetRecord tweetRecord = new TweetRecord(tweetId, "user_A", "更新テキスト", "", 99, 88, 77, 66, LocalDateTime.now(), "秋葉原", 0);
+
+        // テスト実行
+        int updated = tweetRepository.update(tweetId, tweetRecord);
+        int deleted = tweetRepository.delete(tweetId);
+
+        // テスト結果
+        assertThat(updated, is(0));
+        assertThat(deleted, is(0));
+        assertThat(tweetRepository.selectTweet(tweetId), is(nullValue()));
+    }
+
+    /**
+     * ツイート更新・削除
+     * ケース：異常系
+     * コンディション：対象データなし
+     */
+    @Test
+    void updateDelete_Error002() {
+
+        // テストデータ
+        TweetRecord tweetRecord = new TweetRecord(999, "user_A", "更新テキスト", "", 0, 0, 0, 0, LocalDateTime.now(), null, 0);
+
+        // テスト実行・テスト結果
+        assertThat(tweetRepository.update(999, tweetRecord), is(0));
+        assertThat(tweetRepository.delete(999), is(0));
+    }
 }
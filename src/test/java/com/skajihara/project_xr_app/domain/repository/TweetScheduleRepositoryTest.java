@@ -1,15 +1,20 @@
 package com.skajihara.project_xr_app.domain.repository;
 
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetIdRange;
 import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -113,8 +118,8 @@ class TweetScheduleRepositoryTest {
      */
     @Test
     void selectScheduledTweetsForBatch_Success001() {
-        // モックデータ
-        LocalDateTime now = LocalDateTime.now().withNano(0);
+        // モックデータ（初期データの予約ツイートと重ならないように、十分先の日時を現在日時とする）
+        LocalDateTime now = LocalDateTime.now().withNano(0).plusYears(10);
 
         ScheduledTweetRecord tweet1 = new ScheduledTweetRecord();
         tweet1.setAccountId("batch_user");
@@ -137,15 +142,8 @@ class TweetScheduleRepositoryTest {
         tweetScheduleRepository.insert(tweet1);
         tweetScheduleRepository.insert(tweet2);
 
-        // 登録された全データ取得して最小IDを特定
-        List<ScheduledTweetRecord> all = tweetScheduleRepository.selectScheduledTweetsByAccountId("batch_user");
-        int minId = all.stream()
-                .mapToInt(ScheduledTweetRecord::getId)
-                .min()
-                .orElseThrow();
-
         // テスト実行
-        List<ScheduledTweetRecord> result = tweetScheduleRepository.selectScheduledTweetsForBatch(minId - 1, now);
+        List<ScheduledTweetRecord> result = tweetScheduleRepository.selectScheduledTweetsForBatch(now.minusMinutes(1), 0, now);
 
         // テスト結果
         assertThat(result.size(), is(2));
@@ -179,13 +177,199 @@ class TweetScheduleRepositoryTest {
         LocalDateTime now = LocalDateTime.now().withNano(0);
         int lastProcessedId = Integer.MAX_VALUE;
         // テスト実行
-        List<ScheduledTweetRecord> result = tweetScheduleRepository.selectScheduledTweetsForBatch(lastProcessedId, now);
+        List<ScheduledTweetRecord> result = tweetScheduleRepository.selectScheduledTweetsForBatch(now, lastProcessedId, now);
 
         // テスト結果
         assertThat(result, is(notNullValue()));
         assertThat(result.size(), is(0));
     }
 
+    /**
+     * バッチ処理対象ツイート取得
+     * ケース：正常系
+     * コンディション：処理済み位置（予約日時, ID）より後を取得する（IDの大小と予約日時の順序が一致しない場合）
+     */
+    @Test
+    void selectScheduledTweetsForBatch_Success003() {
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0).plusYears(10);
+        LocalDateTime processed = now.minusMinutes(5);
+        int lowerIdLater = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "後で予約日時になる", null, null, processed.plusMinutes(1), now, 0));
+        int sameTimeLower = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "同時刻・処理済み", null, null, processed, now, 0));
+        int processedId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "処理済み位置", null, null, processed, now, 0));
+        int sameTimeHigher = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "同時刻・未処理", null, null, processed, now, 0));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "処理済み位置より前", null, null, processed.minusSeconds(1), now, 0));
+
+        // テスト実行
+        List<ScheduledTweetRecord> result = tweetScheduleRepository.selectScheduledTweetsForBatch(processed, processedId, now);
+
+        // テスト結果
+        assertThat(sameTimeLower < processedId, is(true));
+        assertThat(result.stream().map(ScheduledTweetRecord::getId).toList(), is(List.of(sameTimeHigher, lowerIdLater)));
+    }
+
+    /**
+     * バッチ処理対象ツイート取得
+     * ケース：正常系
+     * コンディション：IDと逆順に予約日時が来る大量の予約ツイートを、処理済み位置を進めながら漏れなく重複なく取得する
+     */
+    @Test
+    void selectScheduledTweetsForBatch_Success004() {
+        // テストデータ（後から登録した予約ほど予約日時が早い。同じ予約日時の予約も含める）
+        int rows = 1000;
+        LocalDateTime base = LocalDateTime.now().withNano(0).plusYears(10);
+        List<ScheduledTweetRecord> schedules = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            schedules.add(new ScheduledTweetRecord(null, "batch_user", "逆順" + i, null, null, base.minusSeconds(i / 2), base, 0));
+        }
+        Set<Integer> expected = tweetScheduleRepository.saveAll(schedules).stream()
+                .map(ScheduledTweetRecord::getId).collect(Collectors.toSet());
+
+        // テスト実行（バッチと同じく、実行ごとに現在日時を進め、取得した最後の予約ツイートを処理済み位置とする）
+        LocalDateTime processedDatetime = base.minusDays(1);
+        int processedId = 0;
+        List<Integer> fetched = new ArrayList<>();
+        for (LocalDateTime now = base.minusSeconds(rows / 2); !now.isAfter(base.plusSeconds(50)); now = now.plusSeconds(50)) {
+            List<ScheduledTweetRecord> result = tweetScheduleRepository.selectScheduledTweetsForBatch(processedDatetime, processedId, now);
+            if (!result.isEmpty()) {
+                ScheduledTweetRecord last = result.get(result.size() - 1);
+                processedDatetime = last.getScheduledDatetime();
+                processedId = last.getId();
+            }
+            result.stream().map(ScheduledTweetRecord::getId).forEach(fetched::add);
+        }
+
+        // テスト結果
+        assertThat(fetched.size(), is(rows));
+        assertThat(Set.copyOf(fetched), is(expected));
+    }
+
+    /**
+     * 指定期間の予約ツイート取得
+     * ケース：正常系
+     * コンディション：期間内の未送信の予約ツイートだけを予約日時の昇順で取得する
+     */
+    @Test
+    void selectUpcomingScheduledTweets_Success001() {
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0).plusYears(10);
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "timer_user", "期間前", null, null, now.minusSeconds(1), now, 0));
+        int laterId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "timer_user", "期間内2", null, null, now.plusMinutes(5), now, 0));
+        int earlierId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "timer_user", "期間内1", null, null, now, now, 0));
+        int canceledId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "timer_user", "キャンセル", null, null, now.plusMinutes(1), now, 0));
+        tweetScheduleRepository.delete(canceledId);
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "timer_user", "期間後", null, null, now.plusMinutes(10), now, 0));
+
+        // テスト実行
+        List<ScheduledTweetRecord> result = tweetScheduleRepository.selectUpcomingScheduledTweets(now, now.plusMinutes(10), PageRequest.of(0, 10));
+
+        // テスト結果
+        assertThat(result.stream().map(ScheduledTweetRecord::getId).toList(), is(List.of(earlierId, laterId)));
+    }
+
+    /**
+     * バッチ処理対象の予約ツイートIDの範囲取得
+     * ケース：正常系
+     * コンディション：予約日時を過ぎた未処理の予約ツイートだけを範囲に含める
+     */
+    @Test
+    void selectDueIdRange_Success001() {
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int dueId1 = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "範囲1", null, null, now.minusSeconds(30), now, 0));
+        int dueId2 = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "範囲2", null, null, now.minusSeconds(20), now, 0));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "未来", null, null, now.plusDays(1), now, 0));
+
+        // テスト実行
+        ScheduledTweetIdRange result = tweetScheduleRepository.selectDueIdRange(now.minusSeconds(30), dueId1 - 1, now);
+
+        // テスト結果
+        assertThat(result.minId(), is(dueId1));
+        assertThat(result.maxId(), is(dueId2));
+    }
+
+    /**
+     * バッチ処理対象の最後の予約ツイート取得
+     * ケース：正常系
+     * コンディション：予約日時, IDの順で最後の予約ツイートを取得する（IDの最大値とは限らない）
+     */
+    @Test
+    void selectLastDueScheduledTweet_Success001() {
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0).plusYears(10);
+        int lastId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "最後", null, null, now.minusSeconds(10), now, 0));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "先", null, null, now.minusSeconds(30), now, 0));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "未来", null, null, now.plusDays(1), now, 0));
+
+        // テスト実行
+        ScheduledTweetRecord result = tweetScheduleRepository.selectLastDueScheduledTweet(now.minusMinutes(1), 0, now);
+
+        // テスト結果
+        assertThat(result.getId(), is(lastId));
+    }
+
+    /**
+     * バッチ処理対象の予約ツイートIDの範囲取得
+     * ケース：正常系
+     * コンディション：対象データなし
+     */
+    @Test
+    void selectDueIdRange_Success002() {
+        // テスト実行
+        LocalDateTime now = LocalDateTime.now();
+        ScheduledTweetIdRange result = tweetScheduleRepository.selectDueIdRange(now, Integer.MAX_VALUE, now);
+
+        // テスト結果
+        assertThat(result.minId(), is(nullValue()));
+        assertThat(result.maxId(), is(nullValue()));
+    }
+
+    /**
+     * 処理済み位置以前で未送信の予約ツイートの最古の予約日時取得
+     * ケース：正常系
+     * コンディション：処理済み位置以前の未送信の予約ツイートのみ対象（送信済みと処理済み位置より後の予約は含まない）
+     */
+    @Test
+    void selectOldestUnpostedScheduledDatetime_Success001() {
+        // テストデータ
+        LocalDateTime watermark = LocalDateTime.of(1900, 1, 1, 12, 0);
+        tweetScheduleRepository.save(new ScheduledTweetRecord(null, "batch_user", "送信済み", null, null, watermark.minusHours(3), watermark, 1));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "未送信", null, null, watermark.minusHours(2), watermark, 0));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "処理済み位置と同じ", null, null, watermark, watermark, 0));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "処理済み位置より後", null, null, watermark.plusHours(1), watermark, 0));
+
+        // テスト実行
+        LocalDateTime result = tweetScheduleRepository.selectOldestUnpostedScheduledDatetime(watermark);
+        LocalDateTime none = tweetScheduleRepository.selectOldestUnpostedScheduledDatetime(watermark.minusHours(4));
+
+        // テスト結果
+        assertThat(result, is(watermark.minusHours(2)));
+        assertThat(none, is(nullValue()));
+    }
+
+    /**
+     * 送信待ちの予約ツイートの件数取得
+     * ケース：正常系
+     * コンディション：予約日時を過ぎた未送信の予約ツイートだけを数える（送信済み・キャンセル済みと未来の予約は含まない）
+     */
+    @Test
+    void countDueScheduledTweets_Success001() {
+        // テストデータ
+        LocalDateTime now = LocalDateTime.now().withNano(0).plusYears(10);
+        long before = tweetScheduleRepository.countDueScheduledTweets(now);
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "滞留1", null, null, now.minusSeconds(30), now, 0));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "滞留2", null, null, now.minusSeconds(10), now, 0));
+        int cancelledId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "キャンセル", null, null, now.minusSeconds(10), now, 0));
+        tweetScheduleRepository.delete(cancelledId);
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "batch_user", "未来", null, null, now.plusDays(1), now, 0));
+
+        // テスト実行
+        long result = tweetScheduleRepository.countDueScheduledTweets(now);
+
+        // テスト結果
+        assertThat(result, is(before + 2));
+    }
+
     /**
      * 予約ツイート登録
      * ケース：正常系
@@ -209,10 +393,11 @@ class TweetScheduleRepositoryTest {
         int result = tweetScheduleRepository.insert(record);
 
         // テスト結果
-        assertThat(result, is(1));
+        assertThat(result, is(greaterThan(0)));
         List<ScheduledTweetRecord> list = tweetScheduleRepository.selectScheduledTweetsByAccountId("test_user");
         assertThat(list.size(), is(1));
         ScheduledTweetRecord saved = list.get(0);
+        assertThat(saved.getId(), is(result));
         assertThat(saved.getAccountId(), is("test_user"));
         assertThat(saved.getText(), is("予約投稿テスト"));
         assertThat(saved.getImage(), is("/img/test.jpg"));
@@ -276,4 +461,49 @@ class TweetScheduleRepositoryTest {
         ScheduledTweetRecord deleted = tweetScheduleRepository.selectScheduledTweet(2);
         assertThat(deleted, is(nullValue()));
     }
+
+    /**
+     * 予約ツイート一括削除
+     * ケース：正常系
+     * コンディション：キャンセル済み・存在しない予約ツイートは削除件数に含まれない
+     */
+    @Test
+    void deleteByIds_Success001() {
+
+        // テストデータ
+        tweetScheduleRepository.delete(3);
+
+        // テスト実行
+        int result = tweetScheduleRepository.deleteByIds(List.of(1, 2, 3, 999999));
+
+        // テスト結果
+        assertThat(result, is(2));
+        assertThat(tweetScheduleRepository.selectScheduledTweet(1), is(nullValue()));
+        assertThat(tweetScheduleRepository.selectScheduledTweet(2), is(nullValue()));
+    }
+
+    /**
+     * 予約ツイート更新・削除
+     * ケース：異常系
+     * コンディション：キャンセル済みの予約ツイートは更新・削除されない
+     */
+    @Test
+    void updateDelete_Error001() {
+
+        // テストデータ
+        tweetScheduleRepository.delete(2);
+        ScheduledTweetRecord update = new ScheduledTweetRecord();
+        update.setText("更新内容");
+        update.setScheduledDatetime(LocalDateTime.now().plusDays(1));
+        update.setDeleteFlag(0);
+
+        // テスト実行
+        int updated = tweetScheduleRepository.update(2, update);
+        int deleted = tweetScheduleRepository.delete(2);
+
+        // テスト結果
+        assertThat(updated, is(0));
+        assertThat(deleted, is(0));
+        assertThat(tweetScheduleRepository.selectScheduledTweet(2), is(nullValue()));
+    }
 }
@@ -30,6 +30,18 @@ class ScheduledTaskExecutorTest {
     @Qualifier("scheduledTweetsPostingJob")
     Job scheduledTweetsPostingJob;
 
+    @Autowired
+    @Qualifier("archiveCompactionJob")
+    Job archiveCompactionJob;
+
+    @Autowired
+    @Qualifier("tweetPartitionMaintenanceJob")
+    Job tweetPartitionMaintenanceJob;
+
+    @Autowired
+    @Qualifier("batchMetadataRetentionJob")
+    Job batchMetadataRetentionJob;
+
     @Autowired
     ScheduledTaskExecutor executor;
 
@@ -99,6 +111,100 @@ class ScheduledTaskExecutorTest {
         verify(jobLauncher, times(1)).run(eq(scheduledTweetsPostingJob), any(JobParameters.class));
     }
 
+    /**
+     * ArchiveCompactionJob
+     * ケース：正常系
+     * コンディション：ジョブ成功
+     */
+    @Test
+    void archiveCompactionJob_Success001() throws Exception {
+
+        // モック設定
+        when(mockExecution.getStatus()).thenReturn(BatchStatus.COMPLETED);
+
+        // テスト実行
+        executor.executeArchiveCompactionJob();
+
+        // テスト結果
+        verify(jobLauncher, times(1)).run(eq(archiveCompactionJob), any(JobParameters.class));
+        verify(jobLauncher, never()).run(eq(scheduledTweetsPostingJob), any(JobParameters.class));
+    }
+
+    /**
+     * ArchiveCompactionJob
+     * ケース：正常系
+     * コンディション：例外スロー
+     */
+    @Test
+    void archiveCompactionJob_Error001() throws Exception {
+
+        // モック設定
+        when(jobLauncher.run(any(), any())).thenThrow(new RuntimeException("boom"));
+
+        // テスト実行
+        executor.executeArchiveCompactionJob();
+
+        // テスト結果
+        verify(jobLauncher, times(1)).run(eq(archiveCompactionJob), any(JobParameters.class));
+    }
+
+    /**
+     * TweetPartitionMaintenanceJob
+     * ケース：正常系
+     * コンディション：ジョブ成功
+     */
+    @Test
+    void tweetPartitionMaintenanceJob_Success001() throws Exception {
+
+        // モック設定
+        when(mockExecution.getStatus()).thenReturn(BatchStatus.COMPLETED);
+
+        // テスト実行
+        executor.executeTweetPartitionMaintenanceJob();
+
+        // テスト結果
+        verify(jobLauncher, times(1)).run(eq(tweetPartitionMaintenanceJob), any(JobParameters.class));
+        verify(mockExecution, atLeastOnce()).getStatus();
+    }
+
+    /**
+     * BatchMetadataRetentionJob
+     * ケース：正常系
+     * コンディション：ジョブ成功
+     */
+    @Test
+    void batchMetadataRetentionJob_Success001() throws Exception {
+
+        // モック設定
+        when(mockExecution.getStatus()).thenReturn(BatchStatus.COMPLETED);
+
+        // テスト実行
+        executor.executeBatchMetadataRetentionJob();
+
+        // テスト結果
+        verify(jobLauncher, times(1)).run(eq(batchMetadataRetentionJob), any(JobParameters.class));
+        verify(jobLauncher, never()).run(eq(archiveCompactionJob), any(JobParameters.class));
+        verify(mockExecution, atLeastOnce()).getStatus();
+    }
+
+    /**
+     * BatchMetadataRetentionJob
+     * ケース：正常系
+     * コンディション：例外スロー
+     */
+    @Test
+    void batchMetadataRetentionJob_Error001() throws Exception {
+
+        // モック設定
+        when(jobLauncher.run(any(), any())).thenThrow(new RuntimeException("boom"));
+
+        // テスト実行
+        executor.executeBatchMetadataRetentionJob();
+
+        // テスト結果
+        verify(jobLauncher, times(1)).run(eq(batchMetadataRetentionJob), any(JobParameters.class));
+    }
+
     @TestConfiguration
     static class MockConfig {
 
@@ -111,5 +217,20 @@ class ScheduledTaskExecutorTest {
         public Job scheduledTweetsPostingJob() {
             return mock(Job.class);
         }
+
+        @Bean(name = "archiveCompactionJob")
+        public Job archiveCompactionJob() {
+            return mock(Job.class);
+        }
+
+        @Bean(name = "tweetPartitionMaintenanceJob")
+        public Job tweetPartitionMaintenanceJob() {
+            return mock(Job.class);
+        }
+
+        @Bean(name = "batchMetadataRetentionJob")
+        public Job batchMetadataRetentionJob() {
+            return mock(Job.class);
+        }
     }
 }
@@ -0,0 +1,149 @@
+package com.skajihara.project_xr_app.infrastructure.batch;
+
+// @SpringBootTestを使うのは厳しいためJunitのみでテスト
+
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledTweetTimer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.mockito.Mockito.mock;
+
+// cronは実際に起動しない日時（2月29日）を指定する
+@ExtendWith(SpringExtension.class)
+@Import({SchedulingConfig.class, ScheduledTaskExecutor.class, ScheduledTweetTimer.class, SchedulingConfigTest.MockConfig.class})
+@TestPropertySource(properties = {
+        "app.scheduling.enabled=true",
+        "app.archive.cron=0 0 4 29 2 *",
+        "app.tweet.partition.cron=0 30 3 29 2 *",
+        "app.retention.cron=0 15 4 29 2 *",
+        "app.tweet.schedule.timer.enabled=false",
+        "app.tweet.schedule.sweep-interval-ms=3600000"
+})
+class SchedulingConfigTest {
+
+    @Autowired
+    ScheduledTaskHolder scheduledTaskHolder;
+
+    /**
+     * ArchiveCompactionJobの定期起動
+     * ケース：正常系
+     * コンディション：設定したcronで登録される
+     */
+    @Test
+    void archiveCompactionJob_Success001() {
+
+        // テスト実行
+        Map<String, String> crons = registeredCrons();
+
+        // テスト結果
+        assertThat(crons, hasEntry("executeArchiveCompactionJob", "0 0 4 29 2 *"));
+    }
+
+    /**
+     * TweetPartitionMaintenanceJobの定期起動
+     * ケース：正常系
+     * コンディション：設定したcronで登録される
+     */
+    @Test
+    void tweetPartitionMaintenanceJob_Success001() {
+
+        // テスト実行
+        Map<String, String> crons = registeredCrons();
+
+        // テスト結果
+        assertThat(crons, hasEntry("executeTweetPartitionMaintenanceJob", "0 30 3 29 2 *"));
+    }
+
+    /**
+     * BatchMetadataRetentionJobの定期起動
+     * ケース：正常系
+     * コンディション：設定したcronで登録される
+     */
+    @Test
+    void batchMetadataRetentionJob_Success001() {
+
+        // テスト実行
+        Map<String, String> crons = registeredCrons();
+
+        // テスト結果
+        assertThat(crons, hasEntry("executeBatchMetadataRetentionJob", "0 15 4 29 2 *"));
+    }
+
+    /**
+     * 予約ツイートの定期スイープ
+     * ケース：正常系
+     * コンディション：タイマー無効時も設定した間隔で登録される
+     */
+    @Test
+    void scheduledTweetsSweep_Success001() {
+
+        // テスト実行
+        Map<String, Long> fixedDelays = scheduledTaskHolder.getScheduledTasks().stream()
+                .filter(task -> task.getTask() instanceof FixedDelayTask)
+                .map(task -> (FixedDelayTask) task.getTask())
+                .collect(Collectors.toMap(task -> StringUtils.unqualify(task.toString()), task -> task.getIntervalDuration().toMillis()));
+
+        // テスト結果
+        assertThat(fixedDelays, hasEntry("sweep", 3600000L));
+    }
+
+    private Map<String, String> registeredCrons() {
+        return scheduledTaskHolder.getScheduledTasks().stream()
+                .filter(task -> task.getTask() instanceof CronTask)
+                .map(task -> (CronTask) task.getTask())
+                // タスクの文字列表現は起動するメソッドの完全修飾名
+                .collect(Collectors.toMap(task -> StringUtils.unqualify(task.toString()), CronTask::getExpression));
+    }
+
+    @TestConfiguration
+    static class MockConfig {
+
+        @Bean
+        public TweetScheduleRepository tweetScheduleRepository() {
+            return mock(TweetScheduleRepository.class);
+        }
+
+        @Bean
+        public JobLauncher jobLauncher() {
+            return mock(JobLauncher.class);
+        }
+
+        @Bean(name = "scheduledTweetsPostingJob")
+        public Job scheduledTweetsPostingJob() {
+            return mock(Job.class);
+        }
+
+        @Bean(name = "archiveCompactionJob")
+        public Job archiveCompactionJob() {
+            return mock(Job.class);
+        }
+
+        @Bean(name = "tweetPartitionMaintenanceJob")
+        public Job tweetPartitionMaintenanceJob() {
+            return mock(Job.class);
+        }
+
+        @Bean(name = "batchMetadataRetentionJob")
+        public Job batchMetadataRetentionJob() {
+            return mock(Job.class);
+        }
+    }
+}
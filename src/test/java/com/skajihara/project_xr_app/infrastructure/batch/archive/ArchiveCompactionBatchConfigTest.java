@@ -0,0 +1,91 @@
+package com.skajihara.project_xr_app.infrastructure.batch.archive;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@SpringBatchTest
+class ArchiveCompactionBatchConfigTest {
+
+    @Autowired
+    JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("archiveCompactionJob")
+    private Job archiveCompactionJob;
+
+    @Test
+    void archiveCompactionJob_success() throws Exception {
+
+        // テストデータセットアップ（削除済みのツイート・予約ツイートと、未削除のツイート）
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int deletedTweetId = tweetRepository.insert(new TweetRecord(null, "q30387", "アーカイブ対象", null, 0, 0, 0, 0, now, null, 0));
+        int liveTweetId = tweetRepository.insert(new TweetRecord(null, "q30387", "アーカイブ対象外", null, 0, 0, 0, 0, now, null, 0));
+        int deletedScheduleId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "キャンセル済み", null, null, now.plusDays(1), now, 0));
+        tweetRepository.delete(deletedTweetId);
+        tweetScheduleRepository.delete(deletedScheduleId);
+
+        // テスト実行
+        jobLauncherTestUtils.setJob(archiveCompactionJob);
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // ジョブは正常終了したか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+        List<StepExecution> steps = jobExecution.getStepExecutions().stream().toList();
+        assertThat(steps.stream().map(StepExecution::getStepName).toList(), is(List.of("tweetsArchiveStep", "scheduledTweetsArchiveStep")));
+
+        // 削除済みのレコードだけがアーカイブテーブルへ移動したか？
+        assertThat(count("SELECT COUNT(*) FROM TWEETS WHERE id = ?", deletedTweetId), is(0));
+        assertThat(count("SELECT COUNT(*) FROM ARCHIVED_TWEETS WHERE id = ?", deletedTweetId), is(1));
+        assertThat(count("SELECT COUNT(*) FROM TWEETS WHERE id = ?", liveTweetId), is(1));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE id = ?", deletedScheduleId), is(0));
+        assertThat(count("SELECT COUNT(*) FROM ARCHIVED_SCHEDULED_TWEETS WHERE id = ?", deletedScheduleId), is(1));
+        assertThat(count("SELECT COUNT(*) FROM TWEETS WHERE delete_flag = 1"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE delete_flag = 1"), is(0));
+
+        // 回収件数がバッチ履歴に記録されたか？
+        long reclaimed = steps.stream().mapToLong(StepExecution::getWriteCount).sum();
+        BatchHistoryRecord history = batchHistoryRepository.selectLatestRecord("archiveCompactionJob");
+        assertThat(reclaimed, is(greaterThanOrEqualTo(2L)));
+        assertThat(history.getProcessedNum(), is((int) reclaimed));
+        assertThat(history.getSucceeded(), is(1));
+        assertThat(history.getExecutionEnd(), is(notNullValue()));
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
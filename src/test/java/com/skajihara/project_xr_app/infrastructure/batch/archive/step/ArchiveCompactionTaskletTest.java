@@ -0,0 +1,88 @@
+package com.skajihara.project_xr_app.infrastructure.batch.archive.step;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ArchiveCompactionTaskletTest {
+
+    /**
+     * アーカイブ処理
+     * ケース：正常系
+     * コンディション：チャンクサイズ分移動できた場合は継続
+     */
+    @Test
+    void execute_Success001() throws Exception {
+
+        // テストデータ
+        List<Integer> limits = new ArrayList<>();
+        ArchiveCompactionTasklet tasklet = new ArchiveCompactionTasklet("TWEETS", limit -> {
+            limits.add(limit);
+            return limit;
+        }, 3, 0);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        StepContribution contribution = stepExecution.createStepContribution();
+
+        // テスト実行
+        RepeatStatus status = tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(status, is(RepeatStatus.CONTINUABLE));
+        assertThat(limits, is(List.of(3)));
+        assertThat(contribution.getWriteCount(), is(3L));
+    }
+
+    /**
+     * アーカイブ処理
+     * ケース：正常系
+     * コンディション：チャンクサイズ未満の場合は終了
+     */
+    @Test
+    void execute_Success002() throws Exception {
+
+        // テストデータ
+        ArchiveCompactionTasklet tasklet = new ArchiveCompactionTasklet("TWEETS", limit -> 1, 3, 0);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        StepContribution contribution = stepExecution.createStepContribution();
+
+        // テスト実行
+        RepeatStatus status = tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(status, is(RepeatStatus.FINISHED));
+        assertThat(contribution.getWriteCount(), is(1L));
+    }
+
+    /**
+     * アーカイブ処理
+     * ケース：正常系
+     * コンディション：2チャンク目以降は待機してから移動
+     */
+    @Test
+    void execute_Success003() throws Exception {
+
+        // テストデータ
+        ArchiveCompactionTasklet tasklet = new ArchiveCompactionTasklet("TWEETS", limit -> 0, 3, 50);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.incrementCommitCount();
+
+        // テスト実行
+        long start = System.nanoTime();
+        RepeatStatus status = tasklet.execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // テスト結果
+        assertThat(status, is(RepeatStatus.FINISHED));
+        assertThat(elapsedMillis >= 50, is(true));
+    }
+}
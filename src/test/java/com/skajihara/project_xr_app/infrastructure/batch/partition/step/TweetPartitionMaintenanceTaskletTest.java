@@ -0,0 +1,108 @@
+package com.skajihara.project_xr_app.infrastructure.batch.partition.step;
+
+import com.skajihara.project_xr_app.domain.repository.TweetPartitionJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+class TweetPartitionMaintenanceTaskletTest {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    TweetPartitionJdbcRepository tweetPartitionJdbcRepository;
+
+    StepExecution stepExecution;
+
+    @BeforeEach
+    void setUp() {
+        tweetPartitionJdbcRepository = mock(TweetPartitionJdbcRepository.class);
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+    }
+
+    /**
+     * パーティション保守
+     * ケース：正常系
+     * コンディション：不足している未来分を作成し、保持期間を過ぎたパーティションをアーカイブして削除
+     */
+    @Test
+    void execute_Success001() {
+
+        // モックデータ
+        YearMonth current = YearMonth.now();
+        String expired = partition(current.minusMonths(13));
+        String retained = partition(current.minusMonths(12));
+        when(tweetPartitionJdbcRepository.selectPartitionNames())
+                .thenReturn(List.of(expired, retained, partition(current), partition(current.plusMonths(1)), "pmax"));
+        when(tweetPartitionJdbcRepository.archivePartition(expired)).thenReturn(7);
+
+        // テスト実行
+        StepContribution contribution = stepExecution.createStepContribution();
+        RepeatStatus status = new TweetPartitionMaintenanceTasklet(tweetPartitionJdbcRepository, true, 3, 12)
+                .execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(status, is(RepeatStatus.FINISHED));
+        verify(tweetPartitionJdbcRepository).addPartition(partition(current.plusMonths(2)), current.plusMonths(3).atDay(1));
+        verify(tweetPartitionJdbcRepository).addPartition(partition(current.plusMonths(3)), current.plusMonths(4).atDay(1));
+        verify(tweetPartitionJdbcRepository, times(2)).addPartition(anyString(), any());
+        verify(tweetPartitionJdbcRepository).archivePartition(expired);
+        verify(tweetPartitionJdbcRepository).dropPartition(expired);
+        verify(tweetPartitionJdbcRepository, never()).dropPartition(retained);
+        verify(tweetPartitionJdbcRepository, never()).dropPartition("pmax");
+        assertThat(contribution.getWriteCount(), is(7L));
+    }
+
+    /**
+     * パーティション保守
+     * ケース：正常系
+     * コンディション：パーティション化されていない（H2）場合は何もしない
+     */
+    @Test
+    void execute_Success002() {
+
+        // モック設定
+        when(tweetPartitionJdbcRepository.selectPartitionNames()).thenReturn(List.of());
+
+        // テスト実行
+        new TweetPartitionMaintenanceTasklet(tweetPartitionJdbcRepository, true, 3, 12)
+                .execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        verify(tweetPartitionJdbcRepository, never()).addPartition(anyString(), any());
+        verify(tweetPartitionJdbcRepository, never()).dropPartition(anyString());
+    }
+
+    /**
+     * パーティション保守
+     * ケース：正常系
+     * コンディション：無効の場合はDBにアクセスしない
+     */
+    @Test
+    void execute_Success003() {
+
+        // テスト実行
+        RepeatStatus status = new TweetPartitionMaintenanceTasklet(tweetPartitionJdbcRepository, false, 3, 12)
+                .execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(status, is(RepeatStatus.FINISHED));
+        verifyNoInteractions(tweetPartitionJdbcRepository);
+    }
+
+    private static String partition(YearMonth month) {
+        return month.format(PARTITION_MONTH);
+    }
+}
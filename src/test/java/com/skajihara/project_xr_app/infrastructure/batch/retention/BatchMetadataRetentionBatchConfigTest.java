@@ -0,0 +1,99 @@
+package com.skajihara.project_xr_app.infrastructure.batch.retention;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest
+@SpringBatchTest
+class BatchMetadataRetentionBatchConfigTest {
+
+    @Autowired
+    JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("batchMetadataRetentionJob")
+    private Job batchMetadataRetentionJob;
+
+    @Test
+    void batchMetadataRetentionJob_success() throws Exception {
+
+        // クリアデータ
+        batchHistoryRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM BATCH_HISTORY_DAILY_SUMMARY");
+        jdbcTemplate.update("DELETE FROM IDEMPOTENCY_KEYS");
+
+        // テストデータセットアップ（保持期間を過ぎたバッチ履歴・ジョブ実行・冪等キーと、各ジョブの最新のバッチ履歴、有効期間内の冪等キー）
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDateTime expired = now.minusDays(40);
+        int expiredHistoryId = batchHistoryRepository.insert(new BatchHistoryRecord(0, "scheduledTweetsPostingJob", 0, 3, expired, expired.plusSeconds(10), 1));
+        int latestHistoryId = batchHistoryRepository.insert(new BatchHistoryRecord(0, "scheduledTweetsPostingJob", 0, 5, now.minusMinutes(1), now, 1));
+        jdbcTemplate.update("INSERT INTO BATCH_JOB_INSTANCE (JOB_INSTANCE_ID, VERSION, JOB_NAME, JOB_KEY) VALUES (900001, 0, 'retentionTestJob', 'key900001')");
+        jdbcTemplate.update("INSERT INTO BATCH_JOB_EXECUTION (JOB_EXECUTION_ID, VERSION, JOB_INSTANCE_ID, CREATE_TIME, START_TIME, END_TIME, STATUS) " +
+                "VALUES (900001, 1, 900001, ?, ?, ?, 'COMPLETED')", expired, expired, expired.plusSeconds(10));
+        jdbcTemplate.update("INSERT INTO BATCH_STEP_EXECUTION (STEP_EXECUTION_ID, VERSION, STEP_NAME, JOB_EXECUTION_ID, CREATE_TIME) " +
+                "VALUES (900001, 1, 'retentionTestStep', 900001, ?)", expired);
+        jdbcTemplate.update("INSERT INTO BATCH_STEP_EXECUTION_CONTEXT (STEP_EXECUTION_ID, SHORT_CONTEXT) VALUES (900001, '{}')");
+        jdbcTemplate.update("INSERT INTO IDEMPOTENCY_KEYS (idempotency_key, resource_id, created_datetime) VALUES ('tweets:expired', 1, ?)", expired);
+        jdbcTemplate.update("INSERT INTO IDEMPOTENCY_KEYS (idempotency_key, resource_id, created_datetime) VALUES ('tweets:valid', 2, ?)", now);
+
+        // テスト実行
+        jobLauncherTestUtils.setJob(batchMetadataRetentionJob);
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // ジョブは正常終了したか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+        List<StepExecution> steps = jobExecution.getStepExecutions().stream().toList();
+        assertThat(steps.stream().map(StepExecution::getStepName).toList(), is(List.of("batchHistoryRetentionStep", "batchMetadataRetentionStep", "idempotencyKeyRetentionStep")));
+
+        // 保持期間を過ぎたバッチ履歴は日次の集計に移り、最新のバッチ履歴は残ったか？
+        assertThat(count("SELECT COUNT(*) FROM BATCH_HISTORY WHERE id = ?", expiredHistoryId), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_HISTORY WHERE id = ?", latestHistoryId), is(1));
+        assertThat(count("SELECT executions FROM BATCH_HISTORY_DAILY_SUMMARY WHERE job_name = 'scheduledTweetsPostingJob' AND summary_date = ?",
+                expired.toLocalDate()), is(1));
+
+        // 保持期間を過ぎたジョブ実行は関連テーブルと合わせて削除され、今回のジョブ実行は残ったか？
+        assertThat(count("SELECT COUNT(*) FROM BATCH_STEP_EXECUTION_CONTEXT WHERE STEP_EXECUTION_ID = 900001"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID = 900001"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID = 900001"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_INSTANCE WHERE JOB_INSTANCE_ID = 900001"), is(0));
+        assertThat(count("SELECT COUNT(*) FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID = ?", jobExecution.getId()), is(1));
+
+        // 有効期間を過ぎた冪等キーだけが削除されたか？
+        assertThat(jdbcTemplate.queryForList("SELECT idempotency_key FROM IDEMPOTENCY_KEYS", String.class), is(List.of("tweets:valid")));
+
+        // 削除件数がバッチ履歴に記録されたか？
+        long pruned = steps.stream().mapToLong(StepExecution::getWriteCount).sum();
+        BatchHistoryRecord history = batchHistoryRepository.selectLatestRecord("batchMetadataRetentionJob");
+        assertThat(pruned, is(greaterThanOrEqualTo(3L)));
+        assertThat(history.getProcessedNum(), is((int) pruned));
+        assertThat(history.getSucceeded(), is(1));
+        assertThat(history.getExecutionEnd(), is(notNullValue()));
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
@@ -0,0 +1,97 @@
+package com.skajihara.project_xr_app.infrastructure.batch.retention.step;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class BatchMetadataRetentionTaskletTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 5, 10, 4, 15, 0);
+
+    /**
+     * 保持期間切れレコードの削除処理
+     * ケース：正常系
+     * コンディション：ステップ開始日時から保持日数を引いた日時より前を、チャンクサイズ分削除できた場合は継続
+     */
+    @Test
+    void execute_Success001() throws Exception {
+
+        // テストデータ
+        List<LocalDateTime> befores = new ArrayList<>();
+        List<Integer> limits = new ArrayList<>();
+        BatchMetadataRetentionTasklet tasklet = new BatchMetadataRetentionTasklet("BATCH_HISTORY", (before, limit) -> {
+            befores.add(before);
+            limits.add(limit);
+            return limit;
+        }, 30, 3, 0);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.setStartTime(START);
+        StepContribution contribution = stepExecution.createStepContribution();
+
+        // テスト実行
+        RepeatStatus status = tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(status, is(RepeatStatus.CONTINUABLE));
+        assertThat(befores, is(List.of(START.minusDays(30))));
+        assertThat(limits, is(List.of(3)));
+        assertThat(contribution.getWriteCount(), is(3L));
+    }
+
+    /**
+     * 保持期間切れレコードの削除処理
+     * ケース：正常系
+     * コンディション：チャンクサイズ未満の場合は終了
+     */
+    @Test
+    void execute_Success002() throws Exception {
+
+        // テストデータ
+        BatchMetadataRetentionTasklet tasklet = new BatchMetadataRetentionTasklet("BATCH_JOB_EXECUTION", (before, limit) -> 1, 7, 3, 0);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.setStartTime(START);
+        StepContribution contribution = stepExecution.createStepContribution();
+
+        // テスト実行
+        RepeatStatus status = tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(status, is(RepeatStatus.FINISHED));
+        assertThat(contribution.getWriteCount(), is(1L));
+    }
+
+    /**
+     * 保持期間切れレコードの削除処理
+     * ケース：正常系
+     * コンディション：2チャンク目以降は待機してから削除
+     */
+    @Test
+    void execute_Success003() throws Exception {
+
+        // テストデータ
+        BatchMetadataRetentionTasklet tasklet = new BatchMetadataRetentionTasklet("BATCH_JOB_EXECUTION", (before, limit) -> 0, 7, 3, 50);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.setStartTime(START);
+        stepExecution.incrementCommitCount();
+
+        // テスト実行
+        long start = System.nanoTime();
+        RepeatStatus status = tasklet.execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // テスト結果
+        assertThat(status, is(RepeatStatus.FINISHED));
+        assertThat(elapsedMillis >= 50, is(true));
+    }
+}
@@ -0,0 +1,182 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ScheduledPostingMetricsTest {
+
+    private static final LocalDateTime POSTED_AT = LocalDateTime.of(2025, 4, 1, 10, 0);
+
+    SimpleMeterRegistry meterRegistry;
+    TweetScheduleRepository tweetScheduleRepository;
+    ScheduledPostingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tweetScheduleRepository = mock(TweetScheduleRepository.class);
+        metrics = new ScheduledPostingMetrics(meterRegistry, tweetScheduleRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * 投稿した予約ツイートの記録
+     * ケース：正常系
+     * コンディション：トランザクション外の場合は即時に遅延と件数を記録し、予約日時より後の投稿日時は遅延0とする
+     */
+    @Test
+    void recordPosted_Success001() {
+
+        // テスト実行
+        metrics.recordPosted("chunk", POSTED_AT,
+                List.of(POSTED_AT.minusSeconds(30), POSTED_AT.minusSeconds(10), POSTED_AT.plusSeconds(1)));
+
+        // テスト結果
+        Timer lag = meterRegistry.get("scheduled.tweets.posting.lag").tag("mode", "chunk").timer();
+        assertThat(lag.count(), is(3L));
+        assertThat(lag.totalTime(TimeUnit.SECONDS), closeTo(40.0, 0.001));
+        assertThat(lag.max(TimeUnit.SECONDS), closeTo(30.0, 0.001));
+        assertThat(meterRegistry.get("scheduled.tweets.posted").tag("mode", "chunk").counter().count(), is(3.0));
+    }
+
+    /**
+     * 投稿した予約ツイートの記録
+     * ケース：正常系
+     * コンディション：トランザクション内の場合はコミット後に記録する
+     */
+    @Test
+    void recordPosted_Success002() {
+
+        // モック設定
+        TransactionSynchronizationManager.initSynchronization();
+
+        // テスト実行
+        metrics.recordPosted("set-based", POSTED_AT, List.of(POSTED_AT.minusMinutes(1)));
+
+        // テスト結果
+        assertThat(meterRegistry.find("scheduled.tweets.posted").counter(), is(nullValue()));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(meterRegistry.get("scheduled.tweets.posted").tag("mode", "set-based").counter().count(), is(1.0));
+        assertThat(meterRegistry.get("scheduled.tweets.posting.lag").tag("mode", "set-based").timer()
+                .totalTime(TimeUnit.SECONDS), closeTo(60.0, 0.001));
+    }
+
+    /**
+     * DB処理時間の記録
+     * ケース：正常系
+     * コンディション：1件あたりに換算して記録し、0件の場合は記録しない
+     */
+    @Test
+    void recordDbTime_Success001() {
+
+        // テスト実行
+        metrics.recordDbTime("claimed", TimeUnit.MILLISECONDS.toNanos(100), 50);
+        metrics.recordDbTime("claimed", TimeUnit.MILLISECONDS.toNanos(100), 0);
+
+        // テスト結果
+        Timer dbTime = meterRegistry.get("scheduled.tweets.posting.db.time.per.item").tag("mode", "claimed").timer();
+        assertThat(dbTime.count(), is(1L));
+        assertThat(dbTime.totalTime(TimeUnit.MILLISECONDS), closeTo(2.0, 0.001));
+    }
+
+    /**
+     * ステップの記録
+     * ケース：正常系
+     * コンディション：処理時間と1秒あたりの投稿件数を記録し、0件の場合は処理時間だけを記録する
+     */
+    @Test
+    void recordStep_Success001() {
+
+        // テスト実行
+        metrics.recordStep("scheduledTweetsPostingStep", "COMPLETED", Duration.ofSeconds(4), 1000);
+        metrics.recordStep("scheduledTweetsPostingStep", "COMPLETED", Duration.ofSeconds(1), 0);
+
+        // テスト結果
+        Timer duration = meterRegistry.get("scheduled.tweets.posting.step.duration")
+                .tags("step", "scheduledTweetsPostingStep", "status", "COMPLETED").timer();
+        assertThat(duration.count(), is(2L));
+        assertThat(duration.totalTime(TimeUnit.SECONDS), closeTo(5.0, 0.001));
+        DistributionSummary throughput = meterRegistry.get("scheduled.tweets.posting.throughput")
+                .tags("step", "scheduledTweetsPostingStep", "status", "COMPLETED").summary();
+        assertThat(throughput.count(), is(1L));
+        assertThat(throughput.totalAmount(), closeTo(250.0, 0.001));
+    }
+
+    /**
+     * デッドレターに移した予約ツイートの記録
+     * ケース：正常系
+     * コンディション：送信失敗の原因の例外クラスごとに件数を記録する
+     */
+    @Test
+    void recordDeadLettered_Success001() {
+
+        // テスト実行
+        metrics.recordDeadLettered(new DataIntegrityViolationException("error1"));
+        metrics.recordDeadLettered(new DataIntegrityViolationException("error2"));
+
+        // テスト結果
+        assertThat(meterRegistry.get("scheduled.tweets.dead.lettered").tag("exception", "DataIntegrityViolationException")
+                .counter().count(), is(2.0));
+    }
+
+    /**
+     * 未送信件数の参照
+     * ケース：正常系
+     * コンディション：参照時に予約日時を過ぎている未送信の予約ツイートを数える
+     */
+    @Test
+    void backlog_Success001() {
+
+        // モック設定
+        when(tweetScheduleRepository.countDueScheduledTweets(any())).thenReturn(42L, 7L);
+
+        // テスト実行・テスト結果
+        Gauge backlog = meterRegistry.get("scheduled.tweets.backlog").gauge();
+        assertThat(backlog.value(), is(42.0));
+        assertThat(backlog.value(), is(7.0));
+        verify(tweetScheduleRepository, times(2)).countDueScheduledTweets(any());
+    }
+
+    /**
+     * 未送信件数の参照
+     * ケース：異常系
+     * コンディション：件数の取得に失敗した場合はNaNを返す
+     */
+    @Test
+    void backlog_Error001() {
+
+        // モック設定
+        when(tweetScheduleRepository.countDueScheduledTweets(any())).thenThrow(new RuntimeException("db error"));
+
+        // テスト実行・テスト結果
+        assertThat(Double.isNaN(meterRegistry.get("scheduled.tweets.backlog").gauge().value()), is(true));
+    }
+}
@@ -0,0 +1,254 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.ScheduledTaskExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.*;
+
+class ScheduledTweetTimerTest {
+
+    private static final long HORIZON_SECONDS = 600;
+
+    TweetScheduleRepository tweetScheduleRepository;
+
+    ScheduledTaskExecutor scheduledTaskExecutor;
+
+    ScheduledTweetTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        tweetScheduleRepository = mock(TweetScheduleRepository.class);
+        scheduledTaskExecutor = mock(ScheduledTaskExecutor.class);
+        timer = new ScheduledTweetTimer(tweetScheduleRepository, scheduledTaskExecutor, true, HORIZON_SECONDS, 60000, 3);
+    }
+
+    /**
+     * 予約の登録
+     * ケース：正常系
+     * コンディション：予約日時になった時点で取り出せる
+     */
+    @Test
+    void schedule_Success001() throws Exception {
+
+        // テスト実行
+        timer.schedule(1, LocalDateTime.now().plusNanos(100_000_000));
+
+        // テスト結果
+        assertThat(timer.awaitDue(0), is(0));
+        long start = System.nanoTime();
+        assertThat(timer.awaitDue(5000), is(1));
+        assertThat((System.nanoTime() - start) / 1_000_000, lessThan(1000L));
+        assertThat(timer.size(), is(0));
+    }
+
+    /**
+     * 予約の登録
+     * ケース：正常系
+     * コンディション：同時刻の予約はまとめて取り出す
+     */
+    @Test
+    void schedule_Success002() throws Exception {
+
+        // テストデータ
+        LocalDateTime due = LocalDateTime.now().minusSeconds(1);
+
+        // テスト実行
+        timer.schedule(1, due);
+        timer.schedule(2, due);
+        timer.schedule(3, due);
+
+        // テスト結果
+        assertThat(timer.awaitDue(1000), is(3));
+    }
+
+    /**
+     * 予約の登録
+     * ケース：正常系
+     * コンディション：保持範囲より先の予約は登録しない（登録済みの場合は外す）
+     */
+    @Test
+    void schedule_Success003() {
+
+        // テスト実行
+        timer.schedule(1, LocalDateTime.now().plusMinutes(1));
+        timer.schedule(1, LocalDateTime.now().plusSeconds(HORIZON_SECONDS + 60));
+
+        // テスト結果
+        assertThat(timer.size(), is(0));
+    }
+
+    /**
+     * 予約の登録
+     * ケース：正常系
+     * コンディション：予約日時の変更後は古い予約日時では取り出さない
+     */
+    @Test
+    void schedule_Success004() throws Exception {
+
+        // テスト実行
+        timer.schedule(1, LocalDateTime.now().minusSeconds(1));
+        timer.schedule(1, LocalDateTime.now().plusMinutes(1));
+
+        // テスト結果
+        assertThat(timer.awaitDue(100), is(0));
+        assertThat(timer.size(), is(1));
+    }
+
+    /**
+     * 予約の登録
+     * ケース：正常系
+     * コンディション：トランザクション内ではコミット後に登録する
+     */
+    @Test
+    void schedule_Success005() {
+
+        // テスト実行
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            timer.schedule(1, LocalDateTime.now());
+            assertThat(timer.size(), is(0));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // テスト結果
+        assertThat(timer.size(), is(1));
+    }
+
+    /**
+     * 予約の登録
+     * ケース：正常系
+     * コンディション：上限件数を超える予約は登録しない
+     */
+    @Test
+    void schedule_Success006() {
+
+        // テスト実行
+        for (int i = 1; i <= 5; i++) {
+            timer.schedule(i, LocalDateTime.now().plusMinutes(1));
+        }
+
+        // テスト結果
+        assertThat(timer.size(), is(3));
+    }
+
+    /**
+     * 予約の登録
+     * ケース：正常系
+     * コンディション：タイマー無効時は何もしない
+     */
+    @Test
+    void schedule_Success007() {
+
+        // テストデータ
+        ScheduledTweetTimer disabled = new ScheduledTweetTimer(tweetScheduleRepository, scheduledTaskExecutor, false, HORIZON_SECONDS, 60000, 3);
+
+        // テスト実行
+        disabled.schedule(1, LocalDateTime.now());
+
+        // テスト結果
+        assertThat(disabled.size(), is(0));
+    }
+
+    /**
+     * 予約のキャンセル
+     * ケース：正常系
+     * コンディション：キャンセルした予約は取り出さない
+     */
+    @Test
+    void cancel_Success001() throws Exception {
+
+        // テストデータ
+        timer.schedule(1, LocalDateTime.now().minusSeconds(1));
+
+        // テスト実行
+        timer.cancel(1);
+
+        // テスト結果
+        assertThat(timer.awaitDue(100), is(0));
+        assertThat(timer.size(), is(0));
+    }
+
+    /**
+     * 予約の読み直し
+     * ケース：正常系
+     * コンディション：保持範囲内の予約を登録し、読み直しても二重に取り出さない
+     */
+    @Test
+    void reload_Success001() throws Exception {
+
+        // モックデータ
+        LocalDateTime due = LocalDateTime.now().plusNanos(50_000_000);
+        List<ScheduledTweetRecord> schedules = List.of(
+                new ScheduledTweetRecord(1, "q30387", "予約1", null, null, due, due, 0),
+                new ScheduledTweetRecord(2, "q30387", "予約2", null, null, due, due, 0));
+
+        // モック設定
+        when(tweetScheduleRepository.selectUpcomingScheduledTweets(any(), any(), any(Pageable.class))).thenReturn(schedules);
+
+        // テスト実行
+        int first = timer.reload();
+        int second = timer.reload();
+
+        // テスト結果
+        assertThat(first, is(2));
+        assertThat(second, is(2));
+        assertThat(timer.size(), is(2));
+        assertThat(timer.awaitDue(5000), is(2));
+        assertThat(timer.awaitDue(100), is(0));
+        verify(tweetScheduleRepository, times(2)).selectUpcomingScheduledTweets(any(), any(), argThat(page -> page.getPageSize() == 3));
+    }
+
+    /**
+     * 定期スイープ
+     * ケース：正常系
+     * コンディション：保持範囲を読み直してから送信ジョブを起動する
+     */
+    @Test
+    void sweep_Success001() {
+
+        // モック設定
+        LocalDateTime due = LocalDateTime.now().plusSeconds(30);
+        when(tweetScheduleRepository.selectUpcomingScheduledTweets(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(new ScheduledTweetRecord(1, "q30387", "予約1", null, null, due, due, 0)));
+
+        // テスト実行
+        timer.sweep();
+
+        // テスト結果
+        assertThat(timer.size(), is(1));
+        verify(scheduledTaskExecutor, times(1)).executeScheduledTweetsPostingJob();
+    }
+
+    /**
+     * 定期スイープ
+     * ケース：正常系
+     * コンディション：タイマー無効時も送信ジョブを起動する（読み直しはしない）
+     */
+    @Test
+    void sweep_Success002() {
+
+        // テストデータ
+        ScheduledTweetTimer disabled = new ScheduledTweetTimer(tweetScheduleRepository, scheduledTaskExecutor, false, HORIZON_SECONDS, 60000, 3);
+
+        // テスト実行
+        disabled.sweep();
+
+        // テスト結果
+        verify(scheduledTaskExecutor, times(1)).executeScheduledTweetsPostingJob();
+        verifyNoInteractions(tweetScheduleRepository);
+    }
+}
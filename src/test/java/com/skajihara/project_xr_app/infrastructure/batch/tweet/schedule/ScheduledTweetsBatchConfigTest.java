@@ -21,6 +21,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -130,7 +131,7 @@ class ScheduledTweetsBatchConfigTest {
         tweetScheduleRepository.deleteAll();
         batchHistoryRepository.deleteAll();
 
-        // バッチ履歴登録（対象0件になるように latest_processed_id を大きく設定）
+        // バッチ履歴登録（対象0件になるように処理済み位置を現在日時・大きいIDに設定）
         BatchHistoryRecord history = new BatchHistoryRecord(
                 null,
                 "scheduledTweetsPostingJob",
@@ -138,7 +139,8 @@ class ScheduledTweetsBatchConfigTest {
                 0,
                 LocalDateTime.now().minusMinutes(10),
                 LocalDateTime.now().minusMinutes(9),
-                1
+                1,
+                LocalDateTime.now().withNano(0)
         );
         batchHistoryRepository.insert(history);
 
@@ -161,4 +163,160 @@ class ScheduledTweetsBatchConfigTest {
         assertThat(latest.getExecutionEnd(), is(notNullValue()));
     }
 
+    @Test
+    void scheduledTweetsPostingJob_success_multipleSchedules() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // テストデータセットアップ
+        // 予約日時の過ぎた予約ツイート3件と、未来の予約ツイート1件を登録
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int scheduleId1 = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "チャンク投稿1", null, null, now.minusMinutes(3), now, 0));
+        int scheduleId2 = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "チャンク投稿2", null, null, now.minusMinutes(2), now, 0));
+        int scheduleId3 = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "user_A", "チャンク投稿3", null, null, now.minusMinutes(1), now, 0));
+        int futureId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "未来の投稿", null, null, now.plusDays(1), now, 0));
+
+        // テスト実行
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // ジョブは正常終了したか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+        StepExecution step = jobExecution.getStepExecutions().iterator().next();
+        assertThat(step.getReadCount(), is(3L));
+        assertThat(step.getWriteCount(), is(3L));
+
+        // 予約日時の過ぎた予約ツイートだけ投稿・削除されたか？
+        assertThat(tweetRepository.findAll().stream().map(TweetRecord::getText).sorted().toList(),
+                is(List.of("チャンク投稿1", "チャンク投稿2", "チャンク投稿3")));
+        assertThat(tweetScheduleRepository.findAll().stream().filter(t -> t.getDeleteFlag() == 0).map(ScheduledTweetRecord::getId).toList(),
+                is(List.of(futureId)));
+
+        // バッチ履歴に処理件数と処理済み位置（最後の予約ツイートの予約日時, ID）が記録されたか？
+        BatchHistoryRecord latestHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(latestHistory.getSucceeded(), is(1));
+        assertThat(latestHistory.getProcessedNum(), is(3));
+        assertThat(latestHistory.getLatestProcessedDatetime(), is(now.minusMinutes(1)));
+        assertThat(latestHistory.getLatestProcessedId(), is(scheduleId3));
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_lateCommittedSchedule() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // テストデータセットアップ
+        // 1回目の実行で予約日時の過ぎた予約ツイートを1件投稿し、処理済み位置をその予約日時まで進める
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int postedId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "先にコミットされた予約", null, null, now.minusMinutes(1), now, 0));
+        JobExecution first = jobLauncherTestUtils.launchJob();
+        assertThat(first.getStatus(), is(BatchStatus.COMPLETED));
+        assertThat(batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob").getLatestProcessedId(), is(postedId));
+
+        // 処理済み位置より前の予約日時の予約ツイートが、1回目の実行後にコミットされたことを模擬する
+        int lateId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "後からコミットされた予約", null, null, now.minusMinutes(2), now, 0));
+
+        // テスト実行（2回目）
+        JobExecution second = jobLauncherTestUtils.launchJob();
+
+        // 処理済み位置より前の予約日時でも未送信の予約ツイートは投稿され、投稿済みの予約ツイートは再投稿されなかったか？
+        assertThat(second.getStatus(), is(BatchStatus.COMPLETED));
+        assertThat(tweetRepository.findAll().stream().map(TweetRecord::getText).sorted().toList(),
+                is(List.of("先にコミットされた予約", "後からコミットされた予約")));
+        assertThat(tweetScheduleRepository.findAll().stream().allMatch(t -> t.getDeleteFlag() == 1), is(true));
+
+        // 2回目のバッチ履歴には後からコミットされた予約ツイートの1件だけが記録されたか？
+        BatchHistoryRecord secondHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(secondHistory.getProcessedNum(), is(1));
+        assertThat(secondHistory.getLatestProcessedDatetime(), is(now.minusMinutes(2)));
+        assertThat(secondHistory.getLatestProcessedId(), is(lateId));
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_pastSchedule() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // テストデータセットアップ
+        // 前回の実行で処理済み位置が現在日時まで進んだ後に、10分前の予約日時で予約ツイートが登録されたことを模擬する
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        batchHistoryRepository.insert(new BatchHistoryRecord(null, "scheduledTweetsPostingJob", 999999, 0,
+                now.minusMinutes(1), now, 1, now));
+        int pastId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "過去日時の予約", null, null, now.minusMinutes(10), now, 0));
+
+        // テスト実行
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // 処理済み位置より前の予約日時の予約ツイートも投稿・削除されたか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+        assertThat(tweetRepository.findAll().stream().map(TweetRecord::getText).toList(), is(List.of("過去日時の予約")));
+        assertThat(tweetScheduleRepository.findAll().stream().filter(t -> t.getId() == pastId).findFirst().orElseThrow().getDeleteFlag(), is(1));
+
+        // バッチ履歴に投稿した予約ツイートの位置が記録されたか？
+        BatchHistoryRecord latestHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(latestHistory.getProcessedNum(), is(1));
+        assertThat(latestHistory.getLatestProcessedDatetime(), is(now.minusMinutes(10)));
+        assertThat(latestHistory.getLatestProcessedId(), is(pastId));
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_outOfOrderSchedules() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // テストデータセットアップ
+        // 先に登録した（IDが小さい）予約ほど予約日時が遅くなるように、1回目の実行では未来の予約500件と、予約日時の過ぎた予約500件を登録
+        int rows = 500;
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<ScheduledTweetRecord> late = tweetScheduleRepository.saveAll(IntStream.range(0, rows)
+                .mapToObj(i -> new ScheduledTweetRecord(null, "q30387", "後の予約" + i, null, null, now.plusDays(1), now, 0))
+                .toList());
+        tweetScheduleRepository.saveAll(IntStream.range(0, rows)
+                .mapToObj(i -> new ScheduledTweetRecord(null, "q30387", "先の予約" + i, null, null, now.minusMinutes(10).minusSeconds(i % 60), now, 0))
+                .toList());
+
+        // テスト実行（1回目）
+        JobExecution first = jobLauncherTestUtils.launchJob();
+
+        // 予約日時の過ぎた500件だけ投稿されたか？
+        assertThat(first.getStatus(), is(BatchStatus.COMPLETED));
+        assertThat(tweetRepository.findAll().size(), is(rows));
+        BatchHistoryRecord firstHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(firstHistory.getLatestProcessedDatetime(), is(now.minusMinutes(10)));
+
+        // 時間の経過を模擬して、IDの小さい予約の予約日時を1回目の処理済み位置より後の過去日時にする
+        for (int i = 0; i < late.size(); i++) {
+            late.get(i).setScheduledDatetime(now.minusMinutes(1).minusSeconds(i % 60));
+        }
+        tweetScheduleRepository.saveAll(late);
+
+        // テスト実行（2回目）
+        JobExecution second = jobLauncherTestUtils.launchJob();
+
+        // 処理済み位置のIDより小さいIDの予約も読み飛ばさず、全件が重複なく投稿されたか？
+        assertThat(second.getStatus(), is(BatchStatus.COMPLETED));
+        List<String> texts = tweetRepository.findAll().stream().map(TweetRecord::getText).toList();
+        assertThat(texts.size(), is(rows * 2));
+        assertThat(texts.stream().distinct().count(), is((long) rows * 2));
+        assertThat(tweetScheduleRepository.findAll().stream().allMatch(t -> t.getDeleteFlag() == 1), is(true));
+
+        // 処理済み位置が2回目の最後の予約ツイート（予約日時が最も遅い予約のうちIDが最大のもの）まで進んだか？
+        BatchHistoryRecord secondHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(secondHistory.getProcessedNum(), is(rows));
+        assertThat(secondHistory.getLatestProcessedDatetime(), is(now.minusMinutes(1)));
+        int lastIndex = (rows - 1) / 60 * 60;
+        assertThat(secondHistory.getLatestProcessedId(), is(late.get(lastIndex).getId()));
+    }
+
 }
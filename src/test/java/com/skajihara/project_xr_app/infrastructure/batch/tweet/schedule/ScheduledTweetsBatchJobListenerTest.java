@@ -2,14 +2,17 @@ package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
 
 import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
 import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -23,6 +26,12 @@ class ScheduledTweetsBatchJobListenerTest {
     @Mock
     private BatchHistoryRepository batchHistoryRepository;
 
+    @Mock
+    private ScheduledPostingMetrics scheduledPostingMetrics;
+
+    @Mock
+    private TweetScheduleRepository tweetScheduleRepository;
+
     @InjectMocks
     private ScheduledTweetsBatchJobListener listener;
 
@@ -38,15 +47,13 @@ class ScheduledTweetsBatchJobListenerTest {
         JobExecution jobExecution = new JobExecution(1L);
         BatchHistoryRecord latest = new BatchHistoryRecord(
                 100, "scheduledTweetsPostingJob", 300, 5,
-                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().minusSeconds(10), 1
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().minusSeconds(10), 1, LocalDateTime.of(2025, 4, 1, 10, 0)
         );
 
         // モック設定
         when(batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob"))
                 .thenReturn(latest);
-        when(batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob"))
-                .thenReturn(new BatchHistoryRecord(101, "scheduledTweetsPostingJob", 300, 0,
-                        LocalDateTime.now(), null, 0));
+        when(batchHistoryRepository.insert(any())).thenReturn(101);
 
         // テスト実行
         listener.beforeJob(jobExecution);
@@ -55,8 +62,9 @@ class ScheduledTweetsBatchJobListenerTest {
         assertThat(jobExecution.getExecutionContext().containsKey("batchHistoryId"), is(true));
         int batchHistoryId = jobExecution.getExecutionContext().getInt("batchHistoryId");
         assertThat(batchHistoryId, is(101));
-        verify(batchHistoryRepository, times(2)).selectLatestRecord("scheduledTweetsPostingJob");
-        verify(batchHistoryRepository, times(1)).insert(any());
+        verify(batchHistoryRepository, times(1)).selectLatestRecord("scheduledTweetsPostingJob");
+        verify(batchHistoryRepository, times(1)).insert(argThat(history -> history.getLatestProcessedId() == 300
+                && history.getLatestProcessedDatetime().equals(LocalDateTime.of(2025, 4, 1, 10, 0))));
     }
 
     /**
@@ -69,14 +77,10 @@ class ScheduledTweetsBatchJobListenerTest {
 
         // モックデータ
         JobExecution jobExecution = new JobExecution(1L);
-        BatchHistoryRecord inserted = new BatchHistoryRecord(
-                101, "scheduledTweetsPostingJob", 0, 0,
-                LocalDateTime.now(), null, 0
-        );
 
         // モック設定
         when(batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob")).thenReturn(null);
-        when(batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob")).thenReturn(inserted);
+        when(batchHistoryRepository.insert(any())).thenReturn(101);
 
         // テスト実行
         listener.beforeJob(jobExecution);
@@ -84,8 +88,39 @@ class ScheduledTweetsBatchJobListenerTest {
         // テスト結果
         int id = jobExecution.getExecutionContext().getInt("batchHistoryId");
         assertThat(id, is(101));
-        verify(batchHistoryRepository, times(2)).selectLatestRecord("scheduledTweetsPostingJob");
-        verify(batchHistoryRepository, times(1)).insert(any());
+        verify(batchHistoryRepository, times(1)).selectLatestRecord("scheduledTweetsPostingJob");
+        verify(batchHistoryRepository, times(1)).insert(argThat(history -> history.getLatestProcessedId() == 0
+                && history.getLatestProcessedDatetime().equals(BatchHistoryRecord.INITIAL_PROCESSED_DATETIME)));
+    }
+
+    /**
+     * 予約ツイートバッチ前処理
+     * ケース：正常系
+     * コンディション：処理済み位置より前の予約日時で未送信の予約ツイートあり（その予約日時まで処理済み位置を戻す）
+     */
+    @Test
+    void beforeJob_Success003() {
+
+        // モックデータ
+        JobExecution jobExecution = new JobExecution(1L);
+        LocalDateTime watermark = LocalDateTime.of(2025, 4, 1, 10, 0);
+        BatchHistoryRecord latest = new BatchHistoryRecord(
+                100, "scheduledTweetsPostingJob", 300, 5,
+                watermark, watermark.plusSeconds(10), 1, watermark
+        );
+
+        // モック設定
+        when(batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob")).thenReturn(latest);
+        when(tweetScheduleRepository.selectOldestUnpostedScheduledDatetime(watermark)).thenReturn(watermark.minusMinutes(10));
+        when(batchHistoryRepository.insert(any())).thenReturn(101);
+
+        // テスト実行
+        listener.beforeJob(jobExecution);
+
+        // テスト結果
+        verify(tweetScheduleRepository, times(1)).selectOldestUnpostedScheduledDatetime(watermark);
+        verify(batchHistoryRepository, times(1)).insert(argThat(history -> history.getLatestProcessedId() == 0
+                && history.getLatestProcessedDatetime().equals(watermark.minusMinutes(10))));
     }
 
     /**
@@ -119,6 +154,40 @@ class ScheduledTweetsBatchJobListenerTest {
         verify(batchHistoryRepository, times(1)).update(eq(101), any(BatchHistoryRecord.class));
     }
 
+    /**
+     * 予約ツイートバッチ後処理
+     * ケース：正常系
+     * コンディション：ステップの処理時間と投稿件数を記録し、並列送信のパーティションは記録しない
+     */
+    @Test
+    void afterJob_Success002() {
+
+        // モックデータ
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.setStatus(BatchStatus.COMPLETED);
+        jobExecution.getExecutionContext().putInt("batchHistoryId", 101);
+        LocalDateTime start = LocalDateTime.of(2025, 4, 1, 10, 0);
+        StepExecution managerStep = jobExecution.createStepExecution("scheduledTweetsPartitionedPostingStep");
+        managerStep.setStartTime(start);
+        managerStep.setEndTime(start.plusSeconds(2));
+        managerStep.setStatus(BatchStatus.COMPLETED);
+        managerStep.setWriteCount(500);
+        StepExecution workerStep = jobExecution.createStepExecution("scheduledTweetsPartitionedPostingStep:partition0");
+        workerStep.setStartTime(start);
+        workerStep.setEndTime(start.plusSeconds(1));
+
+        // モック設定
+        when(batchHistoryRepository.selectByPrimaryKey(101)).thenReturn(new BatchHistoryRecord(
+                101, "scheduledTweetsPostingJob", 300, 5, start, null, 0));
+
+        // テスト実行
+        listener.afterJob(jobExecution);
+
+        // テスト結果
+        verify(scheduledPostingMetrics, times(1)).recordStep(anyString(), anyString(), any(), anyLong());
+        verify(scheduledPostingMetrics).recordStep("scheduledTweetsPartitionedPostingStep", "COMPLETED", Duration.ofSeconds(2), 500L);
+    }
+
     /*
      * 予約ツイートバッチ後処理
      * ケース：異常系
@@ -0,0 +1,210 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.ScheduledPostingJdbcRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsClaimedPostingTasklet;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = {"app.tweet.schedule.posting-mode=claimed", "app.tweet.schedule.set-based.commit-rows=4"})
+@SpringBatchTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ScheduledTweetsClaimedBatchConfigTest {
+
+    private static final int NODES = 4;
+
+    // アプリからの登録（SCHEDULED_TWEETS_SEQ）と採番が重ならないID
+    private static final int ID_BASE = 1_000_000;
+
+    @Autowired
+    JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    ScheduledPostingJdbcRepository scheduledPostingJdbcRepository;
+
+    @Autowired
+    RecentTweetsCache recentTweetsCache;
+
+    @Autowired
+    AccountTimelineCache accountTimelineCache;
+
+    @Autowired
+    ScheduledPostingMetrics scheduledPostingMetrics;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("scheduledTweetsPostingJob")
+    private Job scheduledTweetsPostingJob;
+
+    @BeforeEach
+    void setup() {
+        jobLauncherTestUtils.setJob(scheduledTweetsPostingJob);
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_claimed() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // テストデータセットアップ
+        // 予約日時を過ぎた10件と、リース切れで停止したノードが確保したままの1件、
+        // 他ノードが確保中の1件、未来の予約ツイート1件を登録
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 10; i++) {
+            tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "確保投稿" + i, null, null, now.minusMinutes(1), now, 0));
+        }
+        int expiredId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "リース切れ", null, null, now.minusMinutes(10), now, 0));
+        int leasedId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "他ノードが確保中", null, null, now.minusMinutes(1), now, 0));
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "未来の投稿", null, null, now.plusDays(1), now, 0));
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET claimed_by = 'dead-node/1', lease_expires = ? WHERE id = ?", now.minusMinutes(5), expiredId);
+        jdbcTemplate.update("UPDATE SCHEDULED_TWEETS SET claimed_by = 'other-node/1', lease_expires = ? WHERE id = ?", now.plusMinutes(5), leasedId);
+
+        // テスト実行
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // ジョブは正常終了し、4件ずつ3回のトランザクションで11件処理したか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+        StepExecution step = jobExecution.getStepExecutions().iterator().next();
+        assertThat(step.getStepName(), is("scheduledTweetsClaimedPostingStep"));
+        assertThat(step.getWriteCount(), is(11L));
+        assertThat(step.getCommitCount(), is(3L));
+
+        // リース切れの予約は確保し直して投稿し、他ノードが確保中の予約と未来の予約は投稿していないか？
+        List<String> texts = tweetRepository.findAll().stream().map(TweetRecord::getText).toList();
+        assertThat(texts.size(), is(11));
+        assertThat(texts.stream().distinct().count(), is(11L));
+        assertThat(texts.contains("リース切れ"), is(true));
+        assertThat(texts.contains("他ノードが確保中"), is(false));
+        assertThat(texts.contains("未来の投稿"), is(false));
+        assertThat(jdbcTemplate.queryForObject("SELECT delete_flag FROM SCHEDULED_TWEETS WHERE id = ?", Integer.class, leasedId), is(0));
+
+        // バッチ履歴に処理件数が記録されたか？
+        BatchHistoryRecord latestHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(latestHistory.getSucceeded(), is(1));
+        assertThat(latestHistory.getProcessedNum(), is(11));
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_multiNode() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // テストデータセットアップ
+        // 予約日時を過ぎた予約ツイートを1000件登録
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int rows = 1000;
+        jdbcTemplate.update("INSERT INTO SCHEDULED_TWEETS (id, account_id, text, image, location, scheduled_datetime, created_datetime, delete_flag) " +
+                "SELECT ? + X, 'q30387', CONCAT('複数ノード投稿', X), NULL, NULL, ?, ?, 0 FROM SYSTEM_RANGE(1, ?)",
+                ID_BASE, now.minusMinutes(1), now, rows);
+        int batchHistoryId = batchHistoryRepository.insert(new BatchHistoryRecord(null, "scheduledTweetsPostingJob", 0, 0, now, null, 0));
+
+        // テスト実行
+        // ノードIDの異なる送信処理を同時に実行する（インメモリのH2は同一JVMの全接続で共有されるため、
+        // 各スレッドが別の接続から同じDBを奪い合い、別インスタンスから実行した場合と同じ競合が起きる）
+        ExecutorService executor = Executors.newFixedThreadPool(NODES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            String nodeId = "node-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return runNode(nodeId, batchHistoryId, now);
+            }));
+        }
+        start.countDown();
+        long written = 0;
+        for (Future<Long> result : results) {
+            written += result.get();
+        }
+        executor.shutdown();
+
+        // 全件が重複なく1回ずつ投稿されたか？
+        assertThat(written, is((long) rows));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TWEETS", Integer.class), is(rows));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT text) FROM TWEETS", Integer.class), is(rows));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SCHEDULED_TWEETS WHERE delete_flag = 0", Integer.class), is(0));
+        assertThat(batchHistoryRepository.selectByPrimaryKey(batchHistoryId).getProcessedNum(), is(rows));
+    }
+
+    /**
+     * 1ノード分の送信処理をステップと同じく1回の実行ごとに1トランザクションで繰り返す
+     *
+     * @return 送信件数
+     */
+    private long runNode(String nodeId, int batchHistoryId, LocalDateTime now) {
+        TransactionTemplate claimTransaction = new TransactionTemplate(transactionManager);
+        claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ScheduledTweetsClaimedPostingTasklet tasklet = new ScheduledTweetsClaimedPostingTasklet(scheduledPostingJdbcRepository,
+                batchHistoryRepository, recentTweetsCache, accountTimelineCache, scheduledPostingMetrics, claimTransaction, nodeId, 300, 50, now);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.getJobExecution().getExecutionContext().putInt("batchHistoryId", batchHistoryId);
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        TransactionTemplate stepTransaction = new TransactionTemplate(transactionManager);
+
+        long written = 0;
+        RepeatStatus status = RepeatStatus.CONTINUABLE;
+        while (status == RepeatStatus.CONTINUABLE) {
+            StepContribution contribution = stepExecution.createStepContribution();
+            status = stepTransaction.execute(tx -> tasklet.execute(contribution, chunkContext));
+            written += contribution.getWriteCount();
+        }
+        return written;
+    }
+}
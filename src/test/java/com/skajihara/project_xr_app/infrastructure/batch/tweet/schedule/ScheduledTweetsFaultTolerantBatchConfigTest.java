@@ -0,0 +1,114 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.ScheduledTweetDeadLetterJdbcRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.InvalidScheduledTweetException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = "app.tweet.schedule.chunk-size=3")
+@SpringBatchTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ScheduledTweetsFaultTolerantBatchConfigTest {
+
+    // ACCOUNTSに存在しないアカウントの予約ツイート（予約・ツイートのテーブルには外部キーがないため登録できてしまう）
+    private static final String MISSING_ACCOUNT_ID = "deleted_user";
+
+    @Autowired
+    JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("scheduledTweetsPostingJob")
+    private Job scheduledTweetsPostingJob;
+
+    @BeforeEach
+    void setup() {
+        jobLauncherTestUtils.setJob(scheduledTweetsPostingJob);
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_skipPoisonSchedule() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM SCHEDULED_TWEETS_DEAD_LETTER");
+
+        // テストデータセットアップ
+        // 3件ずつのチャンクの2つ目に投稿できない予約ツイートを含め、処理済み位置より後で最後の予約にもする
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 4; i++) {
+            tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "予約投稿" + i, null, null, now.minusMinutes(10 - i), now, 0));
+        }
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "予約投稿4", null, null, now.minusMinutes(3), now, 0));
+        int poisonId = tweetScheduleRepository.insert(new ScheduledTweetRecord(null, MISSING_ACCOUNT_ID, "投稿できない予約", null, null, now.minusMinutes(2), now, 0));
+
+        // テスト実行
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // ジョブは正常終了し、投稿できない1件だけを読み飛ばしたか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+        StepExecution step = jobExecution.getStepExecutions().iterator().next();
+        assertThat(step.getWriteCount(), is(5L));
+        assertThat(step.getProcessSkipCount(), is(1L));
+
+        // 残りの予約ツイートは投稿されたか？
+        List<String> texts = tweetRepository.findAll().stream().map(TweetRecord::getText).toList();
+        assertThat(texts, containsInAnyOrder("予約投稿0", "予約投稿1", "予約投稿2", "予約投稿3", "予約投稿4"));
+
+        // 読み飛ばした予約ツイートはデッドレターに移り、送信対象から外れたか？
+        assertThat(jdbcTemplate.queryForObject("SELECT delete_flag FROM SCHEDULED_TWEETS WHERE id = ?", Integer.class, poisonId),
+                is(ScheduledTweetDeadLetterJdbcRepository.DEAD_LETTER_FLAG));
+        assertThat(jdbcTemplate.queryForObject("SELECT error_class FROM SCHEDULED_TWEETS_DEAD_LETTER WHERE schedule_id = ?", String.class, poisonId),
+                is(InvalidScheduledTweetException.class.getName()));
+
+        // バッチ履歴に投稿した件数が記録されたか？
+        BatchHistoryRecord latestHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(latestHistory.getSucceeded(), is(1));
+        assertThat(latestHistory.getProcessedNum(), is(5));
+
+        // 次回の実行では読み飛ばした予約ツイートを再び処理しないか？
+        JobExecution nextExecution = jobLauncherTestUtils.launchJob();
+        assertThat(nextExecution.getStatus(), is(BatchStatus.COMPLETED));
+        StepExecution nextStep = nextExecution.getStepExecutions().iterator().next();
+        assertThat(nextStep.getReadCount(), is(0L));
+        assertThat(nextStep.getProcessSkipCount(), is(0L));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SCHEDULED_TWEETS_DEAD_LETTER", Integer.class), is(1));
+    }
+}
@@ -0,0 +1,109 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.ScheduledTweetsPartitioner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class ScheduledTweetsPartitionStepListenerTest {
+
+    private static final LocalDateTime LAST_DATETIME = LocalDateTime.of(2025, 6, 1, 11, 59);
+
+    @Mock
+    private BatchHistoryRepository batchHistoryRepository;
+
+    @InjectMocks
+    private ScheduledTweetsPartitionStepListener listener;
+
+    /**
+     * 並列送信ステップ後処理
+     * ケース：正常系
+     * コンディション：全パーティション成功時は分割時に決めた処理済み位置まで進める
+     */
+    @Test
+    void afterStep_Success001() {
+
+        // モックデータ
+        JobExecution jobExecution = createJobExecution(101);
+        StepExecution manager = jobExecution.createStepExecution("scheduledTweetsPartitionedPostingStep");
+        createWorker(jobExecution, "partition0", 120);
+        createWorker(jobExecution, "partition1", 140);
+        manager.setStatus(BatchStatus.COMPLETED);
+
+        // テスト実行
+        listener.afterStep(manager);
+
+        // テスト結果
+        verify(batchHistoryRepository, times(1)).addProgress(101, 0, LAST_DATETIME, 130);
+    }
+
+    /**
+     * 並列送信ステップ後処理
+     * ケース：異常系
+     * コンディション：失敗したパーティションがある場合は処理済み位置を進めない
+     */
+    @Test
+    void afterStep_Error001() {
+
+        // モックデータ
+        JobExecution jobExecution = createJobExecution(101);
+        StepExecution manager = jobExecution.createStepExecution("scheduledTweetsPartitionedPostingStep");
+        createWorker(jobExecution, "partition0", 120);
+        createWorker(jobExecution, "partition1", 140).setStatus(BatchStatus.FAILED);
+        manager.setStatus(BatchStatus.FAILED);
+
+        // テスト実行
+        listener.afterStep(manager);
+
+        // テスト結果
+        verify(batchHistoryRepository, never()).addProgress(anyInt(), anyInt(), any(), anyInt());
+    }
+
+    /**
+     * 並列送信ステップ後処理
+     * ケース：正常系
+     * コンディション：対象なしの場合は処理済み位置を進めない
+     */
+    @Test
+    void afterStep_Success002() {
+
+        // モックデータ
+        JobExecution jobExecution = createJobExecution(101);
+        StepExecution manager = jobExecution.createStepExecution("scheduledTweetsPartitionedPostingStep");
+        jobExecution.createStepExecution("scheduledTweetsPostingWorkerStep:partition0").setStatus(BatchStatus.COMPLETED);
+        manager.setStatus(BatchStatus.COMPLETED);
+
+        // テスト実行
+        listener.afterStep(manager);
+
+        // テスト結果
+        verify(batchHistoryRepository, never()).addProgress(anyInt(), anyInt(), any(), anyInt());
+    }
+
+    private JobExecution createJobExecution(int batchHistoryId) {
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.getExecutionContext().putInt("batchHistoryId", batchHistoryId);
+        return jobExecution;
+    }
+
+    private StepExecution createWorker(JobExecution jobExecution, String partition, int maxId) {
+        StepExecution worker = jobExecution.createStepExecution("scheduledTweetsPostingWorkerStep:" + partition);
+        worker.getExecutionContext().putInt(ScheduledTweetsPartitioner.MAX_ID, maxId);
+        // 処理済み位置は分割時に対象全体の最後の予約ツイートで決まるため、全パーティションで同じ値になる
+        worker.getExecutionContext().put(ScheduledTweetsPartitioner.LAST_DATETIME, LAST_DATETIME);
+        worker.getExecutionContext().putInt(ScheduledTweetsPartitioner.LAST_ID, 130);
+        worker.setStatus(BatchStatus.COMPLETED);
+        return worker;
+    }
+}
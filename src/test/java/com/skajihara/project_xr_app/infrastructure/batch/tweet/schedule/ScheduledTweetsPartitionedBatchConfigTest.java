@@ -0,0 +1,121 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = "app.tweet.schedule.posting-mode=partitioned")
+@SpringBatchTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ScheduledTweetsPartitionedBatchConfigTest {
+
+    @Autowired
+    JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    @Qualifier("scheduledTweetsPostingJob")
+    private Job scheduledTweetsPostingJob;
+
+    @BeforeEach
+    void setup() {
+        jobLauncherTestUtils.setJob(scheduledTweetsPostingJob);
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_partitioned() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // テストデータセットアップ
+        // 同じ時刻に予約された10件と、未来の予約ツイート1件を登録
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Integer> dueIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            dueIds.add(tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "並列投稿" + i, null, null, now.minusMinutes(1), now, 0)));
+        }
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "未来の投稿", null, null, now.plusDays(1), now, 0));
+
+        // テスト実行
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // ジョブは正常終了したか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+
+        // 分割したステップ（並列数=4）がすべて成功し、合計で10件処理したか？
+        List<StepExecution> workers = jobExecution.getStepExecutions().stream()
+                .filter(step -> step.getStepName().startsWith("scheduledTweetsPostingWorkerStep:"))
+                .toList();
+        assertThat(workers.size(), is(4));
+        assertThat(workers.stream().allMatch(step -> step.getStatus() == BatchStatus.COMPLETED), is(true));
+        assertThat(workers.stream().mapToLong(StepExecution::getWriteCount).sum(), is(10L));
+
+        // 予約日時の過ぎた予約ツイートだけが重複なく投稿されたか？
+        List<String> texts = tweetRepository.findAll().stream().map(TweetRecord::getText).toList();
+        assertThat(texts.size(), is(10));
+        assertThat(texts.stream().distinct().count(), is(10L));
+        assertThat(texts.contains("未来の投稿"), is(false));
+
+        // バッチ履歴に全パーティションの処理件数の合計と最大の処理済みIDが記録されたか？
+        BatchHistoryRecord latestHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(latestHistory.getSucceeded(), is(1));
+        assertThat(latestHistory.getProcessedNum(), is(10));
+        assertThat(latestHistory.getLatestProcessedId(), is(dueIds.get(dueIds.size() - 1)));
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_partitionedWhenNoTargetData() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // バッチ履歴登録（対象0件になるように latest_processed_id を大きく設定）
+        batchHistoryRepository.insert(new BatchHistoryRecord(null, "scheduledTweetsPostingJob", 999999, 0,
+                LocalDateTime.now().minusMinutes(10), LocalDateTime.now().minusMinutes(9), 1));
+
+        // テスト実行
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // ジョブは正常終了し、処理済みIDは変わっていないか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+        BatchHistoryRecord latest = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(latest.getSucceeded(), is(1));
+        assertThat(latest.getProcessedNum(), is(0));
+        assertThat(latest.getLatestProcessedId(), is(999999));
+    }
+}
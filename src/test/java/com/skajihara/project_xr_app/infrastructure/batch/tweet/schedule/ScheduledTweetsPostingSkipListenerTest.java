@@ -0,0 +1,105 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetPosting;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.ScheduledTweetDeadLetterJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step.InvalidScheduledTweetException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class ScheduledTweetsPostingSkipListenerTest {
+
+    @Mock
+    private ScheduledTweetDeadLetterJdbcRepository scheduledTweetDeadLetterJdbcRepository;
+
+    @Mock
+    private ScheduledPostingMetrics scheduledPostingMetrics;
+
+    @InjectMocks
+    private ScheduledTweetsPostingSkipListener listener;
+
+    /**
+     * 投稿時に読み飛ばした予約ツイートの処理
+     * ケース：正常系
+     * コンディション：予約ツイートをデッドレターに移し、件数を記録する
+     */
+    @Test
+    void onSkipInWrite_Success001() {
+
+        // モックデータ
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        ScheduledTweetPosting posting = new ScheduledTweetPosting(12, scheduled,
+                new TweetRecord(null, "q30387", "予約", null, 0, 0, 0, 0, scheduled, null, 0));
+        Exception error = new DataIntegrityViolationException("constraint violation");
+
+        // モック設定
+        when(scheduledTweetDeadLetterJdbcRepository.deadLetter(eq(12), eq(error), any())).thenReturn(true);
+
+        // テスト実行
+        listener.onSkipInWrite(posting, error);
+
+        // テスト結果
+        verify(scheduledTweetDeadLetterJdbcRepository, times(1)).deadLetter(eq(12), eq(error), any(LocalDateTime.class));
+        verify(scheduledPostingMetrics, times(1)).recordDeadLettered(error);
+    }
+
+    /**
+     * 投稿時に読み飛ばした予約ツイートの処理
+     * ケース：正常系
+     * コンディション：既に送信待ちでない（移動済み・キャンセル済み）場合は件数を記録しない
+     */
+    @Test
+    void onSkipInWrite_Success002() {
+
+        // モックデータ
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        ScheduledTweetPosting posting = new ScheduledTweetPosting(12, scheduled,
+                new TweetRecord(null, "q30387", "予約", null, 0, 0, 0, 0, scheduled, null, 0));
+        Exception error = new DataIntegrityViolationException("constraint violation");
+
+        // モック設定
+        when(scheduledTweetDeadLetterJdbcRepository.deadLetter(eq(12), eq(error), any())).thenReturn(false);
+
+        // テスト実行
+        listener.onSkipInWrite(posting, error);
+
+        // テスト結果
+        verify(scheduledPostingMetrics, never()).recordDeadLettered(any());
+    }
+
+    /**
+     * 変換時に読み飛ばした予約ツイートの処理
+     * ケース：正常系
+     * コンディション：投稿できない予約ツイートをデッドレターに移し、件数を記録する
+     */
+    @Test
+    void onSkipInProcess_Success001() {
+
+        // モックデータ
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        ScheduledTweetRecord scheduledTweet = new ScheduledTweetRecord(13, "deleted_user", "予約", null, null, scheduled, scheduled, 0);
+        Exception error = new InvalidScheduledTweetException("Account is not found with id: deleted_user");
+
+        // モック設定
+        when(scheduledTweetDeadLetterJdbcRepository.deadLetter(eq(13), eq(error), any())).thenReturn(true);
+
+        // テスト実行
+        listener.onSkipInProcess(scheduledTweet, error);
+
+        // テスト結果
+        verify(scheduledTweetDeadLetterJdbcRepository, times(1)).deadLetter(eq(13), eq(error), any(LocalDateTime.class));
+        verify(scheduledPostingMetrics, times(1)).recordDeadLettered(error);
+    }
+}
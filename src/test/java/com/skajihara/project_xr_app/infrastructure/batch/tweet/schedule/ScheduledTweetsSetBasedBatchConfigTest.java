@@ -0,0 +1,98 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule;
+
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = {"app.tweet.schedule.posting-mode=set-based", "app.tweet.schedule.set-based.commit-rows=4"})
+@SpringBatchTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ScheduledTweetsSetBasedBatchConfigTest {
+
+    @Autowired
+    JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    TweetRepository tweetRepository;
+
+    @Autowired
+    BatchHistoryRepository batchHistoryRepository;
+
+    @Autowired
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @Autowired
+    @Qualifier("scheduledTweetsPostingJob")
+    private Job scheduledTweetsPostingJob;
+
+    @BeforeEach
+    void setup() {
+        jobLauncherTestUtils.setJob(scheduledTweetsPostingJob);
+    }
+
+    @Test
+    void scheduledTweetsPostingJob_success_setBased() throws Exception {
+
+        // クリアデータ
+        tweetRepository.deleteAll();
+        tweetScheduleRepository.deleteAll();
+        batchHistoryRepository.deleteAll();
+
+        // テストデータセットアップ
+        // 予約日時を過ぎた10件と、未来の予約ツイート1件を登録
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Integer> dueIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            dueIds.add(tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "集合投稿" + i, null, null, now.minusMinutes(1), now, 0)));
+        }
+        tweetScheduleRepository.insert(new ScheduledTweetRecord(null, "q30387", "未来の投稿", null, null, now.plusDays(1), now, 0));
+
+        // テスト実行
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob();
+
+        // ジョブは正常終了し、4件ずつ3回のトランザクションで10件処理したか？
+        assertThat(jobExecution.getStatus(), is(BatchStatus.COMPLETED));
+        StepExecution step = jobExecution.getStepExecutions().iterator().next();
+        assertThat(step.getStepName(), is("scheduledTweetsSetBasedPostingStep"));
+        assertThat(step.getWriteCount(), is(10L));
+        assertThat(step.getCommitCount(), is(3L));
+
+        // 予約日時の過ぎた予約ツイートだけが重複なく投稿されたか？
+        List<String> texts = tweetRepository.findAll().stream().map(TweetRecord::getText).toList();
+        assertThat(texts.size(), is(10));
+        assertThat(texts.stream().distinct().count(), is(10L));
+        assertThat(texts.contains("未来の投稿"), is(false));
+
+        // 投稿後もアプリからのツイート登録で採番が重複しないか？
+        tweetRepository.insert(new TweetRecord(null, "q30387", "通常の投稿", null, 0, 0, 0, 0, now, null, 0));
+        assertThat(tweetRepository.findAll().size(), is(11));
+
+        // バッチ履歴に処理件数と最大の処理済みIDが記録されたか？
+        BatchHistoryRecord latestHistory = batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob");
+        assertThat(latestHistory.getSucceeded(), is(1));
+        assertThat(latestHistory.getProcessedNum(), is(10));
+        assertThat(latestHistory.getLatestProcessedId(), is(dueIds.get(dueIds.size() - 1)));
+    }
+}
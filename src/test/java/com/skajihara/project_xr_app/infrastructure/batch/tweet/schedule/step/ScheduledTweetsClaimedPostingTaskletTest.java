@@ -0,0 +1,172 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.DueSchedule;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.ScheduledPostingJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledPostingMetrics;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ScheduledTweetsClaimedPostingTaskletTest {
+
+    private static final int BATCH_HISTORY_ID = 7;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 4, 1, 10, 0);
+
+    ScheduledPostingJdbcRepository scheduledPostingJdbcRepository;
+    BatchHistoryRepository batchHistoryRepository;
+    RecentTweetsCache recentTweetsCache;
+    AccountTimelineCache accountTimelineCache;
+    ScheduledPostingMetrics scheduledPostingMetrics;
+    PlatformTransactionManager transactionManager;
+
+    StepExecution stepExecution;
+
+    @BeforeEach
+    void setUp() {
+        scheduledPostingJdbcRepository = mock(ScheduledPostingJdbcRepository.class);
+        batchHistoryRepository = mock(BatchHistoryRepository.class);
+        recentTweetsCache = mock(RecentTweetsCache.class);
+        accountTimelineCache = mock(AccountTimelineCache.class);
+        scheduledPostingMetrics = mock(ScheduledPostingMetrics.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.getJobExecution().getExecutionContext().putInt("batchHistoryId", BATCH_HISTORY_ID);
+    }
+
+    /**
+     * 予約ツイートの複数ノードでの送信処理
+     * ケース：正常系
+     * コンディション：確保できる予約がなくなるまで確保ごとに別の識別子で確保・送信し、送信件数をまとめて加算する
+     */
+    @Test
+    void execute_Success001() {
+
+        // モック設定
+        when(scheduledPostingJdbcRepository.claimDueSchedules(anyString(), eq(NOW), any(), any(), anyInt())).thenReturn(2, 2, 0);
+        when(scheduledPostingJdbcRepository.postClaimedSchedules(anyString(), any()))
+                .thenReturn(List.of(due(103, "user_B"), due(101, "user_A")))
+                .thenReturn(List.of(due(99, "user_A")));
+        StepContribution contribution = stepExecution.createStepContribution();
+
+        // テスト実行
+        RepeatStatus result = tasklet(10).execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(result, is(RepeatStatus.FINISHED));
+        assertThat(contribution.getWriteCount(), is(3L));
+        ArgumentCaptor<String> claimOwners = ArgumentCaptor.forClass(String.class);
+        verify(scheduledPostingJdbcRepository, times(3)).claimDueSchedules(claimOwners.capture(), eq(NOW), any(), any(), anyInt());
+        assertThat(claimOwners.getAllValues().get(0), startsWith("node-a/"));
+        assertThat(Set.copyOf(claimOwners.getAllValues()).size(), is(3));
+        ArgumentCaptor<String> postOwners = ArgumentCaptor.forClass(String.class);
+        verify(scheduledPostingJdbcRepository, times(2)).postClaimedSchedules(postOwners.capture(), any());
+        assertThat(postOwners.getAllValues(), is(claimOwners.getAllValues().subList(0, 2)));
+        // 確保は送信とは別のトランザクションでコミットする
+        verify(transactionManager, times(3)).commit(any());
+        verify(batchHistoryRepository).addProcessedNum(BATCH_HISTORY_ID, 3);
+        verify(recentTweetsCache).reloadAfterCommit();
+        verify(accountTimelineCache).invalidateAfterCommit(Set.of("user_A", "user_B"));
+        verify(scheduledPostingMetrics).recordDbTime(eq("claimed"), anyLong(), eq(3));
+        verify(scheduledPostingMetrics).recordPosted(eq("claimed"), any(), argThat(datetimes -> datetimes.size() == 3));
+    }
+
+    /**
+     * 予約ツイートの複数ノードでの送信処理
+     * ケース：正常系
+     * コンディション：1トランザクションの上限件数に達した場合は続きを次のトランザクションで処理する
+     */
+    @Test
+    void execute_Success002() {
+
+        // モック設定
+        when(scheduledPostingJdbcRepository.claimDueSchedules(anyString(), eq(NOW), any(), any(), eq(2))).thenReturn(2);
+        when(scheduledPostingJdbcRepository.postClaimedSchedules(anyString(), any()))
+                .thenReturn(List.of(due(1, "user_A"), due(2, "user_A")));
+
+        // テスト実行
+        RepeatStatus result = tasklet(2).execute(stepExecution.createStepContribution(),
+                new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(result, is(RepeatStatus.CONTINUABLE));
+        verify(scheduledPostingJdbcRepository, times(1)).claimDueSchedules(anyString(), any(), any(), any(), anyInt());
+        verify(batchHistoryRepository).addProcessedNum(BATCH_HISTORY_ID, 2);
+    }
+
+    /**
+     * 予約ツイートの複数ノードでの送信処理
+     * ケース：正常系
+     * コンディション：確保できる予約がない場合は送信せず、バッチ履歴とキャッシュを更新しない
+     */
+    @Test
+    void execute_Success003() {
+
+        // モック設定
+        when(scheduledPostingJdbcRepository.claimDueSchedules(anyString(), any(), any(), any(), anyInt())).thenReturn(0);
+
+        // テスト実行
+        RepeatStatus result = tasklet(10).execute(stepExecution.createStepContribution(),
+                new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(result, is(RepeatStatus.FINISHED));
+        verify(scheduledPostingJdbcRepository, never()).postClaimedSchedules(anyString(), any());
+        verifyNoInteractions(batchHistoryRepository, recentTweetsCache, accountTimelineCache, scheduledPostingMetrics);
+    }
+
+    /**
+     * 予約ツイートの複数ノードでの送信処理
+     * ケース：異常系
+     * コンディション：ExecutionContextにbatchHistoryIdがない
+     */
+    @Test
+    void execute_Error001() {
+
+        // モック設定
+        stepExecution.getJobExecution().getExecutionContext().remove("batchHistoryId");
+
+        // テスト実行・テスト結果
+        Exception exception = assertThrows(IllegalStateException.class, () ->
+                tasklet(10).execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)))
+        );
+        assertThat(exception.getMessage(), containsString("history id does not exist"));
+        verifyNoInteractions(scheduledPostingJdbcRepository);
+    }
+
+    private ScheduledTweetsClaimedPostingTasklet tasklet(int commitRows) {
+        return new ScheduledTweetsClaimedPostingTasklet(scheduledPostingJdbcRepository, batchHistoryRepository,
+                recentTweetsCache, accountTimelineCache, scheduledPostingMetrics, new TransactionTemplate(transactionManager),
+                "node-a", 300, commitRows, NOW);
+    }
+
+    private static DueSchedule due(int id, String accountId) {
+        return new DueSchedule(id, accountId, NOW.minusMinutes(1));
+    }
+}
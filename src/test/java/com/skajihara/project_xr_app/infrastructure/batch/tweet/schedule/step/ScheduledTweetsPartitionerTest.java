@@ -0,0 +1,105 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetIdRange;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+class ScheduledTweetsPartitionerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+    private static final LocalDateTime PROCESSED = NOW.minusMinutes(10);
+
+    TweetScheduleRepository tweetScheduleRepository;
+
+    @BeforeEach
+    void setUp() {
+        tweetScheduleRepository = mock(TweetScheduleRepository.class);
+    }
+
+    /**
+     * 予約ツイートの分割
+     * ケース：正常系
+     * コンディション：IDの範囲を分割数で等分する（端数は最後のパーティションで調整）
+     */
+    @Test
+    void partition_Success001() {
+
+        // モック設定
+        when(tweetScheduleRepository.selectDueIdRange(PROCESSED, 100, NOW)).thenReturn(new ScheduledTweetIdRange(101, 110));
+        when(tweetScheduleRepository.selectLastDueScheduledTweet(PROCESSED, 100, NOW))
+                .thenReturn(new ScheduledTweetRecord(107, "q30387", "最後", null, null, NOW.minusSeconds(1), NOW, 0));
+
+        // テスト実行
+        Map<String, ExecutionContext> result = new ScheduledTweetsPartitioner(tweetScheduleRepository, PROCESSED, 100, NOW).partition(3);
+
+        // テスト結果
+        assertThat(List.copyOf(result.keySet()), is(List.of("partition0", "partition1", "partition2")));
+        assertRange(result.get("partition0"), 101, 104);
+        assertRange(result.get("partition1"), 105, 108);
+        assertRange(result.get("partition2"), 109, 110);
+        // 全パーティションに分割時の処理済み位置と、成功後に進める処理済み位置（予約日時, IDの順で最後の予約）を渡す
+        for (ExecutionContext context : result.values()) {
+            assertThat(context.get(ScheduledTweetsPartitioner.NOW), is(NOW));
+            assertThat(context.get(ScheduledTweetsPartitioner.AFTER_DATETIME), is(PROCESSED));
+            assertThat(context.getInt(ScheduledTweetsPartitioner.AFTER_ID), is(100));
+            assertThat(context.get(ScheduledTweetsPartitioner.LAST_DATETIME), is(NOW.minusSeconds(1)));
+            assertThat(context.getInt(ScheduledTweetsPartitioner.LAST_ID), is(107));
+        }
+    }
+
+    /**
+     * 予約ツイートの分割
+     * ケース：正常系
+     * コンディション：対象件数が分割数より少ない場合はIDごとに分割する
+     */
+    @Test
+    void partition_Success002() {
+
+        // モック設定
+        when(tweetScheduleRepository.selectDueIdRange(PROCESSED, 0, NOW)).thenReturn(new ScheduledTweetIdRange(5, 6));
+
+        // テスト実行
+        Map<String, ExecutionContext> result = new ScheduledTweetsPartitioner(tweetScheduleRepository, PROCESSED, 0, NOW).partition(4);
+
+        // テスト結果
+        assertThat(result.size(), is(2));
+        assertRange(result.get("partition0"), 5, 5);
+        assertRange(result.get("partition1"), 6, 6);
+    }
+
+    /**
+     * 予約ツイートの分割
+     * ケース：正常系
+     * コンディション：対象なしの場合は空の範囲を1つだけ返す
+     */
+    @Test
+    void partition_Success003() {
+
+        // モック設定
+        when(tweetScheduleRepository.selectDueIdRange(PROCESSED, 100, NOW)).thenReturn(new ScheduledTweetIdRange(null, null));
+
+        // テスト実行
+        Map<String, ExecutionContext> result = new ScheduledTweetsPartitioner(tweetScheduleRepository, PROCESSED, 100, NOW).partition(4);
+
+        // テスト結果
+        assertThat(result.size(), is(1));
+        assertRange(result.get("partition0"), 101, 100);
+        assertThat(result.get("partition0").containsKey(ScheduledTweetsPartitioner.LAST_ID), is(false));
+    }
+
+    private void assertRange(ExecutionContext context, int minId, int maxId) {
+        assertThat(context.getInt(ScheduledTweetsPartitioner.MIN_ID), is(minId));
+        assertThat(context.getInt(ScheduledTweetsPartitioner.MAX_ID), is(maxId));
+    }
+}
@@ -61,14 +61,8 @@ class ScheduledTweetsPostingTaskletTest {
                 null, "scheduledTweetsPostingJob", 0, 0,
                 now, now.plusMinutes(1), 0
         );
-        batchHistoryRepository.insert(record);
-
-        // step2：insertしたバッチ履歴を取得しなおす
-        BatchHistoryRecord inserted = batchHistoryRepository.selectByPrimaryKey(
-                // 確実にstep1で登録したバッチ履歴IDを取得するため
-                batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob").getId()
-        );
-        int historyId = inserted.getId();
+        // step2：採番されたバッチ履歴IDを受け取る
+        int historyId = batchHistoryRepository.insert(record);
 
         // step3：ExecutionContextにバッチ履歴IDをセット
         StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
@@ -85,12 +79,8 @@ class ScheduledTweetsPostingTaskletTest {
                 LocalDateTime.now(),
                 0
         );
-        tweetScheduleRepository.insert(scheduled);
-
-        // step5：登録した予約ツイートのIDを取得
-        int scheduleId = tweetScheduleRepository.selectScheduledTweetsByAccountId("q30387").stream()
-                .filter(t -> t.getText().equals("これはテスト投稿です！"))
-                .findFirst().orElseThrow().getId();
+        // step5：採番された予約ツイートIDを受け取る
+        int scheduleId = tweetScheduleRepository.insert(scheduled);
 
         // step6：テスト実行（処理対象は1件）
         tasklet.execute(null, new ChunkContext(new StepContext(stepExecution)));
@@ -138,14 +128,8 @@ class ScheduledTweetsPostingTaskletTest {
                 now.minusMinutes(1),
                 0
         );
-        batchHistoryRepository.insert(record);
-
-        // step2：insertしたバッチ履歴を取得しなおす
-        BatchHistoryRecord inserted = batchHistoryRepository.selectByPrimaryKey(
-                // 確実にstep1で登録したバッチ履歴IDを取得するため
-                batchHistoryRepository.selectLatestRecord("scheduledTweetsPostingJob").getId()
-        );
-        int historyId = inserted.getId();
+        // step2：採番されたバッチ履歴IDを受け取る
+        int historyId = batchHistoryRepository.insert(record);
 
         // step3：ExecutionContextにバッチ履歴IDをセット
         StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
@@ -0,0 +1,218 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.ScheduledTweetPosting;
+import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.AccountRepository;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledPostingMetrics;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class ScheduledTweetsPostingWriterTest {
+
+    private static final int BATCH_HISTORY_ID = 7;
+
+    BatchHistoryRepository batchHistoryRepository;
+    TweetScheduleRepository tweetScheduleRepository;
+    TweetRepository tweetRepository;
+    RecentTweetsCache recentTweetsCache;
+    AccountTimelineCache accountTimelineCache;
+    ScheduledPostingMetrics scheduledPostingMetrics;
+    AccountRepository accountRepository;
+
+    ScheduledTweetsPostingWriter writer;
+    ScheduledTweetsPostingProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        batchHistoryRepository = mock(BatchHistoryRepository.class);
+        tweetScheduleRepository = mock(TweetScheduleRepository.class);
+        tweetRepository = mock(TweetRepository.class);
+        recentTweetsCache = mock(RecentTweetsCache.class);
+        accountTimelineCache = mock(AccountTimelineCache.class);
+        scheduledPostingMetrics = mock(ScheduledPostingMetrics.class);
+        accountRepository = mock(AccountRepository.class);
+        writer = new ScheduledTweetsPostingWriter(batchHistoryRepository, tweetScheduleRepository, tweetRepository,
+                recentTweetsCache, accountTimelineCache, scheduledPostingMetrics, BATCH_HISTORY_ID, true);
+        processor = new ScheduledTweetsPostingProcessor(accountRepository);
+        when(accountRepository.selectValidAccountIds(anyCollection())).thenReturn(List.of("q30387", "rainbow_engine"));
+    }
+
+    /**
+     * 予約ツイート投稿処理
+     * ケース：正常系
+     * コンディション：チャンク内の予約ツイートをまとめて投稿し、進捗を加算する
+     */
+    @Test
+    void write_Success001() throws Exception {
+
+        // テストデータ
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        // リーダーと同じく予約日時, IDの順に並べる（IDの大小と予約日時の順序は一致しない）
+        Chunk<ScheduledTweetPosting> chunk = new Chunk<>(
+                processor.process(new ScheduledTweetRecord(12, "q30387", "予約1", null, "東京", scheduled.minusMinutes(1), scheduled, 0)),
+                processor.process(new ScheduledTweetRecord(10, "q30387", "予約2", "/img/a.jpg", null, scheduled, scheduled, 0)),
+                processor.process(new ScheduledTweetRecord(11, "rainbow_engine", "予約3", null, null, scheduled, scheduled, 0)));
+
+        // テスト実行
+        writer.write(chunk);
+
+        // テスト結果
+        verify(tweetRepository).insertAll(argThat((List<TweetRecord> tweets) -> tweets.size() == 3
+                && tweets.get(0).getId() == null
+                && tweets.get(0).getText().equals("予約1")
+                && tweets.get(0).getLocation().equals("東京")
+                && tweets.get(1).getImage().equals("/img/a.jpg")
+                && tweets.get(2).getAccountId().equals("rainbow_engine")));
+        verify(tweetScheduleRepository).deleteByIds(List.of(12, 10, 11));
+        verify(batchHistoryRepository).addProgress(BATCH_HISTORY_ID, 3, scheduled, 11);
+        verify(recentTweetsCache).reloadAfterCommit();
+        verify(accountTimelineCache).invalidateAfterCommit(Set.of("q30387", "rainbow_engine"));
+        verify(scheduledPostingMetrics).recordDbTime(eq("chunk"), anyLong(), eq(3));
+        verify(scheduledPostingMetrics).recordPosted(eq("chunk"), any(), eq(List.of(scheduled.minusMinutes(1), scheduled, scheduled)));
+    }
+
+    /**
+     * 予約ツイート投稿処理
+     * ケース：正常系
+     * コンディション：空のチャンクは何もしない
+     */
+    @Test
+    void write_Success002() throws Exception {
+
+        // テスト実行
+        writer.write(new Chunk<>());
+
+        // テスト結果
+        verify(tweetRepository, never()).insertAll(anyList());
+        verify(tweetScheduleRepository, never()).deleteByIds(anyList());
+        verify(batchHistoryRepository, never()).addProgress(anyInt(), anyInt(), any(), anyInt());
+        verifyNoInteractions(recentTweetsCache, accountTimelineCache, scheduledPostingMetrics);
+    }
+
+    /**
+     * 予約ツイート投稿処理
+     * ケース：正常系
+     * コンディション：並列送信時は処理件数だけを加算し、処理済み位置は進めない
+     */
+    @Test
+    void write_Success003() throws Exception {
+
+        // テストデータ
+        ScheduledTweetsPostingWriter partitionWriter = new ScheduledTweetsPostingWriter(batchHistoryRepository, tweetScheduleRepository,
+                tweetRepository, recentTweetsCache, accountTimelineCache, scheduledPostingMetrics, BATCH_HISTORY_ID, false);
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        Chunk<ScheduledTweetPosting> chunk = new Chunk<>(
+                processor.process(new ScheduledTweetRecord(20, "q30387", "予約", null, null, scheduled, scheduled, 0)));
+
+        // テスト実行
+        partitionWriter.write(chunk);
+
+        // テスト結果
+        verify(batchHistoryRepository).addProcessedNum(BATCH_HISTORY_ID, 1);
+        verify(batchHistoryRepository, never()).addProgress(anyInt(), anyInt(), any(), anyInt());
+    }
+
+    /**
+     * 予約ツイートの変換処理
+     * ケース：正常系
+     * コンディション：予約内容を引き継ぎ、エンゲージメントは0、IDは未採番
+     */
+    @Test
+    void process_Success001() {
+
+        // テストデータ
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        ScheduledTweetRecord schedule = new ScheduledTweetRecord(5, "q30387", "予約", "/img/a.jpg", "東京", scheduled, scheduled, 0);
+
+        // テスト実行
+        ScheduledTweetPosting result = processor.process(schedule);
+
+        // テスト結果
+        assertThat(result.scheduleId(), is(5));
+        assertThat(result.scheduledDatetime(), is(scheduled));
+        assertThat(result.tweet().getId(), is(nullValue()));
+        assertThat(result.tweet().getAccountId(), is("q30387"));
+        assertThat(result.tweet().getText(), is("予約"));
+        assertThat(result.tweet().getImage(), is("/img/a.jpg"));
+        assertThat(result.tweet().getLocation(), is("東京"));
+        assertThat(result.tweet().getLikes(), is(0));
+        assertThat(result.tweet().getDeleteFlag(), is(0));
+    }
+
+    /**
+     * 予約ツイートの変換処理
+     * ケース：正常系
+     * コンディション：チャンクで読み込んだ予約ツイートのアカウントは、最初の1件の変換時にまとめて1回だけ確認する
+     */
+    @Test
+    void process_Success002() {
+
+        // テストデータ
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        List<ScheduledTweetRecord> schedules = List.of(
+                new ScheduledTweetRecord(1, "q30387", "予約1", null, null, scheduled, scheduled, 0),
+                new ScheduledTweetRecord(2, "rainbow_engine", "予約2", null, null, scheduled, scheduled, 0),
+                new ScheduledTweetRecord(3, "q30387", "予約3", null, null, scheduled, scheduled, 0));
+
+        // テスト実行
+        processor.beforeChunk(null);
+        schedules.forEach(processor::afterRead);
+        List<ScheduledTweetPosting> result = schedules.stream().map(processor::process).toList();
+
+        // テスト結果
+        assertThat(result.size(), is(3));
+        verify(accountRepository, times(1)).selectValidAccountIds(Set.of("q30387", "rainbow_engine"));
+    }
+
+    /**
+     * 予約ツイートの変換処理
+     * ケース：異常系
+     * コンディション：投稿先のアカウントが存在しない
+     */
+    @Test
+    void process_Error001() {
+
+        // テストデータ
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        ScheduledTweetRecord schedule = new ScheduledTweetRecord(5, "deleted_user", "予約", null, null, scheduled, scheduled, 0);
+
+        // テスト実行・テスト結果
+        Exception exception = assertThrows(InvalidScheduledTweetException.class, () -> processor.process(schedule));
+        assertThat(exception.getMessage(), is("Account is not found with id: deleted_user"));
+    }
+
+    /**
+     * 予約ツイートの変換処理
+     * ケース：異常系
+     * コンディション：本文がツイートの最大文字数を超える
+     */
+    @Test
+    void process_Error002() {
+
+        // テストデータ
+        LocalDateTime scheduled = LocalDateTime.now().minusMinutes(1).withNano(0);
+        String text = "あ".repeat(ScheduledTweetsPostingProcessor.MAX_TEXT_LENGTH + 1);
+        ScheduledTweetRecord schedule = new ScheduledTweetRecord(5, "q30387", text, null, null, scheduled, scheduled, 0);
+
+        // テスト実行・テスト結果
+        Exception exception = assertThrows(InvalidScheduledTweetException.class, () -> processor.process(schedule));
+        assertThat(exception.getMessage(), is("Text exceeds 200 characters."));
+    }
+}
@@ -0,0 +1,182 @@
+package com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.step;
+
+import com.skajihara.project_xr_app.domain.entity.PostedScheduleWindow;
+import com.skajihara.project_xr_app.domain.entity.record.BatchHistoryRecord;
+import com.skajihara.project_xr_app.domain.repository.BatchHistoryRepository;
+import com.skajihara.project_xr_app.domain.repository.ScheduledPostingJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledPostingMetrics;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ScheduledTweetsSetBasedPostingTaskletTest {
+
+    private static final int BATCH_HISTORY_ID = 7;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 4, 1, 10, 0);
+    private static final LocalDateTime PROCESSED = NOW.minusMinutes(10);
+
+    ScheduledPostingJdbcRepository scheduledPostingJdbcRepository;
+    BatchHistoryRepository batchHistoryRepository;
+    RecentTweetsCache recentTweetsCache;
+    AccountTimelineCache accountTimelineCache;
+    ScheduledPostingMetrics scheduledPostingMetrics;
+
+    StepExecution stepExecution;
+
+    @BeforeEach
+    void setUp() {
+        scheduledPostingJdbcRepository = mock(ScheduledPostingJdbcRepository.class);
+        batchHistoryRepository = mock(BatchHistoryRepository.class);
+        recentTweetsCache = mock(RecentTweetsCache.class);
+        accountTimelineCache = mock(AccountTimelineCache.class);
+        scheduledPostingMetrics = mock(ScheduledPostingMetrics.class);
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.getJobExecution().getExecutionContext().putInt("batchHistoryId", BATCH_HISTORY_ID);
+    }
+
+    /**
+     * 予約ツイートの集合的な送信処理
+     * ケース：正常系
+     * コンディション：処理済み位置から上限件数までの範囲を1回で送信し、進捗と範囲の終端（予約日時, ID）を加算する
+     */
+    @Test
+    void execute_Success001() {
+
+        // モック設定
+        when(batchHistoryRepository.selectByPrimaryKey(BATCH_HISTORY_ID)).thenReturn(history(100));
+        List<LocalDateTime> scheduledDatetimes = List.of(NOW.minusMinutes(3), NOW.minusMinutes(2), NOW.minusMinutes(1));
+        when(scheduledPostingJdbcRepository.postDueWindow(eq(PROCESSED), eq(100), eq(NOW), eq(10), any()))
+                .thenReturn(new PostedScheduleWindow(3, NOW.minusMinutes(1), 99, false, Set.of("user_A", "user_B"), scheduledDatetimes));
+        StepContribution contribution = stepExecution.createStepContribution();
+
+        // テスト実行
+        RepeatStatus result = tasklet(10).execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(result, is(RepeatStatus.FINISHED));
+        assertThat(contribution.getWriteCount(), is(3L));
+        verify(scheduledPostingJdbcRepository, times(1)).postDueWindow(any(), anyInt(), any(), anyInt(), any());
+        verify(batchHistoryRepository).addProgress(BATCH_HISTORY_ID, 3, NOW.minusMinutes(1), 99);
+        verify(recentTweetsCache).reloadAfterCommit();
+        verify(accountTimelineCache).invalidateAfterCommit(Set.of("user_A", "user_B"));
+        verify(scheduledPostingMetrics).recordDbTime(eq("set-based"), anyLong(), eq(3));
+        verify(scheduledPostingMetrics).recordPosted(eq("set-based"), any(), eq(scheduledDatetimes));
+    }
+
+    /**
+     * 予約ツイートの集合的な送信処理
+     * ケース：正常系
+     * コンディション：範囲が上限件数で区切られた場合は続きを次のトランザクションで処理する
+     */
+    @Test
+    void execute_Success002() {
+
+        // モック設定
+        when(batchHistoryRepository.selectByPrimaryKey(BATCH_HISTORY_ID)).thenReturn(history(0));
+        when(scheduledPostingJdbcRepository.postDueWindow(eq(PROCESSED), eq(0), eq(NOW), eq(2), any()))
+                .thenReturn(new PostedScheduleWindow(2, NOW.minusMinutes(1), 2, true, Set.of("user_A"),
+                        List.of(NOW.minusMinutes(1), NOW.minusMinutes(1))));
+
+        // テスト実行
+        RepeatStatus result = tasklet(2).execute(stepExecution.createStepContribution(),
+                new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(result, is(RepeatStatus.CONTINUABLE));
+        verify(batchHistoryRepository).addProgress(BATCH_HISTORY_ID, 2, NOW.minusMinutes(1), 2);
+    }
+
+    /**
+     * 予約ツイートの集合的な送信処理
+     * ケース：正常系
+     * コンディション：対象なしの場合はバッチ履歴とキャッシュを更新しない
+     */
+    @Test
+    void execute_Success003() {
+
+        // モック設定
+        when(batchHistoryRepository.selectByPrimaryKey(BATCH_HISTORY_ID)).thenReturn(history(100));
+        when(scheduledPostingJdbcRepository.postDueWindow(any(), anyInt(), any(), anyInt(), any())).thenReturn(null);
+
+        // テスト実行
+        RepeatStatus result = tasklet(10).execute(stepExecution.createStepContribution(),
+                new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(result, is(RepeatStatus.FINISHED));
+        verify(batchHistoryRepository, never()).addProgress(anyInt(), anyInt(), any(), anyInt());
+        verifyNoInteractions(recentTweetsCache, accountTimelineCache, scheduledPostingMetrics);
+    }
+
+    /**
+     * 予約ツイートの集合的な送信処理
+     * ケース：正常系
+     * コンディション：範囲内がすべてキャンセル済みの場合は、キャッシュを更新せずに処理済み位置だけを進める
+     */
+    @Test
+    void execute_Success004() {
+
+        // モック設定
+        when(batchHistoryRepository.selectByPrimaryKey(BATCH_HISTORY_ID)).thenReturn(history(100));
+        when(scheduledPostingJdbcRepository.postDueWindow(any(), anyInt(), any(), anyInt(), any()))
+                .thenReturn(new PostedScheduleWindow(0, NOW.minusMinutes(1), 105, false, Set.of(), List.of()));
+
+        // テスト実行
+        RepeatStatus result = tasklet(10).execute(stepExecution.createStepContribution(),
+                new ChunkContext(new StepContext(stepExecution)));
+
+        // テスト結果
+        assertThat(result, is(RepeatStatus.FINISHED));
+        verify(batchHistoryRepository).addProgress(BATCH_HISTORY_ID, 0, NOW.minusMinutes(1), 105);
+        verifyNoInteractions(recentTweetsCache, accountTimelineCache, scheduledPostingMetrics);
+    }
+
+    /**
+     * 予約ツイートの集合的な送信処理
+     * ケース：異常系
+     * コンディション：存在しないbatchHistoryIdを指定
+     */
+    @Test
+    void execute_Error001() {
+
+        // モック設定
+        when(batchHistoryRepository.selectByPrimaryKey(BATCH_HISTORY_ID)).thenReturn(null);
+
+        // テスト実行・テスト結果
+        Exception exception = assertThrows(IllegalStateException.class, () ->
+                tasklet(10).execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)))
+        );
+        assertThat(exception.getMessage(), containsString("batch history does not exist"));
+        verifyNoInteractions(scheduledPostingJdbcRepository);
+    }
+
+    private ScheduledTweetsSetBasedPostingTasklet tasklet(int commitRows) {
+        return new ScheduledTweetsSetBasedPostingTasklet(scheduledPostingJdbcRepository, batchHistoryRepository,
+                recentTweetsCache, accountTimelineCache, scheduledPostingMetrics, commitRows, NOW);
+    }
+
+    private static BatchHistoryRecord history(int latestProcessedId) {
+        return new BatchHistoryRecord(BATCH_HISTORY_ID, "scheduledTweetsPostingJob", latestProcessedId, 0, NOW, null, 0, PROCESSED);
+    }
+}
@@ -0,0 +1,196 @@
+package com.skajihara.project_xr_app.infrastructure.cache;
+
+import com.skajihara.project_xr_app.domain.entity.TweetEngagementDelta;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+class AccountTimelineCacheTest {
+
+    private static final int PER_ACCOUNT = 5;
+
+    private static final int MAX_ENTRIES = 10;
+
+    TweetRepository tweetRepository;
+
+    AccountTimelineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        tweetRepository = mock(TweetRepository.class);
+        cache = new AccountTimelineCache(tweetRepository, PER_ACCOUNT, MAX_ENTRIES, false);
+        when(tweetRepository.selectRecentTweetsByAccountId(anyString(), eq(PER_ACCOUNT)))
+                .thenAnswer(invocation -> createTweets(invocation.getArgument(0), PER_ACCOUNT));
+    }
+
+    /**
+     * キャッシュ取得
+     * ケース：正常系
+     * コンディション：2回目以降はキャッシュヒット
+     */
+    @Test
+    void get_Success001() {
+
+        // テスト実行
+        List<TweetRecord> first = cache.get("user_A", 3);
+        List<TweetRecord> second = cache.get("user_A", PER_ACCOUNT);
+
+        // テスト結果
+        assertThat(first.size(), is(3));
+        assertThat(second.size(), is(PER_ACCOUNT));
+        verify(tweetRepository, times(1)).selectRecentTweetsByAccountId("user_A", PER_ACCOUNT);
+        assertThat(cache.stats().hits(), is(1L));
+        assertThat(cache.stats().misses(), is(1L));
+    }
+
+    /**
+     * キャッシュ取得
+     * ケース：正常系
+     * コンディション：アカウント毎の保持件数を超える件数指定はDBから取得
+     */
+    @Test
+    void get_Success002() {
+
+        // テスト実行
+        cache.get("user_A", PER_ACCOUNT + 1);
+
+        // テスト結果
+        verify(tweetRepository, times(1)).selectRecentTweetsByAccountId("user_A", PER_ACCOUNT + 1);
+        assertThat(cache.stats().accounts(), is(0));
+    }
+
+    /**
+     * キャッシュ取得
+     * ケース：正常系
+     * コンディション：保持件数上限超過時は最も長く参照されていないアカウントを破棄
+     */
+    @Test
+    void get_Success003() {
+
+        // テスト実行（上限10件に対して5件ずつ3アカウント）
+        cache.get("user_A", 1);
+        cache.get("user_B", 1);
+        cache.get("user_A", 1);
+        cache.get("user_C", 1);
+
+        // テスト結果（user_Bが破棄される）
+        assertThat(cache.stats().evictions(), is(1L));
+        assertThat(cache.stats().entries(), is(MAX_ENTRIES));
+        cache.get("user_A", 1);
+        cache.get("user_B", 1);
+        verify(tweetRepository, times(1)).selectRecentTweetsByAccountId("user_A", PER_ACCOUNT);
+        verify(tweetRepository, times(2)).selectRecentTweetsByAccountId("user_B", PER_ACCOUNT);
+    }
+
+    /**
+     * キャッシュ破棄
+     * ケース：正常系
+     * コンディション：破棄後はDBから読み直す
+     */
+    @Test
+    void invalidate_Success001() {
+
+        // テスト実行
+        cache.get("user_A", 1);
+        cache.invalidate("user_A");
+        cache.get("user_A", 1);
+
+        // テスト結果
+        verify(tweetRepository, times(2)).selectRecentTweetsByAccountId("user_A", PER_ACCOUNT);
+        assertThat(cache.stats().entries(), is(PER_ACCOUNT));
+    }
+
+    /**
+     * キャッシュ更新・削除
+     * ケース：正常系
+     * コンディション：更新内容が反映され、削除したツイートは取り除かれる
+     */
+    @Test
+    void replace_Success001() {
+
+        // テストデータ
+        List<TweetRecord> cached = cache.get("user_A", PER_ACCOUNT);
+        int updatedId = cached.get(1).getId();
+        int deletedId = cached.get(2).getId();
+
+        // テスト実行
+        cache.replace(updatedId, new TweetRecord(updatedId, "user_A", "更新後", null, 9, 0, 0, 0, null, null, 0));
+        cache.remove(deletedId);
+
+        // テスト結果
+        List<TweetRecord> actual = cache.get("user_A", PER_ACCOUNT - 1);
+        assertThat(actual.size(), is(PER_ACCOUNT - 1));
+        assertThat(actual.get(1).getText(), is("更新後"));
+        assertThat(actual.get(1).getDatetime(), is(cached.get(1).getDatetime()));
+        assertThat(actual.stream().noneMatch(t -> t.getId() == deletedId), is(true));
+        verify(tweetRepository, times(1)).selectRecentTweetsByAccountId("user_A", PER_ACCOUNT);
+    }
+
+    /**
+     * エンゲージメント件数反映
+     * ケース：正常系
+     * コンディション：キャッシュ中のツイートに差分が加算され、DBへの反映中にロードした内容は保持しない
+     */
+    @Test
+    void endEngagementWrite_Success001() {
+
+        // テストデータ
+        int cachedId = cache.get("user_A", 1).get(0).getId();
+
+        // テスト実行
+        cache.beginEngagementWrite();
+        int loadedId = cache.get("user_B", 1).get(0).getId();
+        cache.endEngagementWrite(List.of(
+                new TweetEngagementDelta(cachedId, 2, 0, 0, 0), new TweetEngagementDelta(loadedId, 2, 0, 0, 0)));
+
+        // テスト結果
+        assertThat(cache.get("user_A", 1).get(0).getLikes(), is(2));
+        assertThat(cache.get("user_B", 1).get(0).getLikes(), is(0));
+        verify(tweetRepository, times(1)).selectRecentTweetsByAccountId("user_A", PER_ACCOUNT);
+        verify(tweetRepository, times(2)).selectRecentTweetsByAccountId("user_B", PER_ACCOUNT);
+    }
+
+    /**
+     * メトリクス登録
+     * ケース：正常系
+     * コンディション：ヒット・ミス・破棄件数と保持状況をメーターとして参照できる
+     */
+    @Test
+    void bindTo_Success001() {
+
+        // テスト実行
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.get("user_A", 1);
+        cache.get("user_A", 1);
+        cache.get("user_B", 1);
+        cache.get("user_C", 1);
+
+        // テスト結果
+        assertThat(registry.get("account.timeline.cache.hits").functionCounter().count(), is(1.0));
+        assertThat(registry.get("account.timeline.cache.misses").functionCounter().count(), is(3.0));
+        assertThat(registry.get("account.timeline.cache.evictions").functionCounter().count(), is(1.0));
+        assertThat(registry.get("account.timeline.cache.accounts").gauge().value(), is(2.0));
+        assertThat(registry.get("account.timeline.cache.entries").gauge().value(), is((double) MAX_ENTRIES));
+    }
+
+    private List<TweetRecord> createTweets(String accountId, int count) {
+        List<TweetRecord> tweets = new ArrayList<>();
+        int baseId = Math.abs(accountId.hashCode() % 1000) * 100;
+        LocalDateTime base = LocalDateTime.of(2024, 4, 1, 12, 0);
+        for (int i = count; i > 0; i--) {
+            tweets.add(new TweetRecord(baseId + i, accountId, "text" + i, null, 0, 0, 0, 0, base.plusMinutes(i), null, 0));
+        }
+        return tweets;
+    }
+}
@@ -0,0 +1,113 @@
+package com.skajihara.project_xr_app.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class IdempotencyCacheTest {
+
+    /**
+     * 冪等キー取得
+     * ケース：正常系
+     * コンディション：登録済みのキー
+     */
+    @Test
+    void get_Success001() {
+
+        // テストデータ
+        IdempotencyCache cache = new IdempotencyCache(10, 60);
+        cache.put("tweet:key-1", 11, "hash");
+
+        // テスト実行・テスト結果
+        assertThat(cache.get("tweet:key-1").resourceId(), is(11));
+        assertThat(cache.get("schedule:key-1"), is(nullValue()));
+    }
+
+    /**
+     * 冪等キー取得
+     * ケース：正常系
+     * コンディション：有効期間切れのキーは未登録として扱う
+     */
+    @Test
+    void get_Success002() {
+
+        // テストデータ
+        IdempotencyCache cache = new IdempotencyCache(10, 0);
+        cache.put("tweet:key-1", 11, "hash");
+
+        // テスト実行・テスト結果
+        assertThat(cache.get("tweet:key-1"), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+
+    /**
+     * 冪等キー登録
+     * ケース：正常系
+     * コンディション：上限件数を超えると古いキーから破棄
+     */
+    @Test
+    void put_Success001() {
+
+        // テストデータ
+        IdempotencyCache cache = new IdempotencyCache(3, 60);
+
+        // テスト実行
+        for (int i = 1; i <= 5; i++) {
+            cache.put("tweet:key-" + i, i, "hash");
+        }
+
+        // テスト結果
+        assertThat(cache.size(), is(3));
+        assertThat(cache.get("tweet:key-1"), is(nullValue()));
+        assertThat(cache.get("tweet:key-2"), is(nullValue()));
+        assertThat(cache.get("tweet:key-5").resourceId(), is(5));
+    }
+
+    /**
+     * 冪等キー登録
+     * ケース：正常系
+     * コンディション：同じキーの再登録は件数に数えない
+     */
+    @Test
+    void put_Success002() {
+
+        // テストデータ
+        IdempotencyCache cache = new IdempotencyCache(3, 60);
+
+        // テスト実行
+        cache.put("tweet:key-1", 11, "hash");
+        cache.put("tweet:key-1", 12, "hash");
+
+        // テスト結果
+        assertThat(cache.size(), is(1));
+        assertThat(cache.get("tweet:key-1").resourceId(), is(12));
+    }
+
+    /**
+     * 冪等キー登録
+     * ケース：正常系
+     * コンディション：期限切れで取り除かれたキーを再登録しても、上限超過時に新しいエントリを先に破棄しない
+     */
+    @Test
+    void put_Success003() throws Exception {
+
+        // テストデータ
+        IdempotencyCache cache = new IdempotencyCache(2, 1);
+        cache.put("tweet:key-1", 11, "hash");
+        cache.put("tweet:key-2", 12, "hash");
+        Thread.sleep(1100);
+        assertThat(cache.get("tweet:key-1"), is(nullValue()));
+
+        // テスト実行
+        cache.put("tweet:key-1", 21, "hash");
+        cache.put("tweet:key-3", 23, "hash");
+
+        // テスト結果
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("tweet:key-1").resourceId(), is(21));
+        assertThat(cache.get("tweet:key-2"), is(nullValue()));
+        assertThat(cache.get("tweet:key-3").resourceId(), is(23));
+    }
+}
@@ -0,0 +1,277 @@
+package com.skajihara.project_xr_app.infrastructure.cache;
+
+import com.skajihara.project_xr_app.domain.entity.TweetEngagementDelta;
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.*;
+
+class RecentTweetsCacheTest {
+
+    private static final int CAPACITY = 5;
+
+    TweetRepository tweetRepository;
+
+    RecentTweetsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        tweetRepository = mock(TweetRepository.class);
+        cache = new RecentTweetsCache(tweetRepository, CAPACITY, false);
+    }
+
+    /**
+     * キャッシュ取得
+     * ケース：正常系
+     * コンディション：初回はDBからロードし、2回目以降はDBにアクセスしない
+     */
+    @Test
+    void get_Success001() {
+
+        // モック設定
+        when(tweetRepository.selectRecentTweets(CAPACITY)).thenReturn(createTweets(10, CAPACITY));
+
+        // テスト実行
+        List<TweetRecord> first = cache.get(3);
+        List<TweetRecord> second = cache.get(CAPACITY);
+
+        // テスト結果
+        assertThat(first.size(), is(3));
+        assertThat(first.get(0).getId(), is(10));
+        assertThat(second.size(), is(CAPACITY));
+        assertThat(second.get(CAPACITY - 1).getId(), is(6));
+        verify(tweetRepository, times(1)).selectRecentTweets(CAPACITY);
+    }
+
+    /**
+     * キャッシュ取得
+     * ケース：正常系
+     * コンディション：キャパシティ超過の件数指定はキャッシュで応答しない
+     */
+    @Test
+    void get_Success002() {
+
+        // テスト実行
+        List<TweetRecord> result = cache.get(CAPACITY + 1);
+
+        // テスト結果
+        assertThat(result, is(nullValue()));
+        verify(tweetRepository, never()).selectRecentTweets(anyInt());
+    }
+
+    /**
+     * キャッシュ取得
+     * ケース：正常系
+     * コンディション：DB上の全件がキャッシュに収まる場合は件数不足でも読み直さない
+     */
+    @Test
+    void get_Success003() {
+
+        // モック設定
+        when(tweetRepository.selectRecentTweets(CAPACITY)).thenReturn(createTweets(2, 2));
+
+        // テスト実行
+        cache.get(CAPACITY);
+        List<TweetRecord> result = cache.get(CAPACITY);
+
+        // テスト結果
+        assertThat(result.size(), is(2));
+        verify(tweetRepository, times(1)).selectRecentTweets(CAPACITY);
+    }
+
+    /**
+     * キャッシュ更新
+     * ケース：正常系
+     * コンディション：更新内容が反映され、投稿日時は維持される
+     */
+    @Test
+    void replace_Success001() {
+
+        // モック設定
+        List<TweetRecord> tweets = createTweets(10, CAPACITY);
+        when(tweetRepository.selectRecentTweets(CAPACITY)).thenReturn(tweets);
+        cache.get(CAPACITY);
+
+        // テスト実行
+        TweetRecord updated = new TweetRecord(8, "other", "更新後", null, 1, 2, 3, 4, null, "秋葉原", 0);
+        cache.replace(8, updated);
+
+        // テスト結果
+        TweetRecord actual = cache.get(CAPACITY).get(2);
+        assertThat(actual.getId(), is(8));
+        assertThat(actual.getText(), is("更新後"));
+        assertThat(actual.getLikes(), is(1));
+        assertThat(actual.getAccountId(), is(tweets.get(2).getAccountId()));
+        assertThat(actual.getDatetime(), is(tweets.get(2).getDatetime()));
+    }
+
+    /**
+     * キャッシュ削除
+     * ケース：正常系
+     * コンディション：削除後に件数が不足した場合はDBから読み直す
+     */
+    @Test
+    void remove_Success001() {
+
+        // モック設定
+        when(tweetRepository.selectRecentTweets(CAPACITY))
+                .thenReturn(createTweets(10, CAPACITY))
+                .thenReturn(createTweets(9, CAPACITY));
+        cache.get(CAPACITY);
+
+        // テスト実行
+        cache.remove(10);
+        List<TweetRecord> partial = cache.get(CAPACITY - 1);
+        List<TweetRecord> full = cache.get(CAPACITY);
+
+        // テスト結果
+        assertThat(partial.get(0).getId(), is(9));
+        assertThat(full.size(), is(CAPACITY));
+        assertThat(full.get(CAPACITY - 1).getId(), is(5));
+        verify(tweetRepository, times(2)).selectRecentTweets(CAPACITY);
+    }
+
+    /**
+     * キャッシュ削除
+     * ケース：正常系
+     * コンディション：DBからの読み直し中に削除された場合は、読み直した内容を破棄して再度読み直す
+     */
+    @Test
+    void remove_Success002() {
+
+        // モック設定（1回目のロード中に削除が反映され、ロード結果には削除前のツイートが含まれる）
+        when(tweetRepository.selectRecentTweets(CAPACITY))
+                .thenAnswer(invocation -> {
+                    cache.remove(10);
+                    return createTweets(10, CAPACITY);
+                })
+                .thenReturn(createTweets(9, CAPACITY));
+
+        // テスト実行
+        List<TweetRecord> first = cache.get(CAPACITY);
+        List<TweetRecord> second = cache.get(CAPACITY);
+
+        // テスト結果
+        assertThat(first.get(0).getId(), is(9));
+        assertThat(second.get(0).getId(), is(9));
+        assertThat(first.stream().noneMatch(t -> t.getId() == 10), is(true));
+        verify(tweetRepository, times(2)).selectRecentTweets(CAPACITY);
+    }
+
+    /**
+     * キャッシュ追加
+     * ケース：正常系
+     * コンディション：投稿日時順の位置に挿入され、キャパシティを超えた末尾は押し出される
+     */
+    @Test
+    void add_Success001() {
+
+        // モック設定
+        List<TweetRecord> tweets = createTweets(10, CAPACITY);
+        when(tweetRepository.selectRecentTweets(CAPACITY)).thenReturn(tweets);
+        cache.get(CAPACITY);
+
+        // テスト実行
+        TweetRecord newest = new TweetRecord(11, "user11", "text11", null, 0, 0, 0, 0, tweets.get(0).getDatetime().plusMinutes(1), null, 0);
+        cache.add(newest);
+
+        // テスト結果
+        List<TweetRecord> actual = cache.get(CAPACITY);
+        assertThat(actual.size(), is(CAPACITY));
+        assertThat(actual.get(0).getId(), is(11));
+        assertThat(actual.get(CAPACITY - 1).getId(), is(7));
+        verify(tweetRepository, times(1)).selectRecentTweets(CAPACITY);
+    }
+
+    /**
+     * キャッシュ追加
+     * ケース：正常系
+     * コンディション：キャッシュ末尾より古いツイートは追加しない
+     */
+    @Test
+    void add_Success002() {
+
+        // モック設定
+        List<TweetRecord> tweets = createTweets(10, CAPACITY);
+        when(tweetRepository.selectRecentTweets(CAPACITY)).thenReturn(tweets);
+        cache.get(CAPACITY);
+
+        // テスト実行
+        cache.add(new TweetRecord(11, "user11", "text11", null, 0, 0, 0, 0, tweets.get(CAPACITY - 1).getDatetime().minusMinutes(1), null, 0));
+
+        // テスト結果
+        List<TweetRecord> actual = cache.get(CAPACITY);
+        assertThat(actual.stream().noneMatch(t -> t.getId() == 11), is(true));
+        assertThat(actual.get(CAPACITY - 1).getId(), is(6));
+    }
+
+    /**
+     * エンゲージメント件数反映
+     * ケース：正常系
+     * コンディション：キャッシュ中のツイートのみ差分が加算される
+     */
+    @Test
+    void endEngagementWrite_Success001() {
+
+        // モック設定
+        when(tweetRepository.selectRecentTweets(CAPACITY)).thenReturn(createTweets(10, CAPACITY));
+        cache.get(CAPACITY);
+
+        // テスト実行
+        cache.beginEngagementWrite();
+        cache.endEngagementWrite(List.of(new TweetEngagementDelta(9, 2, 0, 0, 5), new TweetEngagementDelta(1, 1, 1, 1, 1)));
+
+        // テスト結果
+        List<TweetRecord> actual = cache.get(CAPACITY);
+        assertThat(actual.get(1).getId(), is(9));
+        assertThat(actual.get(1).getLikes(), is(2));
+        assertThat(actual.get(1).getViews(), is(5));
+        assertThat(actual.get(0).getLikes(), is(0));
+        verify(tweetRepository, times(1)).selectRecentTweets(CAPACITY);
+    }
+
+    /**
+     * エンゲージメント件数反映
+     * ケース：正常系
+     * コンディション：DBへの反映中に読み直した内容は保持せず、差分が二重に加算されない
+     */
+    @Test
+    void endEngagementWrite_Success002() {
+
+        // モック設定
+        List<TweetRecord> written = createTweets(10, CAPACITY);
+        written.get(0).setLikes(2);
+        when(tweetRepository.selectRecentTweets(CAPACITY)).thenReturn(createTweets(10, CAPACITY), written);
+        cache.get(CAPACITY);
+
+        // テスト実行（反映後の件数を読み直した後に差分を反映する）
+        cache.beginEngagementWrite();
+        RecentTweetsCache.Snapshot reloaded = cache.reload();
+        cache.endEngagementWrite(List.of(new TweetEngagementDelta(10, 2, 0, 0, 0)));
+
+        // テスト結果
+        assertThat(reloaded.tweets()[0].getLikes(), is(2));
+        List<TweetRecord> actual = cache.get(CAPACITY);
+        assertThat(actual.get(0).getId(), is(10));
+        assertThat(actual.get(0).getLikes(), is(2));
+        verify(tweetRepository, times(2)).selectRecentTweets(CAPACITY);
+    }
+
+    private List<TweetRecord> createTweets(int newestId, int count) {
+        List<TweetRecord> tweets = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2024, 4, 1, 12, 0);
+        for (int id = newestId; id > newestId - count; id--) {
+            tweets.add(new TweetRecord(id, "user" + id, "text" + id, null, 0, 0, 0, 0, base.plusMinutes(id), null, 0));
+        }
+        return tweets;
+    }
+}
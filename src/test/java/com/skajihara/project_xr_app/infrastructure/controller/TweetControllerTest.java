@@ -1,9 +1,23 @@
 package com.skajihara.project_xr_app.infrastructure.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skajihara.project_xr_app.domain.entity.EngagementType;
+import com.skajihara.project_xr_app.domain.entity.TweetCursor;
+import com.skajihara.project_xr_app.domain.entity.TweetView;
 import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.exception.BadRequestException;
+import com.skajihara.project_xr_app.exception.TooManyRequestsException;
 import com.skajihara.project_xr_app.exception.TweetException;
+import com.skajihara.project_xr_app.exception.UnprocessableEntityException;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetBatchModel;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetBulkResultModel;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetIngestTicketModel;
 import com.skajihara.project_xr_app.infrastructure.controller.model.TweetModel;
+import com.skajihara.project_xr_app.infrastructure.controller.model.TweetPageModel;
+import com.skajihara.project_xr_app.infrastructure.service.IdempotencyService;
+import com.skajihara.project_xr_app.infrastructure.service.TweetBulkService;
+import com.skajihara.project_xr_app.infrastructure.service.TweetEngagementService;
+import com.skajihara.project_xr_app.infrastructure.service.TweetIngestService;
 import com.skajihara.project_xr_app.infrastructure.service.TweetService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,11 +39,18 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -47,6 +68,18 @@ class TweetControllerTest {
     @Autowired
     private TweetService tweetService;
 
+    @Autowired
+    private TweetBulkService tweetBulkService;
+
+    @Autowired
+    private TweetEngagementService tweetEngagementService;
+
+    @Autowired
+    private TweetIngestService tweetIngestService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     private static final String BASE_PATH = "/api/tweet";
 
     @TestConfiguration
@@ -55,11 +88,31 @@ class TweetControllerTest {
         public TweetService tweetService() {
             return mock(TweetService.class);
         }
+
+        @Bean
+        public TweetBulkService tweetBulkService() {
+            return mock(TweetBulkService.class);
+        }
+
+        @Bean
+        public TweetEngagementService tweetEngagementService() {
+            return mock(TweetEngagementService.class);
+        }
+
+        @Bean
+        public TweetIngestService tweetIngestService() {
+            return mock(TweetIngestService.class);
+        }
+
+        @Bean
+        public IdempotencyService idempotencyService() {
+            return mock(IdempotencyService.class);
+        }
     }
 
     @BeforeEach
     void setUp() {
-        reset(tweetService);
+        reset(tweetService, tweetBulkService, tweetEngagementService, tweetIngestService, idempotencyService);
     }
 
     /**
@@ -71,7 +124,7 @@ class TweetControllerTest {
     void getTweet_Success001() throws Exception {
 
         // モックデータ
-        TweetRecord tweet = createRecord(1, "user1", "Hello", null);
+        TweetView tweet = createView(1, "user1", "Hello", null);
 
         // モック設定
         when(tweetService.getTweet(1)).thenReturn(tweet);
@@ -82,7 +135,7 @@ class TweetControllerTest {
 
         // テスト結果
         TweetModel actual = objectMapper.readValue(result.getResponse().getContentAsString(), TweetModel.class);
-        assertModel(actual, tweet);
+        assertThat(actual, is(createModel(1, "user1", "Hello", null)));
         verify(tweetService, times(1)).getTweet(1);
     }
 
@@ -105,13 +158,190 @@ class TweetControllerTest {
     }
 
     /**
-     * ツイート全件取得
+     * ツイート一覧ページ取得
      * ケース：正常系
-     * コンディション：データあり
+     * コンディション：データあり 次ページなし
      */
     @Test
     void getAllTweets_Success001() throws Exception {
 
+        // モックデータ
+        List<TweetView> tweets = Arrays.asList(
+                createView(1, "user1", "Tweet1", null),
+                createView(2, "user2", "Tweet2", null)
+        );
+
+        // モック設定
+        when(tweetService.getTweetsPage(null, 21)).thenReturn(tweets);
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = get(BASE_PATH);
+        MvcResult result = mockMvc.perform(req).andExpect(status().isOk()).andReturn();
+
+        // テスト結果
+        TweetPageModel actual = objectMapper.readValue(result.getResponse().getContentAsString(), TweetPageModel.class);
+        assertThat(actual.getTweets(), is(List.of(createModel(1, "user1", "Tweet1", null), createModel(2, "user2", "Tweet2", null))));
+        assertThat(actual.getNextCursor(), is(nullValue()));
+        verify(tweetService, times(1)).getTweetsPage(null, 21);
+    }
+
+    /**
+     * ツイート一覧ページ取得
+     * ケース：正常系
+     * コンディション：データなし
+     */
+    @Test
+    void getAllTweets_Success002() throws Exception {
+
+        // モック設定
+        when(tweetService.getTweetsPage(null, 21)).thenReturn(Collections.emptyList());
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = get(BASE_PATH);
+        MvcResult result = mockMvc.perform(req).andExpect(status().isOk()).andReturn();
+
+        // テスト結果
+        TweetPageModel actual = objectMapper.readValue(result.getResponse().getContentAsString(), TweetPageModel.class);
+        assertThat(actual.getTweets().size(), is(0));
+        assertThat(actual.getNextCursor(), is(nullValue()));
+        verify(tweetService, times(1)).getTweetsPage(null, 21);
+    }
+
+    /**
+     * ツイート一覧ページ取得
+     * ケース：正常系
+     * コンディション：次ページあり カーソルで次ページ取得
+     */
+    @Test
+    void getAllTweets_Success003() throws Exception {
+
+        // モックデータ
+        List<TweetView> tweets = Arrays.asList(
+                createView(3, "user1", "Tweet3", null),
+                createView(2, "user2", "Tweet2", null),
+                createView(1, "user3", "Tweet1", null)
+        );
+        TweetCursor expectedCursor = new TweetCursor(tweets.get(1).getDatetime(), tweets.get(1).getId());
+
+        // モック設定
+        when(tweetService.getTweetsPage(null, 3)).thenReturn(tweets);
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = get(BASE_PATH + "?size=2");
+        MvcResult result = mockMvc.perform(req).andExpect(status().isOk()).andReturn();
+
+        // テスト結果
+        TweetPageModel actual = objectMapper.readValue(result.getResponse().getContentAsString(), TweetPageModel.class);
+        assertThat(actual.getTweets(), is(List.of(createModel(3, "user1", "Tweet3", null), createModel(2, "user2", "Tweet2", null))));
+        assertThat(actual.getNextCursor(), is(expectedCursor.encode()));
+
+        // 次ページ取得時はカーソルが復元されてサービスに渡される
+        when(tweetService.getTweetsPage(expectedCursor, 3)).thenReturn(List.of(tweets.get(2)));
+        mockMvc.perform(get(BASE_PATH + "?size=2&cursor=" + actual.getNextCursor())).andExpect(status().isOk());
+        verify(tweetService, times(1)).getTweetsPage(expectedCursor, 3);
+    }
+
+    /**
+     * ツイート一覧ページ取得
+     * ケース：正常系
+     * コンディション：ページサイズ上限超過
+     */
+    @Test
+    void getAllTweets_Success004() throws Exception {
+
+        // モック設定
+        when(tweetService.getTweetsPage(null, 101)).thenReturn(Collections.emptyList());
+
+        // テスト実行
+        mockMvc.perform(get(BASE_PATH + "?size=100000")).andExpect(status().isOk());
+
+        // テスト結果（上限100件+1件で取得される）
+        verify(tweetService, times(1)).getTweetsPage(null, 101);
+    }
+
+    /**
+     * ツイート一覧ページ取得
+     * ケース：異常系
+     * コンディション：不正なカーソル
+     */
+    @Test
+    void getAllTweets_Error001() throws Exception {
+
+        // テスト実行
+        mockMvc.perform(get(BASE_PATH + "?cursor=invalid")).andExpect(status().isBadRequest());
+
+        // テスト結果
+        verify(tweetService, never()).getTweetsPage(any(), anyInt());
+    }
+
+    /**
+     * ツイート複数件取得
+     * ケース：正常系
+     * コンディション：存在しないIDを含む
+     */
+    @Test
+    void getTweets_Success001() throws Exception {
+
+        // モックデータ
+        List<TweetView> tweets = Arrays.asList(
+                createView(3, "user1", "Tweet3", null),
+                createView(1, "user2", "Tweet1", null)
+        );
+
+        // モック設定
+        when(tweetService.getTweets(List.of(3, 2, 1))).thenReturn(tweets);
+
+        // テスト実行
+        MvcResult result = mockMvc.perform(get(BASE_PATH + "?ids=3,2,1")).andExpect(status().isOk()).andReturn();
+
+        // テスト結果
+        TweetBatchModel actual = objectMapper.readValue(result.getResponse().getContentAsString(), TweetBatchModel.class);
+        assertThat(actual.getTweets(), is(List.of(createModel(3, "user1", "Tweet3", null), createModel(1, "user2", "Tweet1", null))));
+        assertThat(actual.getMissingIds(), is(List.of(2)));
+        verify(tweetService, times(1)).getTweets(List.of(3, 2, 1));
+    }
+
+    /**
+     * ツイート複数件取得
+     * ケース：異常系
+     * コンディション：ID数が上限超過
+     */
+    @Test
+    void getTweets_Error001() throws Exception {
+
+        // テストデータ（上限100件に対して101件）
+        String ids = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        // テスト実行
+        mockMvc.perform(get(BASE_PATH + "?ids=" + ids)).andExpect(status().isBadRequest());
+
+        // テスト結果
+        verify(tweetService, never()).getTweets(any());
+    }
+
+    /**
+     * ツイート複数件取得
+     * ケース：異常系
+     * コンディション：バリデーションエラー（id）
+     */
+    @Test
+    void getTweets_Error002() throws Exception {
+
+        // テスト実行
+        mockMvc.perform(get(BASE_PATH + "?ids=1,-1")).andExpect(status().isBadRequest());
+
+        // テスト結果
+        verify(tweetService, never()).getTweets(any());
+    }
+
+    /**
+     * ツイート全件ストリーミング取得
+     * ケース：正常系
+     * コンディション：データあり
+     */
+    @Test
+    void streamAllTweets_Success001() throws Exception {
+
         // モックデータ
         List<TweetRecord> tweets = Arrays.asList(
                 createRecord(1, "user1", "Tweet1", null),
@@ -119,39 +349,73 @@ class TweetControllerTest {
         );
 
         // モック設定
-        when(tweetService.getAllTweets()).thenReturn(tweets);
+        doAnswer(invocation -> {
+            Consumer<TweetRecord> consumer = invocation.getArgument(0);
+            tweets.forEach(consumer);
+            return null;
+        }).when(tweetService).streamAllTweets(any());
 
         // テスト実行
-        MockHttpServletRequestBuilder req = get(BASE_PATH);
-        MvcResult result = mockMvc.perform(req).andExpect(status().isOk()).andReturn();
+        MvcResult started = mockMvc.perform(get(BASE_PATH + "?stream=true")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
 
         // テスト結果
         TweetModel[] actual = objectMapper.readValue(result.getResponse().getContentAsString(), TweetModel[].class);
         assertThat(actual.length, is(2));
         assertModel(actual[0], tweets.get(0));
         assertModel(actual[1], tweets.get(1));
-        verify(tweetService, times(1)).getAllTweets();
+        verify(tweetService, never()).getTweetsPage(any(), anyInt());
     }
 
     /**
-     * ツイート全件取得
+     * ツイート全件ストリーミング取得
      * ケース：正常系
      * コンディション：データなし
      */
     @Test
-    void getAllTweets_Success002() throws Exception {
+    void streamAllTweets_Success002() throws Exception {
+
+        // テスト実行
+        MvcResult started = mockMvc.perform(get(BASE_PATH + "?stream=true")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+
+        // テスト結果
+        TweetModel[] actual = objectMapper.readValue(result.getResponse().getContentAsString(), TweetModel[].class);
+        assertThat(actual.length, is(0));
+        verify(tweetService, times(1)).streamAllTweets(any());
+    }
+
+    /**
+     * 特定アカウントのツイート全件ストリーミング取得
+     * ケース：正常系
+     * コンディション：データあり
+     */
+    @Test
+    void streamTweetsByAccountId_Success001() throws Exception {
+
+        // モックデータ
+        List<TweetRecord> tweets = Arrays.asList(
+                createRecord(1, "user1", "Hello1", null),
+                createRecord(2, "user1", "Hello2", null)
+        );
 
         // モック設定
-        when(tweetService.getAllTweets()).thenReturn(Collections.emptyList());
+        doAnswer(invocation -> {
+            Consumer<TweetRecord> consumer = invocation.getArgument(1);
+            tweets.forEach(consumer);
+            return null;
+        }).when(tweetService).streamTweetsByAccountId(eq("user1"), any());
 
         // テスト実行
-        MockHttpServletRequestBuilder req = get(BASE_PATH);
-        MvcResult result = mockMvc.perform(req).andExpect(status().isOk()).andReturn();
+        MvcResult started = mockMvc.perform(get(BASE_PATH + "/account/user1?stream=true")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
 
         // テスト結果
         TweetModel[] actual = objectMapper.readValue(result.getResponse().getContentAsString(), TweetModel[].class);
-        assertThat(actual.length, is(0));
-        verify(tweetService, times(1)).getAllTweets();
+        assertThat(actual.length, is(2));
+        assertModel(actual[0], tweets.get(0));
+        assertModel(actual[1], tweets.get(1));
+        verify(tweetService, never()).getTweetsByAccountId(anyString(), anyInt());
     }
 
     /**
@@ -267,7 +531,7 @@ class TweetControllerTest {
                 LocalDateTime.of(2024, 4, 1, 12, 0), "Tokyo", 0);
 
         // モック設定
-        when(tweetService.postTweet(any())).thenReturn(1);
+        when(tweetService.postTweet(any())).thenReturn(11);
 
         // テスト実行
         MockHttpServletRequestBuilder req = post(BASE_PATH)
@@ -278,9 +542,76 @@ class TweetControllerTest {
         // テスト結果
         Map response = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
         assertThat(response.get("message"), is("ツイート投稿成功"));
+        assertThat(response.get("id"), is(11));
+        verify(tweetService, times(1)).postTweet(any());
+        verify(idempotencyService, never()).execute(any(), any(), any(), any());
+    }
+
+    /**
+     * ツイート登録
+     * ケース：正常系
+     * コンディション：Idempotency-Keyあり（初回）
+     */
+    @Test
+    void insert_Success002() throws Exception {
+
+        // モックデータ
+        TweetModel model = new TweetModel(0, "user1", "post", null, 0, 0, 0, 0,
+                LocalDateTime.of(2024, 4, 1, 12, 0), "Tokyo", 0);
+
+        // モック設定
+        when(tweetService.postTweet(any())).thenReturn(11);
+        when(idempotencyService.execute(eq("tweet"), eq("key-1"), any(), any())).thenAnswer(invocation ->
+                new IdempotencyService.Result(invocation.<IntSupplier>getArgument(3).getAsInt(), false));
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH)
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(model));
+        MvcResult result = mockMvc.perform(req)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn();
+
+        // テスト結果
+        Map response = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        assertThat(response.get("message"), is("ツイート投稿成功"));
+        assertThat(response.get("id"), is(11));
         verify(tweetService, times(1)).postTweet(any());
     }
 
+    /**
+     * ツイート登録
+     * ケース：正常系
+     * コンディション：Idempotency-Keyあり（再送）
+     */
+    @Test
+    void insert_Success003() throws Exception {
+
+        // モックデータ
+        TweetModel model = new TweetModel(0, "user1", "post", null, 0, 0, 0, 0,
+                LocalDateTime.of(2024, 4, 1, 12, 0), "Tokyo", 0);
+
+        // モック設定
+        when(idempotencyService.execute(eq("tweet"), eq("key-1"), any(), any())).thenReturn(new IdempotencyService.Result(11, true));
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH)
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(model));
+        MvcResult result = mockMvc.perform(req)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+
+        // テスト結果
+        Map response = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        assertThat(response.get("id"), is(11));
+        verify(tweetService, never()).postTweet(any());
+    }
+
     /**
      * ツイート登録
      * ケース：異常系
@@ -326,6 +657,231 @@ class TweetControllerTest {
         mockMvc.perform(req).andExpect(status().isBadRequest());
     }
 
+    /**
+     * ツイート登録
+     * ケース：異常系
+     * コンディション：Idempotency-Keyが不正
+     */
+    @Test
+    void insert_Error003() throws Exception {
+
+        // モックデータ
+        TweetModel model = new TweetModel(0, "user1", "post", null, 0, 0, 0, 0,
+                LocalDateTime.of(2024, 4, 1, 12, 0), "Tokyo", 0);
+        String key = "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1);
+
+        // モック設定
+        when(idempotencyService.execute(eq("tweet"), eq(key), any(), any())).thenThrow(new BadRequestException("invalid key"));
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(model));
+        mockMvc.perform(req).andExpect(status().isBadRequest());
+
+        // テスト結果
+        verify(tweetService, never()).postTweet(any());
+    }
+
+    /**
+     * ツイート登録
+     * ケース：異常系
+     * コンディション：Idempotency-Keyが内容の異なるリクエストで使用済み
+     */
+    @Test
+    void insert_Error004() throws Exception {
+
+        // モックデータ
+        TweetModel model = new TweetModel(0, "user1", "post", null, 0, 0, 0, 0,
+                LocalDateTime.of(2024, 4, 1, 12, 0), "Tokyo", 0);
+
+        // モック設定
+        when(idempotencyService.execute(eq("tweet"), eq("key-1"), any(), any()))
+                .thenThrow(new UnprocessableEntityException("Idempotency-Key was already used with a different request body: key-1"));
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH)
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(model));
+        mockMvc.perform(req).andExpect(status().isUnprocessableEntity());
+
+        // テスト結果
+        verify(tweetService, never()).postTweet(any());
+    }
+
+    /**
+     * ツイート非同期登録
+     * ケース：正常系
+     * コンディション：受付成功
+     */
+    @Test
+    void insertAsync_Success001() throws Exception {
+
+        // モックデータ
+        TweetModel model = createModel(0, "user1", "post", null);
+
+        // モック設定
+        when(tweetIngestService.submit(any())).thenReturn("ticket-1");
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH).param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(model));
+        MvcResult result = mockMvc.perform(req).andExpect(status().isAccepted()).andReturn();
+
+        // テスト結果
+        TweetIngestTicketModel response = objectMapper.readValue(result.getResponse().getContentAsString(), TweetIngestTicketModel.class);
+        assertThat(response.getTicketId(), is("ticket-1"));
+        assertThat(response.getStatus(), is("PENDING"));
+        verify(tweetIngestService, times(1)).submit(argThat(tweet -> tweet.getText().equals("post")));
+        verify(tweetService, never()).postTweet(any());
+    }
+
+    /**
+     * ツイート非同期登録
+     * ケース：異常系
+     * コンディション：キューが満杯
+     */
+    @Test
+    void insertAsync_Error001() throws Exception {
+
+        // モックデータ
+        TweetModel model = createModel(0, "user1", "post", null);
+
+        // モック設定
+        when(tweetIngestService.submit(any())).thenThrow(new TooManyRequestsException("Tweet ingest queue is full"));
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH).param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(model));
+        mockMvc.perform(req).andExpect(status().isTooManyRequests());
+    }
+
+    /**
+     * ツイート非同期登録状況取得
+     * ケース：正常系
+     * コンディション：登録済み
+     */
+    @Test
+    void getIngestStatus_Success001() throws Exception {
+
+        // モック設定
+        when(tweetIngestService.getTicket("ticket-1")).thenReturn(new TweetIngestService.Ticket("COMMITTED", 11));
+
+        // テスト実行
+        MvcResult result = mockMvc.perform(get(BASE_PATH + "/ingest/ticket-1")).andExpect(status().isOk()).andReturn();
+
+        // テスト結果
+        TweetIngestTicketModel response = objectMapper.readValue(result.getResponse().getContentAsString(), TweetIngestTicketModel.class);
+        assertThat(response.getStatus(), is("COMMITTED"));
+        assertThat(response.getTweetId(), is(11));
+    }
+
+    /**
+     * ツイート一括登録
+     * ケース：正常系
+     * コンディション：JSON配列、入力チェックエラーと登録失敗を含む
+     */
+    @Test
+    void bulkInsert_Success001() throws Exception {
+
+        // モックデータ
+        List<TweetModel> models = List.of(
+                createModel(0, "user1", "post1", null),
+                createModel(0, null, "post2", null),
+                createModel(0, "user2", "post3", null));
+
+        // モック設定
+        when(tweetBulkService.postTweets(anyList())).thenReturn(new int[]{11, 0});
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(models));
+        MvcResult result = mockMvc.perform(req).andExpect(status().isOk()).andReturn();
+
+        // テスト結果
+        TweetBulkResultModel response = objectMapper.readValue(result.getResponse().getContentAsString(), TweetBulkResultModel.class);
+        assertThat(response.getTotal(), is(3));
+        assertThat(response.getCreated(), is(1));
+        assertThat(response.getFailed(), is(2));
+        assertThat(response.getResults().get(0).getStatus(), is("CREATED"));
+        assertThat(response.getResults().get(0).getId(), is(11));
+        assertThat(response.getResults().get(1).getStatus(), is("INVALID"));
+        assertThat(response.getResults().get(1).getMessage(), is("accountId: must not be null"));
+        assertThat(response.getResults().get(2).getIndex(), is(2));
+        assertThat(response.getResults().get(2).getStatus(), is("FAILED"));
+        verify(tweetBulkService, times(1)).postTweets(argThat(tweets -> tweets.size() == 2
+                && tweets.get(0).getText().equals("post1") && tweets.get(1).getText().equals("post3")));
+    }
+
+    /**
+     * ツイート一括登録
+     * ケース：正常系
+     * コンディション：NDJSON
+     */
+    @Test
+    void bulkInsert_Success002() throws Exception {
+
+        // モックデータ
+        String body = objectMapper.writeValueAsString(createModel(0, "user1", "post1", null)) + "\n"
+                + objectMapper.writeValueAsString(createModel(0, "user2", "post2", null)) + "\n";
+
+        // モック設定
+        when(tweetBulkService.postTweets(anyList())).thenReturn(new int[]{11, 12});
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body);
+        MvcResult result = mockMvc.perform(req).andExpect(status().isOk()).andReturn();
+
+        // テスト結果
+        TweetBulkResultModel response = objectMapper.readValue(result.getResponse().getContentAsString(), TweetBulkResultModel.class);
+        assertThat(response.getTotal(), is(2));
+        assertThat(response.getCreated(), is(2));
+        assertThat(response.getFailed(), is(0));
+        verify(tweetBulkService, times(1)).postTweets(argThat(tweets -> tweets.size() == 2));
+    }
+
+    /**
+     * ツイート一括登録
+     * ケース：異常系
+     * コンディション：登録対象なし
+     */
+    @Test
+    void bulkInsert_Error001() throws Exception {
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]");
+        mockMvc.perform(req).andExpect(status().isBadRequest());
+        verify(tweetBulkService, never()).postTweets(anyList());
+    }
+
+    /**
+     * ツイート一括登録
+     * ケース：異常系
+     * コンディション：NDJSONの形式不正
+     */
+    @Test
+    void bulkInsert_Error002() throws Exception {
+
+        // モックデータ
+        String body = objectMapper.writeValueAsString(createModel(0, "user1", "post1", null)) + "\n{broken\n";
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body);
+        mockMvc.perform(req).andExpect(status().isBadRequest());
+        verify(tweetBulkService, never()).postTweets(anyList());
+    }
+
     /**
      * ツイート更新
      * ケース：正常系
@@ -417,6 +973,69 @@ class TweetControllerTest {
         mockMvc.perform(req).andExpect(status().isBadRequest());
     }
 
+    /**
+     * エンゲージメント加算
+     * ケース：正常系
+     * コンディション：加算数の指定なし
+     */
+    @Test
+    void addEngagement_Success001() throws Exception {
+
+        // テスト実行
+        MvcResult result = mockMvc.perform(post(BASE_PATH + "/1/views")).andExpect(status().isAccepted()).andReturn();
+
+        // テスト結果
+        Map response = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        assertThat(response.get("message"), is("エンゲージメント受付"));
+        verify(tweetEngagementService, times(1)).increment(1, EngagementType.VIEWS, 1);
+    }
+
+    /**
+     * エンゲージメント加算
+     * ケース：正常系
+     * コンディション：取り消し（負数）
+     */
+    @Test
+    void addEngagement_Success002() throws Exception {
+
+        // テスト実行
+        mockMvc.perform(post(BASE_PATH + "/3/likes").param("delta", "-1")).andExpect(status().isAccepted());
+
+        // テスト結果
+        verify(tweetEngagementService, times(1)).increment(3, EngagementType.LIKES, -1);
+    }
+
+    /**
+     * エンゲージメント加算
+     * ケース：異常系
+     * コンディション：加算数が0
+     */
+    @Test
+    void addEngagement_Error001() throws Exception {
+
+        // テスト実行
+        mockMvc.perform(post(BASE_PATH + "/1/likes").param("delta", "0")).andExpect(status().isBadRequest());
+
+        // テスト結果
+        verify(tweetEngagementService, never()).increment(anyInt(), any(), anyInt());
+    }
+
+    /**
+     * エンゲージメント加算
+     * ケース：異常系
+     * コンディション：加算数の絶対値が上限を超える
+     */
+    @Test
+    void addEngagement_Error002() throws Exception {
+
+        // テスト実行
+        mockMvc.perform(post(BASE_PATH + "/1/likes").param("delta", "2147483647")).andExpect(status().isBadRequest());
+        mockMvc.perform(post(BASE_PATH + "/1/likes").param("delta", "-101")).andExpect(status().isBadRequest());
+
+        // テスト結果
+        verify(tweetEngagementService, never()).increment(anyInt(), any(), anyInt());
+    }
+
     /**
      * ツイート削除
      * ケース：正常系
@@ -480,6 +1099,16 @@ class TweetControllerTest {
 
     // モデルの項目の詳細なバリデーションテストは後回し（登録・更新）
 
+    private TweetModel createModel(int id, String accountId, String text, String image) {
+        return new TweetModel(id, accountId, text, image, 10, 5, 3, 100,
+                LocalDateTime.of(2024, 4, 1, 12, 0), "Tokyo", 0);
+    }
+
+    private TweetView createView(int id, String accountId, String text, String image) {
+        return new TweetView(id, accountId, text, image, 10, 5, 3, 100,
+                LocalDateTime.of(2024, 4, 1, 12, 0), "Tokyo", 0);
+    }
+
     private TweetRecord createRecord(int id, String accountId, String text, String image) {
         return new TweetRecord(id, accountId, text, image, 10, 5, 3, 100,
                 LocalDateTime.of(2024, 4, 1, 12, 0), "Tokyo", 0);
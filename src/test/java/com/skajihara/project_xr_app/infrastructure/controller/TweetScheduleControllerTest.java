@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
 import com.skajihara.project_xr_app.exception.TweetException;
 import com.skajihara.project_xr_app.infrastructure.controller.model.ScheduledTweetModel;
+import com.skajihara.project_xr_app.infrastructure.service.IdempotencyService;
 import com.skajihara.project_xr_app.infrastructure.service.TweetScheduleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,11 +25,13 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntSupplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -46,6 +49,9 @@ class TweetScheduleControllerTest {
     @Autowired
     private TweetScheduleService tweetScheduleService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     private static final String BASE_PATH = "/api/schedule";
 
     @TestConfiguration
@@ -54,11 +60,16 @@ class TweetScheduleControllerTest {
         public TweetScheduleService tweetScheduleService() {
             return mock(TweetScheduleService.class);
         }
+
+        @Bean
+        public IdempotencyService idempotencyService() {
+            return mock(IdempotencyService.class);
+        }
     }
 
     @BeforeEach
     void setUp() {
-        reset(tweetScheduleService);
+        reset(tweetScheduleService, idempotencyService);
     }
 
     /**
@@ -163,7 +174,7 @@ class TweetScheduleControllerTest {
                 LocalDateTime.of(2025, 4, 10, 12, 0), LocalDateTime.of(2025, 4, 9, 12, 0), 0);
 
         // モック設定
-        when(tweetScheduleService.scheduleTweet(any())).thenReturn(1);
+        when(tweetScheduleService.scheduleTweet(any())).thenReturn(21);
 
         // テスト実行
         MockHttpServletRequestBuilder req = post(BASE_PATH)
@@ -172,11 +183,77 @@ class TweetScheduleControllerTest {
         MvcResult result = mockMvc.perform(req).andExpect(status().isOk()).andReturn();
 
         // テスト結果
-        Map<String, String> res = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        Map<String, Object> res = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        assertThat(res.get("message"), is("ツイート予約成功"));
+        assertThat(res.get("id"), is(21));
+        verify(tweetScheduleService, times(1)).scheduleTweet(any());
+    }
+
+    /**
+     * ツイート予約登録
+     * ケース：正常系
+     * コンディション：Idempotency-Keyあり（初回）
+     */
+    @Test
+    void postScheduledTweet_Success002() throws Exception {
+
+        // モックデータ
+        ScheduledTweetModel model = new ScheduledTweetModel(0, "user1", "予約テスト", "/img.jpg", "Tokyo",
+                LocalDateTime.of(2025, 4, 10, 12, 0), LocalDateTime.of(2025, 4, 9, 12, 0), 0);
+
+        // モック設定
+        when(tweetScheduleService.scheduleTweet(any())).thenReturn(21);
+        when(idempotencyService.execute(eq("schedule"), eq("key-1"), any(), any())).thenAnswer(invocation ->
+                new IdempotencyService.Result(invocation.<IntSupplier>getArgument(3).getAsInt(), false));
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH)
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(model));
+        MvcResult result = mockMvc.perform(req)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn();
+
+        // テスト結果
+        Map<String, Object> res = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
         assertThat(res.get("message"), is("ツイート予約成功"));
+        assertThat(res.get("id"), is(21));
         verify(tweetScheduleService, times(1)).scheduleTweet(any());
     }
 
+    /**
+     * ツイート予約登録
+     * ケース：正常系
+     * コンディション：Idempotency-Keyあり（再送）
+     */
+    @Test
+    void postScheduledTweet_Success003() throws Exception {
+
+        // モックデータ
+        ScheduledTweetModel model = new ScheduledTweetModel(0, "user1", "予約テスト", "/img.jpg", "Tokyo",
+                LocalDateTime.of(2025, 4, 10, 12, 0), LocalDateTime.of(2025, 4, 9, 12, 0), 0);
+
+        // モック設定
+        when(idempotencyService.execute(eq("schedule"), eq("key-1"), any(), any())).thenReturn(new IdempotencyService.Result(21, true));
+
+        // テスト実行
+        MockHttpServletRequestBuilder req = post(BASE_PATH)
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(model));
+        MvcResult result = mockMvc.perform(req)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+
+        // テスト結果
+        Map<String, Object> res = objectMapper.readValue(result.getResponse().getContentAsString(), Map.class);
+        assertThat(res.get("id"), is(21));
+        verify(tweetScheduleService, never()).scheduleTweet(any());
+    }
+
     /**
      * ツイート予約登録
      * ケース：異常系
@@ -0,0 +1,219 @@
+package com.skajihara.project_xr_app.infrastructure.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skajihara.project_xr_app.domain.entity.record.IdempotencyKeyRecord;
+import com.skajihara.project_xr_app.domain.repository.IdempotencyKeyRepository;
+import com.skajihara.project_xr_app.exception.BadRequestException;
+import com.skajihara.project_xr_app.exception.UnprocessableEntityException;
+import com.skajihara.project_xr_app.infrastructure.cache.IdempotencyCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class IdempotencyServiceTest {
+
+    private static final Map<String, Object> REQUEST = Map.of("text", "post");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @InjectMocks
+    IdempotencyService idempotencyService;
+
+    @Mock
+    IdempotencyCache idempotencyCache;
+
+    @Mock
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "ttlSeconds", 86400L);
+        ReflectionTestUtils.setField(idempotencyService, "objectMapper", OBJECT_MAPPER);
+    }
+
+    /**
+     * 冪等実行
+     * ケース：正常系
+     * コンディション：初回は登録処理を実行してキーを記録
+     */
+    @Test
+    void execute_Success001() {
+
+        // モック設定
+        AtomicInteger calls = new AtomicInteger();
+
+        // テスト実行
+        IdempotencyService.Result result = idempotencyService.execute("tweet", "key-1", REQUEST, () -> {
+            calls.incrementAndGet();
+            return 11;
+        });
+
+        // テスト結果
+        assertThat(result.resourceId(), is(11));
+        assertThat(result.replayed(), is(false));
+        assertThat(calls.get(), is(1));
+        verify(idempotencyKeyRepository, times(1)).insertKey(eq("tweet:key-1"), eq(hash(REQUEST)), any());
+        verify(idempotencyKeyRepository, times(1)).updateResourceId("tweet:key-1", 11);
+        verify(transactionManager, times(1)).commit(any());
+        verify(idempotencyCache, times(1)).put("tweet:key-1", 11, hash(REQUEST));
+    }
+
+    /**
+     * 冪等実行
+     * ケース：正常系
+     * コンディション：キャッシュヒット時はDBにアクセスしない
+     */
+    @Test
+    void execute_Success002() {
+
+        // モック設定
+        when(idempotencyCache.get("tweet:key-1")).thenReturn(new IdempotencyCache.Stored(11, hash(REQUEST)));
+
+        // テスト実行
+        IdempotencyService.Result result = idempotencyService.execute("tweet", "key-1", REQUEST, () -> {
+            throw new AssertionError("must not be executed");
+        });
+
+        // テスト結果
+        assertThat(result.resourceId(), is(11));
+        assertThat(result.replayed(), is(true));
+        verifyNoInteractions(idempotencyKeyRepository, transactionManager);
+    }
+
+    /**
+     * 冪等実行
+     * ケース：正常系
+     * コンディション：キャッシュにない登録済みキー（再起動後）はDBの結果を返す
+     */
+    @Test
+    void execute_Success003() {
+
+        // モック設定
+        when(idempotencyKeyRepository.selectValidKey(eq("schedule:key-1"), any()))
+                .thenReturn(new IdempotencyKeyRecord("schedule:key-1", 21, hash(REQUEST), LocalDateTime.now()));
+
+        // テスト実行
+        IdempotencyService.Result result = idempotencyService.execute("schedule", "key-1", REQUEST, () -> {
+            throw new AssertionError("must not be executed");
+        });
+
+        // テスト結果
+        assertThat(result.resourceId(), is(21));
+        assertThat(result.replayed(), is(true));
+        verify(idempotencyCache, times(1)).put("schedule:key-1", 21, hash(REQUEST));
+        verify(idempotencyKeyRepository, never()).insertKey(any(), any(), any());
+    }
+
+    /**
+     * 冪等実行
+     * ケース：正常系
+     * コンディション：同じキーの同時実行に負けた場合は先にコミットされた結果を返す
+     */
+    @Test
+    void execute_Success004() {
+
+        // モック設定
+        when(idempotencyKeyRepository.selectValidKey(eq("tweet:key-1"), any()))
+                .thenReturn(null)
+                .thenReturn(new IdempotencyKeyRecord("tweet:key-1", 11, hash(REQUEST), LocalDateTime.now()));
+        when(idempotencyKeyRepository.insertKey(eq("tweet:key-1"), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // テスト実行
+        IdempotencyService.Result result = idempotencyService.execute("tweet", "key-1", REQUEST, () -> {
+            throw new AssertionError("must not be executed");
+        });
+
+        // テスト結果
+        assertThat(result.resourceId(), is(11));
+        assertThat(result.replayed(), is(true));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(idempotencyCache, times(1)).put("tweet:key-1", 11, hash(REQUEST));
+    }
+
+    /**
+     * 冪等実行
+     * ケース：異常系
+     * コンディション：キーが空、または長すぎる
+     */
+    @Test
+    void execute_Error001() {
+
+        // テスト実行・テスト結果
+        assertThrows(BadRequestException.class, () -> idempotencyService.execute("tweet", " ", REQUEST, () -> 11));
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.execute("tweet", "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), REQUEST, () -> 11));
+        verifyNoInteractions(idempotencyCache, idempotencyKeyRepository);
+    }
+
+    /**
+     * 冪等実行
+     * ケース：異常系
+     * コンディション：登録処理が失敗した場合はキーも記録しない
+     */
+    @Test
+    void execute_Error002() {
+
+        // テスト実行・テスト結果
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("tweet", "key-1", REQUEST, () -> {
+            throw new IllegalStateException("insert failed");
+        }));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(idempotencyKeyRepository, never()).updateResourceId(any(), anyInt());
+        verify(idempotencyCache, never()).put(any(), anyInt(), any());
+    }
+
+    /**
+     * 冪等実行
+     * ケース：異常系
+     * コンディション：使用済みのキーを内容の異なるリクエストで再送
+     */
+    @Test
+    void execute_Error003() {
+
+        // モック設定
+        when(idempotencyCache.get("tweet:key-1")).thenReturn(new IdempotencyCache.Stored(11, hash(REQUEST)));
+        when(idempotencyKeyRepository.selectValidKey(eq("schedule:key-1"), any()))
+                .thenReturn(new IdempotencyKeyRecord("schedule:key-1", 21, hash(REQUEST), LocalDateTime.now()));
+
+        // テスト実行・テスト結果
+        Map<String, Object> other = Map.of("text", "other");
+        assertThrows(UnprocessableEntityException.class, () -> idempotencyService.execute("tweet", "key-1", other, () -> {
+            throw new AssertionError("must not be executed");
+        }));
+        assertThrows(UnprocessableEntityException.class, () -> idempotencyService.execute("schedule", "key-1", other, () -> {
+            throw new AssertionError("must not be executed");
+        }));
+        verify(idempotencyKeyRepository, never()).insertKey(any(), any(), any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    private static String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(OBJECT_MAPPER.writeValueAsBytes(request)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
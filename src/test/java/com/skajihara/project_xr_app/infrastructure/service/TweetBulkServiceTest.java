@@ -0,0 +1,139 @@
+package com.skajihara.project_xr_app.infrastructure.service;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.domain.repository.TweetRepository;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class TweetBulkServiceTest {
+
+    @InjectMocks
+    TweetBulkService tweetBulkService;
+
+    @Mock
+    TweetRepository tweetRepository;
+
+    @Mock
+    RecentTweetsCache recentTweetsCache;
+
+    @Mock
+    AccountTimelineCache accountTimelineCache;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tweetBulkService, "chunkSize", 2);
+    }
+
+    /**
+     * ツイート一括登録
+     * ケース：正常系
+     * コンディション：チャンクサイズ毎にバッチ登録
+     */
+    @Test
+    void postTweets_Success001() {
+
+        // モックデータ
+        List<TweetRecord> tweets = createTweets(5);
+
+        // モック設定
+        when(tweetRepository.insertAll(anyList())).thenReturn(new int[]{11, 12}, new int[]{13, 14}, new int[]{15});
+
+        // テスト実行
+        int[] result = tweetBulkService.postTweets(tweets);
+
+        // テスト結果
+        assertThat(result, is(new int[]{11, 12, 13, 14, 15}));
+        verify(tweetRepository, times(1)).insertAll(tweets.subList(0, 2));
+        verify(tweetRepository, times(1)).insertAll(tweets.subList(2, 4));
+        verify(tweetRepository, times(1)).insertAll(tweets.subList(4, 5));
+        verify(transactionManager, times(3)).commit(any());
+        verify(recentTweetsCache, never()).reload();
+        verify(recentTweetsCache, times(5)).addAfterCommit(any());
+        IntStream.rangeClosed(11, 15).forEach(id ->
+                verify(recentTweetsCache, times(1)).addAfterCommit(argThat(tweet -> tweet.getId() == id && tweet.getText().equals("bulk" + (id - 11)))));
+        verify(accountTimelineCache, times(2)).invalidateAfterCommit(List.of("user0", "user1"));
+        verify(accountTimelineCache, times(1)).invalidateAfterCommit(List.of("user0"));
+    }
+
+    /**
+     * ツイート一括登録
+     * ケース：異常系
+     * コンディション：失敗したチャンクのみ登録失敗となる
+     */
+    @Test
+    void postTweets_Error001() {
+
+        // モックデータ
+        List<TweetRecord> tweets = createTweets(5);
+
+        // モック設定
+        when(tweetRepository.insertAll(anyList()))
+                .thenReturn(new int[]{11, 12})
+                .thenThrow(new DataIntegrityViolationException("constraint violation"))
+                .thenReturn(new int[]{13});
+
+        // テスト実行
+        int[] result = tweetBulkService.postTweets(tweets);
+
+        // テスト結果
+        assertThat(result, is(new int[]{11, 12, 0, 0, 13}));
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(recentTweetsCache, never()).reload();
+        verify(recentTweetsCache, times(3)).addAfterCommit(any());
+        verify(recentTweetsCache, never()).addAfterCommit(argThat(tweet -> tweet.getText().equals("bulk2") || tweet.getText().equals("bulk3")));
+        verify(accountTimelineCache, times(1)).invalidateAfterCommit(List.of("user0", "user1"));
+        verify(accountTimelineCache, times(1)).invalidateAfterCommit(List.of("user0"));
+    }
+
+    /**
+     * ツイート一括登録
+     * ケース：異常系
+     * コンディション：全チャンク失敗時はキャッシュを更新しない
+     */
+    @Test
+    void postTweets_Error002() {
+
+        // モックデータ
+        List<TweetRecord> tweets = createTweets(2);
+
+        // モック設定
+        when(tweetRepository.insertAll(anyList())).thenThrow(new DataIntegrityViolationException("constraint violation"));
+
+        // テスト実行
+        int[] result = tweetBulkService.postTweets(tweets);
+
+        // テスト結果
+        assertThat(result, is(new int[]{0, 0}));
+        verify(recentTweetsCache, never()).addAfterCommit(any());
+        verify(accountTimelineCache, never()).invalidateAfterCommit(any());
+    }
+
+    private List<TweetRecord> createTweets(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TweetRecord(0, "user" + (i % 2), "bulk" + i, null, 0, 0, 0, 0,
+                        LocalDateTime.of(2024, 4, 1, 12, i), null, 0))
+                .toList();
+    }
+}
@@ -0,0 +1,168 @@
+package com.skajihara.project_xr_app.infrastructure.service;
+
+import com.skajihara.project_xr_app.domain.entity.EngagementType;
+import com.skajihara.project_xr_app.domain.entity.TweetEngagementDelta;
+import com.skajihara.project_xr_app.domain.repository.TweetJdbcRepository;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class TweetEngagementServiceTest {
+
+    @InjectMocks
+    TweetEngagementService tweetEngagementService;
+
+    @Mock
+    TweetJdbcRepository tweetJdbcRepository;
+
+    @Mock
+    RecentTweetsCache recentTweetsCache;
+
+    @Mock
+    AccountTimelineCache accountTimelineCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tweetEngagementService, "maxPending", 10000);
+    }
+
+    /**
+     * エンゲージメント加算・反映
+     * ケース：正常系
+     * コンディション：ツイート毎に集計した差分を1回のバッチで反映する
+     */
+    @Test
+    void flush_Success001() {
+
+        // テスト実行
+        tweetEngagementService.increment(1, EngagementType.VIEWS, 1);
+        tweetEngagementService.increment(1, EngagementType.VIEWS, 1);
+        tweetEngagementService.increment(1, EngagementType.LIKES, 1);
+        tweetEngagementService.increment(65, EngagementType.RETWEETS, 1);
+        tweetEngagementService.increment(65, EngagementType.LIKES, -1);
+        int result = tweetEngagementService.flush();
+
+        // テスト結果
+        assertThat(result, is(2));
+        List<TweetEngagementDelta> deltas = captureBatch();
+        assertThat(deltas.get(0), is(new TweetEngagementDelta(1, 1, 0, 0, 2)));
+        assertThat(deltas.get(1), is(new TweetEngagementDelta(65, -1, 1, 0, 0)));
+        // DBへの反映中に読み直したキャッシュが保持されないよう、反映の前後で通知する
+        InOrder inOrder = inOrder(recentTweetsCache, accountTimelineCache, tweetJdbcRepository);
+        inOrder.verify(recentTweetsCache).beginEngagementWrite();
+        inOrder.verify(accountTimelineCache).beginEngagementWrite();
+        inOrder.verify(tweetJdbcRepository).addEngagementBatch(anyList());
+        inOrder.verify(recentTweetsCache).endEngagementWrite(anyList());
+        inOrder.verify(accountTimelineCache).endEngagementWrite(anyList());
+    }
+
+    /**
+     * エンゲージメント反映
+     * ケース：正常系
+     * コンディション：未反映の差分がない場合はDBにアクセスしない
+     */
+    @Test
+    void flush_Success002() {
+
+        // テスト実行
+        tweetEngagementService.increment(1, EngagementType.VIEWS, 1);
+        tweetEngagementService.flush();
+        int result = tweetEngagementService.flush();
+
+        // テスト結果
+        assertThat(result, is(0));
+        verify(tweetJdbcRepository, times(1)).addEngagementBatch(anyList());
+    }
+
+    /**
+     * エンゲージメント反映
+     * ケース：異常系
+     * コンディション：反映失敗時は差分を保持し、次回の反映で再送する
+     */
+    @Test
+    void flush_Error001() {
+
+        // モック設定
+        when(tweetJdbcRepository.addEngagementBatch(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+
+        // テスト実行
+        tweetEngagementService.increment(1, EngagementType.VIEWS, 3);
+        assertThrows(QueryTimeoutException.class, () -> tweetEngagementService.flush());
+        tweetEngagementService.increment(1, EngagementType.VIEWS, 2);
+        int result = tweetEngagementService.flush();
+
+        // テスト結果
+        assertThat(result, is(1));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TweetEngagementDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tweetJdbcRepository, times(2)).addEngagementBatch(captor.capture());
+        assertThat(captor.getAllValues().get(1), is(List.of(new TweetEngagementDelta(1, 0, 0, 0, 5))));
+        verify(recentTweetsCache, times(2)).beginEngagementWrite();
+        verify(recentTweetsCache, times(1)).endEngagementWrite(List.of());
+        verify(recentTweetsCache, times(1)).endEngagementWrite(List.of(new TweetEngagementDelta(1, 0, 0, 0, 5)));
+        verify(accountTimelineCache, times(1)).endEngagementWrite(List.of());
+    }
+
+    /**
+     * エンゲージメント反映
+     * ケース：異常系
+     * コンディション：再送しても成功しない差分だけを破棄し、他のツイートの差分は反映する
+     */
+    @Test
+    void flush_Error002() {
+
+        // モック設定
+        TweetEngagementDelta bad = new TweetEngagementDelta(1, 5, 0, 0, 0);
+        TweetEngagementDelta good = new TweetEngagementDelta(2, 1, 0, 0, 0);
+        when(tweetJdbcRepository.addEngagementBatch(anyList())).thenAnswer(invocation -> {
+            List<TweetEngagementDelta> deltas = invocation.getArgument(0);
+            if (deltas.contains(bad)) {
+                throw new DataIntegrityViolationException("out of range");
+            }
+            return new int[deltas.size()];
+        });
+
+        // テスト実行
+        tweetEngagementService.increment(1, EngagementType.LIKES, 5);
+        tweetEngagementService.increment(2, EngagementType.LIKES, 1);
+        int result = tweetEngagementService.flush();
+        int next = tweetEngagementService.flush();
+
+        // テスト結果
+        assertThat(result, is(1));
+        assertThat(next, is(0));
+        verify(tweetJdbcRepository, times(1)).addEngagementBatch(List.of(good));
+        verify(recentTweetsCache, times(1)).endEngagementWrite(List.of(good));
+        verify(accountTimelineCache, times(1)).endEngagementWrite(List.of(good));
+    }
+
+    private List<TweetEngagementDelta> captureBatch() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TweetEngagementDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tweetJdbcRepository, times(1)).addEngagementBatch(captor.capture());
+        return captor.getValue().stream()
+                .sorted(Comparator.comparingInt(TweetEngagementDelta::tweetId))
+                .toList();
+    }
+}
@@ -0,0 +1,143 @@
+package com.skajihara.project_xr_app.infrastructure.service;
+
+import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
+import com.skajihara.project_xr_app.exception.NotFoundException;
+import com.skajihara.project_xr_app.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+// 書き込みスレッドは起動せず、writeBatch/stopを直接呼び出して検証する
+class TweetIngestServiceTest {
+
+    private static final int QUEUE_CAPACITY = 3;
+
+    private static final int BATCH_SIZE = 2;
+
+    TweetBulkService tweetBulkService;
+
+    TweetIngestService tweetIngestService;
+
+    @BeforeEach
+    void setUp() {
+        tweetBulkService = mock(TweetBulkService.class);
+        tweetIngestService = new TweetIngestService(tweetBulkService, QUEUE_CAPACITY, BATCH_SIZE, 100);
+    }
+
+    /**
+     * 非同期投稿
+     * ケース：正常系
+     * コンディション：バッチサイズ毎にまとめて登録し、チケット毎に結果を保持する
+     */
+    @Test
+    void writeBatch_Success001() {
+
+        // モック設定
+        when(tweetBulkService.postTweets(anyList())).thenReturn(new int[]{11, 0}, new int[]{12});
+
+        // テスト実行
+        String ticket1 = tweetIngestService.submit(createTweet("post1"));
+        String ticket2 = tweetIngestService.submit(createTweet("post2"));
+        String ticket3 = tweetIngestService.submit(createTweet("post3"));
+        assertThat(tweetIngestService.getTicket(ticket1).status(), is(TweetIngestService.PENDING));
+        int first = tweetIngestService.writeBatch();
+        int second = tweetIngestService.writeBatch();
+
+        // テスト結果
+        assertThat(first, is(2));
+        assertThat(second, is(1));
+        assertThat(tweetIngestService.getTicket(ticket1), is(new TweetIngestService.Ticket(TweetIngestService.COMMITTED, 11)));
+        assertThat(tweetIngestService.getTicket(ticket2), is(new TweetIngestService.Ticket(TweetIngestService.FAILED, null)));
+        assertThat(tweetIngestService.getTicket(ticket3), is(new TweetIngestService.Ticket(TweetIngestService.COMMITTED, 12)));
+        verify(tweetBulkService, times(1)).postTweets(argThat(tweets -> tweets.size() == 2
+                && tweets.get(0).getText().equals("post1") && tweets.get(1).getText().equals("post2")));
+        verify(tweetBulkService, times(1)).postTweets(argThat(tweets -> tweets.size() == 1));
+    }
+
+    /**
+     * 非同期投稿
+     * ケース：異常系
+     * コンディション：登録処理で例外が発生した場合はバッチ全体が登録失敗となる
+     */
+    @Test
+    void writeBatch_Error001() {
+
+        // モック設定
+        when(tweetBulkService.postTweets(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        // テスト実行
+        String ticket = tweetIngestService.submit(createTweet("post1"));
+        tweetIngestService.writeBatch();
+
+        // テスト結果
+        assertThat(tweetIngestService.getTicket(ticket).status(), is(TweetIngestService.FAILED));
+    }
+
+    /**
+     * 非同期投稿
+     * ケース：異常系
+     * コンディション：キューが満杯の場合は受け付けない
+     */
+    @Test
+    void submit_Error001() {
+
+        // テスト実行
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            tweetIngestService.submit(createTweet("post" + i));
+        }
+
+        // テスト結果
+        assertThrows(TooManyRequestsException.class, () -> tweetIngestService.submit(createTweet("overflow")));
+        verify(tweetBulkService, never()).postTweets(anyList());
+    }
+
+    /**
+     * 非同期投稿
+     * ケース：正常系
+     * コンディション：停止時はキューに残った投稿を全て登録し、以降は受け付けない
+     */
+    @Test
+    void stop_Success001() throws Exception {
+
+        // モック設定
+        when(tweetBulkService.postTweets(anyList()))
+                .thenAnswer(invocation -> {
+                    List<?> tweets = invocation.getArgument(0);
+                    return IntStream.rangeClosed(1, tweets.size()).toArray();
+                });
+
+        // テスト実行
+        List<String> tickets = List.of(
+                tweetIngestService.submit(createTweet("post1")),
+                tweetIngestService.submit(createTweet("post2")),
+                tweetIngestService.submit(createTweet("post3")));
+        tweetIngestService.stop();
+
+        // テスト結果
+        tickets.forEach(ticket -> assertThat(tweetIngestService.getTicket(ticket).status(), is(TweetIngestService.COMMITTED)));
+        verify(tweetBulkService, times(2)).postTweets(anyList());
+        assertThrows(TooManyRequestsException.class, () -> tweetIngestService.submit(createTweet("late")));
+    }
+
+    /**
+     * 登録状況取得
+     * ケース：異常系
+     * コンディション：存在しないチケット
+     */
+    @Test
+    void getTicket_Error001() {
+        assertThrows(NotFoundException.class, () -> tweetIngestService.getTicket("unknown"));
+    }
+
+    private TweetRecord createTweet(String text) {
+        return new TweetRecord(0, "user_A", text, null, 0, 0, 0, 0, LocalDateTime.of(2024, 4, 1, 12, 0), null, 0);
+    }
+}
@@ -3,6 +3,7 @@ package com.skajihara.project_xr_app.infrastructure.service;
 import com.skajihara.project_xr_app.domain.entity.record.ScheduledTweetRecord;
 import com.skajihara.project_xr_app.domain.repository.TweetScheduleRepository;
 import com.skajihara.project_xr_app.exception.TweetException;
+import com.skajihara.project_xr_app.infrastructure.batch.tweet.schedule.ScheduledTweetTimer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -27,6 +28,9 @@ class TweetScheduleServiceTest {
     @Mock
     TweetScheduleRepository tweetScheduleRepository;
 
+    @Mock
+    ScheduledTweetTimer scheduledTweetTimer;
+
     /**
      * 予約ツイート1件取得
      * ケース：正常系
@@ -104,14 +108,15 @@ class TweetScheduleServiceTest {
         ScheduledTweetRecord input = createRecord(0, "userB", "新規", null, "Osaka", 0);
 
         // モック設定
-        when(tweetScheduleRepository.insert(input)).thenReturn(1);
+        when(tweetScheduleRepository.insert(input)).thenReturn(21);
 
         // テスト実行
         int result = tweetScheduleService.scheduleTweet(input);
 
         //　テスト結果
-        assertThat(result, is(1));
+        assertThat(result, is(21));
         verify(tweetScheduleRepository, times(1)).insert(input);
+        verify(scheduledTweetTimer, times(1)).schedule(21, input.getScheduledDatetime());
     }
 
     /**
@@ -131,6 +136,7 @@ class TweetScheduleServiceTest {
         // テスト実行・テスト結果
         assertThrows(TweetException.class, () -> tweetScheduleService.scheduleTweet(input));
         verify(tweetScheduleRepository, times(1)).insert(input);
+        verifyNoInteractions(scheduledTweetTimer);
     }
 
     /**
@@ -145,7 +151,6 @@ class TweetScheduleServiceTest {
         ScheduledTweetRecord input = createRecord(1, "userC", "更新内容", null, "Tokyo", 0);
 
         // モック設定
-        when(tweetScheduleRepository.selectScheduledTweet(1)).thenReturn(input);
         when(tweetScheduleRepository.update(1, input)).thenReturn(1);
 
         // テスト実行
@@ -153,14 +158,15 @@ class TweetScheduleServiceTest {
 
         //　テスト結果
         assertThat(result, is(1));
-        verify(tweetScheduleRepository, times(1)).selectScheduledTweet(1);
+        verify(tweetScheduleRepository, never()).selectScheduledTweet(anyInt());
         verify(tweetScheduleRepository, times(1)).update(1, input);
+        verify(scheduledTweetTimer, times(1)).schedule(1, input.getScheduledDatetime());
     }
 
     /**
      * 予約ツイート更新
      * ケース：異常系
-     * コンディション：対象データなし
+     * コンディション：対象データなし、またはキャンセル済み（更新件数0）
      */
     @Test
     void updateSchedule_Error001() {
@@ -169,32 +175,37 @@ class TweetScheduleServiceTest {
         ScheduledTweetRecord input = createRecord(99, "userX", "無効", null, "Tokyo", 0);
 
         // モック設定
-        when(tweetScheduleRepository.selectScheduledTweet(99)).thenReturn(null);
+        when(tweetScheduleRepository.update(99, input)).thenReturn(0);
 
         // テスト実行・テスト結果
-        assertThrows(TweetException.class, () -> tweetScheduleService.updateSchedule(99, input));
-        verify(tweetScheduleRepository, times(1)).selectScheduledTweet(99);
+        TweetException e = assertThrows(TweetException.class, () -> tweetScheduleService.updateSchedule(99, input));
+        assertThat(e.getMessage(), is("Scheduled Tweet is not found with id: 99"));
+        verify(tweetScheduleRepository, never()).selectScheduledTweet(anyInt());
+        verify(tweetScheduleRepository, times(1)).update(99, input);
+        verifyNoInteractions(scheduledTweetTimer);
     }
 
     /**
      * 予約ツイート更新
-     * ケース：異常系
-     * コンディション：更新失敗
+     * ケース：正常系
+     * コンディション：削除フラグを立てる更新はタイマーから外す
      */
     @Test
-    void updateSchedule_Error002() {
+    void updateSchedule_Success002() {
 
         // モックデータ
-        ScheduledTweetRecord input = createRecord(2, "userX", "失敗", null, "Tokyo", 0);
+        ScheduledTweetRecord input = createRecord(2, "userC", "更新内容", null, "Tokyo", 1);
 
         // モック設定
-        when(tweetScheduleRepository.selectScheduledTweet(2)).thenReturn(input);
-        when(tweetScheduleRepository.update(2, input)).thenReturn(0);
+        when(tweetScheduleRepository.update(2, input)).thenReturn(1);
 
-        // テスト実行・テスト結果
-        assertThrows(TweetException.class, () -> tweetScheduleService.updateSchedule(2, input));
-        verify(tweetScheduleRepository, times(1)).selectScheduledTweet(2);
-        verify(tweetScheduleRepository, times(1)).update(2, input);
+        // テスト実行
+        int result = tweetScheduleService.updateSchedule(2, input);
+
+        //　テスト結果
+        assertThat(result, is(1));
+        verify(scheduledTweetTimer, times(1)).cancel(2);
+        verify(scheduledTweetTimer, never()).schedule(anyInt(), any());
     }
 
     /**
@@ -205,11 +216,7 @@ class TweetScheduleServiceTest {
     @Test
     void cancelSchedule_Success001() {
 
-        // モックデータ
-        ScheduledTweetRecord target = createRecord(3, "userZ", "削除", null, "Nara", 0);
-
         // モック設定
-        when(tweetScheduleRepository.selectScheduledTweet(3)).thenReturn(target);
         when(tweetScheduleRepository.delete(3)).thenReturn(1);
 
         // テスト実行
@@ -217,45 +224,28 @@ class TweetScheduleServiceTest {
 
         //　テスト結果
         assertThat(result, is(1));
-        verify(tweetScheduleRepository, times(1)).selectScheduledTweet(3);
+        verify(tweetScheduleRepository, never()).selectScheduledTweet(anyInt());
         verify(tweetScheduleRepository, times(1)).delete(3);
+        verify(scheduledTweetTimer, times(1)).cancel(3);
     }
 
     /**
      * 予約ツイートキャンセル
      * ケース：異常系
-     * コンディション：対象データなし
+     * コンディション：対象データなし、またはキャンセル済み（削除件数0）
      */
     @Test
     void cancelSchedule_Error001() {
 
         // モック設定
-        when(tweetScheduleRepository.selectScheduledTweet(100)).thenReturn(null);
-
-        // テスト実行・テスト結果
-        assertThrows(TweetException.class, () -> tweetScheduleService.cancelSchedule(100));
-        verify(tweetScheduleRepository, times(1)).selectScheduledTweet(100);
-    }
-
-    /**
-     * 予約ツイートキャンセル
-     * ケース：異常系
-     * コンディション：削除失敗
-     */
-    @Test
-    void cancelSchedule_Error002() {
-
-        // モックデータ
-        ScheduledTweetRecord target = createRecord(4, "userY", "削除失敗", null, "Kobe", 0);
-
-        // モック設定
-        when(tweetScheduleRepository.selectScheduledTweet(4)).thenReturn(target);
-        when(tweetScheduleRepository.delete(4)).thenReturn(0);
+        when(tweetScheduleRepository.delete(100)).thenReturn(0);
 
         // テスト実行・テスト結果
-        assertThrows(TweetException.class, () -> tweetScheduleService.cancelSchedule(4));
-        verify(tweetScheduleRepository, times(1)).selectScheduledTweet(4);
-        verify(tweetScheduleRepository, times(1)).delete(4);
+        TweetException e = assertThrows(TweetException.class, () -> tweetScheduleService.cancelSchedule(100));
+        assertThat(e.getMessage(), is("Scheduled Tweet is not found with id: 100"));
+        verify(tweetScheduleRepository, never()).selectScheduledTweet(anyInt());
+        verify(tweetScheduleRepository, times(1)).delete(100);
+        verifyNoInteractions(scheduledTweetTimer);
     }
 
     private ScheduledTweetRecord createRecord(int id, String accountId, String text, String image, String location, int deleteFlag) {
@@ -1,8 +1,13 @@
 package com.skajihara.project_xr_app.infrastructure.service;
 
+import com.skajihara.project_xr_app.domain.entity.TweetCursor;
+import com.skajihara.project_xr_app.domain.entity.TweetView;
 import com.skajihara.project_xr_app.domain.entity.record.TweetRecord;
 import com.skajihara.project_xr_app.domain.repository.TweetRepository;
 import com.skajihara.project_xr_app.exception.TweetException;
+import com.skajihara.project_xr_app.infrastructure.cache.AccountTimelineCache;
+import com.skajihara.project_xr_app.infrastructure.cache.RecentTweetsCache;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,14 +15,16 @@ import org.mockito.Mock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 class TweetServiceTest {
@@ -28,6 +35,15 @@ class TweetServiceTest {
     @Mock
     TweetRepository tweetRepository;
 
+    @Mock
+    RecentTweetsCache recentTweetsCache;
+
+    @Mock
+    AccountTimelineCache accountTimelineCache;
+
+    @Mock
+    EntityManager entityManager;
+
     /**
      * ツイート1件取得
      * ケース：正常系
@@ -37,18 +53,18 @@ class TweetServiceTest {
     void getTweet_Success001() {
 
         // モックデータ
-        TweetRecord mockTweet = new TweetRecord(1, "acc1", "text", "img", 1, 2, 3, 4,
+        TweetView mockTweet = new TweetView(1, "acc1", "text", "img", 1, 2, 3, 4,
                 LocalDateTime.of(2023, 1, 1, 10, 0), "Tokyo", 0);
 
         // モック設定
-        when(tweetRepository.selectTweet(1)).thenReturn(mockTweet);
+        when(tweetRepository.selectTweetView(1)).thenReturn(mockTweet);
 
         // テスト実行
-        TweetRecord result = tweetService.getTweet(1);
+        TweetView result = tweetService.getTweet(1);
 
         // テスト結果
-        assertTweet(result, mockTweet);
-        verify(tweetRepository).selectTweet(1);
+        assertThat(result, is(mockTweet));
+        verify(tweetRepository).selectTweetView(1);
     }
 
     /**
@@ -60,37 +76,150 @@ class TweetServiceTest {
     void getTweet_Error001() {
 
         // モック設定
-        when(tweetRepository.selectTweet(999)).thenReturn(null);
+        when(tweetRepository.selectTweetView(999)).thenReturn(null);
 
         // テスト実行・テスト結果
         assertThrows(TweetException.class, () -> tweetService.getTweet(999));
-        verify(tweetRepository).selectTweet(999);
+        verify(tweetRepository).selectTweetView(999);
     }
 
     /**
-     * ツイート全件取得
+     * ツイート複数件取得
      * ケース：正常系
-     * コンディション：データあり
+     * コンディション：指定順に並び、存在しないIDと重複IDは除外される
+     */
+    @Test
+    void getTweets_Success001() {
+
+        // モックデータ
+        TweetView t1 = new TweetView(1, "acc1", "text1", "img1", 1, 2, 3, 4, LocalDateTime.now(), "Tokyo", 0);
+        TweetView t3 = new TweetView(3, "acc3", "text3", "img3", 5, 6, 7, 8, LocalDateTime.now(), "Osaka", 0);
+
+        // モック設定
+        when(tweetRepository.selectTweetViews(any())).thenReturn(Arrays.asList(t1, t3));
+
+        // テスト実行
+        List<TweetView> result = tweetService.getTweets(List.of(3, 99, 1, 3));
+
+        // テスト結果
+        assertThat(result, is(List.of(t3, t1)));
+        verify(tweetRepository, times(1)).selectTweetViews(Set.of(3, 99, 1));
+    }
+
+    /**
+     * ツイート複数件取得
+     * ケース：正常系
+     * コンディション：ID指定なし
+     */
+    @Test
+    void getTweets_Success002() {
+
+        // テスト実行
+        List<TweetView> result = tweetService.getTweets(List.of());
+
+        // テスト結果
+        assertThat(result.size(), is(0));
+        verify(tweetRepository, never()).selectTweetViews(any());
+    }
+
+    /**
+     * ツイート全件ストリーム取得
+     * ケース：正常系
+     * コンディション：データあり 処理済みエンティティは切り離される
      */
     @Test
-    void getAllTweets_Success001() {
+    void streamAllTweets_Success001() {
 
         // モックデータ
         TweetRecord t1 = new TweetRecord(1, "acc1", "text1", "img1", 1, 2, 3, 4, LocalDateTime.now(), "Tokyo", 0);
         TweetRecord t2 = new TweetRecord(2, "acc2", "text2", "img2", 5, 6, 7, 8, LocalDateTime.now(), "Osaka", 0);
-        List<TweetRecord> mockList = Arrays.asList(t1, t2);
 
         // モック設定
-        when(tweetRepository.selectAllTweets()).thenReturn(mockList);
+        when(tweetRepository.streamAllTweets()).thenReturn(Stream.of(t1, t2));
 
         // テスト実行
-        List<TweetRecord> result = tweetService.getAllTweets();
+        List<TweetRecord> result = new ArrayList<>();
+        tweetService.streamAllTweets(result::add);
 
         // テスト結果
         assertThat(result.size(), is(2));
         assertTweet(result.get(0), t1);
         assertTweet(result.get(1), t2);
-        verify(tweetRepository).selectAllTweets();
+        verify(entityManager).detach(t1);
+        verify(entityManager).detach(t2);
+    }
+
+    /**
+     * 特定アカウントのツイート全件ストリーム取得
+     * ケース：正常系
+     * コンディション：データあり
+     */
+    @Test
+    void streamTweetsByAccountId_Success001() {
+
+        // モックデータ
+        TweetRecord t1 = new TweetRecord(1, "acc1", "text1", "img1", 1, 2, 3, 4, LocalDateTime.now(), "Tokyo", 0);
+
+        // モック設定
+        when(tweetRepository.streamTweetsByAccountId("acc1")).thenReturn(Stream.of(t1));
+
+        // テスト実行
+        List<TweetRecord> result = new ArrayList<>();
+        tweetService.streamTweetsByAccountId("acc1", result::add);
+
+        // テスト結果
+        assertThat(result.size(), is(1));
+        assertTweet(result.get(0), t1);
+        verify(entityManager).detach(t1);
+    }
+
+    /**
+     * ツイート一覧ページ取得
+     * ケース：正常系
+     * コンディション：先頭ページ
+     */
+    @Test
+    void getTweetsPage_Success001() {
+
+        // モックデータ
+        TweetView t1 = new TweetView(1, "acc1", "text1", "img1", 1, 2, 3, 4, LocalDateTime.now(), "Tokyo", 0);
+        TweetView t2 = new TweetView(2, "acc2", "text2", "img2", 5, 6, 7, 8, LocalDateTime.now(), "Osaka", 0);
+        List<TweetView> mockList = Arrays.asList(t1, t2);
+
+        // モック設定
+        when(tweetRepository.selectTweetsFirstPage(3)).thenReturn(mockList);
+
+        // テスト実行
+        List<TweetView> result = tweetService.getTweetsPage(null, 3);
+
+        // テスト結果
+        assertThat(result, is(mockList));
+        verify(tweetRepository).selectTweetsFirstPage(3);
+    }
+
+    /**
+     * ツイート一覧ページ取得
+     * ケース：正常系
+     * コンディション：カーソル指定
+     */
+    @Test
+    void getTweetsPage_Success002() {
+
+        // モックデータ
+        LocalDateTime datetime = LocalDateTime.of(2024, 3, 1, 15, 30, 0);
+        TweetCursor cursor = new TweetCursor(datetime, 5);
+        TweetView t1 = new TweetView(4, "acc1", "text1", "img1", 1, 2, 3, 4, datetime, "Tokyo", 0);
+        List<TweetView> mockList = List.of(t1);
+
+        // モック設定
+        when(tweetRepository.selectTweetsAfterCursor(datetime, 5, 3)).thenReturn(mockList);
+
+        // テスト実行
+        List<TweetView> result = tweetService.getTweetsPage(cursor, 3);
+
+        // テスト結果
+        assertThat(result, is(mockList));
+        verify(tweetRepository).selectTweetsAfterCursor(datetime, 5, 3);
     }
 
     /**
@@ -119,6 +248,30 @@ class TweetServiceTest {
         verify(tweetRepository).selectRecentTweets(5);
     }
 
+    /**
+     * 最新ツイート指定件数取得
+     * ケース：正常系
+     * コンディション：キャッシュヒット
+     */
+    @Test
+    void getRecentTweets_Success002() {
+
+        // モックデータ
+        TweetRecord t1 = new TweetRecord(3, "acc3", "text3", "img3", 9, 10, 11, 12, LocalDateTime.now(), "Kyoto", 0);
+        List<TweetRecord> cachedList = List.of(t1);
+
+        // モック設定
+        when(recentTweetsCache.get(5)).thenReturn(cachedList);
+
+        // テスト実行
+        List<TweetRecord> result = tweetService.getRecentTweets(5);
+
+        // テスト結果
+        assertThat(result.size(), is(1));
+        assertTweet(result.get(0), t1);
+        verify(tweetRepository, never()).selectRecentTweets(anyInt());
+    }
+
     /**
      * 特定アカウントの最新ツイート指定件数取得
      * ケース：正常系
@@ -133,7 +286,7 @@ class TweetServiceTest {
         List<TweetRecord> mockList = Arrays.asList(t1, t2);
 
         // モック設定
-        when(tweetRepository.selectRecentTweetsByAccountId("acc5", 5)).thenReturn(mockList);
+        when(accountTimelineCache.get("acc5", 5)).thenReturn(mockList);
 
         // テスト実行
         List<TweetRecord> result = tweetService.getTweetsByAccountId("acc5", 5);
@@ -142,7 +295,7 @@ class TweetServiceTest {
         assertThat(result.size(), is(2));
         assertTweet(result.get(0), t1);
         assertTweet(result.get(1), t2);
-        verify(tweetRepository).selectRecentTweetsByAccountId("acc5", 5);
+        verify(accountTimelineCache).get("acc5", 5);
     }
 
     /**
@@ -158,14 +311,17 @@ class TweetServiceTest {
                 LocalDateTime.now(), "Nagoya", 0);
 
         // モック設定
-        when(tweetRepository.insert(tweet)).thenReturn(1);
+        when(tweetRepository.insert(tweet)).thenReturn(11);
 
         // テスト実行
         int result = tweetService.postTweet(tweet);
 
         // テスト結果
-        assertThat(result, is(1));
+        assertThat(result, is(11));
         verify(tweetRepository).insert(tweet);
+        verify(recentTweetsCache).addAfterCommit(argThat(added -> added.getId() == 11 && added.getText().equals("newText")));
+        verify(recentTweetsCache, never()).reload();
+        verify(accountTimelineCache).invalidateAfterCommit(List.of("accX"));
     }
 
     /**
@@ -202,7 +358,6 @@ class TweetServiceTest {
                 LocalDateTime.now(), "Sendai", 0);
 
         // モック設定
-        when(tweetRepository.selectTweet(10)).thenReturn(input);
         when(tweetRepository.update(10, input)).thenReturn(1);
 
         // テスト実行
@@ -210,14 +365,16 @@ class TweetServiceTest {
 
         // テスト結果
         assertThat(result, is(1));
-        verify(tweetRepository).selectTweet(10);
+        verify(tweetRepository, never()).selectTweet(anyInt());
         verify(tweetRepository).update(10, input);
+        verify(recentTweetsCache).replace(10, input);
+        verify(accountTimelineCache).replace(10, input);
     }
 
     /**
      * ツイート更新
      * ケース：異常系
-     * コンディション：更新失敗
+     * コンディション：対象データなし、または削除済み（更新件数0）
      */
     @Test
     void update_Error001() {
@@ -227,12 +384,14 @@ class TweetServiceTest {
                 LocalDateTime.now(), "Sendai", 0);
 
         // モック設定
-        when(tweetRepository.selectTweet(10)).thenReturn(input);
         when(tweetRepository.update(10, input)).thenReturn(0);
 
         // テスト実行・テスト結果
-        assertThrows(TweetException.class, () -> tweetService.updateTweet(10, input));
+        TweetException e = assertThrows(TweetException.class, () -> tweetService.updateTweet(10, input));
+        assertThat(e.getMessage(), is("Tweet is not found with id: 10"));
         verify(tweetRepository).update(10, input);
+        verify(recentTweetsCache, never()).replace(anyInt(), any());
+        verify(accountTimelineCache, never()).replace(anyInt(), any());
     }
 
 
@@ -244,12 +403,7 @@ class TweetServiceTest {
     @Test
     void delete_Success001() {
 
-        // モックデータ
-        TweetRecord target = new TweetRecord(20, "accZ", "del", "img", 0, 0, 0, 0,
-                LocalDateTime.now(), "Okinawa", 0);
-
         // モック設定
-        when(tweetRepository.selectTweet(20)).thenReturn(target);
         when(tweetRepository.delete(20)).thenReturn(1);
 
         // テスト実行
@@ -257,28 +411,29 @@ class TweetServiceTest {
 
         // テスト結果
         assertThat(result, is(1));
+        verify(tweetRepository, never()).selectTweet(anyInt());
         verify(tweetRepository).delete(20);
+        verify(recentTweetsCache).remove(20);
+        verify(accountTimelineCache).remove(20);
     }
 
     /**
      * ツイート削除
      * ケース：異常系
-     * コンディション：削除失敗
+     * コンディション：対象データなし、または削除済み（削除件数0）
      */
     @Test
     void delete_Error001() {
 
-        // モックデータ
-        TweetRecord target = new TweetRecord(20, "accZ", "del", "img", 0, 0, 0, 0,
-                LocalDateTime.now(), "Okinawa", 0);
-
         // モック設定
-        when(tweetRepository.selectTweet(20)).thenReturn(target);
         when(tweetRepository.delete(20)).thenReturn(0);
 
         // テスト実行・テスト結果
-        assertThrows(TweetException.class, () -> tweetService.deleteTweet(20));
+        TweetException e = assertThrows(TweetException.class, () -> tweetService.deleteTweet(20));
+        assertThat(e.getMessage(), is("Tweet is not found with id: 20"));
         verify(tweetRepository).delete(20);
+        verify(recentTweetsCache, never()).remove(anyInt());
+        verify(accountTimelineCache, never()).remove(anyInt());
     }
 
     private void assertTweet(TweetRecord actual, TweetRecord expected) {
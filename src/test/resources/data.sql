@@ -39,3 +39,8 @@ INSERT INTO BATCH_HISTORY (job_name, latest_processed_id, processed_num, executi
 ('scheduledTweetsPostingJob', 100, 3, '2025-04-01 10:00:00', '2025-04-01 10:00:10', 1),
 ('scheduledTweetsPostingJob', 200, 5, '2025-04-02 11:00:00', '2025-04-02 11:00:08', 1),
 ('scheduledTweetsPostingJob', 300, 7, '2025-04-03 12:00:00', '2025-04-03 12:00:12', 1);
+
+-- 初期データの後からアプリの採番を始める
+ALTER SEQUENCE TWEETS_SEQ RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM TWEETS);
+ALTER SEQUENCE SCHEDULED_TWEETS_SEQ RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM SCHEDULED_TWEETS);
+ALTER SEQUENCE BATCH_HISTORY_SEQ RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM BATCH_HISTORY);
@@ -3,6 +3,11 @@ DROP TABLE IF EXISTS TWEETS;
 DROP TABLE IF EXISTS SCHEDULED_TWEETS;
 DROP TABLE IF EXISTS ACCOUNTS;
 DROP TABLE IF EXISTS BATCH_HISTORY;
+DROP TABLE IF EXISTS IDEMPOTENCY_KEYS;
+DROP TABLE IF EXISTS ARCHIVED_TWEETS;
+DROP TABLE IF EXISTS ARCHIVED_SCHEDULED_TWEETS;
+DROP TABLE IF EXISTS SCHEDULED_TWEETS_DEAD_LETTER;
+DROP TABLE IF EXISTS BATCH_HISTORY_DAILY_SUMMARY;
 
 -- Create ACCOUNTS table
 CREATE TABLE IF NOT EXISTS ACCOUNTS (
@@ -36,9 +41,10 @@ CREATE TABLE IF NOT EXISTS TWEETS (
     location VARCHAR(50),
     delete_flag INT NOT NULL DEFAULT 0
 );
-CREATE INDEX idx_tweets_account_id ON TWEETS (account_id);
-CREATE INDEX idx_tweets_datetime ON TWEETS (datetime);
-CREATE INDEX idx_tweets_delete_flag ON TWEETS (delete_flag);
+-- selectAllTweets / selectTweetsFirstPage / selectTweetsAfterCursor / selectRecentTweets
+CREATE INDEX idx_tweets_delete_flag_datetime ON TWEETS (delete_flag, datetime DESC, id DESC);
+-- selectRecentTweetsByAccountId
+CREATE INDEX idx_tweets_account_id_delete_flag_datetime ON TWEETS (account_id, delete_flag, datetime DESC);
 
 -- Create SCHEDULED_TWEETS table
 CREATE TABLE IF NOT EXISTS SCHEDULED_TWEETS (
@@ -49,11 +55,16 @@ CREATE TABLE IF NOT EXISTS SCHEDULED_TWEETS (
     location VARCHAR(50),
     scheduled_datetime DATETIME(0) NOT NULL,
     created_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    delete_flag INT NOT NULL DEFAULT 0
+    delete_flag INT NOT NULL DEFAULT 0,
+    claimed_by VARCHAR(100),
+    lease_expires DATETIME(0)
 );
-CREATE INDEX idx_scheduled_tweets_account_id ON SCHEDULED_TWEETS (account_id);
-CREATE INDEX idx_scheduled_tweets_scheduled_datetime ON SCHEDULED_TWEETS (scheduled_datetime);
-CREATE INDEX idx_scheduled_tweets_delete_flag ON SCHEDULED_TWEETS (delete_flag);
+-- selectScheduledTweetsByAccountId
+CREATE INDEX idx_scheduled_tweets_account_id_delete_flag ON SCHEDULED_TWEETS (account_id, delete_flag, scheduled_datetime);
+-- selectScheduledTweetsForBatch (range scan from the (scheduled_datetime, id) watermark in BATCH_HISTORY up to now)
+CREATE INDEX idx_scheduled_tweets_delete_flag_scheduled ON SCHEDULED_TWEETS (delete_flag, scheduled_datetime, id);
+-- postClaimedSchedules (rows claimed by one node under a lease in claimed posting mode)
+CREATE INDEX idx_scheduled_tweets_claimed_by ON SCHEDULED_TWEETS (claimed_by);
 
 -- Create BATCH_HISTORY table
 CREATE TABLE IF NOT EXISTS BATCH_HISTORY (
@@ -63,10 +74,96 @@ CREATE TABLE IF NOT EXISTS BATCH_HISTORY (
     processed_num INT NOT NULL,
     execution_start DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP,
     execution_end DATETIME(0),
-    succeeded INT NOT NULL DEFAULT 0
+    succeeded INT NOT NULL DEFAULT 0,
+    latest_processed_datetime DATETIME(0) NOT NULL DEFAULT '1970-01-01 00:00:00'
 );
 CREATE INDEX idx_batch_history_latest_processed_id ON BATCH_HISTORY (latest_processed_id);
 CREATE INDEX idx_batch_history_execution_start ON BATCH_HISTORY (execution_start);
+-- selectLatestRecord
+CREATE INDEX idx_batch_history_job_name_execution_end ON BATCH_HISTORY (job_name, execution_end DESC);
+
+-- Create BATCH_HISTORY_DAILY_SUMMARY table (daily roll-up of BATCH_HISTORY rows pruned by batchMetadataRetentionJob)
+CREATE TABLE IF NOT EXISTS BATCH_HISTORY_DAILY_SUMMARY (
+    job_name VARCHAR(50) NOT NULL,
+    summary_date DATE NOT NULL,
+    executions INT NOT NULL DEFAULT 0,
+    succeeded INT NOT NULL DEFAULT 0,
+    processed_num BIGINT NOT NULL DEFAULT 0,
+    total_duration_seconds BIGINT NOT NULL DEFAULT 0,
+    max_duration_seconds INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (job_name, summary_date)
+);
+
+-- Create ARCHIVED_TWEETS table (deleted rows moved out of TWEETS by archiveCompactionJob)
+CREATE TABLE IF NOT EXISTS ARCHIVED_TWEETS (
+    id INT PRIMARY KEY NOT NULL,
+    account_id VARCHAR(20) NOT NULL,
+    text VARCHAR(200) NOT NULL,
+    image VARCHAR(100),
+    likes INT NOT NULL DEFAULT 0,
+    retweets INT NOT NULL DEFAULT 0,
+    replies INT NOT NULL DEFAULT 0,
+    views INT NOT NULL DEFAULT 0,
+    datetime DATETIME(0) NOT NULL,
+    location VARCHAR(50),
+    archived_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_archived_tweets_account_id_datetime ON ARCHIVED_TWEETS (account_id, datetime);
+
+-- Create ARCHIVED_SCHEDULED_TWEETS table (posted or cancelled rows moved out of SCHEDULED_TWEETS by archiveCompactionJob)
+CREATE TABLE IF NOT EXISTS ARCHIVED_SCHEDULED_TWEETS (
+    id INT PRIMARY KEY NOT NULL,
+    account_id VARCHAR(20) NOT NULL,
+    text VARCHAR(200) NOT NULL,
+    image VARCHAR(100),
+    location VARCHAR(50),
+    scheduled_datetime DATETIME(0) NOT NULL,
+    created_datetime DATETIME(0) NOT NULL,
+    archived_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_archived_scheduled_tweets_account_id ON ARCHIVED_SCHEDULED_TWEETS (account_id, scheduled_datetime);
+
+-- Create SCHEDULED_TWEETS_DEAD_LETTER table (scheduled tweets skipped by scheduledTweetsPostingJob;
+-- the source row in SCHEDULED_TWEETS is set to delete_flag = 2 so that it is neither posted nor archived)
+CREATE TABLE IF NOT EXISTS SCHEDULED_TWEETS_DEAD_LETTER (
+    schedule_id INT PRIMARY KEY NOT NULL,
+    account_id VARCHAR(20) NOT NULL,
+    text VARCHAR(200) NOT NULL,
+    image VARCHAR(100),
+    location VARCHAR(50),
+    scheduled_datetime DATETIME(0) NOT NULL,
+    error_class VARCHAR(200) NOT NULL,
+    error_message VARCHAR(1000),
+    failed_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_scheduled_tweets_dead_letter_failed_datetime ON SCHEDULED_TWEETS_DEAD_LETTER (failed_datetime);
+
+-- Create IDEMPOTENCY_KEYS table
+CREATE TABLE IF NOT EXISTS IDEMPOTENCY_KEYS (
+    idempotency_key VARCHAR(150) PRIMARY KEY NOT NULL,
+    resource_id INT NOT NULL,
+    request_hash CHAR(64),
+    created_datetime DATETIME(0) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+-- deleteExpiredKey / pruneIdempotencyKeys (batchMetadataRetentionJob)
+CREATE INDEX idx_idempotency_keys_created_datetime ON IDEMPOTENCY_KEYS (created_datetime);
+
+-- Create SCHEDULED_TWEETS_CLAIM_LOCK table
+-- (H2 has no SKIP LOCKED, so claimDueSchedules serializes claims across nodes by locking this single row)
+CREATE TABLE IF NOT EXISTS SCHEDULED_TWEETS_CLAIM_LOCK (
+    id INT PRIMARY KEY NOT NULL
+);
+MERGE INTO SCHEDULED_TWEETS_CLAIM_LOCK (id) KEY (id) VALUES (1);
+
+-- Drop id sequences if exist
+-- (INCREMENT BY must match allocationSize of @SequenceGenerator; AUTO_INCREMENT is only used by data.sql)
+DROP SEQUENCE IF EXISTS TWEETS_SEQ;
+DROP SEQUENCE IF EXISTS SCHEDULED_TWEETS_SEQ;
+DROP SEQUENCE IF EXISTS BATCH_HISTORY_SEQ;
+
+CREATE SEQUENCE TWEETS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE SCHEDULED_TWEETS_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE BATCH_HISTORY_SEQ START WITH 1 INCREMENT BY 50;
 
 -- Drop batch meta tables if exist
 DROP TABLE IF EXISTS BATCH_STEP_EXECUTION_CONTEXT;